@@ -0,0 +1,88 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.model.DataProduct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the lookups of the component to provision on a data product with {@code components} components, as performed
+ * while validating a request: the component itself, its kind and its {@code useCaseTemplateId}.
+ * <p>
+ * {@code linearScan} scans the components on each lookup, as {@link DataProduct} did before indexing them.
+ * {@code indexedLookup} sets the components on a new {@link DataProduct}, as each request parses its own descriptor,
+ * and performs the lookups through its index. {@code indexedLookupBuiltIndex} performs them on a data product whose
+ * index is already built, as happens on any further lookup of the same request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DataProductBenchmark {
+
+    @Param({"50", "200", "1000"})
+    private int components;
+
+    private List<JsonNode> componentList;
+    private String componentId;
+    private DataProduct<JsonNode> indexedDataProduct;
+
+    @Setup
+    public void setUp() {
+        var mapper = new ObjectMapper();
+        componentList = new ArrayList<>();
+        for (int i = 0; i < components; i++) {
+            componentList.add(Descriptors.outputPort(mapper, Descriptors.componentId(i), 1));
+        }
+        componentId = Descriptors.componentId(components / 2);
+        indexedDataProduct = new DataProduct<>();
+        indexedDataProduct.setComponents(componentList);
+        indexedDataProduct.getComponentToProvision(componentId);
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        blackhole.consume(find(componentId));
+        blackhole.consume(find(componentId).map(c -> c.get("kind").textValue()));
+        blackhole.consume(find(componentId).map(c -> c.get("useCaseTemplateId").textValue()));
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole blackhole) {
+        var dataProduct = new DataProduct<JsonNode>();
+        dataProduct.setComponents(componentList);
+        blackhole.consume(dataProduct.getComponentToProvision(componentId));
+        blackhole.consume(dataProduct.getComponentKindToProvision(componentId));
+        blackhole.consume(dataProduct.getComponentUseCaseTemplateIdToProvision(componentId));
+    }
+
+    @Benchmark
+    public void indexedLookupBuiltIndex(Blackhole blackhole) {
+        blackhole.consume(indexedDataProduct.getComponentToProvision(componentId));
+        blackhole.consume(indexedDataProduct.getComponentKindToProvision(componentId));
+        blackhole.consume(indexedDataProduct.getComponentUseCaseTemplateIdToProvision(componentId));
+    }
+
+    private Optional<JsonNode> find(String id) {
+        return componentList.stream()
+                .filter(c -> id.equals(c.get("id").textValue()))
+                .findFirst();
+    }
+}
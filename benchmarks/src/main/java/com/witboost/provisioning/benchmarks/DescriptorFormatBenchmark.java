@@ -0,0 +1,88 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.witboost.provisioning.model.ComponentDescriptor;
+import com.witboost.provisioning.parser.Parser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the parsing of the same component descriptor written as YAML and as JSON, with {@code components} components
+ * of {@code size} entries each.
+ * <p>
+ * The {@code yamlParser} benchmarks read the JSON descriptor with the YAML mapper, as {@link Parser} did for every input
+ * before detecting JSON content. {@code jsonToTree} emulates the parsing of the {@code latestEnrichedDescriptor} and the
+ * reverse provisioning {@code catalogInfo}, which are read into a tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DescriptorFormatBenchmark {
+
+    @Param({"10", "50"})
+    private int components;
+
+    @Param({"20"})
+    private int size;
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory()).registerModule(new Jdk8Module());
+    private final JavaType descriptorType =
+            yamlMapper.getTypeFactory().constructParametricType(ComponentDescriptor.class, JsonNode.class);
+
+    private String yamlDescriptor;
+    private String jsonDescriptor;
+
+    @Setup
+    public void setUp() throws Exception {
+        var descriptor = Descriptors.componentDescriptor(yamlMapper, components, size);
+        yamlDescriptor = yamlMapper.writeValueAsString(descriptor);
+        jsonDescriptor = descriptor.toString();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> yamlDescriptor() {
+        return Parser.parseComponentDescriptor(yamlDescriptor).get();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> jsonDescriptorYamlParser() throws Exception {
+        return yamlMapper.readValue(jsonDescriptor, descriptorType);
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> jsonDescriptor() {
+        return Parser.parseComponentDescriptor(jsonDescriptor).get();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> jsonSelectedDescriptor() {
+        return Parser.parseSelectedComponentDescriptor(jsonDescriptor).get();
+    }
+
+    @Benchmark
+    public JsonNode jsonToTreeYamlParser() throws Exception {
+        return yamlMapper.readTree(jsonDescriptor);
+    }
+
+    @Benchmark
+    public JsonNode jsonToTree() {
+        return Parser.stringToJsonNode(jsonDescriptor).get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.witboost.provisioning.model.ComponentDescriptor;
+import com.witboost.provisioning.parser.Parser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the parsing of YAML component descriptors whose data product holds {@code components} components, each with
+ * {@code size} entries on its {@code specific} field and data contract.
+ * <p>
+ * {@code parseComponentDescriptor} builds the tree of every component, while {@code parseSelectedComponentDescriptor}
+ * only keeps the component to provision. Run it with {@code -prof gc} to compare the allocated memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DescriptorParserBenchmark {
+
+    @Param({"50", "200"})
+    private int components;
+
+    @Param({"20"})
+    private int size;
+
+    private String descriptor;
+
+    @Setup
+    public void setUp() throws Exception {
+        var yamlMapper = new ObjectMapper(new YAMLFactory());
+        descriptor = yamlMapper.writeValueAsString(Descriptors.componentDescriptor(yamlMapper, components, size));
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> parseComponentDescriptor() {
+        return Parser.parseComponentDescriptor(descriptor).get();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> parseSelectedComponentDescriptor() {
+        return Parser.parseSelectedComponentDescriptor(descriptor).get();
+    }
+}
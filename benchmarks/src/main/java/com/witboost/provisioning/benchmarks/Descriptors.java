@@ -0,0 +1,80 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Builds synthetic descriptors for the parsing benchmarks
+ */
+final class Descriptors {
+
+    private Descriptors() {}
+
+    /**
+     * Builds an output port component with {@code size} entries on the {@code specific} field and {@code size}
+     * columns on the data contract schema
+     */
+    static ObjectNode outputPort(ObjectMapper mapper, String id, int size) {
+        var component = mapper.createObjectNode()
+                .put("kind", "outputport")
+                .put("id", id)
+                .put("name", "Output Port")
+                .put("description", "Output port with " + size + " entries")
+                .put("version", "0.0.0")
+                .put("infrastructureTemplateId", "urn:dmb:itm:provisioner:0")
+                .put("useCaseTemplateId", "urn:dmb:utm:outputport-template:0.0.0")
+                .put("outputPortType", "SQL");
+        component.putArray("dependsOn").add("urn:dmb:cmp:healthcare:vaccinations:0:storage");
+        var specific = component.putObject("specific");
+        var schema = component.putObject("dataContract").putArray("schema");
+        for (int i = 0; i < size; i++) {
+            specific.putObject("property" + i)
+                    .put("name", "value" + i)
+                    .put("enabled", i % 2 == 0)
+                    .put("weight", i * 1.5)
+                    .putArray("labels")
+                    .add("label" + i)
+                    .add("other" + i);
+            schema.addObject()
+                    .put("name", "column" + i)
+                    .put("description", "Column number " + i)
+                    .put("dataType", "STRING")
+                    .putArray("tags");
+        }
+        return component;
+    }
+
+    /**
+     * Builds a component descriptor whose data product holds {@code components} output ports of the given {@code size},
+     * provisioning the one in the middle
+     */
+    static ObjectNode componentDescriptor(ObjectMapper mapper, int components, int size) {
+        var descriptor = mapper.createObjectNode();
+        var dataProduct = descriptor
+                .putObject("dataProduct")
+                .put("id", "urn:dmb:dp:healthcare:vaccinations:0")
+                .put("name", "Vaccinations")
+                .put("description", "DP about vaccinations")
+                .put("kind", "dataproduct")
+                .put("domain", "healthcare")
+                .put("version", "0.1.0")
+                .put("environment", "development")
+                .put("dataProductOwner", "user:name.surname_email.com")
+                .put("dataProductOwnerDisplayName", "Name Surname")
+                .put("devGroup", "group:dev")
+                .put("ownerGroup", "name.surname_email.com")
+                .put("useCaseTemplateId", "urn:dmb:utm:dataproduct-template:0.0.0");
+        dataProduct.putArray("tags");
+        dataProduct.putObject("specific");
+        var componentArray = dataProduct.putArray("components");
+        for (int i = 0; i < components; i++) {
+            componentArray.add(outputPort(mapper, componentId(i), size));
+        }
+        descriptor.put("componentIdToProvision", componentId(components / 2));
+        return descriptor;
+    }
+
+    static String componentId(int index) {
+        return "urn:dmb:cmp:healthcare:vaccinations:0:output-port-" + index;
+    }
+}
@@ -0,0 +1,68 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.witboost.provisioning.framework.service.validation.DescriptorCacheProperties;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.model.ComponentDescriptor;
+import com.witboost.provisioning.parser.Parser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Compares parsing a YAML component descriptor, with {@code components} components of {@code size} entries each, with
+ * getting it from the {@link ParsedDescriptorCache} once it has been parsed by a previous request.
+ * <p>
+ * {@code uncached} parses the descriptor string. {@code cached} hashes the string, copies the cached descriptor tree and
+ * binds the copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParsedDescriptorCacheBenchmark {
+
+    @Param({"10", "50"})
+    private int components;
+
+    @Param({"20"})
+    private int size;
+
+    private final ParsedDescriptorCache cache =
+            new ParsedDescriptorCache(new DescriptorCacheProperties(true, 16, DataSize.ofMegabytes(64)));
+
+    private String descriptor;
+
+    @Setup
+    public void setUp() throws Exception {
+        var yamlMapper = new ObjectMapper(new YAMLFactory());
+        descriptor = yamlMapper.writeValueAsString(Descriptors.componentDescriptor(yamlMapper, components, size));
+        cache.get(descriptor, false, Parser::parseComponentDescriptorTree);
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> uncached() {
+        return Parser.parseComponentDescriptor(descriptor).get();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> cached() {
+        return cache.get(descriptor, false, Parser::parseComponentDescriptorTree)
+                .flatMap(Parser::parseComponentDescriptor)
+                .get();
+    }
+}
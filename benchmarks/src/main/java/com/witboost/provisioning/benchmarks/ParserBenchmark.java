@@ -0,0 +1,64 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.witboost.provisioning.model.Component;
+import com.witboost.provisioning.model.OutputPort;
+import com.witboost.provisioning.parser.Parser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the binding of an already parsed component tree into an {@link OutputPort}, for components whose
+ * {@code specific} field and data contract hold {@code size} entries.
+ * <p>
+ * {@code reparse} serializes the tree back to text and parses it again with the YAML mapper, as
+ * {@link Parser#parseComponent} did before binding directly from the tree. {@code parseComponent} measures the
+ * current implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory()).registerModule(new Jdk8Module());
+    private final JavaType outputPortType =
+            yamlMapper.getTypeFactory().constructParametricType(OutputPort.class, JsonNode.class);
+
+    private JsonNode component;
+
+    @Setup
+    public void setUp() {
+        component = Descriptors.outputPort(yamlMapper, "urn:dmb:cmp:healthcare:vaccinations:0:output-port", size);
+    }
+
+    @Benchmark
+    public Component<JsonNode> reparse() throws Exception {
+        return yamlMapper.readValue(component.toString(), outputPortType);
+    }
+
+    @Benchmark
+    public Component<JsonNode> parseComponent() {
+        return Parser.parseComponent(component, OutputPort.class, JsonNode.class)
+                .get();
+    }
+}
@@ -0,0 +1,95 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.witboost.provisioning.framework.controller.ProvisioningRequestMessageConverter;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.model.ComponentDescriptor;
+import com.witboost.provisioning.parser.Parser;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares reading a provisioning request body and parsing its component descriptor, with {@code components} components
+ * of {@code size} entries each, when the descriptor is sent as a YAML string and as a JSON object.
+ * <p>
+ * {@code yamlString} reads the body as defined by the interface specification and parses the YAML descriptor.
+ * {@code jsonObject} reads the body into a {@link StructuredProvisioningRequest} and binds the descriptor tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StructuredDescriptorBenchmark {
+
+    @Param({"10", "50"})
+    private int components;
+
+    @Param({"20"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ProvisioningRequestMessageConverter converter = new ProvisioningRequestMessageConverter(objectMapper);
+
+    private byte[] yamlStringBody;
+    private byte[] jsonObjectBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        var yamlMapper = new ObjectMapper(new YAMLFactory());
+        var descriptor = Descriptors.componentDescriptor(yamlMapper, components, size);
+        var body = objectMapper.createObjectNode().put("descriptorKind", "COMPONENT_DESCRIPTOR");
+        body.put("descriptor", yamlMapper.writeValueAsString(descriptor));
+        yamlStringBody = objectMapper.writeValueAsBytes(body);
+        body.set("descriptor", descriptor);
+        jsonObjectBody = objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> yamlString() throws Exception {
+        var request = converter.read(ProvisioningRequest.class, input(yamlStringBody));
+        return Parser.parseComponentDescriptor(request.getDescriptor()).get();
+    }
+
+    @Benchmark
+    public ComponentDescriptor<JsonNode> jsonObject() throws Exception {
+        var request = (StructuredProvisioningRequest) converter.read(ProvisioningRequest.class, input(jsonObjectBody));
+        return Parser.parseComponentDescriptor(request.getDescriptorTree()).get();
+    }
+
+    private static HttpInputMessage input(byte[] body) {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                var headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                return headers;
+            }
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package com.witboost.provisioning.benchmarks;
+
+import com.witboost.provisioning.autoconfigure.AsyncAutoConfiguration;
+import com.witboost.provisioning.autoconfigure.VirtualThreadsAutoConfiguration;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.UpdateAclRequest;
+import com.witboost.provisioning.framework.service.AsyncProperties;
+import com.witboost.provisioning.framework.service.AsyncTechAdapterService;
+import com.witboost.provisioning.framework.service.ProvisionConfiguration;
+import com.witboost.provisioning.framework.service.ProvisionService;
+import com.witboost.provisioning.framework.service.SyncTechAdapterService;
+import com.witboost.provisioning.framework.service.impl.InMemoryTaskStore;
+import com.witboost.provisioning.framework.service.validation.ValidationService;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.OutputPort;
+import com.witboost.provisioning.model.Specific;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.request.AccessControlOperationRequest;
+import com.witboost.provisioning.model.request.ProvisionOperationRequest;
+import com.witboost.provisioning.model.request.ReverseProvisionOperationRequest;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import io.vavr.control.Either;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Compares the throughput of provisioning operations running on platform threads and on virtual threads, using a
+ * {@link ProvisionService} that waits {@code latencyMillis} on each operation to emulate the calls to the target
+ * infrastructure.
+ * <p>
+ * {@code syncRequests} emulates the request handling of a synchronous Tech Adapter, running a burst of concurrent
+ * provision requests on the default Tomcat pool of 200 threads or on a virtual thread per request.
+ * {@code asyncTasks} submits a burst of asynchronous provision operations to the {@link AsyncTechAdapterService},
+ * using the task executor provided by {@link AsyncAutoConfiguration} or {@link VirtualThreadsAutoConfiguration}.
+ * <p>
+ * The {@code virtual} mode requires Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"50"})
+    private long latencyMillis;
+
+    private final Semaphore completedTasks = new Semaphore(0);
+    private final ProvisioningRequest request = new ProvisioningRequest()
+            .descriptorKind(DescriptorKind.COMPONENT_DESCRIPTOR)
+            .descriptor("descriptor");
+
+    private AsyncTaskExecutor requestExecutor;
+    private AsyncTaskExecutor taskExecutor;
+    private SyncTechAdapterService syncTechAdapterService;
+    private AsyncTechAdapterService asyncTechAdapterService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later");
+        }
+        var asyncProperties = new AsyncProperties(
+                true,
+                new AsyncProperties.Pool(8, 16, CONCURRENT_REQUESTS),
+                new AsyncProperties.Store(
+                        AsyncProperties.Store.Type.IN_MEMORY,
+                        10 * CONCURRENT_REQUESTS,
+                        Duration.ofMinutes(1),
+                        new AsyncProperties.File(Path.of("tasks"), DataSize.ofMegabytes(16), Duration.ofMillis(10))),
+                new AsyncProperties.Queue(Duration.ofSeconds(1)),
+                new AsyncProperties.Logs(1000),
+                new AsyncProperties.Progress(Duration.ofMillis(200)),
+                new AsyncProperties.Deadlines(Map.of(), Map.of(), true),
+                new AsyncProperties.Scheduler(false, 0, Duration.ofSeconds(30), Map.of(), null));
+
+        if (virtual) {
+            requestExecutor = new VirtualThreadsAutoConfiguration().virtualThreadTaskExecutor();
+            taskExecutor = new VirtualThreadsAutoConfiguration().virtualThreadTaskExecutor();
+        } else {
+            var tomcatPool = new ThreadPoolTaskExecutor();
+            tomcatPool.setCorePoolSize(TOMCAT_MAX_THREADS);
+            tomcatPool.setMaxPoolSize(TOMCAT_MAX_THREADS);
+            tomcatPool.initialize();
+            requestExecutor = tomcatPool;
+            var taskPool = new AsyncAutoConfiguration().techAdapterTaskExecutor(asyncProperties);
+            taskPool.initialize();
+            taskExecutor = taskPool;
+        }
+
+        var provisionService = new LatencyProvisionService(latencyMillis, completedTasks);
+        syncTechAdapterService = new SyncTechAdapterService(
+                new FixedValidationService(),
+                ProvisionConfiguration.builder()
+                        .outputPortProvisionService(provisionService)
+                        .build());
+        asyncTechAdapterService = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                taskExecutor,
+                new InMemoryTaskStore(
+                        asyncProperties.taskStore().maxEntries(),
+                        asyncProperties.taskStore().timeToLive()),
+                Optional.empty());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        for (var executor : new AsyncTaskExecutor[] {requestExecutor, taskExecutor}) {
+            if (executor instanceof ThreadPoolTaskExecutor pool) pool.shutdown();
+            if (executor instanceof SimpleAsyncTaskExecutor simple) simple.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void syncRequests() {
+        var requests = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests[i] =
+                    CompletableFuture.supplyAsync(() -> syncTechAdapterService.provision(request), requestExecutor);
+        }
+        CompletableFuture.allOf(requests).join();
+        completedTasks.drainPermits();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void asyncTasks() throws InterruptedException {
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            asyncTechAdapterService.provision(request);
+        }
+        completedTasks.acquire(CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Provision service that waits a fixed latency before returning, emulating the calls to the target infrastructure
+     */
+    static class LatencyProvisionService implements ProvisionService {
+
+        private final long latencyMillis;
+        private final Semaphore completedTasks;
+
+        LatencyProvisionService(long latencyMillis, Semaphore completedTasks) {
+            this.latencyMillis = latencyMillis;
+            this.completedTasks = completedTasks;
+        }
+
+        @Override
+        public Either<FailedOperation, ProvisionInfo> provision(
+                ProvisionOperationRequest<?, ? extends Specific> operationRequest) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                completedTasks.release();
+            }
+            return Either.right(ProvisionInfo.builder().build());
+        }
+    }
+
+    /**
+     * Validation service returning the same output port request, so that the benchmark measures the operation execution
+     */
+    static class FixedValidationService implements ValidationService {
+
+        private final ProvisionOperationRequest<?, ? extends Specific> operationRequest =
+                new ProvisionOperationRequest<Object, Specific>(null, new OutputPort<>(), false, Optional.empty());
+
+        @Override
+        public Either<FailedOperation, ProvisionOperationRequest<?, ? extends Specific>> validate(
+                ProvisioningRequest provisioningRequest, OperationType operationType) {
+            return Either.right(operationRequest);
+        }
+
+        @Override
+        public Either<FailedOperation, AccessControlOperationRequest<?, ? extends Specific>> validateUpdateAcl(
+                UpdateAclRequest updateAclRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Either<FailedOperation, ReverseProvisionOperationRequest<? extends Specific>> validateReverseProvision(
+                ReverseProvisioningRequest reverseProvisionOpRequest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.witboost.provisioning.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.service.AsyncProperties;
+import com.witboost.provisioning.framework.service.AsyncTechAdapterService;
+import com.witboost.provisioning.framework.service.PriorityTaskScheduler;
+import com.witboost.provisioning.framework.service.ProgressPublisher;
+import com.witboost.provisioning.framework.service.TaskDeadlines;
+import com.witboost.provisioning.framework.service.TaskStore;
+import com.witboost.provisioning.framework.service.impl.FileTaskStore;
+import com.witboost.provisioning.framework.service.impl.InMemoryTaskStore;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Provides autoconfiguration for the asynchronous operations when {@code async.enabled} is set to {@code true}. Configures
+ * the task executor used by the {@link AsyncTechAdapterService} based on the {@link AsyncProperties} pool configuration,
+ * unless a bean with the same name is already provided by the Tech Adapter or the application runs on virtual threads
+ * (see {@link VirtualThreadsAutoConfiguration}). An {@link InMemoryTaskStore} is provided as
+ * default {@link TaskStore} when no other implementation is available, or a {@link FileTaskStore} when
+ * {@code async.task-store.type} is set to {@code file}. The {@link ProgressPublisher} writing the progress reported by
+ * the running tasks is configured from the {@code async.progress} settings, and the {@link TaskDeadlines} from the
+ * {@code async.deadlines} settings. Tasks are submitted to the executor through the {@link PriorityTaskScheduler}
+ * configured from the {@code async.scheduler} settings, which caps the running tasks to the {@code async.pool} size
+ * unless configured otherwise. On virtual threads, tasks are only capped when {@code async.scheduler.max-concurrent}
+ * is set.
+ *
+ * @see AsyncTechAdapterService
+ * @see AsyncProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "async", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AsyncProperties.class)
+public class AsyncAutoConfiguration {
+
+    @Bean(name = AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnMissingBean(name = AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor techAdapterTaskExecutor(AsyncProperties asyncProperties) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncProperties.pool().coreSize());
+        executor.setMaxPoolSize(asyncProperties.pool().maxSize());
+        executor.setQueueCapacity(asyncProperties.pool().queueCapacity());
+        executor.setThreadNamePrefix("tech-adapter-task-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TaskStore.class)
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "in-memory", matchIfMissing = true)
+    public TaskStore taskStore(AsyncProperties asyncProperties) {
+        return inMemoryTaskStore(asyncProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TaskStore.class)
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "file")
+    public FileTaskStore fileTaskStore(AsyncProperties asyncProperties, ObjectMapper objectMapper) {
+        var file = asyncProperties.taskStore().file();
+        return new FileTaskStore(
+                file.directory(),
+                file.segmentSize().toBytes(),
+                file.flushInterval(),
+                inMemoryTaskStore(asyncProperties),
+                objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProgressPublisher progressPublisher(AsyncProperties asyncProperties) {
+        return new ProgressPublisher(asyncProperties.progress().publishInterval());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskDeadlines taskDeadlines(AsyncProperties asyncProperties) {
+        return new TaskDeadlines(asyncProperties.deadlines());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public PriorityTaskScheduler priorityTaskScheduler(
+            AsyncProperties asyncProperties,
+            @Qualifier(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            ObjectProvider<ParsedDescriptorCache> parsedDescriptorCache,
+            ObjectProvider<ParserProperties> parserProperties) {
+        return priorityTaskScheduler(
+                asyncProperties,
+                taskExecutor,
+                asyncProperties.pool().maxSize(),
+                parsedDescriptorCache,
+                parserProperties);
+    }
+
+    /**
+     * Virtual threads aren't bounded by the {@code async.pool} size, so tasks are only capped when
+     * {@code async.scheduler.max-concurrent} is set
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public PriorityTaskScheduler virtualThreadPriorityTaskScheduler(
+            AsyncProperties asyncProperties,
+            @Qualifier(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            ObjectProvider<ParsedDescriptorCache> parsedDescriptorCache,
+            ObjectProvider<ParserProperties> parserProperties) {
+        return priorityTaskScheduler(
+                asyncProperties, taskExecutor, Integer.MAX_VALUE, parsedDescriptorCache, parserProperties);
+    }
+
+    private PriorityTaskScheduler priorityTaskScheduler(
+            AsyncProperties asyncProperties,
+            AsyncTaskExecutor taskExecutor,
+            int defaultMaxConcurrent,
+            ObjectProvider<ParsedDescriptorCache> parsedDescriptorCache,
+            ObjectProvider<ParserProperties> parserProperties) {
+        return new PriorityTaskScheduler(
+                asyncProperties.scheduler(),
+                taskExecutor,
+                defaultMaxConcurrent,
+                parsedDescriptorCache.getIfAvailable(ParsedDescriptorCache::disabled),
+                parserProperties.getIfAvailable(() -> new ParserProperties(false)));
+    }
+
+    private InMemoryTaskStore inMemoryTaskStore(AsyncProperties asyncProperties) {
+        return new InMemoryTaskStore(
+                asyncProperties.taskStore().maxEntries(),
+                asyncProperties.taskStore().timeToLive());
+    }
+}
@@ -3,8 +3,18 @@ package com.witboost.provisioning.autoconfigure;
 import com.witboost.provisioning.framework.service.ProvisionConfiguration;
 import com.witboost.provisioning.framework.service.ProvisionService;
 import com.witboost.provisioning.framework.service.SyncTechAdapterService;
+import com.witboost.provisioning.framework.service.concurrency.BulkheadProperties;
+import com.witboost.provisioning.framework.service.concurrency.CoalescingProperties;
+import com.witboost.provisioning.framework.service.concurrency.ComponentBulkheads;
+import com.witboost.provisioning.framework.service.concurrency.InFlightOperations;
+import com.witboost.provisioning.framework.service.concurrency.OrderingLocks;
+import com.witboost.provisioning.framework.service.concurrency.OrderingProperties;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,12 +22,18 @@ import org.springframework.context.annotation.Configuration;
  * Provides autoconfiguration for the {@link ProvisionConfiguration} class which encapsulates the set of {@link ProvisionService}
  * interfaces for the different types of supported components. Configures the behaviour as the interface default behaviour,
  * which returns an error explaining that provisioning operations are not supported for any component.
+ * <p>
+ * Also provides the {@link ComponentBulkheads} limiting the concurrent operations of each component kind, based on the
+ * {@link BulkheadProperties} configuration, and the {@link InFlightOperations} coalescing identical operations when
+ * enabled through the {@link CoalescingProperties}. The {@link OrderingLocks} execute the operations on the same
+ * component one at a time, based on the {@link OrderingProperties}.
  *
  * @see ProvisionConfiguration
  * @see ProvisionService
  */
 @Configuration
 @ConditionalOnClass(SyncTechAdapterService.class)
+@EnableConfigurationProperties({BulkheadProperties.class, CoalescingProperties.class, OrderingProperties.class})
 public class ProvisionAutoConfiguration {
 
     @Bean
@@ -32,4 +48,28 @@ public class ProvisionAutoConfiguration {
     ProvisionService defaultProvisionService() {
         return new ProvisionService() {};
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ComponentBulkheads componentBulkheads(BulkheadProperties bulkheadProperties) {
+        return new ComponentBulkheads(bulkheadProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InFlightOperations inFlightOperations(
+            CoalescingProperties coalescingProperties,
+            ObjectProvider<ParsedDescriptorCache> parsedDescriptorCache,
+            ObjectProvider<ParserProperties> parserProperties) {
+        return new InFlightOperations(
+                coalescingProperties.enabled(),
+                parsedDescriptorCache.getIfAvailable(ParsedDescriptorCache::disabled),
+                parserProperties.getIfAvailable(() -> new ParserProperties(false)));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OrderingLocks orderingLocks(OrderingProperties orderingProperties) {
+        return new OrderingLocks(orderingProperties);
+    }
 }
@@ -1,20 +1,35 @@
 package com.witboost.provisioning.autoconfigure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.controller.ProvisioningRequestMessageConverter;
+import com.witboost.provisioning.framework.controller.StructuredDescriptorTraversableResolver;
 import com.witboost.provisioning.framework.service.ComponentClassProvider;
 import com.witboost.provisioning.framework.service.SpecificClassProvider;
 import com.witboost.provisioning.framework.service.impl.ComponentClassProviderImpl;
 import com.witboost.provisioning.framework.service.impl.SpecificClassProviderImpl;
 import com.witboost.provisioning.framework.service.validation.*;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.validation.ValidationConfigurationCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 /**
  * Provides autoconfiguration for the validation and parsing interfaces, including the
  * {@link ValidationConfiguration} class which encapsulates the set of {@link ComponentValidationService} interfaces for
  * the different types of supported components, and the {@link ComponentClassProvider} and {@link SpecificClassProvider} for class mapping.
  * Configures the behaviour as the interface default behaviour, which returns an error explaining that validation is not supported for any component.
+ * <p>
+ * Also registers the {@link ProvisioningRequestMessageConverter}, accepting the request {@code descriptor} as a JSON object
+ * besides the YAML string defined by the interface specification, and the {@link StructuredDescriptorTraversableResolver}
+ * so that validating these requests doesn't serialize the descriptor. The {@link ParsedDescriptorCache} reuses the
+ * descriptors parsed by previous requests when enabled through the {@link DescriptorCacheProperties}, and the
+ * {@link ValidationResultCache} reuses their successful validations when enabled through the
+ * {@link ValidationCacheProperties}.
  *
  * @see ValidationConfiguration
  * @see ComponentValidationService
@@ -24,6 +39,8 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @ConditionalOnClass(ValidationServiceImpl.class)
+@EnableConfigurationProperties({ParserProperties.class, DescriptorCacheProperties.class, ValidationCacheProperties.class
+})
 public class ValidationAutoConfiguration {
 
     @Bean
@@ -46,4 +63,32 @@ public class ValidationAutoConfiguration {
     public ComponentClassProvider defaultComponentClassProvider() {
         return ComponentClassProviderImpl.builder().build();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ParsedDescriptorCache parsedDescriptorCache(DescriptorCacheProperties descriptorCacheProperties) {
+        return new ParsedDescriptorCache(descriptorCacheProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidationResultCache validationResultCache(ValidationCacheProperties validationCacheProperties) {
+        return new ValidationResultCache(validationCacheProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ProvisioningRequestMessageConverter provisioningRequestMessageConverter(
+            ObjectProvider<ObjectMapper> objectMapper) {
+        return new ProvisioningRequestMessageConverter(objectMapper.getIfAvailable(
+                () -> Jackson2ObjectMapperBuilder.json().build()));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ValidationConfigurationCustomizer structuredDescriptorValidationCustomizer() {
+        return configuration -> configuration.traversableResolver(
+                new StructuredDescriptorTraversableResolver(configuration.getDefaultTraversableResolver()));
+    }
 }
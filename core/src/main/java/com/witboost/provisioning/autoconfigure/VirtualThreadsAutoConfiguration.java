@@ -0,0 +1,43 @@
+package com.witboost.provisioning.autoconfigure;
+
+import com.witboost.provisioning.framework.service.AsyncTechAdapterService;
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Provides autoconfiguration for running the Tech Adapter on virtual threads when {@code spring.threads.virtual.enabled}
+ * is set to {@code true} and the application runs on Java 21 or later. Spring Boot already handles the incoming requests
+ * on virtual threads under the same property; this configuration extends it to the task executor used by the
+ * {@link AsyncTechAdapterService}, starting a new virtual thread for each asynchronous task instead of using the
+ * thread pool configured on {@code async.pool}.
+ * <p>
+ * On Java 17 the property has no effect, and both the requests and the asynchronous tasks keep running on the platform
+ * thread pools configured by Spring Boot and {@link AsyncAutoConfiguration}.
+ *
+ * @see AsyncAutoConfiguration
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsAutoConfiguration {
+
+    /**
+     * Time the virtual task executor waits for the running tasks on shutdown, as virtual threads don't keep the JVM alive
+     */
+    static final Duration TASK_TERMINATION_TIMEOUT = Duration.ofSeconds(30);
+
+    @Bean(name = AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnMissingBean(name = AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "async", name = "enabled", havingValue = "true")
+    public SimpleAsyncTaskExecutor virtualThreadTaskExecutor() {
+        var executor = new SimpleAsyncTaskExecutor("tech-adapter-task-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(TASK_TERMINATION_TIMEOUT.toMillis());
+        return executor;
+    }
+}
@@ -0,0 +1,14 @@
+package com.witboost.provisioning.framework.common;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+
+/**
+ * {@link TechAdapterValidationException} thrown when the Tech Adapter is too busy to accept an operation, which is
+ * handled as a {@code 429 Too Many Requests} error so that the platform retries the operation later.
+ */
+public class TechAdapterOverloadedException extends TechAdapterValidationException {
+
+    public TechAdapterOverloadedException(FailedOperation failedOperation) {
+        super(failedOperation);
+    }
+}
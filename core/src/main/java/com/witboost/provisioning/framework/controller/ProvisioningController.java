@@ -5,6 +5,8 @@ import com.witboost.provisioning.framework.openapi.controller.V1ApiDelegate;
 import com.witboost.provisioning.framework.openapi.controller.V2ApiDelegate;
 import com.witboost.provisioning.framework.openapi.model.*;
 import com.witboost.provisioning.framework.service.TechAdapterService;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
 import java.util.Optional;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -33,22 +35,22 @@ class ProvisioningController implements V1ApiDelegate, V2ApiDelegate {
 
     @Override
     public ResponseEntity<ProvisioningStatus> provision(ProvisioningRequest provisioningRequest) {
-        return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.provision(provisioningRequest)));
+        return toResponse(techAdapterService.provision(provisioningRequest));
     }
 
     @Override
-    public ResponseEntity<ProvisioningStatus> getStatus(String token) {
-        return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.getStatus(token)));
+    public ResponseEntity<ProvisioningStatus> getStatus(String token, Optional<Long> logsCursor) {
+        return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.getStatus(token), logsCursor));
     }
 
     @Override
     public ResponseEntity<ProvisioningStatus> unprovision(ProvisioningRequest provisioningRequest) {
-        return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.unprovision(provisioningRequest)));
+        return toResponse(techAdapterService.unprovision(provisioningRequest));
     }
 
     @Override
     public ResponseEntity<ProvisioningStatus> updateacl(UpdateAclRequest updateAclRequest) {
-        return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.updateacl(updateAclRequest)));
+        return toResponse(techAdapterService.updateacl(updateAclRequest));
     }
 
     @Override
@@ -59,8 +61,11 @@ class ProvisioningController implements V1ApiDelegate, V2ApiDelegate {
     @Override
     public ResponseEntity<ReverseProvisioningStatus> runReverseProvisioning(
             ReverseProvisioningRequest reverseProvisioningRequest) {
-        return ResponseEntity.ok(
-                ProvisioningMapper.map(techAdapterService.runReverseProvisioning(reverseProvisioningRequest)));
+        var operationStatus = techAdapterService.runReverseProvisioning(reverseProvisioningRequest);
+        if (operationStatus.getTaskToken().isPresent()) {
+            return accepted(operationStatus.getTaskToken().get());
+        }
+        return ResponseEntity.ok(ProvisioningMapper.map(operationStatus));
     }
 
     @Override
@@ -77,4 +82,20 @@ class ProvisioningController implements V1ApiDelegate, V2ApiDelegate {
     public ResponseEntity<ValidationStatus> getValidationStatus(String token) {
         return ResponseEntity.ok(ProvisioningMapper.map(techAdapterService.getValidationStatus(token)));
     }
+
+    /**
+     * Asynchronous operations return a task token instead of the operation result. In this case, the endpoint responds with
+     * 202 Accepted and the token as body, as defined by the interface specification.
+     */
+    private ResponseEntity<ProvisioningStatus> toResponse(ProvisionOperationStatus operationStatus) {
+        if (operationStatus.getTaskToken().isPresent()) {
+            return accepted(operationStatus.getTaskToken().get());
+        }
+        return ResponseEntity.ok(ProvisioningMapper.map(operationStatus));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> accepted(TaskToken taskToken) {
+        return (ResponseEntity<T>) ResponseEntity.accepted().body(taskToken.toString());
+    }
 }
@@ -1,6 +1,7 @@
 package com.witboost.provisioning.framework.controller;
 
 import com.witboost.provisioning.framework.common.ErrorBuilder;
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
 import com.witboost.provisioning.framework.common.TechAdapterValidationException;
 import com.witboost.provisioning.framework.openapi.model.RequestValidationError;
 import com.witboost.provisioning.framework.openapi.model.SystemError;
@@ -14,7 +15,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 /**
- * Exception handler for the API layer. The following methods wrap both custom and generic exceptions into 400 and 500 errors.
+ * Exception handler for the API layer. The following methods wrap both custom and generic exceptions into 400 and 500 errors,
+ * or 429 errors when the Tech Adapter is too busy to accept the operation.
  */
 @RestControllerAdvice
 class ProvisioningExceptionHandler {
@@ -28,6 +30,13 @@ class ProvisioningExceptionHandler {
         return ErrorBuilder.buildRequestValidationError(ex.getFailedOperation());
     }
 
+    @ExceptionHandler({TechAdapterOverloadedException.class})
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    protected RequestValidationError handleOverloadedException(TechAdapterOverloadedException ex) {
+        logger.warn("Caught Tech Adapter Overloaded exception: {}", ex.getMessage());
+        return ErrorBuilder.buildRequestValidationError(ex.getFailedOperation());
+    }
+
     @ExceptionHandler({ConstraintViolationException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     protected RequestValidationError handleConflict(ConstraintViolationException ex) {
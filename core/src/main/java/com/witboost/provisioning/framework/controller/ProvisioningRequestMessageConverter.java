@@ -0,0 +1,96 @@
+package com.witboost.provisioning.framework.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Reads the {@link ProvisioningRequest} body accepting the {@code descriptor} field either as a YAML string, as defined
+ * by the interface specification, or as a JSON object. Object descriptors are read into a
+ * {@link StructuredProvisioningRequest} keeping the descriptor tree, which is bound to the component descriptor without
+ * the YAML parsing needed by the string form.
+ * <p>
+ * The body is read as a stream in a single pass: the descriptor object is read into its tree, without holding the body
+ * or the descriptor as text, while the rest of fields are bound to the request as usual.
+ * <p>
+ * The converter only reads requests: it never claims to write, so responses are written by the default Jackson
+ * converter.
+ */
+public class ProvisioningRequestMessageConverter implements HttpMessageConverter<ProvisioningRequest> {
+
+    private static final String DESCRIPTOR_FIELD = "descriptor";
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+
+    private final ObjectMapper objectMapper;
+
+    public ProvisioningRequestMessageConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return ProvisioningRequest.class == clazz
+                && (mediaType == null
+                        || SUPPORTED_MEDIA_TYPES.stream().anyMatch(supported -> supported.includes(mediaType)));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public ProvisioningRequest read(Class<? extends ProvisioningRequest> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try (JsonParser parser = objectMapper.createParser(inputMessage.getBody())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return objectMapper.readValue(parser, ProvisioningRequest.class);
+            }
+            // The descriptor is read from the stream on its own, the rest of fields are small and bound as usual
+            ObjectNode fields = objectMapper.createObjectNode();
+            JsonNode descriptor = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && DESCRIPTOR_FIELD.equals(field)) {
+                    descriptor = objectMapper.readTree(parser);
+                } else {
+                    fields.set(field, objectMapper.readTree(parser));
+                }
+            }
+            var request = objectMapper.treeToValue(fields, ProvisioningRequest.class);
+            if (descriptor == null) return request;
+            var structuredRequest =
+                    new StructuredProvisioningRequest(request.getDescriptorKind(), descriptor, request.getRemoveData());
+            structuredRequest.setLatestEnrichedDescriptor(request.getLatestEnrichedDescriptor());
+            return structuredRequest;
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    /**
+     * Never called, as the converter can't write any type
+     */
+    @Override
+    public void write(ProvisioningRequest provisioningRequest, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("ProvisioningRequestMessageConverter only reads requests");
+    }
+}
@@ -0,0 +1,47 @@
+package com.witboost.provisioning.framework.controller;
+
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+import java.lang.annotation.ElementType;
+
+/**
+ * {@link TraversableResolver} skipping the {@code descriptor} property of the {@link StructuredProvisioningRequest}, so
+ * that validating the request body doesn't serialize the descriptor tree into a string just to check it's not null.
+ * The rest of properties are resolved by the default resolver.
+ */
+public class StructuredDescriptorTraversableResolver implements TraversableResolver {
+
+    private static final String DESCRIPTOR_PROPERTY = "descriptor";
+
+    private final TraversableResolver delegate;
+
+    public StructuredDescriptorTraversableResolver(TraversableResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isReachable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+        if (traversableObject instanceof StructuredProvisioningRequest
+                && DESCRIPTOR_PROPERTY.equals(traversableProperty.getName())) {
+            return false;
+        }
+        return delegate.isReachable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+
+    @Override
+    public boolean isCascadable(
+            Object traversableObject,
+            Path.Node traversableProperty,
+            Class<?> rootBeanType,
+            Path pathToTraversableObject,
+            ElementType elementType) {
+        return delegate.isCascadable(
+                traversableObject, traversableProperty, rootBeanType, pathToTraversableObject, elementType);
+    }
+}
@@ -0,0 +1,63 @@
+package com.witboost.provisioning.framework.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import java.util.Objects;
+
+/**
+ * {@link ProvisioningRequest} whose {@code descriptor} was received as a JSON object instead of a YAML string. The
+ * descriptor tree is kept as received, so that it can be bound without parsing it again.
+ * <p>
+ * {@link #getDescriptor()} keeps returning the descriptor as a string for the consumers that expect it, serializing
+ * the tree as JSON on the first call and reusing the serialized copy afterwards. The bean validation of
+ * the request skips it through the {@link StructuredDescriptorTraversableResolver}, as the tree is never null.
+ *
+ * @see ProvisioningRequestMessageConverter
+ */
+public class StructuredProvisioningRequest extends ProvisioningRequest {
+
+    private final JsonNode descriptorTree;
+    private volatile String descriptor;
+
+    public StructuredProvisioningRequest(DescriptorKind descriptorKind, JsonNode descriptorTree, Boolean removeData) {
+        super(descriptorKind, null, removeData);
+        this.descriptorTree = Objects.requireNonNull(descriptorTree);
+    }
+
+    /**
+     * @return The descriptor as received on the request body
+     */
+    public JsonNode getDescriptorTree() {
+        return descriptorTree;
+    }
+
+    /**
+     * @return The descriptor serialized as JSON, which is also valid YAML
+     */
+    @Override
+    public String getDescriptor() {
+        var serialized = descriptor;
+        if (serialized == null) {
+            serialized = descriptorTree.toString();
+            descriptor = serialized;
+        }
+        return serialized;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        var that = (StructuredProvisioningRequest) o;
+        return Objects.equals(getDescriptorKind(), that.getDescriptorKind())
+                && descriptorTree.equals(that.descriptorTree)
+                && Objects.equals(getLatestEnrichedDescriptor(), that.getLatestEnrichedDescriptor())
+                && Objects.equals(getRemoveData(), that.getRemoveData());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getDescriptorKind(), descriptorTree, getLatestEnrichedDescriptor(), getRemoveData());
+    }
+}
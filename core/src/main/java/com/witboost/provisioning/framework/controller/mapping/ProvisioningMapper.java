@@ -25,6 +25,29 @@ public class ProvisioningMapper {
         return status;
     }
 
+    /**
+     * Maps the status of a provisioning task polled by the platform, including only the logs after the received cursor.
+     * Only the returned logs are mapped, so that polling a running task doesn't copy the logs already sent.
+     * @param operationStatus Status of the task
+     * @param logsCursor Position of the first log to return, counted from the start of the operation
+     * @return The task status, with the position after its last log as {@code logsCursor}
+     */
+    public static ProvisioningStatus map(ProvisionOperationStatus operationStatus, Optional<Long> logsCursor) {
+        var status = new ProvisioningStatus(map(operationStatus.getOperationStatus()), "");
+
+        var provisionInfo = operationStatus.getProvisionInfo();
+        var logs = provisionInfo.map(ProvisionInfo::getLogs).orElse(List.of());
+        var logsOffset = provisionInfo.map(ProvisionInfo::getLogsOffset).orElse(0L);
+        var skipped = (int) Math.min(logs.size(), Math.max(0, logsCursor.orElse(0L) - logsOffset));
+        status.logs(logs.subList(skipped, logs.size()).stream()
+                .map(ProvisioningMapper::map)
+                .toList());
+        status.logsCursor(logsOffset + logs.size());
+        status.setInfo(mapInfo(operationStatus));
+
+        return status;
+    }
+
     public static ReverseProvisioningStatus map(ReverseProvisionOperationStatus operationStatus) {
         var status = new ReverseProvisioningStatus().status(mapReverse(operationStatus.getOperationStatus()));
 
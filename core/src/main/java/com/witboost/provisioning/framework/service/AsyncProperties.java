@@ -0,0 +1,220 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.OperationType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Static configuration of the asynchronous operations of the framework, bound from the {@code async} prefix.
+ * <p>
+ * Asynchronous operations are disabled by default. When enabled, provisioning operations are executed on the framework
+ * task executor and the platform receives a task token to poll the operation status.
+ *
+ * @param enabled Whether to enable the asynchronous {@link AsyncTechAdapterService}
+ * @param pool Configuration of the thread pool used to execute the asynchronous tasks
+ * @param taskStore Configuration of the task store keeping the status of the asynchronous tasks
+ * @param queue Configuration of the worker executing the tasks of a shared {@link TaskQueue}
+ * @param logs Configuration of the live log of the tasks
+ * @param progress Configuration of the publication of the progress reported by the running tasks
+ * @param deadlines Maximum duration of the tasks
+ * @param scheduler Configuration of the priorities and fair sharing of the tasks executed on this replica
+ * @see AsyncTechAdapterService
+ */
+@ConfigurationProperties(prefix = "async")
+public record AsyncProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Pool pool,
+        @DefaultValue Store taskStore,
+        @DefaultValue Queue queue,
+        @DefaultValue Logs logs,
+        @DefaultValue Progress progress,
+        @DefaultValue Deadlines deadlines,
+        @DefaultValue Scheduler scheduler) {
+
+    /**
+     * Thread pool configuration for the asynchronous task executor
+     * @param coreSize Number of threads kept alive on the pool
+     * @param maxSize Maximum number of threads of the pool
+     * @param queueCapacity Number of tasks that can be queued when all the core threads are busy
+     */
+    public record Pool(
+            @DefaultValue("8") int coreSize, @DefaultValue("16") int maxSize, @DefaultValue("100") int queueCapacity) {}
+
+    /**
+     * Configuration of the {@link TaskStore} provided by the framework
+     * @param type Type of task store to use: {@code in-memory}, the persistent {@code file}, or the shared {@code jdbc}
+     *             provided by the {@code java-tech-adapter-framework-jdbc} module
+     * @param maxEntries Maximum number of tasks kept on the in-memory and file stores. The oldest completed tasks are evicted
+     *                   first when exceeded
+     * @param timeToLive Time a completed or failed task is kept on the store after finishing
+     * @param file Configuration of the {@code file} task store
+     */
+    public record Store(
+            @DefaultValue("in-memory") Type type,
+            @DefaultValue("10000") int maxEntries,
+            @DefaultValue("1h") Duration timeToLive,
+            @DefaultValue File file) {
+
+        public enum Type {
+            IN_MEMORY,
+            FILE,
+            JDBC
+        }
+    }
+
+    /**
+     * Configuration of the {@link com.witboost.provisioning.framework.service.impl.FileTaskStore}
+     * @param directory Directory where the task log is stored
+     * @param segmentSize Size of a log segment after which the log is compacted
+     * @param flushInterval Interval between writes of the task transitions to disk
+     */
+    public record File(
+            @DefaultValue("tasks") Path directory,
+            @DefaultValue("16MB") DataSize segmentSize,
+            @DefaultValue("10ms") Duration flushInterval) {}
+
+    /**
+     * Configuration of the {@link TaskQueueWorker}
+     * @param pollInterval Interval between polls of the task queue
+     */
+    public record Queue(@DefaultValue("1s") Duration pollInterval) {}
+
+    /**
+     * Configuration of the {@link TaskLog} of the provision and unprovision tasks
+     * @param maxEntries Maximum number of entries kept on the live log of a task. The oldest entries are discarded first
+     *                   when exceeded
+     */
+    public record Logs(@DefaultValue("1000") int maxEntries) {}
+
+    /**
+     * Configuration of the {@link ProgressPublisher}
+     * @param publishInterval Delay between the first change reported by a task through its {@link OperationContext} and
+     *                        its publication on the task store. All the changes done during the interval are published at
+     *                        once
+     */
+    public record Progress(@DefaultValue("200ms") Duration publishInterval) {}
+
+    /**
+     * Configuration of the {@link TaskDeadlines}. Tasks have no deadline unless configured for their operation type
+     * @param operations Maximum duration of the tasks of each operation type, keyed by operation type (e.g.
+     *                   {@code provision})
+     * @param kinds Maximum duration of the tasks on components of a specific kind, keyed by component kind (e.g.
+     *              {@code workload}) and operation type. Takes precedence over {@code operations}
+     * @param interrupt Whether to interrupt the thread executing a task once its deadline expires
+     */
+    public record Deadlines(
+            Map<OperationType, Duration> operations,
+            Map<String, Map<OperationType, Duration>> kinds,
+            @DefaultValue("true") boolean interrupt) {
+
+        public Deadlines {
+            operations = operations == null ? Map.of() : Map.copyOf(operations);
+            kinds = kinds == null ? Map.of() : Map.copyOf(kinds);
+        }
+
+        /**
+         * @param operationType Operation type of the task
+         * @param componentKind Component kind of the task, if already known
+         * @return The maximum duration configured for the component kind and operation type, or for the operation type
+         */
+        public Optional<Duration> deadlineFor(OperationType operationType, Optional<String> componentKind) {
+            return componentKind
+                    .map(kind -> kinds.getOrDefault(kind, Map.of()).get(operationType))
+                    .or(() -> Optional.ofNullable(operations.get(operationType)));
+        }
+    }
+
+    /**
+     * Configuration of the {@link PriorityTaskScheduler}
+     * @param enabled Whether to schedule the tasks by the priority of their operation type. Otherwise, tasks are executed
+     *                in submission order
+     * @param maxConcurrent Maximum number of tasks executed at the same time. Defaults to {@code async.pool.max-size}
+     *                      when not set, or to no limit when the tasks run on virtual threads
+     * @param aging Waiting time after which a queued task is raised by one priority level, so that low priority tasks
+     *              are eventually executed under a steady flow of higher priority ones
+     * @param lanes Priority and queue limit of the tasks of each operation type, keyed by operation type (e.g.
+     *              {@code validate}). Operation types not configured keep their default lane
+     * @param fairness Sharing of the lanes between the tenants submitting tasks
+     */
+    public record Scheduler(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("0") int maxConcurrent,
+            @DefaultValue("30s") Duration aging,
+            Map<OperationType, Lane> lanes,
+            @DefaultValue Fairness fairness) {
+
+        private static final Map<OperationType, Lane> DEFAULT_LANES = Map.of(
+                OperationType.VALIDATE, new Lane(3, 200),
+                OperationType.REVERSE_PROVISION, new Lane(2, 100),
+                OperationType.UNPROVISION, new Lane(1, 100),
+                OperationType.PROVISION, new Lane(1, 100));
+
+        public Scheduler {
+            var merged = new EnumMap<OperationType, Lane>(DEFAULT_LANES);
+            if (lanes != null) merged.putAll(lanes);
+            lanes = Collections.unmodifiableMap(merged);
+            if (fairness == null) fairness = new Fairness(Fairness.Key.NONE, Map.of(), 1, 0);
+        }
+
+        /**
+         * @param operationType Operation type of the task
+         * @return The lane of the operation type
+         */
+        public Lane laneFor(OperationType operationType) {
+            return lanes.getOrDefault(operationType, new Lane(1, 100));
+        }
+
+        /**
+         * Lane of the tasks of an operation type
+         * @param priority Priority of the tasks. Queued tasks with higher priority are executed first
+         * @param maxQueued Maximum number of tasks waiting on the lane. Further tasks are rejected with a
+         *                  {@code 429 Too Many Requests} error, so lanes with lower limits shed their tasks first
+         */
+        public record Lane(@DefaultValue("1") int priority, @DefaultValue("100") int maxQueued) {}
+
+        /**
+         * Sharing of the lanes between tenants. Tasks waiting on the same lane are executed in deficit round robin order
+         * across their tenants, so that each tenant gets a share of the executed tasks proportional to its weight
+         * @param key Field of the data product identifying the tenant of a task: {@code none}, {@code domain},
+         *            {@code data-product} or {@code environment}. With {@code none}, tasks of a lane are executed in
+         *            submission order
+         * @param weights Weight of each tenant, keyed by the value of the key field (e.g. the domain name)
+         * @param defaultWeight Weight of the tenants not configured
+         * @param maxQueuedPerTenant Maximum number of tasks of the same tenant waiting on a lane, or 0 for no limit other
+         *                           than the lane limit. Further tasks of the tenant are rejected with a
+         *                           {@code 429 Too Many Requests} error
+         */
+        public record Fairness(
+                @DefaultValue("none") Key key,
+                Map<String, Integer> weights,
+                @DefaultValue("1") int defaultWeight,
+                @DefaultValue("0") int maxQueuedPerTenant) {
+
+            public Fairness {
+                weights = weights == null ? Map.of() : Map.copyOf(weights);
+            }
+
+            /**
+             * @param tenant Tenant of the task
+             * @return The weight of the tenant, at least 1
+             */
+            public int weightOf(String tenant) {
+                return Math.max(1, weights.getOrDefault(tenant, defaultWeight));
+            }
+
+            public enum Key {
+                NONE,
+                DOMAIN,
+                DATA_PRODUCT,
+                ENVIRONMENT
+            }
+        }
+    }
+}
@@ -0,0 +1,752 @@
+package com.witboost.provisioning.framework.service;
+
+import static com.witboost.provisioning.model.status.OperationStatus.OperationStatusEnum.*;
+
+import com.witboost.provisioning.framework.common.ErrorConstants;
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
+import com.witboost.provisioning.framework.common.TechAdapterValidationException;
+import com.witboost.provisioning.framework.openapi.model.*;
+import com.witboost.provisioning.framework.service.concurrency.Bulkhead;
+import com.witboost.provisioning.framework.service.concurrency.BulkheadFullException;
+import com.witboost.provisioning.framework.service.concurrency.InFlightOperations;
+import com.witboost.provisioning.framework.service.concurrency.OrderingLocks;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Log;
+import com.witboost.provisioning.model.common.Problem;
+import com.witboost.provisioning.model.status.*;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import com.witboost.provisioning.model.status.ValidationInfo;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.Function3;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link TechAdapterService} implementation that executes provisioning operations asynchronously. Operations are submitted
+ * to the framework task executor and a {@link TaskToken} is immediately returned, which the platform then uses to poll the
+ * operation status. The business logic is still executed through {@link SyncTechAdapterService}, so the {@link ProvisionService}
+ * implementations remain synchronous.
+ * <p>
+ * It is enabled by setting {@code async.enabled=true}, taking precedence over {@link SyncTechAdapterService}. This
+ * implementation also provides the asynchronous validation flow, which is not supported by {@link SyncTechAdapterService}.
+ * <p>
+ * Operations are executed with an {@link OperationContext}, which the {@link ProvisionService} uses to report the phase,
+ * log entries and partial {@code publicInfo} of the operation while it's running. The progress is published on the
+ * {@link TaskStore} by the {@link ProgressPublisher}, coalescing frequent changes, and the log is capped to the configured
+ * maximum number of entries. Reverse provisioning operations also expose the progress logs of the task while running,
+ * and the logs and {@code updates} returned by the {@link ProvisionService} once completed.
+ * <p>
+ * Tasks executed on this replica are scheduled by the priority of their operation type and shared fairly between the
+ * tenants submitting them (see {@link PriorityTaskScheduler}), and rejected with a {@code 429 Too Many Requests} error
+ * when their lane is full. Tasks finding the bulkhead of their component kind full, or a previous operation on their
+ * component running (see {@link OrderingLocks}), wait on it without holding their thread, and are executed again with the
+ * slot handed over to them once it's freed, without validating their request again.
+ * <p>
+ * Tasks exceeding the deadline configured for their operation type and component kind are stored as {@code FAILED},
+ * their context is cancelled and their thread interrupted if enabled (see {@link TaskDeadlines}). The result returned by
+ * a cancelled operation is discarded.
+ * <p>
+ * The status of the tasks is kept on the {@link TaskStore}, so tasks expire according to the store policy. When a
+ * {@link TaskQueue} is available, operations are enqueued instead of being executed on the local task executor, so that
+ * they can be executed by any replica of the Tech Adapter. The queue then orders the tasks by the priority of their
+ * operation type, and rejects them when their lane is full (see {@link PriorityTaskScheduler#headStart(OperationType)}).
+ * <p>
+ * When coalescing is enabled, provision and unprovision requests identical to a task still waiting or running on this
+ * replica return the status of that task instead of starting a new one (see {@link InFlightOperations}).
+ *
+ * @see AsyncProperties
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "async", name = "enabled", havingValue = "true")
+public class AsyncTechAdapterService implements TechAdapterService {
+
+    public static final String TASK_EXECUTOR_BEAN_NAME = "techAdapterTaskExecutor";
+
+    private final SyncTechAdapterService syncTechAdapterService;
+    private final AsyncTaskExecutor taskExecutor;
+    private final TaskStore taskStore;
+    private final Optional<TaskQueue> taskQueue;
+    private final InFlightOperations inFlightOperations;
+    private final int taskLogCapacity;
+    private final ProgressPublisher progressPublisher;
+    private final TaskDeadlines taskDeadlines;
+    private final PriorityTaskScheduler taskScheduler;
+
+    private static final int DEFAULT_TASK_LOG_CAPACITY = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTechAdapterService.class);
+
+    public AsyncTechAdapterService(
+            SyncTechAdapterService syncTechAdapterService,
+            AsyncTaskExecutor taskExecutor,
+            TaskStore taskStore,
+            Optional<TaskQueue> taskQueue) {
+        this(syncTechAdapterService, taskExecutor, taskStore, taskQueue, new InFlightOperations(false));
+    }
+
+    public AsyncTechAdapterService(
+            SyncTechAdapterService syncTechAdapterService,
+            AsyncTaskExecutor taskExecutor,
+            TaskStore taskStore,
+            Optional<TaskQueue> taskQueue,
+            InFlightOperations inFlightOperations) {
+        this(
+                syncTechAdapterService,
+                taskExecutor,
+                taskStore,
+                taskQueue,
+                inFlightOperations,
+                DEFAULT_TASK_LOG_CAPACITY,
+                ProgressPublisher.synchronous(),
+                TaskDeadlines.none(),
+                PriorityTaskScheduler.fifo(taskExecutor));
+    }
+
+    @Autowired
+    public AsyncTechAdapterService(
+            SyncTechAdapterService syncTechAdapterService,
+            @Qualifier(TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            TaskStore taskStore,
+            Optional<TaskQueue> taskQueue,
+            InFlightOperations inFlightOperations,
+            AsyncProperties asyncProperties,
+            ProgressPublisher progressPublisher,
+            TaskDeadlines taskDeadlines,
+            PriorityTaskScheduler taskScheduler) {
+        this(
+                syncTechAdapterService,
+                taskExecutor,
+                taskStore,
+                taskQueue,
+                inFlightOperations,
+                asyncProperties.logs().maxEntries(),
+                progressPublisher,
+                taskDeadlines,
+                taskScheduler);
+    }
+
+    AsyncTechAdapterService(
+            SyncTechAdapterService syncTechAdapterService,
+            AsyncTaskExecutor taskExecutor,
+            TaskStore taskStore,
+            Optional<TaskQueue> taskQueue,
+            InFlightOperations inFlightOperations,
+            int taskLogCapacity,
+            ProgressPublisher progressPublisher,
+            TaskDeadlines taskDeadlines,
+            PriorityTaskScheduler taskScheduler) {
+        this.syncTechAdapterService = syncTechAdapterService;
+        this.taskExecutor = taskExecutor;
+        this.taskStore = taskStore;
+        this.taskQueue = taskQueue;
+        this.inFlightOperations = inFlightOperations;
+        this.taskLogCapacity = taskLogCapacity;
+        this.progressPublisher = progressPublisher;
+        this.taskDeadlines = taskDeadlines;
+        this.taskScheduler = taskScheduler;
+        if (taskQueue.isPresent() && taskScheduler.isFair()) {
+            logger.warn("Tasks are executed from a shared queue, which serves them by priority and submission order. "
+                    + "The async.scheduler.fairness settings are ignored");
+        }
+    }
+
+    @Override
+    public ValidationInfo validate(ProvisioningRequest provisioningRequest) {
+        return syncTechAdapterService.validate(provisioningRequest);
+    }
+
+    @Override
+    public ProvisionOperationStatus provision(ProvisioningRequest provisioningRequest) {
+        return (ProvisionOperationStatus) submitTask(OperationType.PROVISION, provisioningRequest);
+    }
+
+    @Override
+    public ProvisionOperationStatus unprovision(ProvisioningRequest provisioningRequest) {
+        return (ProvisionOperationStatus) submitTask(OperationType.UNPROVISION, provisioningRequest);
+    }
+
+    @Override
+    public ProvisionOperationStatus updateacl(UpdateAclRequest updateAclRequest) {
+        return syncTechAdapterService.updateacl(updateAclRequest);
+    }
+
+    @Override
+    public ProvisionOperationStatus getStatus(String token) {
+        return getTask(token, ProvisionOperationStatus.class);
+    }
+
+    @Override
+    public ReverseProvisionOperationStatus runReverseProvisioning(
+            ReverseProvisioningRequest reverseProvisioningRequest) {
+        return (ReverseProvisionOperationStatus)
+                submitTask(OperationType.REVERSE_PROVISION, reverseProvisioningRequest);
+    }
+
+    @Override
+    public ReverseProvisionOperationStatus getReverseProvisioningStatus(String token) {
+        return getTask(token, ReverseProvisionOperationStatus.class);
+    }
+
+    @Override
+    public String asyncValidate(ProvisioningRequest provisioningRequest) {
+        return submitTask(OperationType.VALIDATE, provisioningRequest)
+                .getTaskToken()
+                .map(TaskToken::toString)
+                .orElseThrow();
+    }
+
+    @Override
+    public ValidationOperationStatus getValidationStatus(String token) {
+        return getTask(token, ValidationOperationStatus.class);
+    }
+
+    /**
+     * Executes a task claimed from the {@link TaskQueue}, storing it as {@code RUNNING} and then replacing it by the
+     * operation result, or by the error status if the operation throws an exception.
+     * @param task Task to execute
+     */
+    public void runQueuedTask(QueuedTask task) {
+        runQueuedTask(task, () -> {});
+    }
+
+    /**
+     * Executes a task claimed from the {@link TaskQueue}, storing it as {@code RUNNING} and then replacing it by the
+     * operation result, or by the error status if the operation throws an exception or exceeds its deadline.
+     * @param task Task to execute
+     * @param onFinished Called once the task is finished, or once its thread returns after the task exceeded its
+     *                   deadline, so that its slot is only reused when the cancelled operation is no longer running
+     */
+    public void runQueuedTask(QueuedTask task, Runnable onFinished) {
+        runQueuedTask(task, () -> {}, onFinished);
+    }
+
+    /**
+     * Executes a task claimed from the {@link TaskQueue}, storing it as {@code RUNNING} and then replacing it by the
+     * operation result, or by the error status if the operation throws an exception or exceeds its deadline.
+     * @param task Task to execute
+     * @param onSuspended Called when the task starts waiting for a free slot of its component kind, so that its slot can
+     *                    be reused while it waits. The task is still running, and it's resumed on another thread
+     * @param onFinished Called once the task is finished, or once its thread returns after the task exceeded its
+     *                   deadline, so that its slot is only reused when the cancelled operation is no longer running
+     */
+    public void runQueuedTask(QueuedTask task, Runnable onSuspended, Runnable onFinished) {
+        runTask(task, taskOperation(task), onSuspended, onFinished);
+    }
+
+    /**
+     * Stores the task as {@code WAITING} and submits it to the task queue if available, or to the task executor otherwise
+     * @return The {@code WAITING} status stored for the task
+     */
+    private OperationStatus submitTask(OperationType operationType, Object request) {
+        var task = new QueuedTask(newTaskToken(), operationType, request);
+        logger.info("Submitting asynchronous {} operation with task token '{}'", operationName(task), task.taskToken());
+
+        var operation = taskOperation(task);
+        var waitingStatus = operation.pendingStatus().apply(WAITING);
+        taskStore.put(task.taskToken(), waitingStatus);
+        var inFlightStatus = inFlightOperations
+                .attachTask(operationType, request, task.taskToken(), this::isPending)
+                .flatMap(taskStore::get);
+        if (inFlightStatus.isDefined()) {
+            logger.info(
+                    "Asynchronous {} operation with task token '{}' is identical to task '{}', attaching to it",
+                    operationName(task),
+                    task.taskToken(),
+                    inFlightStatus.get().getTaskToken().orElse(null));
+            taskStore.expire(task.taskToken());
+            return inFlightStatus.get();
+        }
+        try {
+            if (taskQueue.isPresent()) {
+                var queue = taskQueue.get();
+                taskScheduler.admit(operationType, () -> queue.waiting(operationType));
+                queue.enqueue(task, taskScheduler.headStart(operationType));
+            } else
+                taskScheduler.submit(
+                        operationType,
+                        request,
+                        onFinished -> runTask(task, operation, onFinished, onFinished),
+                        () -> rejectTask(task, operation));
+        } catch (RuntimeException e) {
+            logger.error(
+                    "Asynchronous {} operation with task token '{}' was rejected",
+                    operationName(task),
+                    task.taskToken());
+            taskStore.expire(task.taskToken());
+            inFlightOperations.detachTask(task.taskToken());
+            throw e;
+        }
+        return waitingStatus;
+    }
+
+    /**
+     * Fails a task which was queued by the {@link PriorityTaskScheduler} but then rejected by the task executor
+     */
+    private void rejectTask(QueuedTask task, TaskOperation operation) {
+        var message = String.format("The Tech Adapter was unable to execute the %s operation", operationName(task));
+        var error = new TechAdapterValidationException(new FailedOperation(
+                message,
+                Collections.singletonList(new Problem(
+                        message + " as the task executor rejected it",
+                        Set.of("Retry the operation", ErrorConstants.PLATFORM_TEAM_SOLUTION)))));
+        taskStore.update(task.taskToken(), operation.errorStatus().apply(error));
+        inFlightOperations.detachTask(task.taskToken());
+    }
+
+    private boolean isPending(TaskToken taskToken) {
+        return taskStore
+                .get(taskToken)
+                .map(status -> status.getOperationStatus() == WAITING || status.getOperationStatus() == RUNNING)
+                .getOrElse(false);
+    }
+
+    private void runTask(QueuedTask task, TaskOperation operation, Runnable onSuspended, Runnable onFinished) {
+        var operationName = operationName(task);
+        var token = task.taskToken();
+        logger.info("Starting asynchronous {} operation with task token '{}'", operationName, token);
+        taskStore.update(token, operation.pendingStatus().apply(RUNNING));
+        var execution = new TaskExecution(task, operation, onSuspended, onFinished);
+        execution.arm(Optional.empty());
+        operation.context().onComponentKind(componentKind -> execution.arm(Optional.of(componentKind)));
+        execution.reservation.run(() -> attempt(execution));
+    }
+
+    /**
+     * Executes the operation of the task on the current thread. If the bulkhead of its component kind is full, or a
+     * previous operation on its component is running, the task waits on the bulkhead without holding the thread, and is
+     * attempted again with the slot reserved to it once freed. The slots the task already holds are kept meanwhile
+     */
+    private void attempt(TaskExecution execution) {
+        var task = execution.task;
+        var operation = execution.operation;
+        if (!execution.attach()) {
+            // The deadline expired while the task was waiting for a thread, and its slot was freed then
+            execution.reservation.release();
+            return;
+        }
+        OperationStatus finalStatus = null;
+        var waiting = false;
+        try {
+            finalStatus = operation.context().run(operation.operation());
+        } catch (BulkheadFullException e) {
+            waiting = await(execution, e);
+            if (!waiting) finalStatus = operation.errorStatus().apply(e);
+        } catch (TechAdapterValidationException e) {
+            finalStatus = operation.errorStatus().apply(e);
+        } catch (Exception e) {
+            if (!operation.context().isCancelled())
+                logger.error(
+                        String.format(
+                                "Unexpected error on asynchronous %s operation with task token '%s'",
+                                operationName(task), task.taskToken()),
+                        e);
+            finalStatus = operation.errorStatus().apply(e);
+        } finally {
+            execution.detach();
+            if (operation.context().isCancelled()) Thread.interrupted();
+        }
+        if (!waiting) complete(execution, finalStatus);
+        else if (execution.isFinished()) execution.release();
+    }
+
+    /**
+     * Queues the task on the bulkhead which rejected it, freeing its thread and its slots on the
+     * {@link PriorityTaskScheduler} and the {@link TaskQueueWorker} while it waits. The task is still leased on the
+     * {@link TaskQueue} until it's finished
+     * @return Whether the task is waiting on the bulkhead
+     */
+    private boolean await(TaskExecution execution, BulkheadFullException bulkheadFull) {
+        var task = execution.task;
+        var operation = execution.operation;
+        if (operation.context().isCancelled()) return false;
+        var waiting = bulkheadFull
+                .getBulkhead()
+                .await(
+                        permit -> {
+                            if (operation.context().isCancelled()) {
+                                execution.reservation.release();
+                                return false;
+                            }
+                            execution.reservation.add(permit);
+                            try {
+                                taskExecutor.execute(() -> execution.reservation.run(() -> attempt(execution)));
+                            } catch (RuntimeException e) {
+                                logger.error(
+                                        String.format(
+                                                "Asynchronous %s operation with task token '%s' was rejected by the task executor",
+                                                operationName(task), task.taskToken()),
+                                        e);
+                                complete(execution, operation.errorStatus().apply(e));
+                            }
+                            return true;
+                        },
+                        failedOperation -> complete(
+                                execution,
+                                operation.errorStatus().apply(new TechAdapterOverloadedException(failedOperation))));
+        if (!waiting) return false;
+        logger.info(
+                "Asynchronous {} operation with task token '{}' is waiting for the running operations on its component or component kind",
+                operationName(task),
+                task.taskToken());
+        operation
+                .context()
+                .log(Log.LogLevelEnum.INFO, "Waiting for the running operations on the component or component kind");
+        execution.onSuspended.run();
+        return true;
+    }
+
+    private void complete(TaskExecution execution, OperationStatus finalStatus) {
+        var task = execution.task;
+        var operation = execution.operation;
+        var operationName = operationName(task);
+        var token = task.taskToken();
+        execution.reservation.release();
+        operation.context().close();
+        if (!execution.finish()) {
+            logger.info(
+                    "Asynchronous {} operation with task token '{}' returned after its deadline, discarding its result",
+                    operationName,
+                    token);
+            execution.release();
+            return;
+        }
+        logger.info(
+                "Asynchronous {} operation with task token '{}' finished with status {}",
+                operationName,
+                token,
+                finalStatus.getOperationStatus());
+        try {
+            taskStore.update(token, finalStatus);
+        } finally {
+            inFlightOperations.detachTask(token);
+            execution.release();
+        }
+    }
+
+    private TaskOperation taskOperation(QueuedTask task) {
+        var token = task.taskToken();
+        return switch (task.operationType()) {
+            case PROVISION -> provisionOperation(
+                    token,
+                    syncTechAdapterService.provisionTask((ProvisioningRequest) task.request()),
+                    ProvisionOperationStatus::createProvisionOperationStatus);
+            case UNPROVISION -> provisionOperation(
+                    token,
+                    syncTechAdapterService.unprovisionTask((ProvisioningRequest) task.request()),
+                    ProvisionOperationStatus::createUnprovisionOperationStatus);
+            case REVERSE_PROVISION -> reverseProvisionOperation(token, (ReverseProvisioningRequest) task.request());
+            case VALIDATE -> new TaskOperation(
+                    new OperationContext(0, progressPublisher, progress -> {}),
+                    status -> new ValidationOperationStatus(status, token, null),
+                    () -> new ValidationOperationStatus(
+                            COMPLETED, token, syncTechAdapterService.validate((ProvisioningRequest) task.request())),
+                    error -> new ValidationOperationStatus(
+                            FAILED, token, ValidationInfo.invalid(toErrorMessages(error))));
+            case UPDATE_ACL -> throw new IllegalArgumentException(
+                    "Update ACL operations can't be executed asynchronously");
+        };
+    }
+
+    /**
+     * Provision and unprovision tasks expose the progress reported through their {@link OperationContext} while running,
+     * which is then merged with the info returned by the {@link ProvisionService}
+     */
+    private TaskOperation provisionOperation(
+            TaskToken token,
+            Supplier<ProvisionOperationStatus> operation,
+            Function3<OperationStatus.OperationStatusEnum, TaskToken, ProvisionInfo, ProvisionOperationStatus>
+                    statusFactory) {
+        var context = new OperationContext(
+                taskLogCapacity,
+                progressPublisher,
+                progress -> taskStore.update(token, statusFactory.apply(RUNNING, token, withProgress(progress, null))));
+        return new TaskOperation(
+                context,
+                status -> statusFactory.apply(status, token, null),
+                () -> {
+                    var result = operation.get();
+                    return statusFactory.apply(
+                            result.getOperationStatus(),
+                            token,
+                            withProgress(
+                                    context.progress(),
+                                    result.getProvisionInfo().orElse(null)));
+                },
+                error -> statusFactory.apply(FAILED, token, withProgress(context.progress(), toProvisionInfo(error))));
+    }
+
+    /**
+     * @return The provision info with the live log entries before its own logs, and the partial public info if it
+     * doesn't have one
+     */
+    private static ProvisionInfo withProgress(OperationContext.Progress progress, ProvisionInfo provisionInfo) {
+        if (progress.log().logs().isEmpty() && progress.publicInfo().isEmpty()) return provisionInfo;
+        var info = Optional.ofNullable(provisionInfo);
+        var logs = new ArrayList<>(progress.log().logs());
+        info.map(ProvisionInfo::getLogs).ifPresent(logs::addAll);
+        return ProvisionInfo.builder()
+                .publicInfo(info.flatMap(ProvisionInfo::getPublicInfo).or(progress::publicInfo))
+                .privateInfo(info.flatMap(ProvisionInfo::getPrivateInfo))
+                .logs(logs)
+                .logsOffset(progress.log().offset())
+                .build();
+    }
+
+    /**
+     * Reverse provisioning tasks expose the progress logs of the task and the log entries reported through their
+     * {@link OperationContext} while running, which are then merged with the logs returned by the
+     * {@link ProvisionService}
+     */
+    private TaskOperation reverseProvisionOperation(
+            TaskToken token, ReverseProvisioningRequest reverseProvisioningRequest) {
+        var reverseProvisioning = syncTechAdapterService.reverseProvisioningTask(reverseProvisioningRequest);
+        var progressLogs = new CopyOnWriteArrayList<Log>();
+        var context = new OperationContext(taskLogCapacity, progressPublisher, progress -> {
+            var logs = new ArrayList<>(progressLogs);
+            logs.addAll(progress.log().logs());
+            taskStore.update(
+                    token,
+                    ReverseProvisionOperationStatus.builder()
+                            .operationStatus(RUNNING)
+                            .taskToken(token)
+                            .provisionInfo(new ReverseProvisionInfo(Optional.empty(), logs))
+                            .build());
+        });
+        return new TaskOperation(
+                context,
+                status -> {
+                    progressLogs.add(new Log(
+                            OffsetDateTime.now(),
+                            Log.LogLevelEnum.INFO,
+                            status == WAITING
+                                    ? "Reverse provisioning operation queued"
+                                    : "Reverse provisioning operation started"));
+                    return ReverseProvisionOperationStatus.builder()
+                            .operationStatus(status)
+                            .taskToken(token)
+                            .provisionInfo(new ReverseProvisionInfo(Optional.empty(), List.copyOf(progressLogs)))
+                            .build();
+                },
+                () -> {
+                    var result = reverseProvisioning.get();
+                    var reverseProvisionInfo = result.getReverseProvisionInfo();
+                    var logs = new ArrayList<>(progressLogs);
+                    logs.addAll(context.progress().log().logs());
+                    reverseProvisionInfo.map(ReverseProvisionInfo::getLogs).ifPresent(logs::addAll);
+                    return ReverseProvisionOperationStatus.builder()
+                            .operationStatus(result.getOperationStatus())
+                            .taskToken(token)
+                            .provisionInfo(new ReverseProvisionInfo(
+                                    reverseProvisionInfo.flatMap(ReverseProvisionInfo::getUpdates), logs))
+                            .build();
+                },
+                error -> {
+                    var logs = new ArrayList<>(progressLogs);
+                    logs.addAll(context.progress().log().logs());
+                    logs.addAll(toErrorLogs(error));
+                    return ReverseProvisionOperationStatus.builder()
+                            .operationStatus(FAILED)
+                            .taskToken(token)
+                            .provisionInfo(new ReverseProvisionInfo(Optional.empty(), logs))
+                            .build();
+                });
+    }
+
+    private <S extends OperationStatus> S getTask(String token, Class<S> statusClass) {
+        logger.info("Retrieving status of task '{}'", token);
+        var status = taskStore.get(new TaskToken(token)).filter(statusClass::isInstance);
+        if (status.isDefined()) {
+            logger.info("Task '{}' is in status {}", token, status.get().getOperationStatus());
+            return statusClass.cast(status.get());
+        }
+        String errorMessage = String.format("The task with token '%s' doesn't exist", token);
+        logger.error(errorMessage);
+        throw new TechAdapterValidationException(new FailedOperation(
+                "The received task token is not valid. Check the error details for more information",
+                Collections.singletonList(new Problem(errorMessage))));
+    }
+
+    private static String operationName(QueuedTask task) {
+        return task.operationType().name().toLowerCase().replace('_', ' ');
+    }
+
+    private TaskToken newTaskToken() {
+        return new TaskToken(UUID.randomUUID().toString());
+    }
+
+    private List<String> toErrorMessages(Exception exception) {
+        if (exception instanceof TechAdapterValidationException validationException) {
+            var failedOperation = validationException.getFailedOperation();
+            var messages = new ArrayList<String>();
+            messages.add(failedOperation.message());
+            failedOperation.problems().forEach(problem -> messages.add(problem.getMessage()));
+            return messages;
+        }
+        return List.of("An unexpected error occurred while processing the request: " + exception.getMessage());
+    }
+
+    private List<Log> toErrorLogs(Exception exception) {
+        var timestamp = OffsetDateTime.now();
+        return toErrorMessages(exception).stream()
+                .map(message -> new Log(timestamp, Log.LogLevelEnum.ERROR, message))
+                .toList();
+    }
+
+    private ProvisionInfo toProvisionInfo(Exception exception) {
+        return ProvisionInfo.builder().logs(toErrorLogs(exception)).build();
+    }
+
+    private FailedOperation deadlineExceeded(QueuedTask task, Duration deadline) {
+        var message = String.format("The %s operation exceeded its deadline", operationName(task));
+        return new FailedOperation(
+                message,
+                Collections.singletonList(new Problem(
+                        String.format(
+                                "The %s operation with task token '%s' didn't finish within its deadline of %s, so it was cancelled",
+                                operationName(task), task.taskToken(), deadline),
+                        Set.of(
+                                "Check the status of the resources on the target system, as the operation may have been partially applied, and retry the operation",
+                                ErrorConstants.PLATFORM_TEAM_SOLUTION))));
+    }
+
+    /**
+     * Builds the statuses of a task: the pending status while waiting or running, the operation to execute within its
+     * context, and the error status if the operation throws an exception
+     */
+    private record TaskOperation(
+            OperationContext context,
+            Function<OperationStatus.OperationStatusEnum, OperationStatus> pendingStatus,
+            Supplier<OperationStatus> operation,
+            Function<Exception, OperationStatus> errorStatus) {}
+
+    /**
+     * Enforces the deadline of a running task. The task is finished either by its operation returning or by its deadline
+     * expiring, whichever comes first; the other outcome is then discarded. The slot of the task is released once it no
+     * longer holds a thread, so that a cancelled operation ignoring the cancellation still counts towards the limits
+     */
+    private final class TaskExecution {
+
+        private final QueuedTask task;
+        private final TaskOperation operation;
+        private final Runnable onSuspended;
+        private final Runnable onFinished;
+        private final Bulkhead.Reservation reservation = new Bulkhead.Reservation();
+        private final Instant started = Instant.now();
+        private Thread thread;
+        private ScheduledFuture<?> expiration;
+        private boolean finished;
+        private boolean released;
+
+        private TaskExecution(QueuedTask task, TaskOperation operation, Runnable onSuspended, Runnable onFinished) {
+            this.task = task;
+            this.operation = operation;
+            this.onSuspended = onSuspended;
+            this.onFinished = onFinished;
+        }
+
+        /**
+         * Sets the deadline of the task for its operation type and component kind, counting from the start of the task
+         */
+        synchronized void arm(Optional<String> componentKind) {
+            if (finished) return;
+            if (expiration != null) expiration.cancel(false);
+            var deadline = taskDeadlines.deadlineFor(task.operationType(), componentKind);
+            operation.context().deadline(deadline.map(started::plus));
+            expiration = deadline.<ScheduledFuture<?>>map(timeout -> taskDeadlines.schedule(
+                            Duration.between(Instant.now(), started.plus(timeout)), () -> expire(timeout)))
+                    .orElse(null);
+        }
+
+        /**
+         * Binds the task to the current thread, which is interrupted if the deadline expires
+         * @return Whether the task can run, as its deadline hasn't expired yet
+         */
+        synchronized boolean attach() {
+            if (finished) return false;
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * Unbinds the task from its thread once the thread stops executing it
+         */
+        synchronized void detach() {
+            thread = null;
+        }
+
+        /**
+         * @return Whether the task is finished, or its deadline expired
+         */
+        synchronized boolean isFinished() {
+            return finished;
+        }
+
+        /**
+         * Frees the slot of the task, once
+         */
+        void release() {
+            synchronized (this) {
+                if (released) return;
+                released = true;
+            }
+            onFinished.run();
+        }
+
+        /**
+         * @return Whether the operation finished before its deadline
+         */
+        synchronized boolean finish() {
+            if (finished) return false;
+            finished = true;
+            if (expiration != null) expiration.cancel(false);
+            return true;
+        }
+
+        private void expire(Duration deadline) {
+            boolean running;
+            synchronized (this) {
+                if (finished) return;
+                finished = true;
+                operation.context().cancel();
+                running = thread != null;
+                if (taskDeadlines.interrupt() && running) thread.interrupt();
+            }
+            var token = task.taskToken();
+            logger.error(
+                    "Asynchronous {} operation with task token '{}' exceeded its deadline of {}, cancelling it",
+                    operationName(task),
+                    token,
+                    deadline);
+            operation.context().close();
+            taskStore.update(
+                    token,
+                    operation
+                            .errorStatus()
+                            .apply(new TechAdapterValidationException(deadlineExceeded(task, deadline))));
+            inFlightOperations.detachTask(token);
+            // A running operation keeps its slot until it returns, even if it ignores the cancellation
+            if (!running) release();
+        }
+    }
+}
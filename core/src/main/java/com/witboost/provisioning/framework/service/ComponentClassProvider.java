@@ -3,6 +3,7 @@ package com.witboost.provisioning.framework.service;
 import com.witboost.provisioning.framework.service.impl.ComponentClassProviderImpl;
 import com.witboost.provisioning.model.Component;
 import io.vavr.control.Option;
+import java.util.Set;
 
 /**
  * Provides an interface to get a custom {@link Component} class based on an entity useCaseTemplateId, allowing to inject custom classes to the
@@ -26,4 +27,13 @@ public interface ComponentClassProvider {
     default Option<Class<? extends Component>> get(String useCaseTemplateId) {
         return Option.none();
     }
+
+    /**
+     * List the {@code useCaseTemplateId} values explicitly mapped by this provider. The parsing of the components with these
+     * {@code useCaseTemplateId} is prepared on startup, so that an invalid component class is reported before receiving any request.
+     * @return Set of mapped {@code useCaseTemplateId}. Defaults to an empty set, in which case the classes are resolved on each request
+     */
+    default Set<String> useCaseTemplateIds() {
+        return Set.of();
+    }
 }
@@ -0,0 +1,218 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.common.Log;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Context of an asynchronous operation, which {@link ProvisionService} implementations use to report the progress of the
+ * operation while it's running: the phase being executed, log entries and a partial {@code publicInfo}. The platform
+ * receives the progress on the following status polls of the task, which is reported as {@code RUNNING}. The context of
+ * the operation executed by the current thread is available through {@link #current()}.
+ * <p>
+ * Reporting progress never waits for the {@link TaskStore}: changes are published by the {@link ProgressPublisher}, which
+ * writes all the changes done during its publish interval at once. Once the operation finishes the context is closed,
+ * and further changes are ignored.
+ * <p>
+ * Operations exceeding their deadline (see {@link TaskDeadlines}) are cancelled: the task is reported as {@code FAILED}
+ * and the result of the operation is discarded. Long-running implementations should check {@link #isCancelled()} or
+ * call {@link #checkCancelled()} between steps to stop as soon as possible, and may use {@link #getDeadline()} to bound
+ * their calls to the target systems.
+ */
+public class OperationContext {
+
+    private static final ThreadLocal<OperationContext> CURRENT = new ThreadLocal<>();
+
+    private static final OperationContext DETACHED =
+            new OperationContext(0, ProgressPublisher.synchronous(), progress -> {});
+
+    private final TaskLog log;
+    private final ProgressPublisher publisher;
+    private final Consumer<Progress> listener;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Object publishLock = new Object();
+    private volatile Optional<String> phase = Optional.empty();
+    private volatile Optional<Object> publicInfo = Optional.empty();
+    private volatile Optional<Instant> deadline = Optional.empty();
+    private volatile boolean cancelled;
+    private volatile Consumer<String> componentKindListener = kind -> {};
+    private boolean closed;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationContext.class);
+
+    /**
+     * Progress of an operation at a given time
+     * @param log Entries of the live log of the operation
+     * @param phase Phase being executed
+     * @param publicInfo Partial public info of the operation
+     */
+    public record Progress(TaskLog.Snapshot log, Optional<String> phase, Optional<Object> publicInfo) {}
+
+    /**
+     * @param logCapacity Maximum number of entries kept on the live log of the operation
+     * @param publisher Publisher scheduling the publication of the changes
+     * @param listener Receives the progress of the operation on each publication. It's never called after the context
+     *                 is closed
+     */
+    public OperationContext(int logCapacity, ProgressPublisher publisher, Consumer<Progress> listener) {
+        this.log = new TaskLog(logCapacity, this::changed);
+        this.publisher = publisher;
+        this.listener = listener;
+    }
+
+    /**
+     * @return The context of the asynchronous operation executed by the current thread. When called outside an
+     * asynchronous operation, e.g. on synchronous operations, it returns a context discarding all the progress, which
+     * should be returned on the operation result instead
+     */
+    public static OperationContext current() {
+        var context = CURRENT.get();
+        return context == null ? DETACHED : context;
+    }
+
+    /**
+     * Executes an operation with this context as the {@link #current()} one
+     * @param operation Operation to execute
+     * @return The operation result
+     */
+    public <T> T run(Supplier<T> operation) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Starts a new phase of the operation, which is attached to the following log entries
+     * @param phase Name of the phase
+     */
+    public void phase(String phase) {
+        if (this == DETACHED) return;
+        this.phase = Optional.of(phase);
+        log.append(new Log(OffsetDateTime.now(), Log.LogLevelEnum.INFO, "Phase '" + phase + "' started", this.phase));
+    }
+
+    /**
+     * Appends an entry to the live log of the operation, attached to the current phase
+     * @param level Level of the entry
+     * @param message Message of the entry
+     */
+    public void log(Log.LogLevelEnum level, String message) {
+        log.append(new Log(OffsetDateTime.now(), level, message, phase));
+    }
+
+    /**
+     * Sets the public info shown to the platform while the operation is running, replacing the previous one. The
+     * {@code publicInfo} returned by the {@link ProvisionService} takes precedence once the operation finishes
+     * @param publicInfo Partial public info of the operation
+     */
+    public void publicInfo(Object publicInfo) {
+        if (this == DETACHED) return;
+        this.publicInfo = Optional.ofNullable(publicInfo);
+        changed();
+    }
+
+    /**
+     * @return The phase being executed, if any
+     */
+    public Optional<String> getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return Instant when the operation will be cancelled, if it has a deadline
+     */
+    public Optional<Instant> getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return Whether the operation was cancelled, e.g. because it exceeded its deadline. The result of a cancelled
+     * operation is discarded, so the implementation should stop as soon as possible
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the operation if it was cancelled
+     * @throws CancellationException If the operation was cancelled
+     */
+    public void checkCancelled() {
+        if (cancelled) throw new CancellationException("The operation was cancelled as it exceeded its deadline");
+    }
+
+    /**
+     * @return The live log of the operation
+     */
+    public TaskLog getLog() {
+        return log;
+    }
+
+    /**
+     * @return The current progress of the operation
+     */
+    public Progress progress() {
+        return new Progress(log.snapshot(), phase, publicInfo);
+    }
+
+    /**
+     * Closes the context, ignoring the changes done afterward. Waits for a publication still in progress, so that the
+     * listener is never called once this method returns
+     * @return The final progress of the operation
+     */
+    public Progress close() {
+        synchronized (publishLock) {
+            closed = true;
+        }
+        log.close();
+        return progress();
+    }
+
+    /**
+     * Reports the component kind of the operation once it's known, which may change its deadline
+     * @param componentKind Component kind of the operation
+     */
+    void componentKind(String componentKind) {
+        componentKindListener.accept(componentKind);
+    }
+
+    void onComponentKind(Consumer<String> listener) {
+        this.componentKindListener = listener;
+    }
+
+    void deadline(Optional<Instant> deadline) {
+        this.deadline = deadline;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    private void changed() {
+        if (scheduled.compareAndSet(false, true)) publisher.schedule(this::publish);
+    }
+
+    private void publish() {
+        scheduled.set(false);
+        synchronized (publishLock) {
+            if (closed) return;
+            try {
+                listener.accept(progress());
+            } catch (RuntimeException e) {
+                logger.warn("Unable to publish the progress of the operation", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.witboost.provisioning.framework.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Problem;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Schedules the asynchronous tasks executed on this replica by the priority of their operation type, so that cheap
+ * operations like validations don't wait behind long provisioning operations.
+ * <p>
+ * At most {@code maxConcurrent} tasks are submitted to the task executor at the same time. Further tasks wait on the
+ * lane of their operation type, and once a running task finishes, the queued task with the highest priority is
+ * executed next. A queued task is raised by one priority level for every {@code aging} interval it has been waiting,
+ * so that low priority tasks are never starved. When the lane of a task is full, the task is rejected with a
+ * {@link TechAdapterOverloadedException}; lanes of low priority operation types have lower limits by default, so their
+ * tasks are shed first when the Tech Adapter is overloaded.
+ * <p>
+ * Within a lane, tasks are grouped by tenant, identified by the domain, data product or environment of the request
+ * descriptor as configured on {@link AsyncProperties.Scheduler.Fairness}. Tenants are served in deficit round robin
+ * order: on its turn, a tenant executes as many queued tasks as its weight before passing the turn, so a tenant
+ * submitting a burst of tasks doesn't delay the tasks of the other tenants. The tenant is only read when the task has
+ * to wait, through the {@link ParsedDescriptorCache} shared with the validation.
+ * <p>
+ * When the tasks are executed from a shared {@link TaskQueue}, the queue applies the same priorities through the
+ * {@link #headStart(OperationType)} of each operation type, and the lane limits to the tasks waiting on the queue
+ * through {@link #admit(OperationType, IntSupplier)}. Tenants aren't tracked on the shared queue: its tasks are claimed
+ * by priority and then in the order they were enqueued, so the fairness settings only apply to the tasks scheduled
+ * locally.
+ * <p>
+ * Exposes the {@code tech.adapter.scheduler.queued} and {@code tech.adapter.scheduler.rejected} metrics tagged with the
+ * {@code operation} type, and the {@code tech.adapter.scheduler.active} gauge.
+ *
+ * @see AsyncProperties.Scheduler
+ */
+public class PriorityTaskScheduler implements MeterBinder {
+
+    private final AsyncTaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long aging;
+    private final Clock clock;
+    private final AsyncProperties.Scheduler.Fairness fairness;
+    private final ParsedDescriptorCache parsedDescriptorCache;
+    private final boolean selective;
+    private final Map<OperationType, Lane> lanes = new EnumMap<>(OperationType.class);
+    private int active;
+    private long sequence;
+
+    private static final String NO_TENANT = "";
+
+    /**
+     * Head start of each priority level when aging is disabled, longer than any task waits on a queue
+     */
+    private static final Duration NO_AGING = ChronoUnit.CENTURIES.getDuration();
+
+    private static final Logger logger = LoggerFactory.getLogger(PriorityTaskScheduler.class);
+
+    private record Entry(Consumer<Runnable> task, Runnable onRejected, Instant queuedAt, long sequence) {}
+
+    /**
+     * Tasks of a tenant waiting on a lane
+     */
+    private static final class Flow {
+        private final String tenant;
+        private final int weight;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private int deficit;
+
+        private Flow(String tenant, int weight) {
+            this.tenant = tenant;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Lane {
+        private final AsyncProperties.Scheduler.Lane limits;
+        private final Map<String, Flow> flows = new HashMap<>();
+        private final ArrayDeque<Flow> turns = new ArrayDeque<>();
+        private final AtomicLong rejected = new AtomicLong();
+        private int size;
+
+        private Lane(AsyncProperties.Scheduler.Lane limits) {
+            this.limits = limits;
+        }
+
+        private void add(Flow flow, Entry entry) {
+            if (flow.entries.isEmpty()) turns.addLast(flow);
+            flow.entries.addLast(entry);
+            size++;
+        }
+
+        /**
+         * @return The entry to execute next on this lane, if any
+         */
+        private Entry peek() {
+            var flow = turns.peekFirst();
+            return flow == null ? null : flow.entries.getFirst();
+        }
+
+        /**
+         * Removes the entry to execute next. A tenant is granted as many entries as its weight on each turn, and
+         * idle tenants lose their remaining deficit
+         */
+        private Entry poll() {
+            var flow = turns.getFirst();
+            if (flow.deficit == 0) flow.deficit = flow.weight;
+            var entry = flow.entries.removeFirst();
+            flow.deficit--;
+            size--;
+            if (flow.entries.isEmpty()) {
+                turns.removeFirst();
+                flows.remove(flow.tenant);
+            } else if (flow.deficit == 0) {
+                turns.addLast(turns.removeFirst());
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * @param scheduler Configuration of the scheduler
+     * @param taskExecutor Executor where tasks are executed
+     * @param defaultMaxConcurrent Maximum number of tasks executed at the same time, used when not configured
+     */
+    public PriorityTaskScheduler(
+            AsyncProperties.Scheduler scheduler, AsyncTaskExecutor taskExecutor, int defaultMaxConcurrent) {
+        this(
+                scheduler,
+                taskExecutor,
+                defaultMaxConcurrent,
+                ParsedDescriptorCache.disabled(),
+                new ParserProperties(false));
+    }
+
+    /**
+     * @param scheduler Configuration of the scheduler
+     * @param taskExecutor Executor where tasks are executed
+     * @param defaultMaxConcurrent Maximum number of tasks executed at the same time, used when not configured
+     * @param parsedDescriptorCache Cache of parsed descriptors, used to read the tenant of the queued tasks
+     * @param parserProperties Configuration of the descriptor parsing
+     */
+    public PriorityTaskScheduler(
+            AsyncProperties.Scheduler scheduler,
+            AsyncTaskExecutor taskExecutor,
+            int defaultMaxConcurrent,
+            ParsedDescriptorCache parsedDescriptorCache,
+            ParserProperties parserProperties) {
+        this(scheduler, taskExecutor, defaultMaxConcurrent, parsedDescriptorCache, parserProperties, Clock.systemUTC());
+    }
+
+    PriorityTaskScheduler(
+            AsyncProperties.Scheduler scheduler,
+            AsyncTaskExecutor taskExecutor,
+            int defaultMaxConcurrent,
+            ParsedDescriptorCache parsedDescriptorCache,
+            ParserProperties parserProperties,
+            Clock clock) {
+        this.taskExecutor = taskExecutor;
+        this.enabled = scheduler.enabled();
+        this.maxConcurrent = scheduler.maxConcurrent() > 0 ? scheduler.maxConcurrent() : defaultMaxConcurrent;
+        this.aging = scheduler.aging().toNanos();
+        this.clock = clock;
+        this.fairness = scheduler.fairness();
+        this.parsedDescriptorCache = parsedDescriptorCache;
+        this.selective = parserProperties.selective();
+        for (var operationType : OperationType.values())
+            lanes.put(operationType, new Lane(scheduler.laneFor(operationType)));
+    }
+
+    /**
+     * @param taskExecutor Executor where tasks are executed
+     * @return A scheduler submitting every task to the executor right away
+     */
+    public static PriorityTaskScheduler fifo(AsyncTaskExecutor taskExecutor) {
+        return new PriorityTaskScheduler(
+                new AsyncProperties.Scheduler(false, 0, Duration.ZERO, Collections.emptyMap(), null), taskExecutor, 0);
+    }
+
+    /**
+     * @return Whether the queued tasks are grouped by tenant
+     */
+    boolean isFair() {
+        return enabled && fairness.key() != AsyncProperties.Scheduler.Fairness.Key.NONE;
+    }
+
+    /**
+     * Executes the task once there's a free slot and no queued task with higher priority
+     * @param operationType Operation type of the task, which determines its lane
+     * @param task Task to execute. It receives a callback to free its slot before returning, e.g. when the task is
+     *             suspended and no longer holds its thread; otherwise the slot is freed once the task returns
+     * @param onRejected Called if the task executor rejects the task after it was queued
+     * @throws TechAdapterOverloadedException If the lane of the task is full
+     * @throws org.springframework.core.task.TaskRejectedException If the task executor rejects the task right away
+     */
+    public void submit(OperationType operationType, Consumer<Runnable> task, Runnable onRejected) {
+        submit(operationType, null, task, onRejected);
+    }
+
+    /**
+     * Executes the task once there's a free slot and no queued task with higher priority, sharing its lane fairly with
+     * the tasks of other tenants
+     * @param operationType Operation type of the task, which determines its lane
+     * @param request Request of the task, which determines its tenant
+     * @param task Task to execute. It receives a callback to free its slot before returning, e.g. when the task is
+     *             suspended and no longer holds its thread; otherwise the slot is freed once the task returns
+     * @param onRejected Called if the task executor rejects the task after it was queued
+     * @throws TechAdapterOverloadedException If the lane of the task is full, or the tenant of the task already has the
+     * maximum number of tasks waiting on it
+     * @throws org.springframework.core.task.TaskRejectedException If the task executor rejects the task right away
+     */
+    public void submit(OperationType operationType, Object request, Consumer<Runnable> task, Runnable onRejected) {
+        if (!enabled) {
+            taskExecutor.execute(() -> task.accept(() -> {}));
+            return;
+        }
+        Entry entry = null;
+        var tenant = fairness.key() == AsyncProperties.Scheduler.Fairness.Key.NONE ? NO_TENANT : null;
+        while (entry == null) {
+            synchronized (this) {
+                if (active < maxConcurrent) {
+                    active++;
+                    entry = new Entry(task, onRejected, clock.instant(), sequence++);
+                } else if (tenant != null) {
+                    enqueue(operationType, tenant, new Entry(task, onRejected, clock.instant(), sequence++));
+                    return;
+                }
+            }
+            // Only queued tasks need their tenant, which is read outside the lock. A slot may be freed meanwhile, so
+            // the check is repeated before queueing the task
+            if (entry == null) tenant = tenantOf(request);
+        }
+        try {
+            execute(entry);
+        } catch (RuntimeException e) {
+            dispatchNext();
+            throw e;
+        }
+    }
+
+    private void enqueue(OperationType operationType, String tenant, Entry entry) {
+        var lane = lanes.get(operationType);
+        var flow = lane.flows.computeIfAbsent(tenant, t -> new Flow(t, fairness.weightOf(t)));
+        if (lane.size >= lane.limits.maxQueued()) {
+            lane.rejected.incrementAndGet();
+            if (flow.entries.isEmpty()) lane.flows.remove(tenant);
+            throw overloaded(operationType, lane);
+        }
+        if (fairness.maxQueuedPerTenant() > 0 && flow.entries.size() >= fairness.maxQueuedPerTenant()) {
+            lane.rejected.incrementAndGet();
+            throw tenantOverloaded(operationType, tenant);
+        }
+        lane.add(flow, entry);
+    }
+
+    private void execute(Entry entry) {
+        var released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) dispatchNext();
+        };
+        taskExecutor.execute(() -> {
+            try {
+                entry.task().accept(release);
+            } finally {
+                release.run();
+            }
+        });
+    }
+
+    private void dispatchNext() {
+        var next = nextOrRelease();
+        while (next != null) {
+            try {
+                execute(next);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("A queued task was rejected by the task executor", e);
+                next.onRejected().run();
+                next = nextOrRelease();
+            }
+        }
+    }
+
+    /**
+     * @return The queued task to execute on the slot of the finished task, or {@code null} if there's none, releasing
+     * the slot
+     */
+    private synchronized Entry nextOrRelease() {
+        var now = clock.instant();
+        Lane selected = null;
+        long selectedPriority = 0;
+        for (var lane : lanes.values()) {
+            var head = lane.peek();
+            if (head == null) continue;
+            var priority = priority(lane, head, now);
+            if (selected == null
+                    || priority > selectedPriority
+                    || (priority == selectedPriority
+                            && head.sequence() < selected.peek().sequence())) {
+                selected = lane;
+                selectedPriority = priority;
+            }
+        }
+        if (selected == null) {
+            active--;
+            return null;
+        }
+        return selected.poll();
+    }
+
+    private long priority(Lane lane, Entry entry, Instant now) {
+        var priority = (long) lane.limits.priority();
+        if (aging <= 0) return priority;
+        return priority + Duration.between(entry.queuedAt(), now).toNanos() / aging;
+    }
+
+    private TechAdapterOverloadedException overloaded(OperationType operationType, Lane lane) {
+        var operation = operationType.name().toLowerCase().replace('_', ' ');
+        var message = String.format("The Tech Adapter is too busy to accept the %s operation", operation);
+        logger.warn("{}. {} {} operations are already waiting", message, lane.limits.maxQueued(), operation);
+        return new TechAdapterOverloadedException(new FailedOperation(
+                message,
+                Collections.singletonList(new Problem(
+                        String.format(
+                                "%d %s operations are already waiting to be executed",
+                                lane.limits.maxQueued(), operation),
+                        Set.of("Wait for the running operations to finish and retry the operation")))));
+    }
+
+    private TechAdapterOverloadedException tenantOverloaded(OperationType operationType, String tenant) {
+        var operation = operationType.name().toLowerCase().replace('_', ' ');
+        var message =
+                String.format("The Tech Adapter is too busy to accept more %s operations of '%s'", operation, tenant);
+        logger.warn("{}. {} of its operations are already waiting", message, fairness.maxQueuedPerTenant());
+        return new TechAdapterOverloadedException(new FailedOperation(
+                message,
+                Collections.singletonList(new Problem(
+                        String.format(
+                                "%d %s operations of '%s' are already waiting to be executed",
+                                fairness.maxQueuedPerTenant(), operation, tenant),
+                        Set.of("Wait for the running operations to finish and retry the operation")))));
+    }
+
+    /**
+     * @param request Request of the task
+     * @return The tenant of the task, or an empty string if fairness is disabled or the request doesn't identify it
+     */
+    String tenantOf(Object request) {
+        if (fairness.key() == AsyncProperties.Scheduler.Fairness.Key.NONE || request == null) return NO_TENANT;
+        if (request instanceof ReverseProvisioningRequest reverseRequest)
+            return fairness.key() == AsyncProperties.Scheduler.Fairness.Key.ENVIRONMENT
+                    ? Objects.requireNonNullElse(reverseRequest.getEnvironment(), NO_TENANT)
+                    : NO_TENANT;
+        if (!(request instanceof ProvisioningRequest provisioningRequest)) return NO_TENANT;
+        JsonNode descriptor;
+        if (provisioningRequest instanceof StructuredProvisioningRequest structuredRequest)
+            descriptor = structuredRequest.getDescriptorTree();
+        else if (provisioningRequest.getDescriptor() != null) {
+            var eitherDescriptor = parsedDescriptorCache.get(provisioningRequest.getDescriptor(), selective);
+            if (eitherDescriptor.isLeft()) {
+                logger.debug(
+                        "Unable to read the tenant of the request descriptor, scheduling it without tenant: {}",
+                        eitherDescriptor.getLeft());
+                return NO_TENANT;
+            }
+            descriptor = eitherDescriptor.get();
+        } else return NO_TENANT;
+        var dataProduct = descriptor.has("dataProduct") ? descriptor.path("dataProduct") : descriptor;
+        var field =
+                switch (fairness.key()) {
+                    case DOMAIN -> "domain";
+                    case DATA_PRODUCT -> "id";
+                    case ENVIRONMENT -> "environment";
+                    case NONE -> throw new IllegalStateException();
+                };
+        return dataProduct.path(field).asText(NO_TENANT);
+    }
+
+    /**
+     * Checks whether a task can wait on a shared {@link TaskQueue}, applying the limit of its lane to the tasks of its
+     * operation type waiting on the queue
+     * @param operationType Operation type of the task
+     * @param waiting Number of tasks of the operation type waiting on the queue, only read if the scheduler is enabled
+     * @throws TechAdapterOverloadedException If the lane of the task is full
+     */
+    public void admit(OperationType operationType, IntSupplier waiting) {
+        if (!enabled) return;
+        var lane = lanes.get(operationType);
+        if (waiting.getAsInt() < lane.limits.maxQueued()) return;
+        lane.rejected.incrementAndGet();
+        throw overloaded(operationType, lane);
+    }
+
+    /**
+     * Time by which the tasks of the operation type are claimed ahead of the tasks of priority 0 from a shared
+     * {@link TaskQueue}. A task is raised by one priority level for every {@code aging} interval, so it's claimed
+     * before the tasks of lower priority submitted up to {@code aging} earlier per level of difference
+     * @param operationType Operation type of the task
+     * @return The head start of the tasks of the operation type, or zero if the scheduler is disabled
+     */
+    public Duration headStart(OperationType operationType) {
+        if (!enabled) return Duration.ZERO;
+        var levelHeadStart = aging > 0 ? Duration.ofNanos(aging) : NO_AGING;
+        return levelHeadStart.multipliedBy(lanes.get(operationType).limits.priority());
+    }
+
+    /**
+     * @return Maximum number of tasks executed at the same time
+     */
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return Number of tasks being executed
+     */
+    public synchronized int active() {
+        return active;
+    }
+
+    /**
+     * @param operationType Operation type of the lane
+     * @return Number of tasks waiting on the lane
+     */
+    public synchronized int queued(OperationType operationType) {
+        return lanes.get(operationType).size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tech.adapter.scheduler.active", this, PriorityTaskScheduler::active)
+                .description("Asynchronous tasks being executed")
+                .register(registry);
+        lanes.forEach((operationType, lane) -> {
+            var operation = operationType.name().toLowerCase();
+            Gauge.builder("tech.adapter.scheduler.queued", this, scheduler -> scheduler.queued(operationType))
+                    .description("Asynchronous tasks waiting for a free slot")
+                    .tag("operation", operation)
+                    .register(registry);
+            FunctionCounter.builder("tech.adapter.scheduler.rejected", lane.rejected, AtomicLong::get)
+                    .description("Asynchronous tasks rejected as their lane was full")
+                    .tag("operation", operation)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.witboost.provisioning.framework.service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the progress reported through the {@link OperationContext} of the running tasks. Publications are delayed by
+ * the publish interval and executed on a dedicated thread, so that the thread executing the operation never waits for
+ * the {@link TaskStore}, and all the changes done by a task during the interval are published in a single write.
+ *
+ * @see AsyncProperties.Progress
+ */
+public class ProgressPublisher implements AutoCloseable {
+
+    private final ScheduledExecutorService publisher;
+    private final long interval;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressPublisher.class);
+
+    /**
+     * @param publishInterval Delay between the first change reported by a task and its publication
+     */
+    public ProgressPublisher(Duration publishInterval) {
+        this.interval = publishInterval.toNanos();
+        this.publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-progress-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private ProgressPublisher() {
+        this.interval = 0;
+        this.publisher = null;
+    }
+
+    /**
+     * @return A publisher executing the publications right away on the thread reporting the change
+     */
+    public static ProgressPublisher synchronous() {
+        return new ProgressPublisher();
+    }
+
+    /**
+     * Schedules the publication of the progress of a task
+     * @param publication Writes the current progress of the task
+     */
+    void schedule(Runnable publication) {
+        if (publisher == null) {
+            publication.run();
+            return;
+        }
+        try {
+            publisher.schedule(publication, interval, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Discarding the progress publication as the publisher is closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (publisher != null) publisher.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+
+/**
+ * Asynchronous operation waiting on a {@link TaskQueue} to be executed
+ *
+ * @param taskToken Token identifying the task
+ * @param operationType Type of the operation to execute
+ * @param request Request received by the Tech Adapter. It is a {@link com.witboost.provisioning.framework.openapi.model.ProvisioningRequest}
+ *                for validate, provision and unprovision operations, and a
+ *                {@link com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest} for reverse provisioning operations
+ */
+public record QueuedTask(TaskToken taskToken, OperationType operationType, Object request) {}
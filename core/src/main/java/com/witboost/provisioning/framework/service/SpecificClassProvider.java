@@ -3,6 +3,7 @@ package com.witboost.provisioning.framework.service;
 import com.witboost.provisioning.framework.service.impl.SpecificClassProviderImpl;
 import com.witboost.provisioning.model.Specific;
 import io.vavr.control.Option;
+import java.util.Set;
 
 /**
  * Provides an interface to get a {@link Specific} class based on an entity useCaseTemplateId, allowing to inject custom classes to the
@@ -26,6 +27,15 @@ public interface SpecificClassProvider {
         return Option.none();
     }
 
+    /**
+     * List the component {@code useCaseTemplateId} values explicitly mapped by {@link #get(String)}. The parsing of the components with these
+     * {@code useCaseTemplateId} is prepared on startup, so that an invalid {@link Specific} class is reported before receiving any request.
+     * @return Set of mapped {@code useCaseTemplateId}. Defaults to an empty set, in which case the classes are resolved on each request
+     */
+    default Set<String> useCaseTemplateIds() {
+        return Set.of();
+    }
+
     /**
      * Retrieve the {@link Specific} class based on the component's {@code useCaseTemplateId} to be used by the validation module
      * to parse the reverse provisioning {@code params} field on the request
@@ -6,20 +6,28 @@ import static io.vavr.control.Either.right;
 
 import com.witboost.provisioning.framework.common.TechAdapterValidationException;
 import com.witboost.provisioning.framework.openapi.model.*;
+import com.witboost.provisioning.framework.service.concurrency.ComponentBulkheads;
+import com.witboost.provisioning.framework.service.concurrency.InFlightOperations;
+import com.witboost.provisioning.framework.service.concurrency.OrderingLocks;
 import com.witboost.provisioning.framework.service.validation.ValidationService;
 import com.witboost.provisioning.model.*;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
 import com.witboost.provisioning.model.request.OperationRequest;
+import com.witboost.provisioning.model.request.ProvisionOperationRequest;
+import com.witboost.provisioning.model.request.ReverseProvisionOperationRequest;
 import com.witboost.provisioning.model.status.*;
 import com.witboost.provisioning.model.status.ProvisionInfo;
 import com.witboost.provisioning.model.status.ValidationInfo;
+import io.vavr.Lazy;
 import io.vavr.control.Either;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -27,12 +35,33 @@ public class SyncTechAdapterService implements TechAdapterService {
 
     private final ValidationService service;
     private final ProvisionConfiguration provisionConfiguration;
+    private final ComponentBulkheads componentBulkheads;
+    private final InFlightOperations inFlightOperations;
+    private final OrderingLocks orderingLocks;
 
     private static final Logger logger = LoggerFactory.getLogger(SyncTechAdapterService.class);
 
     public SyncTechAdapterService(ValidationService validationService, ProvisionConfiguration provisionConfiguration) {
+        this(
+                validationService,
+                provisionConfiguration,
+                ComponentBulkheads.unlimited(),
+                new InFlightOperations(false),
+                OrderingLocks.disabled());
+    }
+
+    @Autowired
+    public SyncTechAdapterService(
+            ValidationService validationService,
+            ProvisionConfiguration provisionConfiguration,
+            ComponentBulkheads componentBulkheads,
+            InFlightOperations inFlightOperations,
+            OrderingLocks orderingLocks) {
         this.service = validationService;
         this.provisionConfiguration = provisionConfiguration;
+        this.componentBulkheads = componentBulkheads;
+        this.inFlightOperations = inFlightOperations;
+        this.orderingLocks = orderingLocks;
     }
 
     @Override
@@ -58,15 +87,34 @@ public class SyncTechAdapterService implements TechAdapterService {
 
     @Override
     public ProvisionOperationStatus provision(ProvisioningRequest provisioningRequest) {
-        logger.info("Starting provision operation");
-        logger.debug("Starting provision operation with body {}", provisioningRequest);
+        return inFlightOperations.execute(
+                OperationType.PROVISION, provisioningRequest, () -> provisionTask(provisioningRequest)
+                        .get());
+    }
 
-        var validate = service.validate(provisioningRequest, OperationType.PROVISION);
-        logger.info(
-                "Validate operation for provision request returned with result successful? {}. Body: {}",
-                validate.isRight(),
-                validate);
+    /**
+     * Builds the provision operation of an asynchronous task, already coalesced with the identical operations in flight.
+     * The request is validated on the first execution only, so that the operation can be executed again once the
+     * bulkhead of its component kind has a free slot
+     * @param provisioningRequest Request of the operation
+     * @return The operation, returning the status of the completed operation
+     */
+    Supplier<ProvisionOperationStatus> provisionTask(ProvisioningRequest provisioningRequest) {
+        var validate = Lazy.of(() -> {
+            logger.info("Starting provision operation");
+            logger.debug("Starting provision operation with body {}", provisioningRequest);
+            var validation = service.validate(provisioningRequest, OperationType.PROVISION);
+            logger.info(
+                    "Validate operation for provision request returned with result successful? {}. Body: {}",
+                    validation.isRight(),
+                    validation);
+            return validation;
+        });
+        return () -> executeProvision(validate.get());
+    }
 
+    private ProvisionOperationStatus executeProvision(
+            Either<FailedOperation, ProvisionOperationRequest<?, ? extends Specific>> validate) {
         return executeComponentLevelAction(validate, ProvisionService::provision)
                 .fold(
                         error -> {
@@ -85,15 +133,34 @@ public class SyncTechAdapterService implements TechAdapterService {
 
     @Override
     public ProvisionOperationStatus unprovision(ProvisioningRequest unprovisioningRequest) {
-        logger.info("Starting unprovision operation");
-        logger.debug("Starting unprovision operation with body {}", unprovisioningRequest);
+        return inFlightOperations.execute(
+                OperationType.UNPROVISION, unprovisioningRequest, () -> unprovisionTask(unprovisioningRequest)
+                        .get());
+    }
 
-        var validate = service.validate(unprovisioningRequest, OperationType.UNPROVISION);
-        logger.info(
-                "Validate operation for unprovision request returned with result successful? {}. Body: {}",
-                validate.isRight(),
-                validate);
+    /**
+     * Builds the unprovision operation of an asynchronous task, already coalesced with the identical operations in
+     * flight. The request is validated on the first execution only, so that the operation can be executed again once
+     * the bulkhead of its component kind has a free slot
+     * @param unprovisioningRequest Request of the operation
+     * @return The operation, returning the status of the completed operation
+     */
+    Supplier<ProvisionOperationStatus> unprovisionTask(ProvisioningRequest unprovisioningRequest) {
+        var validate = Lazy.of(() -> {
+            logger.info("Starting unprovision operation");
+            logger.debug("Starting unprovision operation with body {}", unprovisioningRequest);
+            var validation = service.validate(unprovisioningRequest, OperationType.UNPROVISION);
+            logger.info(
+                    "Validate operation for unprovision request returned with result successful? {}. Body: {}",
+                    validation.isRight(),
+                    validation);
+            return validation;
+        });
+        return () -> executeUnprovision(validate.get());
+    }
 
+    private ProvisionOperationStatus executeUnprovision(
+            Either<FailedOperation, ProvisionOperationRequest<?, ? extends Specific>> validate) {
         return executeComponentLevelAction(validate, ProvisionService::unprovision)
                 .fold(
                         error -> {
@@ -143,15 +210,32 @@ public class SyncTechAdapterService implements TechAdapterService {
     @Override
     public ReverseProvisionOperationStatus runReverseProvisioning(
             ReverseProvisioningRequest reverseProvisioningRequest) {
-        logger.info("Starting reverse provisioning operation");
-        logger.debug("Starting reverse provisioning operation with body {}", reverseProvisioningRequest);
+        return reverseProvisioningTask(reverseProvisioningRequest).get();
+    }
 
-        var validate = service.validateReverseProvision(reverseProvisioningRequest);
-        logger.info(
-                "Validate operation for reverse provisioning request returned with result successful? {}. Body: {}",
-                validate.isRight(),
-                validate);
+    /**
+     * Builds the reverse provisioning operation of an asynchronous task. The request is validated on the first execution
+     * only, so that the operation can be executed again once the bulkhead of its component kind has a free slot
+     * @param reverseProvisioningRequest Request of the operation
+     * @return The operation, returning the status of the completed operation
+     */
+    Supplier<ReverseProvisionOperationStatus> reverseProvisioningTask(
+            ReverseProvisioningRequest reverseProvisioningRequest) {
+        var validate = Lazy.of(() -> {
+            logger.info("Starting reverse provisioning operation");
+            logger.debug("Starting reverse provisioning operation with body {}", reverseProvisioningRequest);
+            var validation = service.validateReverseProvision(reverseProvisioningRequest);
+            logger.info(
+                    "Validate operation for reverse provisioning request returned with result successful? {}. Body: {}",
+                    validation.isRight(),
+                    validation);
+            return validation;
+        });
+        return () -> executeReverseProvisioning(validate.get());
+    }
 
+    private ReverseProvisionOperationStatus executeReverseProvisioning(
+            Either<FailedOperation, ReverseProvisionOperationRequest<? extends Specific>> validate) {
         return validate.flatMap(reverseProvisionOpRequest -> {
                     var eitherKind = reverseProvisionOpRequest.getComponentKind();
                     if (eitherKind.isLeft()) {
@@ -159,8 +243,11 @@ public class SyncTechAdapterService implements TechAdapterService {
                         return left(eitherKind.getLeft());
                     }
 
+                    OperationContext.current().componentKind(eitherKind.get());
                     return getProvisionService(eitherKind.get())
-                            .flatMap(provisionService -> provisionService.reverseProvision(reverseProvisionOpRequest));
+                            .flatMap(provisionService -> componentBulkheads.execute(
+                                    eitherKind.get(),
+                                    () -> provisionService.reverseProvision(reverseProvisionOpRequest)));
                 })
                 .fold(
                         error -> {
@@ -221,8 +308,16 @@ public class SyncTechAdapterService implements TechAdapterService {
         return input.flatMap(operationRequest -> {
             if (operationRequest.getComponent().isPresent()) {
                 var component = operationRequest.getComponent().get();
+                var dataProductId = operationRequest.getDataProduct() != null
+                        ? operationRequest.getDataProduct().getId()
+                        : null;
+                OperationContext.current().componentKind(component.getKind());
                 return getProvisionService(component.getKind())
-                        .flatMap(provisionService -> action.apply(provisionService, operationRequest));
+                        .flatMap(provisionService -> orderingLocks.execute(
+                                dataProductId,
+                                component.getId(),
+                                () -> componentBulkheads.execute(
+                                        component.getKind(), () -> action.apply(provisionService, operationRequest))));
             } else {
                 String errorMessage =
                         "The operation request doesn't contain a component and data product level provisioning is not supported by the Java Tech Adapter Framework";
@@ -0,0 +1,72 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.OperationType;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the deadlines of the asynchronous tasks. Once a task exceeds the deadline configured for its operation type
+ * and component kind, {@link AsyncTechAdapterService} stores it as {@code FAILED}, signals the cancellation through its
+ * {@link OperationContext} and, if enabled, interrupts the thread executing it. The component kind is only known once
+ * the descriptor is parsed, so the deadline of a task is first set from its operation type and then updated for its
+ * component kind, always counting from the start of the task.
+ *
+ * @see AsyncProperties.Deadlines
+ */
+public class TaskDeadlines implements AutoCloseable {
+
+    private final AsyncProperties.Deadlines deadlines;
+    private final ScheduledExecutorService timer;
+
+    public TaskDeadlines(AsyncProperties.Deadlines deadlines) {
+        this.deadlines = deadlines;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return Deadlines which never expire a task
+     */
+    public static TaskDeadlines none() {
+        return new TaskDeadlines(new AsyncProperties.Deadlines(Map.of(), Map.of(), false));
+    }
+
+    /**
+     * @param operationType Operation type of the task
+     * @param componentKind Component kind of the task, if already known
+     * @return The maximum duration of the task, if any
+     */
+    public Optional<Duration> deadlineFor(OperationType operationType, Optional<String> componentKind) {
+        return deadlines.deadlineFor(operationType, componentKind);
+    }
+
+    /**
+     * @return Whether the thread executing a task is interrupted once its deadline expires
+     */
+    public boolean interrupt() {
+        return deadlines.interrupt();
+    }
+
+    /**
+     * Schedules the expiration of a task
+     * @param delay Time left until the deadline of the task
+     * @param expiration Expires the task
+     * @return The scheduled expiration, to be cancelled if the task finishes or its deadline changes
+     */
+    ScheduledFuture<?> schedule(Duration delay, Runnable expiration) {
+        return timer.schedule(expiration, Math.max(delay.toNanos(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.common.Log;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Live log of an asynchronous task, which {@link ProvisionService} implementations can append {@link Log} entries to while
+ * the operation is running, so that the platform receives them on the following status polls instead of only once the
+ * operation finishes. The log of the task being executed by the current thread is available through {@link #current()},
+ * and belongs to its {@link OperationContext}.
+ * <p>
+ * The log is a ring buffer keeping the most recent entries up to its capacity, so that a chatty operation can't exhaust
+ * the memory. Entries are numbered from the start of the operation, and the number of discarded entries is kept as the
+ * log offset. Once the operation finishes the log is closed, and further entries are ignored.
+ */
+public class TaskLog {
+
+    private final int capacity;
+    private final Runnable listener;
+    private final ArrayDeque<Log> entries;
+    private long offset;
+    private boolean closed;
+
+    /**
+     * Entries of the log at a given time
+     * @param offset Number of entries discarded before the first entry of {@code logs}
+     * @param logs Entries kept on the log, from the oldest to the newest
+     */
+    public record Snapshot(long offset, List<Log> logs) {}
+
+    /**
+     * @param capacity Maximum number of entries kept on the log
+     * @param listener Notified after each change of the log
+     */
+    public TaskLog(int capacity, Runnable listener) {
+        this.capacity = capacity;
+        this.listener = listener;
+        this.entries = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    /**
+     * @return The log of the asynchronous task executed by the current thread. When called outside an asynchronous task,
+     * e.g. on synchronous operations, it returns a log discarding all the entries, which should be returned on the
+     * operation result instead
+     * @see OperationContext#current()
+     */
+    public static TaskLog current() {
+        return OperationContext.current().getLog();
+    }
+
+    /**
+     * Appends an entry to the log, discarding the oldest one if the log is full
+     * @param log Entry to append
+     */
+    public void append(Log log) {
+        synchronized (this) {
+            if (closed || capacity <= 0) return;
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+                offset++;
+            }
+            entries.addLast(log);
+        }
+        listener.run();
+    }
+
+    /**
+     * Appends an entry to the log with the current timestamp
+     * @param level Level of the entry
+     * @param message Message of the entry
+     */
+    public void append(Log.LogLevelEnum level, String message) {
+        append(new Log(OffsetDateTime.now(), level, message));
+    }
+
+    /**
+     * @return The entries currently kept on the log
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(offset, List.copyOf(entries));
+    }
+
+    /**
+     * Closes the log, ignoring the entries appended afterward
+     * @return The final entries of the log
+     */
+    public synchronized Snapshot close() {
+        closed = true;
+        return snapshot();
+    }
+}
@@ -0,0 +1,68 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Shared queue of asynchronous operations, used to distribute the tasks across several replicas of the Tech Adapter.
+ * <p>
+ * When a {@code TaskQueue} bean is available, {@link AsyncTechAdapterService} enqueues the operations instead of executing
+ * them on the local task executor, and every replica runs a {@link TaskQueueWorker} which claims and executes them.
+ * Claimed tasks are leased to the replica: if the replica stops renewing the lease, the task can be claimed again by
+ * another replica. A shared {@link TaskStore} is required, so that any replica can answer the status of any task.
+ */
+public interface TaskQueue {
+
+    /**
+     * Adds a task to the queue
+     * @param task Task to execute
+     */
+    void enqueue(QueuedTask task);
+
+    /**
+     * Adds a task to the queue, to be claimed ahead of the tasks enqueued up to {@code headStart} earlier. The default
+     * implementation ignores the head start
+     * @param task Task to execute
+     * @param headStart Time by which the task is ahead of the tasks enqueued without head start
+     */
+    default void enqueue(QueuedTask task, Duration headStart) {
+        enqueue(task);
+    }
+
+    /**
+     * @param operationType Operation type of the tasks
+     * @return Number of tasks of the operation type waiting to be claimed. The default implementation returns 0, so that
+     * the queue is never considered full
+     */
+    default int waiting(OperationType operationType) {
+        return 0;
+    }
+
+    /**
+     * Claims the next tasks of the queue for this replica. Tasks claimed by other replicas are skipped unless their lease expired
+     * @param maxTasks Maximum number of tasks to claim
+     * @return Claimed tasks, in the order they were enqueued minus their head start
+     */
+    List<QueuedTask> claim(int maxTasks);
+
+    /**
+     * Extends the lease of tasks claimed by this replica which are still running
+     * @param taskTokens Tokens of the running tasks
+     */
+    void renew(Collection<TaskToken> taskTokens);
+
+    /**
+     * Releases a claimed task so that it can be claimed again
+     * @param taskToken Token identifying the task
+     */
+    void release(TaskToken taskToken);
+
+    /**
+     * Removes a finished task from the queue
+     * @param taskToken Token identifying the task
+     */
+    void complete(TaskToken taskToken);
+}
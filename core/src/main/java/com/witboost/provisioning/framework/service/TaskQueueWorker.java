@@ -0,0 +1,130 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Polls the {@link TaskQueue} and executes the claimed tasks on the framework task executor through
+ * {@link AsyncTechAdapterService}. Each replica of the Tech Adapter runs its own worker, claiming at most
+ * {@code maxConcurrentTasks} tasks at a time, and renewing the lease of its claimed tasks on every poll until they're
+ * finished. A task exceeding its deadline frees its slot right away, without waiting for the cancelled operation to
+ * return. A task waiting for a free slot of its component kind frees its slot too, but keeps its lease and its row on the
+ * queue, so that it's not claimed by another replica while waiting.
+ */
+public class TaskQueueWorker implements SmartLifecycle {
+
+    private final TaskQueue taskQueue;
+    private final AsyncTechAdapterService asyncTechAdapterService;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int maxConcurrentTasks;
+    private final Duration pollInterval;
+
+    private final Set<TaskToken> runningTasks = ConcurrentHashMap.newKeySet();
+    private final Set<TaskToken> claimedTasks = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService poller;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskQueueWorker.class);
+
+    /**
+     * @param taskQueue Queue to claim the tasks from
+     * @param asyncTechAdapterService Service executing the tasks
+     * @param taskExecutor Executor where tasks are executed
+     * @param maxConcurrentTasks Maximum number of tasks executed at the same time by this replica
+     * @param pollInterval Interval between polls of the queue
+     */
+    public TaskQueueWorker(
+            TaskQueue taskQueue,
+            AsyncTechAdapterService asyncTechAdapterService,
+            AsyncTaskExecutor taskExecutor,
+            int maxConcurrentTasks,
+            Duration pollInterval) {
+        this.taskQueue = taskQueue;
+        this.asyncTechAdapterService = asyncTechAdapterService;
+        this.taskExecutor = taskExecutor;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Renews the lease of the claimed tasks and claims new tasks up to the available capacity
+     */
+    void poll() {
+        try {
+            if (!claimedTasks.isEmpty()) taskQueue.renew(Set.copyOf(claimedTasks));
+            int capacity = maxConcurrentTasks - runningTasks.size();
+            if (capacity <= 0) return;
+            for (var task : taskQueue.claim(capacity)) dispatch(task);
+        } catch (RuntimeException e) {
+            logger.error("Error while polling the task queue", e);
+        }
+    }
+
+    private void dispatch(QueuedTask task) {
+        var token = task.taskToken();
+        logger.info("Claimed asynchronous task with token '{}'", token);
+        claimedTasks.add(token);
+        runningTasks.add(token);
+        try {
+            taskExecutor.execute(() -> {
+                Runnable finished = () -> {
+                    runningTasks.remove(token);
+                    if (claimedTasks.remove(token)) complete(token);
+                };
+                try {
+                    asyncTechAdapterService.runQueuedTask(task, () -> runningTasks.remove(token), finished);
+                } catch (RuntimeException e) {
+                    logger.error(String.format("Unable to execute task with token '%s'", token), e);
+                    finished.run();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Task with token '{}' was rejected by the task executor, releasing it", token);
+            runningTasks.remove(token);
+            claimedTasks.remove(token);
+            taskQueue.release(token);
+        }
+    }
+
+    private void complete(TaskToken token) {
+        try {
+            taskQueue.complete(token);
+        } catch (RuntimeException e) {
+            logger.error(String.format("Unable to remove task with token '%s' from the task queue", token), e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (poller != null) return;
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-queue-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Task queue worker started, polling every {}", pollInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (poller == null) return;
+        poller.shutdown();
+        poller = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return poller != null;
+    }
+}
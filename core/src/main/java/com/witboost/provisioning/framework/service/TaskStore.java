@@ -0,0 +1,47 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.framework.service.impl.InMemoryTaskStore;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.control.Option;
+
+/**
+ * Repository of the asynchronous tasks handled by the framework, storing the latest {@link OperationStatus} of each task
+ * identified by its {@link TaskToken}. The stored status may be any of the {@link OperationStatus} subclasses, as the same
+ * store is shared by all the asynchronous operations.
+ * <p>
+ * The framework provides {@link InMemoryTaskStore} as default implementation. It may be replaced by the Tech Adapter developer
+ * by injecting a different implementation as a Spring Bean.
+ *
+ * @see InMemoryTaskStore
+ */
+public interface TaskStore {
+
+    /**
+     * Stores a new task, replacing any existing task with the same token
+     * @param taskToken Token identifying the task
+     * @param operationStatus Initial status of the task
+     */
+    void put(TaskToken taskToken, OperationStatus operationStatus);
+
+    /**
+     * Replaces the status of an existing task
+     * @param taskToken Token identifying the task
+     * @param operationStatus New status of the task
+     * @return {@code true} if the task was updated, {@code false} if the task doesn't exist or has already expired
+     */
+    boolean update(TaskToken taskToken, OperationStatus operationStatus);
+
+    /**
+     * Retrieves the latest status of a task
+     * @param taskToken Token identifying the task
+     * @return Option of the latest status of the task, empty if the task doesn't exist or has already expired
+     */
+    Option<OperationStatus> get(TaskToken taskToken);
+
+    /**
+     * Removes a task from the store, so that it can't be retrieved anymore
+     * @param taskToken Token identifying the task
+     */
+    void expire(TaskToken taskToken);
+}
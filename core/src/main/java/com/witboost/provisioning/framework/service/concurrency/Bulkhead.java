@@ -0,0 +1,331 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Problem;
+import io.vavr.control.Either;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of operations executed at the same time for a component kind. Operations exceeding the limit never
+ * wait on the thread executing them, so that a slow component kind can't hold the threads shared with the other kinds:
+ * they are rejected right away with a {@link BulkheadFullException}. Asynchronous tasks can then wait on the queue of
+ * the bulkhead without a thread, up to a maximum number of waiting tasks and a maximum wait time.
+ * <p>
+ * Slots are handed over in order: a freed slot is given to the first waiting task as a {@link Permit}, and new
+ * operations are rejected while tasks are waiting, so that they can't take the slot before the waiting tasks. A task
+ * rejected by a bulkhead nested within the operation of another one keeps its slot on the outer bulkhead in its
+ * {@link Reservation} while it waits, so that it's not overtaken on the outer bulkhead either.
+ */
+public class Bulkhead {
+
+    private static final ThreadLocal<Reservation> RESERVED = new ThreadLocal<>();
+
+    private final String componentKind;
+    private final BulkheadProperties.Limits limits;
+    private final Clock clock;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int available;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(Bulkhead.class);
+
+    private record Waiter(Predicate<Permit> resume, Consumer<FailedOperation> onRejected, Instant since) {}
+
+    /**
+     * Slot of the bulkhead reserved to a waiting task. The slot is used by the first operation executed on the bulkhead
+     * within {@link #run(Runnable)}, and handed over to the next waiting task once that operation returns, or once
+     * {@link #run(Runnable)} returns if no operation used it
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final Duration waited;
+
+        private Permit(Duration waited) {
+            this.waited = waited;
+        }
+
+        private Bulkhead bulkhead() {
+            return Bulkhead.this;
+        }
+
+        /**
+         * Runs the task on the current thread, executing its operation on the bulkhead with the reserved slot
+         * @param task Task to run
+         */
+        public void run(Runnable task) {
+            var reservation = new Reservation();
+            reservation.add(this);
+            try {
+                reservation.run(task);
+            } finally {
+                reservation.release();
+            }
+        }
+
+        /**
+         * Hands the slot over to the next waiting task, if it wasn't already
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) Bulkhead.this.release();
+        }
+    }
+
+    /**
+     * Slots held by an asynchronous task across its attempts. The slots handed over to the task are added to its
+     * reservation, and used by the operations executed on their bulkhead within {@link #run(Runnable)}. If an operation
+     * is rejected by a bulkhead nested within it, the slot of the outer bulkhead is kept in the reservation instead of
+     * being handed over, until the task uses it again or releases the reservation once finished
+     */
+    public static final class Reservation {
+
+        private final ArrayList<Permit> permits = new ArrayList<>();
+
+        /**
+         * @param permit Slot handed over to the task
+         */
+        public synchronized void add(Permit permit) {
+            permits.add(permit);
+        }
+
+        /**
+         * Runs the task on the current thread, executing its operations with the reserved slots
+         * @param task Task to run
+         */
+        public void run(Runnable task) {
+            var previous = RESERVED.get();
+            RESERVED.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) RESERVED.set(previous);
+                else RESERVED.remove();
+            }
+        }
+
+        /**
+         * Hands all the reserved slots over to the next waiting tasks
+         */
+        public void release() {
+            List<Permit> released;
+            synchronized (this) {
+                released = new ArrayList<>(permits);
+                permits.clear();
+            }
+            released.forEach(Permit::release);
+        }
+
+        private synchronized Permit take(Bulkhead bulkhead) {
+            for (var iterator = permits.iterator(); iterator.hasNext(); ) {
+                var permit = iterator.next();
+                if (permit.bulkhead() == bulkhead) {
+                    iterator.remove();
+                    return permit;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param componentKind Component kind whose operations are limited
+     * @param limits Limits of the bulkhead
+     */
+    public Bulkhead(String componentKind, BulkheadProperties.Limits limits) {
+        this(componentKind, limits, Clock.systemUTC());
+    }
+
+    Bulkhead(String componentKind, BulkheadProperties.Limits limits, Clock clock) {
+        this.componentKind = componentKind;
+        this.limits = limits;
+        this.available = limits.maxConcurrent();
+        this.clock = clock;
+    }
+
+    /**
+     * Executes the operation if a slot is available and no task is waiting for one, or with the slot reserved to the
+     * current task by {@link Reservation#run(Runnable)}
+     * @param operation Operation to execute
+     * @return The result of the operation
+     * @throws BulkheadFullException If all the slots are taken, or reserved to the waiting tasks
+     */
+    public <T> Either<FailedOperation, T> execute(Supplier<Either<FailedOperation, T>> operation) {
+        return executeAfterWait(waited -> operation.get());
+    }
+
+    /**
+     * Same as {@link #execute(Supplier)}, passing to the operation the time its task waited for the slot
+     */
+    <T> Either<FailedOperation, T> executeAfterWait(Function<Duration, Either<FailedOperation, T>> operation) {
+        var reservation = RESERVED.get();
+        var permit = acquire(reservation);
+        boolean kept = false;
+        active.incrementAndGet();
+        try {
+            return operation.apply(permit.waited);
+        } catch (BulkheadFullException e) {
+            if (reservation != null && e.getBulkhead() != this) {
+                reservation.add(permit);
+                kept = true;
+            }
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            if (!kept) permit.release();
+        }
+    }
+
+    /**
+     * @return Whether the current thread is running a task within a {@link Reservation}, which can wait on the
+     * bulkheads without holding the thread
+     */
+    static boolean isReserving() {
+        return RESERVED.get() != null;
+    }
+
+    private Permit acquire(Reservation reservation) {
+        var reserved = reservation != null ? reservation.take(this) : null;
+        if (reserved != null) return reserved;
+        synchronized (waiters) {
+            if (waiters.isEmpty() && available > 0) {
+                available--;
+                return new Permit(Duration.ZERO);
+            }
+        }
+        rejected.incrementAndGet();
+        throw new BulkheadFullException(
+                this, rejection(String.format("%d operations are already running", limits.maxConcurrent())));
+    }
+
+    /**
+     * Queues an operation rejected by {@link #execute(Supplier)} until a slot is freed, without holding a thread
+     * @param resume Called with the slot reserved to the operation once it's freed, to execute the operation again
+     *               within {@link Permit#run(Runnable)}. It should hand the operation over to another thread, as it's
+     *               called by the thread freeing the slot, and return {@code false} if the operation was cancelled
+     *               meanwhile, so that the slot is given to the next waiting operation
+     * @param onRejected Called with the reason of the rejection if no slot is freed within the maximum wait time
+     * @return Whether the operation was queued, or {@code false} if the maximum number of operations are already waiting
+     */
+    public boolean await(Predicate<Permit> resume, Consumer<FailedOperation> onRejected) {
+        boolean queued;
+        Waiter next = null;
+        var expired = new ArrayList<Waiter>();
+        synchronized (waiters) {
+            removeExpired(expired);
+            queued = waiters.size() < limits.maxQueued();
+            if (queued) {
+                waiters.addLast(new Waiter(resume, onRejected, clock.instant()));
+                if (available > 0) {
+                    available--;
+                    next = waiters.pollFirst();
+                }
+            }
+        }
+        rejectExpired(expired);
+        if (!queued)
+            logger.warn(
+                    "Operation for a component of kind '{}' can't wait for a free slot as {} operations are already waiting",
+                    componentKind,
+                    limits.maxQueued());
+        else if (next != null) resume(next);
+        return queued;
+    }
+
+    /**
+     * Hands the freed slot over to the first waiting operation, or makes it available if no operation is waiting.
+     * Operations waiting for longer than the maximum wait time are rejected
+     */
+    private void release() {
+        Waiter next;
+        var expired = new ArrayList<Waiter>();
+        synchronized (waiters) {
+            removeExpired(expired);
+            next = waiters.pollFirst();
+            if (next == null) available++;
+        }
+        rejectExpired(expired);
+        if (next != null) resume(next);
+    }
+
+    private void resume(Waiter waiter) {
+        var permit = new Permit(Duration.between(waiter.since(), clock.instant()));
+        boolean resumed = false;
+        try {
+            resumed = waiter.resume().test(permit);
+        } finally {
+            if (!resumed) permit.release();
+        }
+    }
+
+    private void removeExpired(ArrayList<Waiter> expired) {
+        var now = clock.instant();
+        while (!waiters.isEmpty()
+                && Duration.between(waiters.getFirst().since(), now).compareTo(limits.maxWait()) > 0)
+            expired.add(waiters.removeFirst());
+    }
+
+    private void rejectExpired(ArrayList<Waiter> expired) {
+        for (var waiter : expired) {
+            logger.warn(
+                    "Operation for a component of kind '{}' was rejected as no slot was freed in {}",
+                    componentKind,
+                    limits.maxWait());
+            waiter.onRejected().accept(rejection(String.format("No operation finished in %s", limits.maxWait())));
+        }
+    }
+
+    private FailedOperation rejection(String reason) {
+        var message = String.format(
+                "The Tech Adapter is executing too many operations for components of kind '%s'", componentKind);
+        return new FailedOperation(
+                message,
+                Collections.singletonList(new Problem(
+                        String.format("%s. %s", message, reason),
+                        Set.of("Wait for the running operations to finish and retry the operation"))));
+    }
+
+    BulkheadProperties.Limits limits() {
+        return limits;
+    }
+
+    /**
+     * @return Number of operations being executed
+     */
+    public int active() {
+        return active.get();
+    }
+
+    /**
+     * @return Number of operations waiting for a free slot
+     */
+    public int queued() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
+    }
+
+    /**
+     * @return Total number of operations which found no free slot
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+}
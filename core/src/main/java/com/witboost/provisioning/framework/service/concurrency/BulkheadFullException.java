@@ -0,0 +1,23 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
+import com.witboost.provisioning.model.common.FailedOperation;
+
+/**
+ * {@link TechAdapterOverloadedException} thrown when the {@link Bulkhead} of a component kind has no free slot. Synchronous
+ * operations are rejected with a {@code 429 Too Many Requests} error, while asynchronous tasks can wait on the bulkhead
+ * through {@link #getBulkhead()}.
+ */
+public class BulkheadFullException extends TechAdapterOverloadedException {
+
+    private final transient Bulkhead bulkhead;
+
+    public BulkheadFullException(Bulkhead bulkhead, FailedOperation failedOperation) {
+        super(failedOperation);
+        this.bulkhead = bulkhead;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,48 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the per component kind bulkheads, bound from the {@code bulkhead} prefix.
+ * <p>
+ * Bulkheads are disabled by default. When enabled, each component kind gets its own limits, taken from {@code kinds}
+ * when configured for that kind or from {@code defaults} otherwise.
+ *
+ * @param enabled Whether to limit the concurrent operations of each component kind
+ * @param defaults Limits applied to the component kinds not configured on {@code kinds}
+ * @param kinds Limits for specific component kinds, keyed by component kind (e.g. {@code outputport})
+ * @see ComponentBulkheads
+ */
+@ConfigurationProperties(prefix = "bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("false") boolean enabled, @DefaultValue Limits defaults, Map<String, Limits> kinds) {
+
+    public BulkheadProperties {
+        kinds = kinds == null ? Map.of() : Map.copyOf(kinds);
+    }
+
+    /**
+     * Limits of the bulkhead of a component kind
+     * @param maxConcurrent Maximum number of operations executed at the same time. The default is below the default size
+     *                      of the asynchronous task executor, so that a single kind can't take all its threads
+     * @param maxQueued Maximum number of asynchronous tasks waiting for a free slot. Further tasks are rejected.
+     *                  Synchronous operations never wait, so they're rejected whenever they find no free slot
+     * @param maxWait Maximum time an asynchronous task waits for a free slot before being rejected. It doesn't apply to
+     *                synchronous operations
+     */
+    public record Limits(
+            @DefaultValue("4") int maxConcurrent,
+            @DefaultValue("100") int maxQueued,
+            @DefaultValue("30s") Duration maxWait) {}
+
+    /**
+     * @param componentKind Component kind
+     * @return The limits configured for the component kind, or the default limits
+     */
+    public Limits limitsFor(String componentKind) {
+        return kinds.getOrDefault(componentKind, defaults);
+    }
+}
@@ -0,0 +1,14 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the coalescing of duplicated operations, bound from the {@code coalescing} prefix.
+ *
+ * @param enabled Whether provision and unprovision requests identical to an in-flight operation attach to it instead of
+ *                starting a new operation
+ * @see InFlightOperations
+ */
+@ConfigurationProperties(prefix = "coalescing")
+public record CoalescingProperties(@DefaultValue("false") boolean enabled) {}
@@ -0,0 +1,96 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import static com.witboost.provisioning.model.common.Constants.*;
+
+import com.witboost.provisioning.framework.service.ProvisionService;
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vavr.control.Either;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Isolates the {@link ProvisionService} operations of each component kind on its own {@link Bulkhead}, so that slow
+ * operations on a component kind don't delay the operations on other kinds. Operations finding their kind at capacity
+ * don't hold their thread: synchronous operations are rejected, and asynchronous tasks wait on the queue of the
+ * bulkhead, releasing their thread until a slot of their kind is freed.
+ * <p>
+ * Exposes the {@code tech.adapter.bulkhead.active}, {@code tech.adapter.bulkhead.queued} and
+ * {@code tech.adapter.bulkhead.rejected} metrics tagged with the component {@code kind}.
+ *
+ * @see BulkheadProperties
+ */
+public class ComponentBulkheads implements MeterBinder {
+
+    private final BulkheadProperties properties;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public ComponentBulkheads(BulkheadProperties properties) {
+        this.properties = properties;
+        if (properties.enabled()) {
+            for (var kind : new String[] {STORAGE_KIND, WORKLOAD_KIND, OUTPUTPORT_KIND}) bulkhead(kind);
+            properties.kinds().keySet().forEach(this::bulkhead);
+        }
+    }
+
+    /**
+     * @return Bulkheads which don't limit the operations
+     */
+    public static ComponentBulkheads unlimited() {
+        return new ComponentBulkheads(
+                new BulkheadProperties(false, new BulkheadProperties.Limits(0, 0, Duration.ZERO), Map.of()));
+    }
+
+    /**
+     * Executes the operation on the bulkhead of the component kind, if bulkheads are enabled
+     * @param componentKind Component kind of the operation
+     * @param operation Operation to execute
+     * @return The result of the operation
+     * @throws BulkheadFullException If the bulkhead of the component kind has no free slot
+     */
+    public <T> Either<FailedOperation, T> execute(
+            String componentKind, Supplier<Either<FailedOperation, T>> operation) {
+        if (!properties.enabled()) return operation.get();
+        return bulkhead(componentKind).execute(operation);
+    }
+
+    /**
+     * @param componentKind Component kind
+     * @return The bulkhead of the component kind
+     */
+    public Bulkhead bulkhead(String componentKind) {
+        return bulkheads.computeIfAbsent(componentKind, kind -> {
+            var bulkhead = new Bulkhead(kind, properties.limitsFor(kind));
+            var registry = meterRegistry;
+            if (registry != null) register(registry, kind, bulkhead);
+            return bulkhead;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        bulkheads.forEach((kind, bulkhead) -> register(registry, kind, bulkhead));
+    }
+
+    private static void register(MeterRegistry registry, String kind, Bulkhead bulkhead) {
+        Gauge.builder("tech.adapter.bulkhead.active", bulkhead, Bulkhead::active)
+                .description("Operations being executed")
+                .tag("kind", kind)
+                .register(registry);
+        Gauge.builder("tech.adapter.bulkhead.queued", bulkhead, Bulkhead::queued)
+                .description("Operations waiting for a free slot")
+                .tag("kind", kind)
+                .register(registry);
+        FunctionCounter.builder("tech.adapter.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                .description("Operations which found the component kind at capacity")
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
@@ -0,0 +1,233 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vavr.control.Option;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the provision and unprovision operations being executed, so that identical requests received while an
+ * operation is in flight attach to it instead of calling the {@code ProvisionService} again. Requests are identical when
+ * they have the same operation type, component to provision and descriptor fingerprint, computed as the SHA-256 hash of
+ * the descriptor with its properties sorted, plus the {@code removeData} flag and the latest enriched descriptor.
+ * <p>
+ * Descriptor strings are read through the {@link ParsedDescriptorCache} in the same parsing mode as the validation, so
+ * that when the cache is enabled the operation reuses the tree parsed to compute its key instead of parsing it again.
+ * <p>
+ * Synchronous operations share the result of the in-flight operation, while asynchronous operations share its task.
+ * Exposes the {@code tech.adapter.coalescing.duplicates} metric tagged with the {@code operation}, counting the
+ * operations attached to an in-flight operation.
+ *
+ * @see CoalescingProperties
+ */
+public class InFlightOperations implements MeterBinder {
+
+    private static final ObjectWriter CANONICAL_WRITER = JsonMapper.builder()
+            .enable(JsonNodeFeature.WRITE_PROPERTIES_SORTED)
+            .build()
+            .writer();
+
+    private final boolean enabled;
+    private final ParsedDescriptorCache parsedDescriptorCache;
+    private final boolean selective;
+    private final Map<Key, CompletableFuture<Object>> operations = new ConcurrentHashMap<>();
+    private final Map<Key, TaskToken> tasks = new ConcurrentHashMap<>();
+    private final Map<TaskToken, Key> taskKeys = new ConcurrentHashMap<>();
+    private final Map<OperationType, AtomicLong> duplicates = new EnumMap<>(OperationType.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(InFlightOperations.class);
+
+    /**
+     * Identifies identical operations
+     * @param operationType Type of the operation
+     * @param componentId Identifier of the component to provision
+     * @param fingerprint Fingerprint of the request descriptor
+     */
+    public record Key(OperationType operationType, String componentId, String fingerprint) {}
+
+    public InFlightOperations(boolean enabled) {
+        this(enabled, ParsedDescriptorCache.disabled(), new ParserProperties(false));
+    }
+
+    public InFlightOperations(
+            boolean enabled, ParsedDescriptorCache parsedDescriptorCache, ParserProperties parserProperties) {
+        this.enabled = enabled;
+        this.parsedDescriptorCache = parsedDescriptorCache;
+        this.selective = parserProperties.selective();
+        duplicates.put(OperationType.PROVISION, new AtomicLong());
+        duplicates.put(OperationType.UNPROVISION, new AtomicLong());
+    }
+
+    /**
+     * Executes a synchronous operation, or waits for the result of an identical operation already in flight
+     * @param operationType Type of the operation
+     * @param request Request of the operation
+     * @param operation Operation to execute
+     * @return The result of the operation, shared with the identical operations received while it was in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(OperationType operationType, ProvisioningRequest request, Supplier<T> operation) {
+        if (!enabled) return operation.get();
+        var key = key(operationType, request);
+        if (key.isEmpty()) return operation.get();
+
+        var future = new CompletableFuture<Object>();
+        var inFlight = operations.putIfAbsent(key.get(), future);
+        if (inFlight != null) {
+            countDuplicate(key.get());
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+                throw e;
+            }
+        }
+        try {
+            var result = operation.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            operations.remove(key.get(), future);
+        }
+    }
+
+    /**
+     * Registers an asynchronous task, unless an identical task is already in flight
+     * @param operationType Type of the operation
+     * @param request Request of the operation
+     * @param taskToken Token of the new task
+     * @param isInFlight Tells whether a previously registered task is still waiting or running
+     * @return The token of the in-flight task identical to the new one, or empty if the new task was registered and
+     * must be executed
+     */
+    public Option<TaskToken> attachTask(
+            OperationType operationType, Object request, TaskToken taskToken, Predicate<TaskToken> isInFlight) {
+        if (!enabled || !(request instanceof ProvisioningRequest provisioningRequest)) return Option.none();
+        var key = key(operationType, provisioningRequest);
+        if (key.isEmpty()) return Option.none();
+
+        // isInFlight may read the task store, so it's called outside the map lock and the registered task is only
+        // replaced if no other request replaced it meanwhile
+        var inFlight = tasks.putIfAbsent(key.get(), taskToken);
+        while (inFlight != null) {
+            if (isInFlight.test(inFlight)) {
+                countDuplicate(key.get());
+                return Option.some(inFlight);
+            }
+            if (tasks.replace(key.get(), inFlight, taskToken)) break;
+            inFlight = tasks.putIfAbsent(key.get(), taskToken);
+        }
+        taskKeys.put(taskToken, key.get());
+        return Option.none();
+    }
+
+    /**
+     * Removes a task registered through {@link #attachTask}, once it's finished or it couldn't be submitted
+     * @param taskToken Token of the task
+     */
+    public void detachTask(TaskToken taskToken) {
+        var key = taskKeys.remove(taskToken);
+        if (key != null) tasks.remove(key, taskToken);
+    }
+
+    /**
+     * @return The key identifying the operation, or empty if the request descriptor can't be parsed or doesn't contain
+     * the component to provision
+     */
+    Option<Key> key(OperationType operationType, ProvisioningRequest request) {
+        if (!duplicates.containsKey(operationType)) return Option.none();
+        try {
+            JsonNode descriptor;
+            if (request instanceof StructuredProvisioningRequest structuredRequest)
+                descriptor = structuredRequest.getDescriptorTree();
+            else if (request.getDescriptor() != null) {
+                var eitherDescriptor = parsedDescriptorCache.get(request.getDescriptor(), selective);
+                if (eitherDescriptor.isLeft()) return Option.none();
+                descriptor = eitherDescriptor.get();
+            } else return Option.none();
+            var componentId = descriptor.path("componentIdToProvision").textValue();
+            if (componentId == null) return Option.none();
+            return Option.some(new Key(
+                    operationType,
+                    componentId,
+                    fingerprint(descriptor, request.getLatestEnrichedDescriptor(), request.getRemoveData())));
+        } catch (IOException e) {
+            logger.debug("Unable to compute the fingerprint of the request descriptor, skipping coalescing", e);
+            return Option.none();
+        }
+    }
+
+    private static String fingerprint(
+            JsonNode descriptor, Optional<String> latestEnrichedDescriptor, Boolean removeData) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (var output = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            CANONICAL_WRITER.writeValue(output, descriptor);
+        }
+        digest.update((byte) (Boolean.TRUE.equals(removeData) ? 1 : 0));
+        if (latestEnrichedDescriptor != null && latestEnrichedDescriptor.isPresent()) {
+            digest.update((byte) 1);
+            digest.update(latestEnrichedDescriptor.get().getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void countDuplicate(Key key) {
+        duplicates.get(key.operationType()).incrementAndGet();
+        logger.info(
+                "Attaching {} operation for component '{}' to an identical operation in flight",
+                key.operationType().name().toLowerCase(),
+                key.componentId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        duplicates.forEach((operationType, count) -> FunctionCounter.builder(
+                        "tech.adapter.coalescing.duplicates", count, AtomicLong::get)
+                .description("Operations attached to an identical operation in flight")
+                .tag("operation", operationType.name().toLowerCase())
+                .register(registry));
+        Gauge.builder(
+                        "tech.adapter.coalescing.in.flight",
+                        this,
+                        operations -> operations.operations.size() + operations.tasks.size())
+                .description("Operations in flight which identical operations can attach to")
+                .register(registry);
+    }
+}
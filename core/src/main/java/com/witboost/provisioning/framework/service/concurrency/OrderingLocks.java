@@ -0,0 +1,130 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Problem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vavr.control.Either;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the operations on the same component of the same data product one at a time, in the order they arrive,
+ * while operations on other components run in parallel. Operations are distributed on a fixed number of stripes based
+ * on the hash of their data product and component identifiers, each one being a {@link Bulkhead} with a single slot.
+ * <p>
+ * Synchronous operations wait for their stripe on their thread. Asynchronous tasks wait on the stripe without holding
+ * their thread like on the bulkhead of their component kind, and keep their stripe while waiting for a free slot of their
+ * component kind, so that later operations on the component can't overtake them.
+ * <p>
+ * Exposes the {@code tech.adapter.ordering.lock.wait} timer, measuring the time operations wait for their stripe.
+ *
+ * @see OrderingProperties
+ */
+public class OrderingLocks implements MeterBinder {
+
+    private static final BulkheadProperties.Limits STRIPE_LIMITS =
+            new BulkheadProperties.Limits(1, Integer.MAX_VALUE, ChronoUnit.FOREVER.getDuration());
+
+    private final boolean enabled;
+    private final Bulkhead[] stripes;
+    private volatile Timer waitTimer;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderingLocks.class);
+
+    public OrderingLocks(OrderingProperties properties) {
+        this.enabled = properties.enabled();
+        int size = Integer.highestOneBit(Math.max(1, properties.stripes() - 1)) << 1;
+        this.stripes = new Bulkhead[enabled ? size : 0];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new Bulkhead("ordering", STRIPE_LIMITS);
+    }
+
+    /**
+     * @return Locks which don't order the operations
+     */
+    public static OrderingLocks disabled() {
+        return new OrderingLocks(new OrderingProperties(false, 1));
+    }
+
+    /**
+     * Executes the operation once the previous operations on the same component are finished
+     * @param dataProductId Identifier of the data product, if available
+     * @param componentId Identifier of the component
+     * @param operation Operation to execute
+     * @return The result of the operation, or a {@link FailedOperation} if the thread was interrupted while waiting
+     * @throws BulkheadFullException If the operation is executed by an asynchronous task and a previous operation on
+     * the component is running, so that the task waits on the stripe without holding its thread
+     */
+    public <T> Either<FailedOperation, T> execute(
+            String dataProductId, String componentId, Supplier<Either<FailedOperation, T>> operation) {
+        if (!enabled) return operation.get();
+        var stripe = stripe(dataProductId, componentId);
+        Function<Duration, Either<FailedOperation, T>> ordered = waited -> {
+            var timer = waitTimer;
+            if (timer != null) timer.record(waited);
+            if (waited.toMillis() > 100)
+                logger.info(
+                        "Operation on component '{}' waited {} ms for the previous operations on the component",
+                        componentId,
+                        waited.toMillis());
+            return operation.get();
+        };
+        if (Bulkhead.isReserving()) return stripe.executeAfterWait(ordered);
+        try {
+            return stripe.executeAfterWait(ordered);
+        } catch (BulkheadFullException e) {
+            if (e.getBulkhead() != stripe) throw e;
+        }
+        return awaitStripe(stripe, componentId, ordered);
+    }
+
+    /**
+     * Waits on the current thread for the stripe to be handed over, then executes the operation on it
+     */
+    private <T> Either<FailedOperation, T> awaitStripe(
+            Bulkhead stripe, String componentId, Function<Duration, Either<FailedOperation, T>> operation) {
+        var handoff = new CompletableFuture<Bulkhead.Permit>();
+        stripe.await(
+                handoff::complete,
+                rejection -> handoff.completeExceptionally(new IllegalStateException(rejection.message())));
+        Bulkhead.Permit permit;
+        try {
+            permit = handoff.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!handoff.cancel(false)) handoff.join().release();
+            var message = String.format(
+                    "The operation on component '%s' was interrupted while waiting for the previous operations on the component",
+                    componentId);
+            logger.error(message);
+            return Either.left(new FailedOperation(message, Collections.singletonList(new Problem(message))));
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+        var result = new AtomicReference<Either<FailedOperation, T>>();
+        permit.run(() -> result.set(stripe.executeAfterWait(operation)));
+        return result.get();
+    }
+
+    Bulkhead stripe(String dataProductId, String componentId) {
+        int hash = 31 * String.valueOf(dataProductId).hashCode()
+                + String.valueOf(componentId).hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("tech.adapter.ordering.lock.wait")
+                .description("Time operations wait for the previous operations on the same component")
+                .register(registry);
+    }
+}
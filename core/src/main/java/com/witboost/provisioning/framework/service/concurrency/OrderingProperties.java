@@ -0,0 +1,15 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the ordering of conflicting operations, bound from the {@code ordering} prefix.
+ *
+ * @param enabled Whether operations on the same component of the same data product are executed one at a time
+ * @param stripes Number of locks operations are distributed on. Operations on different components may share a lock,
+ *                so a higher number reduces the chance of unrelated operations waiting for each other
+ * @see OrderingLocks
+ */
+@ConfigurationProperties(prefix = "ordering")
+public record OrderingProperties(@DefaultValue("false") boolean enabled, @DefaultValue("1024") int stripes) {}
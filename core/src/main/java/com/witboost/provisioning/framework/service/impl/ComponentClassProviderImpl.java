@@ -8,6 +8,7 @@ import com.witboost.provisioning.model.Workload;
 import io.vavr.control.Option;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Singular;
 
@@ -36,6 +37,11 @@ public class ComponentClassProviderImpl implements ComponentClassProvider {
         else return mappedClass;
     }
 
+    @Override
+    public Set<String> useCaseTemplateIds() {
+        return Set.copyOf(componentClasses.keySet());
+    }
+
     /**
      * Creates a {@link ComponentClassProviderImpl} that maps up to three useCaseTemplateId (ignoring {@code null} parameters)
      * onto the default component classes ({@link StorageArea}, {@link Workload}, {@link OutputPort}).
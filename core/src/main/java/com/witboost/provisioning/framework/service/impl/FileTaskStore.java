@@ -0,0 +1,403 @@
+package com.witboost.provisioning.framework.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.service.TaskStore;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.control.Option;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TaskStore} implementation which persists every task transition on a segmented append-only log stored on a local
+ * directory, so that tasks survive a restart of the Tech Adapter.
+ * <p>
+ * Tasks are served from an {@link InMemoryTaskStore} index, which also defines the eviction policy. Transitions are applied
+ * to the index and queued, and a background thread appends the queued transitions to the active log segment and flushes
+ * them to disk in a single write every {@code flushInterval} (group commit), so the caller never waits for the disk. As a
+ * consequence, transitions performed during the last {@code flushInterval} before a crash may be lost. Transitions of
+ * the same task are encoded, applied to the index and queued under a lock striped by task token, so that concurrent
+ * writers append them to the log in the same order they were applied to the index. Locks are {@link ReentrantLock}s,
+ * which don't pin the carrier thread when the Tech Adapter runs on virtual threads.
+ * <p>
+ * Transitions that can't be encoded are rejected to the caller. When a write to disk fails, the queued transitions are
+ * kept and retried on the next flush, and the following transitions are rejected with an {@link UncheckedIOException}
+ * until a flush succeeds, so that callers don't report as stored a transition which can't be persisted.
+ * <p>
+ * When the active segment exceeds {@code segmentSize}, a new segment is opened and a snapshot of the index is written,
+ * removing the older segments and snapshots. On startup, the index is rebuilt from the latest snapshot and the following
+ * segments. Tasks that were still waiting or running when the Tech Adapter stopped are stored as {@code FAILED}, as
+ * they won't be resumed.
+ */
+public class FileTaskStore implements TaskStore, AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int LOCK_STRIPES = 64;
+
+    static final String INTERRUPTED_MESSAGE =
+            "The operation was interrupted as the Tech Adapter was restarted before it finished";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final InMemoryTaskStore index;
+    private final TaskStatusCodec codec;
+    private final Clock clock;
+
+    private final Deque<Transition> pendingTransitions = new ConcurrentLinkedDeque<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ByteArrayOutputStream writeBuffer = new ByteArrayOutputStream();
+    private final ScheduledExecutorService flusher;
+
+    private long segmentNumber;
+    private FileChannel segment;
+    private volatile IOException failure;
+
+    private static final Logger logger = LoggerFactory.getLogger(FileTaskStore.class);
+
+    /**
+     * @param directory Directory where the log segments and snapshots are stored. It is created if it doesn't exist
+     * @param segmentSize Size in bytes after which a new segment is started and the older ones are compacted
+     * @param flushInterval Interval between writes of the queued transitions to disk
+     * @param index In-memory store used to serve the tasks and evict them
+     * @param objectMapper Object mapper used to serialize the task information
+     */
+    public FileTaskStore(
+            Path directory,
+            long segmentSize,
+            Duration flushInterval,
+            InMemoryTaskStore index,
+            ObjectMapper objectMapper) {
+        this(directory, segmentSize, flushInterval, index, objectMapper, Clock.systemUTC());
+    }
+
+    FileTaskStore(
+            Path directory,
+            long segmentSize,
+            Duration flushInterval,
+            InMemoryTaskStore index,
+            ObjectMapper objectMapper,
+            Clock clock) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.index = index;
+        this.codec = new TaskStatusCodec(objectMapper);
+        this.clock = clock;
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+        try {
+            Files.createDirectories(directory);
+            var lastSegment = recover();
+            rollSegment(lastSegment + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the task store on " + directory, e);
+        }
+        failInterruptedTasks();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "task-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = flushInterval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void put(TaskToken taskToken, OperationStatus operationStatus) {
+        var lock = lockFor(taskToken);
+        lock.lock();
+        try {
+            var transition = encode(taskToken, operationStatus);
+            index.put(taskToken, operationStatus);
+            pendingTransitions.add(transition);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean update(TaskToken taskToken, OperationStatus operationStatus) {
+        var lock = lockFor(taskToken);
+        lock.lock();
+        try {
+            var transition = encode(taskToken, operationStatus);
+            if (!index.update(taskToken, operationStatus)) return false;
+            pendingTransitions.add(transition);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Option<OperationStatus> get(TaskToken taskToken) {
+        return index.get(taskToken);
+    }
+
+    @Override
+    public void expire(TaskToken taskToken) {
+        var lock = lockFor(taskToken);
+        lock.lock();
+        try {
+            var transition = encode(taskToken, null);
+            index.expire(taskToken);
+            pendingTransitions.add(transition);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(TaskToken taskToken) {
+        return locks[Math.floorMod(taskToken.hashCode(), locks.length)];
+    }
+
+    /**
+     * Encodes a transition, failing if the previous transitions couldn't be persisted
+     * @param status New status of the task, or {@code null} if it's expired
+     */
+    private Transition encode(TaskToken taskToken, OperationStatus status) {
+        var lastFailure = failure;
+        if (lastFailure != null)
+            throw new UncheckedIOException(
+                    String.format("Unable to persist task transitions on %s", directory), lastFailure);
+        var payload = status == null
+                ? codec.encodeExpired(taskToken)
+                : codec.encodeStatus(taskToken, status, clock.instant());
+        return new Transition(taskToken, payload);
+    }
+
+    /**
+     * Writes the queued transitions to the active segment and flushes them to disk. Once the segment is full, the log is
+     * compacted. If the write fails, the transitions are queued again and the segment is truncated to its previous size
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            if (pendingTransitions.isEmpty() && failure == null) return;
+            var batch = new ArrayList<Transition>();
+            Transition transition;
+            while ((transition = pendingTransitions.poll()) != null) batch.add(transition);
+            long start = -1;
+            try {
+                if (!segment.isOpen()) rollSegment(segmentNumber + 1);
+                writeBuffer.reset();
+                var output = new DataOutputStream(writeBuffer);
+                for (var pending : batch) writeRecord(output, pending.payload());
+                start = segment.size();
+                var buffer = ByteBuffer.wrap(writeBuffer.toByteArray());
+                while (buffer.hasRemaining()) segment.write(buffer);
+                segment.force(false);
+                batch.clear();
+                if (segment.size() >= segmentSize) rollSegment(segmentNumber + 1);
+                failure = null;
+            } catch (IOException e) {
+                logger.error(String.format("Unable to persist task transitions on %s", directory), e);
+                if (!batch.isEmpty()) {
+                    truncate(start);
+                    for (int i = batch.size() - 1; i >= 0; i--) pendingTransitions.addFirst(batch.get(i));
+                }
+                failure = e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a partially written batch from the active segment, so that it's not replayed as a corrupted record
+     */
+    private void truncate(long size) {
+        if (size < 0 || !segment.isOpen()) return;
+        try {
+            segment.truncate(size);
+        } catch (IOException e) {
+            logger.warn(String.format("Unable to truncate the task store segment %d", segmentNumber), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushLock.lock();
+        try {
+            flush();
+            segment.close();
+        } finally {
+            flushLock.unlock();
+        }
+        if (failure != null) throw new IOException("Unable to persist the queued task transitions", failure);
+    }
+
+    /**
+     * Opens a new segment and writes a snapshot of the index, removing the previous segments and snapshots
+     */
+    private void rollSegment(long newSegmentNumber) throws IOException {
+        if (segment != null) segment.close();
+        segmentNumber = newSegmentNumber;
+        segment = FileChannel.open(
+                segmentPath(segmentNumber),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        var temporary = directory.resolve(SNAPSHOT_PREFIX + segmentNumber + SNAPSHOT_SUFFIX + ".tmp");
+        try (var channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeBuffer.reset();
+            var output = new DataOutputStream(writeBuffer);
+            for (var task : index.entries().entrySet()) {
+                writeRecord(
+                        output,
+                        codec.encodeStatus(
+                                task.getKey(),
+                                task.getValue().status(),
+                                task.getValue().completedAt()));
+            }
+            var buffer = ByteBuffer.wrap(writeBuffer.toByteArray());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(false);
+        }
+        Files.move(
+                temporary,
+                snapshotPath(segmentNumber),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        for (var file : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (fileNumber(file, SEGMENT_PREFIX, SEGMENT_SUFFIX) < segmentNumber) Files.delete(file);
+        }
+        for (var file : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (fileNumber(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < segmentNumber) Files.delete(file);
+        }
+        logger.debug("Task store compacted on segment {}", segmentNumber);
+    }
+
+    /**
+     * Rebuilds the index from the latest snapshot and the segments written after it
+     * @return Number of the last segment found on the directory
+     */
+    private long recover() throws IOException {
+        var snapshots = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long snapshotNumber = 0;
+        if (!snapshots.isEmpty()) {
+            var snapshot = snapshots.get(snapshots.size() - 1);
+            snapshotNumber = fileNumber(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            replay(snapshot);
+        }
+        long lastSegment = snapshotNumber;
+        for (var file : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            var number = fileNumber(file, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            if (number >= snapshotNumber) replay(file);
+            lastSegment = Math.max(lastSegment, number);
+        }
+        logger.info("Recovered {} tasks from {}", index.size(), directory);
+        return lastSegment;
+    }
+
+    private void replay(Path file) throws IOException {
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        var crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                logger.warn("Ignoring truncated record at the end of {}", file);
+                return;
+            }
+            var payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("Ignoring corrupted record and the following ones on {}", file);
+                return;
+            }
+            var record = codec.decode(payload);
+            if (record.isExpired()) index.expire(record.taskToken());
+            else index.restore(record.taskToken(), record.status(), record.completedAt());
+        }
+        if (buffer.hasRemaining()) logger.warn("Ignoring truncated record at the end of {}", file);
+    }
+
+    private void failInterruptedTasks() {
+        for (var task : List.copyOf(index.entries().entrySet())) {
+            var status = task.getValue().status();
+            switch (status.getOperationStatus()) {
+                case WAITING, RUNNING -> {
+                    logger.warn("Task '{}' was interrupted by a restart, storing it as FAILED", task.getKey());
+                    update(task.getKey(), codec.interrupted(task.getKey(), status, INTERRUPTED_MESSAGE));
+                }
+                case COMPLETED, FAILED -> {}
+            }
+        }
+    }
+
+    private void writeRecord(DataOutputStream output, byte[] payload) throws IOException {
+        var crc = new CRC32();
+        crc.update(payload);
+        output.writeInt(payload.length);
+        output.writeInt((int) crc.getValue());
+        output.write(payload);
+    }
+
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        var name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted((first, second) ->
+                            Long.compare(fileNumber(first, prefix, suffix), fileNumber(second, prefix, suffix)))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private Path snapshotPath(long number) {
+        return directory.resolve(SNAPSHOT_PREFIX + number + SNAPSHOT_SUFFIX);
+    }
+
+    private static long fileNumber(Path file, String prefix, String suffix) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * Queued task transition, encoded as a log record payload
+     */
+    private record Transition(TaskToken taskToken, byte[] payload) {}
+}
@@ -0,0 +1,162 @@
+package com.witboost.provisioning.framework.service.impl;
+
+import com.witboost.provisioning.framework.service.TaskStore;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.control.Option;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link TaskStore} implementation which keeps the tasks in memory.
+ * <p>
+ * Tasks in a final status ({@code COMPLETED} or {@code FAILED}) expire once the configured time to live has passed since
+ * their completion. The store also caps the number of stored tasks: when the cap is exceeded, the oldest completed tasks
+ * are evicted first, even if they haven't expired yet. Tasks which are still waiting or running are never evicted, as the
+ * platform is still expecting their result; their number is already bounded by the task executor pool and queue.
+ * <p>
+ * Reads never block, as tasks are stored on a {@link ConcurrentHashMap}. Eviction is performed on writes by a single
+ * thread at a time, and writers skip it if another thread is already evicting.
+ */
+public class InMemoryTaskStore implements TaskStore {
+
+    private final Map<TaskToken, Entry> tasks = new ConcurrentHashMap<>();
+
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final int maxEntries;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskStore.class);
+
+    /**
+     * @param maxEntries Maximum number of tasks to keep on the store
+     * @param timeToLive Time a task in a final status is kept on the store
+     */
+    public InMemoryTaskStore(int maxEntries, Duration timeToLive) {
+        this(maxEntries, timeToLive, Clock.systemUTC());
+    }
+
+    InMemoryTaskStore(int maxEntries, Duration timeToLive, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(TaskToken taskToken, OperationStatus operationStatus) {
+        var entry = new Entry(operationStatus, isFinal(operationStatus) ? clock.instant() : null);
+        tasks.put(taskToken, entry);
+        if (entry.completedAt() != null) completions.add(new Completion(taskToken, entry.completedAt()));
+        evict();
+    }
+
+    @Override
+    public boolean update(TaskToken taskToken, OperationStatus operationStatus) {
+        var completed = new Instant[1];
+        var now = clock.instant();
+        var updated = tasks.computeIfPresent(taskToken, (token, current) -> {
+            if (isExpired(current, now)) return null;
+            if (!isFinal(operationStatus)) return new Entry(operationStatus, null);
+            if (current.completedAt() != null) return new Entry(operationStatus, current.completedAt());
+            completed[0] = now;
+            return new Entry(operationStatus, now);
+        });
+        if (updated == null) {
+            logger.warn("Task '{}' couldn't be updated as it doesn't exist or has already expired", taskToken);
+            return false;
+        }
+        if (completed[0] != null) completions.add(new Completion(taskToken, completed[0]));
+        evict();
+        return true;
+    }
+
+    @Override
+    public Option<OperationStatus> get(TaskToken taskToken) {
+        var entry = tasks.get(taskToken);
+        if (entry == null) return Option.none();
+        if (isExpired(entry, clock.instant())) {
+            tasks.remove(taskToken, entry);
+            return Option.none();
+        }
+        return Option.of(entry.status());
+    }
+
+    @Override
+    public void expire(TaskToken taskToken) {
+        tasks.remove(taskToken);
+    }
+
+    int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Read-only view of the stored tasks, used by the persistent stores to take snapshots
+     */
+    Map<TaskToken, Entry> entries() {
+        return Collections.unmodifiableMap(tasks);
+    }
+
+    /**
+     * Stores a task keeping its original completion time, used by the persistent stores to rebuild the tasks on startup
+     */
+    void restore(TaskToken taskToken, OperationStatus operationStatus, Instant completedAt) {
+        var entry = new Entry(operationStatus, isFinal(operationStatus) ? completedAt : null);
+        tasks.put(taskToken, entry);
+        if (entry.completedAt() != null) completions.add(new Completion(taskToken, entry.completedAt()));
+        evict();
+    }
+
+    /**
+     * Removes completed tasks in completion order while they are expired or the store is over capacity
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) return;
+        try {
+            var now = clock.instant();
+            Completion oldest;
+            while ((oldest = completions.peek()) != null) {
+                boolean expired = !now.isBefore(oldest.completedAt().plus(timeToLive));
+                if (!expired && tasks.size() <= maxEntries) break;
+                completions.poll();
+                var entry = tasks.get(oldest.taskToken());
+                if (entry != null && oldest.completedAt().equals(entry.completedAt())) {
+                    logger.debug("Evicting task '{}' completed at {}", oldest.taskToken(), oldest.completedAt());
+                    tasks.remove(oldest.taskToken(), entry);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return entry.completedAt() != null && !now.isBefore(entry.completedAt().plus(timeToLive));
+    }
+
+    private static boolean isFinal(OperationStatus operationStatus) {
+        return switch (operationStatus.getOperationStatus()) {
+            case COMPLETED, FAILED -> true;
+            case WAITING, RUNNING -> false;
+        };
+    }
+
+    record Entry(OperationStatus status, Instant completedAt) {}
+
+    private record Completion(TaskToken taskToken, Instant completedAt) {}
+}
@@ -4,6 +4,7 @@ import com.witboost.provisioning.framework.service.SpecificClassProvider;
 import com.witboost.provisioning.model.*;
 import io.vavr.control.Option;
 import java.util.Map;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Singular;
 
@@ -36,6 +37,11 @@ public class SpecificClassProviderImpl implements SpecificClassProvider {
         else return mappedClass;
     }
 
+    @Override
+    public Set<String> useCaseTemplateIds() {
+        return Set.copyOf(specificClasses.keySet());
+    }
+
     @Override
     public Option<Class<? extends Specific>> getReverseProvisioningParams(String useCaseTemplateId) {
         Option<Class<? extends Specific>> mappedClass =
@@ -0,0 +1,218 @@
+package com.witboost.provisioning.framework.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.Log;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ReverseProvisionInfo;
+import com.witboost.provisioning.model.status.ReverseProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ValidationInfo;
+import com.witboost.provisioning.model.status.ValidationOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts task transitions to and from the JSON records stored by the persistent {@link com.witboost.provisioning.framework.service.TaskStore}
+ * implementations.
+ * <p>
+ * {@code publicInfo}, {@code privateInfo} and reverse provisioning {@code updates} are stored as JSON trees, so after being
+ * read back they are returned as {@link JsonNode} instead of the original classes. As these fields are only serialized
+ * to JSON when returned to the platform, the response doesn't change.
+ */
+public class TaskStatusCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public TaskStatusCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Decoded task transition. {@code status} is {@code null} when the task was expired
+     */
+    public record TaskRecord(TaskToken taskToken, OperationStatus status, Instant completedAt) {
+
+        public boolean isExpired() {
+            return status == null;
+        }
+    }
+
+    public byte[] encodeStatus(TaskToken taskToken, OperationStatus status, Instant completedAt) {
+        var node = objectMapper.createObjectNode();
+        node.put("token", taskToken.toString());
+        if (completedAt != null) node.put("completedAt", completedAt.toEpochMilli());
+        node.put("type", status.getOperationType().name());
+        node.put("status", status.getOperationStatus().name());
+        if (status instanceof ProvisionOperationStatus provisionStatus) {
+            provisionStatus.getProvisionInfo().ifPresent(info -> node.set("info", encode(info)));
+        } else if (status instanceof ReverseProvisionOperationStatus reverseStatus) {
+            reverseStatus.getReverseProvisionInfo().ifPresent(info -> node.set("info", encode(info)));
+        } else if (status instanceof ValidationOperationStatus validationStatus) {
+            validationStatus.getValidationInfo().ifPresent(info -> node.set("info", encode(info)));
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported operation status " + status.getClass().getName());
+        }
+        return write(node);
+    }
+
+    public byte[] encodeExpired(TaskToken taskToken) {
+        var node = objectMapper.createObjectNode();
+        node.put("token", taskToken.toString());
+        node.put("expired", true);
+        return write(node);
+    }
+
+    public TaskRecord decode(byte[] bytes) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var taskToken = new TaskToken(node.get("token").asText());
+        if (node.path("expired").asBoolean(false)) return new TaskRecord(taskToken, null, null);
+
+        var completedAt = node.hasNonNull("completedAt")
+                ? Instant.ofEpochMilli(node.get("completedAt").asLong())
+                : null;
+        var operationStatus =
+                OperationStatus.OperationStatusEnum.valueOf(node.get("status").asText());
+        var info = node.get("info");
+        OperationStatus status =
+                switch (OperationType.valueOf(node.get("type").asText())) {
+                    case PROVISION -> ProvisionOperationStatus.createProvisionOperationStatus(
+                            operationStatus, taskToken, info == null ? null : decodeProvisionInfo(info));
+                    case UNPROVISION -> ProvisionOperationStatus.createUnprovisionOperationStatus(
+                            operationStatus, taskToken, info == null ? null : decodeProvisionInfo(info));
+                    case UPDATE_ACL -> ProvisionOperationStatus.createUpdateAclOperationStatus(
+                            operationStatus, taskToken, info == null ? null : decodeProvisionInfo(info));
+                    case REVERSE_PROVISION -> ReverseProvisionOperationStatus.createReverseProvisionOperationStatus(
+                            operationStatus, taskToken, info == null ? null : decodeReverseProvisionInfo(info));
+                    case VALIDATE -> new ValidationOperationStatus(
+                            operationStatus, taskToken, info == null ? null : decodeValidationInfo(info));
+                };
+        return new TaskRecord(taskToken, status, completedAt);
+    }
+
+    /**
+     * Builds the {@code FAILED} status of a task that was still waiting or running when the Tech Adapter stopped, keeping
+     * the information already available on the task
+     */
+    public OperationStatus interrupted(TaskToken taskToken, OperationStatus status, String message) {
+        var failed = OperationStatus.OperationStatusEnum.FAILED;
+        var errorLog = new Log(OffsetDateTime.now(), Log.LogLevelEnum.ERROR, message);
+        if (status instanceof ProvisionOperationStatus provisionStatus) {
+            var logs = new ArrayList<Log>();
+            provisionStatus.getProvisionInfo().ifPresent(info -> logs.addAll(info.getLogs()));
+            logs.add(errorLog);
+            var info = ProvisionInfo.builder()
+                    .logs(logs)
+                    .logsOffset(provisionStatus
+                            .getProvisionInfo()
+                            .map(ProvisionInfo::getLogsOffset)
+                            .orElse(0L))
+                    .build();
+            return switch (provisionStatus.getOperationType()) {
+                case UNPROVISION -> ProvisionOperationStatus.createUnprovisionOperationStatus(failed, taskToken, info);
+                case UPDATE_ACL -> ProvisionOperationStatus.createUpdateAclOperationStatus(failed, taskToken, info);
+                default -> ProvisionOperationStatus.createProvisionOperationStatus(failed, taskToken, info);
+            };
+        } else if (status instanceof ReverseProvisionOperationStatus reverseStatus) {
+            var logs = new ArrayList<Log>();
+            reverseStatus.getReverseProvisionInfo().ifPresent(info -> logs.addAll(info.getLogs()));
+            logs.add(errorLog);
+            return ReverseProvisionOperationStatus.createReverseProvisionOperationStatus(
+                    failed, taskToken, new ReverseProvisionInfo(Optional.empty(), logs));
+        }
+        return new ValidationOperationStatus(failed, taskToken, ValidationInfo.invalid(List.of(message)));
+    }
+
+    private ObjectNode encode(ProvisionInfo info) {
+        var node = objectMapper.createObjectNode();
+        info.getPublicInfo().ifPresent(publicInfo -> node.set("publicInfo", objectMapper.valueToTree(publicInfo)));
+        info.getPrivateInfo().ifPresent(privateInfo -> node.set("privateInfo", objectMapper.valueToTree(privateInfo)));
+        node.set("logs", encode(info.getLogs()));
+        if (info.getLogsOffset() > 0) node.put("logsOffset", info.getLogsOffset());
+        return node;
+    }
+
+    private ObjectNode encode(ReverseProvisionInfo info) {
+        var node = objectMapper.createObjectNode();
+        info.getUpdates().ifPresent(updates -> node.set("updates", objectMapper.valueToTree(updates)));
+        node.set("logs", encode(info.getLogs()));
+        return node;
+    }
+
+    private ObjectNode encode(ValidationInfo info) {
+        var node = objectMapper.createObjectNode();
+        node.put("isValid", info.isValid());
+        var errors = node.putArray("errors");
+        if (info.errors() != null) info.errors().forEach(errors::add);
+        return node;
+    }
+
+    private ArrayNode encode(List<Log> logs) {
+        var array = objectMapper.createArrayNode();
+        if (logs == null) return array;
+        for (var log : logs) {
+            var node = array.addObject();
+            node.put("timestamp", log.getTimestamp().toString());
+            node.put("level", log.getLevel().name());
+            node.put("message", log.getMessage());
+            log.getPhase().ifPresent(phase -> node.put("phase", phase));
+        }
+        return array;
+    }
+
+    private ProvisionInfo decodeProvisionInfo(JsonNode node) {
+        return ProvisionInfo.builder()
+                .publicInfo(Optional.<Object>ofNullable(node.get("publicInfo")))
+                .privateInfo(Optional.<Object>ofNullable(node.get("privateInfo")))
+                .logs(decodeLogs(node.path("logs")))
+                .logsOffset(node.path("logsOffset").asLong())
+                .build();
+    }
+
+    private ReverseProvisionInfo decodeReverseProvisionInfo(JsonNode node) {
+        return new ReverseProvisionInfo(
+                Optional.<Object>ofNullable(node.get("updates")), decodeLogs(node.path("logs")));
+    }
+
+    private ValidationInfo decodeValidationInfo(JsonNode node) {
+        var errors = new ArrayList<String>();
+        node.path("errors").forEach(error -> errors.add(error.asText()));
+        return new ValidationInfo(node.path("isValid").asBoolean(), errors);
+    }
+
+    private List<Log> decodeLogs(JsonNode node) {
+        var logs = new ArrayList<Log>();
+        for (var log : node) {
+            logs.add(new Log(
+                    OffsetDateTime.parse(log.get("timestamp").asText()),
+                    Log.LogLevelEnum.valueOf(log.get("level").asText()),
+                    log.get("message").asText(),
+                    Optional.ofNullable(log.get("phase")).map(JsonNode::asText)));
+        }
+        return logs;
+    }
+
+    private byte[] write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.witboost.provisioning.framework.service.ComponentClassProvider;
+import com.witboost.provisioning.framework.service.SpecificClassProvider;
+import com.witboost.provisioning.model.Component;
+import com.witboost.provisioning.model.Specific;
+import com.witboost.provisioning.model.common.Problem;
+import com.witboost.provisioning.parser.Parser;
+import io.vavr.control.Option;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the readers used to parse the components, built on startup for every {@code useCaseTemplateId} listed by the
+ * {@link ComponentClassProvider} and the {@link SpecificClassProvider}, so that requests only need a map lookup to parse
+ * the component to provision.
+ * <p>
+ * The registry fails with an {@link IllegalStateException} if any of the registered classes can't be deserialized. Components
+ * whose {@code useCaseTemplateId} is not listed by the providers, e.g. the ones handled by a default class, are not
+ * registered and keep resolving their classes on each request.
+ */
+public class ComponentReaderRegistry {
+
+    private final Map<String, ComponentReader> readers;
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentReaderRegistry.class);
+
+    /**
+     * Reader prepared for a {@code useCaseTemplateId}
+     * @param componentClass Class of the component
+     * @param specificClass Class of the component {@code specific} field
+     * @param reader Reader parsing the component into {@code componentClass}
+     */
+    public record ComponentReader(
+            Class<? extends Component> componentClass, Class<? extends Specific> specificClass, ObjectReader reader) {}
+
+    public ComponentReaderRegistry(
+            ComponentClassProvider componentClassProvider, SpecificClassProvider specificClassProvider) {
+        var useCaseTemplateIds = new TreeSet<>(componentClassProvider.useCaseTemplateIds());
+        useCaseTemplateIds.addAll(specificClassProvider.useCaseTemplateIds());
+
+        var readers = new HashMap<String, ComponentReader>();
+        var errors = new ArrayList<String>();
+        for (String useCaseTemplateId : useCaseTemplateIds) {
+            var componentClass = componentClassProvider.get(useCaseTemplateId);
+            var specificClass = specificClassProvider.get(useCaseTemplateId);
+            if (componentClass.isEmpty() || specificClass.isEmpty()) {
+                logger.warn(
+                        "Missing {} class for useCaseTemplateId '{}', requests for its components will fail",
+                        componentClass.isEmpty() ? "component" : "specific",
+                        useCaseTemplateId);
+                continue;
+            }
+            Parser.componentReader(componentClass.get(), specificClass.get())
+                    .peek(reader -> readers.put(
+                            useCaseTemplateId, new ComponentReader(componentClass.get(), specificClass.get(), reader)))
+                    .peekLeft(failedOperation -> errors.add(String.format(
+                            "'%s': %s",
+                            useCaseTemplateId,
+                            failedOperation.problems().stream()
+                                    .map(Problem::description)
+                                    .collect(Collectors.joining("; ")))));
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(
+                    "Unable to prepare the parsing of the components for the following useCaseTemplateId: "
+                            + String.join(", ", errors));
+        }
+        this.readers = Map.copyOf(readers);
+        logger.info("Prepared the parsing of components for {} useCaseTemplateId", this.readers.size());
+    }
+
+    /**
+     * Retrieve the reader prepared for a component {@code useCaseTemplateId}
+     * @param useCaseTemplateId Component's {@code useCaseTemplateId}
+     * @return Option of the prepared reader, empty if the {@code useCaseTemplateId} is not registered
+     */
+    public Option<ComponentReader> get(String useCaseTemplateId) {
+        return Option.of(readers.get(useCaseTemplateId));
+    }
+}
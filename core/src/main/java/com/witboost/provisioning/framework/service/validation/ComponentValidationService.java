@@ -38,4 +38,17 @@ public interface ComponentValidationService {
                                 "Ensure that the adapter is registered correctly for this type of request and that the ValidationConfiguration is set up to support the requested component",
                                 ErrorConstants.PLATFORM_TEAM_SOLUTION)))));
     }
+
+    /**
+     * Tells whether a successful validation performed for an operation can be reused for another operation type on the same
+     * descriptor when the {@link ValidationResultCache} is enabled, e.g. skipping the validation of a provision request
+     * already validated by a {@code VALIDATE} operation. Results are always reused for the same operation type.
+     * <p>
+     * Return {@code false} if the validation depends on the operation type.
+     * @return Whether the validation results of {@code VALIDATE} and {@code PROVISION} operations are interchangeable.
+     * Defaults to {@code false}
+     */
+    default boolean isReusableAcrossOperationTypes() {
+        return false;
+    }
 }
@@ -0,0 +1,20 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the cache of parsed descriptors, bound from the {@code parser.cache} prefix.
+ *
+ * @param enabled Whether the descriptors received as YAML strings are parsed once and reused by the following requests
+ *                with the same descriptor, e.g. the validation and the provision of the same component
+ * @param maxEntries Maximum number of descriptors kept on the cache
+ * @param maxWeight Maximum total size of the descriptors kept on the cache, measured on their string form
+ * @see ParsedDescriptorCache
+ */
+@ConfigurationProperties(prefix = "parser.cache")
+public record DescriptorCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256") int maxEntries,
+        @DefaultValue("64MB") DataSize maxWeight) {}
@@ -0,0 +1,198 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.parser.Parser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vavr.control.Either;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounded cache of parsed descriptors, so that the requests carrying the same descriptor (the platform validates a
+ * component before provisioning it, often more than once) parse its YAML only once. Descriptors are keyed by the SHA-256
+ * hash of their content, which includes the {@code componentIdToProvision}, and by the parsing mode.
+ * <p>
+ * The cache keeps the descriptor trees as parsed and never hands them out: every call receives its own deep copy, which
+ * the caller binds into the model classes. Model objects are mutable and reach the user services, so sharing them across
+ * requests would make a change done while handling a request visible on the following ones. Copying and binding a tree
+ * is still several times faster than parsing the YAML again.
+ * <p>
+ * The least recently used descriptors are evicted once the cache exceeds the maximum number of entries or the maximum
+ * weight, measured as the length of the descriptor strings. Descriptors failing to parse are not cached. Exposes the
+ * {@code tech.adapter.parser.cache.requests} metric tagged with the {@code result} ({@code hit} or {@code miss}), the
+ * {@code tech.adapter.parser.cache.evictions} metric and the {@code tech.adapter.parser.cache.size} and
+ * {@code tech.adapter.parser.cache.weight} gauges.
+ *
+ * @see DescriptorCacheProperties
+ */
+public class ParsedDescriptorCache implements MeterBinder {
+
+    private static final ObjectWriter JSON_WRITER = new ObjectMapper().writer();
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(ParsedDescriptorCache.class);
+
+    /**
+     * Identifies a parsed descriptor
+     * @param digest SHA-256 hash of the descriptor string
+     * @param selective Whether the descriptor was parsed keeping only the component to provision
+     */
+    record Key(String digest, boolean selective) {}
+
+    private record Entry(JsonNode tree, long weight) {}
+
+    public ParsedDescriptorCache(DescriptorCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.maxEntries = properties.maxEntries();
+        this.maxWeight = properties.maxWeight().toBytes();
+    }
+
+    /**
+     * @return A cache which doesn't store any descriptor
+     */
+    public static ParsedDescriptorCache disabled() {
+        return new ParsedDescriptorCache(new DescriptorCacheProperties(false, 0, DataSize.ofBytes(0)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the tree of a descriptor, parsing it only if it's not cached yet
+     * @param descriptor Descriptor string
+     * @param selective Whether {@code parser} keeps only the component to provision
+     * @param parser Parses the descriptor string into its tree
+     * @return The result of {@code parser}, or a copy of the cached tree
+     */
+    public Either<FailedOperation, JsonNode> get(
+            String descriptor, boolean selective, Function<String, Either<FailedOperation, JsonNode>> parser) {
+        if (!enabled || descriptor == null) return parser.apply(descriptor);
+        var key = new Key(digest(descriptor), selective);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+            logger.debug("Reusing the parsed descriptor {}", key.digest());
+            return Either.right(entry.tree().deepCopy());
+        }
+        misses.incrementAndGet();
+        var parsed = parser.apply(descriptor);
+        parsed.forEach(tree -> put(key, new Entry(tree.deepCopy(), descriptor.length())));
+        return parsed;
+    }
+
+    /**
+     * Returns the tree of a component descriptor, parsing it only if it's not cached yet
+     * @param descriptor Descriptor string
+     * @param selective Whether the descriptor is parsed keeping only the component to provision
+     * @return The parsed descriptor tree, or a copy of the cached tree
+     * @see ParserProperties#selective()
+     */
+    public Either<FailedOperation, JsonNode> get(String descriptor, boolean selective) {
+        return get(
+                descriptor,
+                selective,
+                selective ? Parser::parseSelectedComponentDescriptorTree : Parser::parseComponentDescriptorTree);
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        if (entry.weight() > maxWeight) return;
+        var previous = entries.put(key, entry);
+        weight += entry.weight() - (previous == null ? 0 : previous.weight());
+        var iterator = entries.values().iterator();
+        while (entries.size() > maxEntries || weight > maxWeight) {
+            weight -= iterator.next().weight();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return SHA-256 hash of the descriptor, in hexadecimal
+     */
+    static String digest(String descriptor) {
+        return HexFormat.of().formatHex(sha256().digest(descriptor.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return SHA-256 hash of the descriptor tree written as JSON, in hexadecimal. The tree is streamed into the hash
+     * instead of being serialized into a string
+     */
+    static String digest(JsonNode descriptor) {
+        var digest = sha256();
+        try (var output = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            JSON_WRITER.writeValue(output, descriptor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tech.adapter.parser.cache.requests", hits, AtomicLong::get)
+                .description("Descriptors found on the cache of parsed descriptors")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("tech.adapter.parser.cache.requests", misses, AtomicLong::get)
+                .description("Descriptors parsed as they were not found on the cache of parsed descriptors")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("tech.adapter.parser.cache.evictions", evictions, AtomicLong::get)
+                .description("Descriptors evicted from the cache of parsed descriptors")
+                .register(registry);
+        Gauge.builder("tech.adapter.parser.cache.size", this, cache -> {
+                    synchronized (cache) {
+                        return cache.entries.size();
+                    }
+                })
+                .description("Descriptors kept on the cache of parsed descriptors")
+                .register(registry);
+        Gauge.builder("tech.adapter.parser.cache.weight", this, cache -> {
+                    synchronized (cache) {
+                        return cache.weight;
+                    }
+                })
+                .description("Total length of the descriptors kept on the cache of parsed descriptors")
+                .register(registry);
+    }
+}
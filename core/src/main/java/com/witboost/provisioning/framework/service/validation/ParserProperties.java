@@ -0,0 +1,15 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the descriptor parsing, bound from the {@code parser} prefix.
+ *
+ * @param selective Whether the received descriptors are parsed keeping only the component to provision on the data
+ *                  product {@code components} field. It reduces the parsing time and memory of descriptors with many
+ *                  components, but the operations no longer receive the rest of the components
+ * @see com.witboost.provisioning.parser.Parser#parseSelectedComponentDescriptor(String)
+ */
+@ConfigurationProperties(prefix = "parser")
+public record ParserProperties(@DefaultValue("false") boolean selective) {}
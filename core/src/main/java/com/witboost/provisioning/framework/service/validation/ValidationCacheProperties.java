@@ -0,0 +1,20 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the cache of validation results, bound from the {@code validation.cache} prefix.
+ *
+ * @param enabled Whether the successful validations of a component are reused by the following requests with the same
+ *                descriptor, instead of calling the {@link ComponentValidationService} again
+ * @param timeToLive Time a successful validation is reused since it was performed
+ * @param maxEntries Maximum number of validation results kept on the cache
+ * @see ValidationResultCache
+ */
+@ConfigurationProperties(prefix = "validation.cache")
+public record ValidationCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("1024") int maxEntries) {}
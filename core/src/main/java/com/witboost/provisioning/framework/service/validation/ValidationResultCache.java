@@ -0,0 +1,205 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vavr.control.Either;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of successful validations, so that the {@link ComponentValidationService} is not called again for a component
+ * already validated with the same descriptor, e.g. when the platform validates a component and then provisions it. The
+ * validations are identified by the SHA-256 hash of the descriptor, the component to provision and the operation type.
+ * Requests are only compared by their descriptor, so enable the cache only if the validation doesn't depend on other
+ * request fields such as the latest enriched descriptor.
+ * <p>
+ * {@code VALIDATE} and {@code PROVISION} operations share their results when the validation service declares it through
+ * {@link ComponentValidationService#isReusableAcrossOperationTypes()}. Failed validations are never cached, and successful
+ * ones are reused until their time to live passes. When the cache exceeds the maximum number of entries, the oldest
+ * validations are evicted first. Exposes the {@code tech.adapter.validation.cache.requests} metric tagged with the
+ * {@code result} ({@code hit} or {@code miss}) and the {@code tech.adapter.validation.cache.size} gauge.
+ *
+ * @see ValidationCacheProperties
+ */
+public class ValidationResultCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Duration timeToLive;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<Key, Instant> validations = new LinkedHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationResultCache.class);
+
+    /**
+     * Identifies a successful validation
+     * @param digest SHA-256 hash of the descriptor string, or of the descriptor tree for structured descriptors
+     * @param componentId Identifier of the validated component
+     * @param operationType Validated operation, or {@code PROVISION} for the validations shared by {@code VALIDATE} and
+     *                      {@code PROVISION} operations
+     */
+    record Key(String digest, String componentId, OperationType operationType) {}
+
+    public ValidationResultCache(ValidationCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ValidationResultCache(ValidationCacheProperties properties, Clock clock) {
+        this.enabled = properties.enabled();
+        this.timeToLive = properties.timeToLive();
+        this.maxEntries = properties.maxEntries();
+        this.clock = clock;
+    }
+
+    /**
+     * @return A cache which always performs the validation
+     */
+    public static ValidationResultCache disabled() {
+        return new ValidationResultCache(new ValidationCacheProperties(false, Duration.ZERO, 0));
+    }
+
+    /**
+     * Performs a validation, unless an identical one succeeded within the time to live
+     * @param descriptor Provides the descriptor of the request, only called if the cache is enabled
+     * @param componentId Identifier of the component to validate
+     * @param operationType Operation being validated
+     * @param validationService Service performing the validation
+     * @param validation Calls the validation service
+     * @return The result of {@code validation}, or a successful result if an identical validation already succeeded
+     */
+    public Either<FailedOperation, Void> validate(
+            Supplier<String> descriptor,
+            String componentId,
+            OperationType operationType,
+            ComponentValidationService validationService,
+            Supplier<Either<FailedOperation, Void>> validation) {
+        return validateDigest(
+                () -> {
+                    var descriptorString = descriptor.get();
+                    return descriptorString == null ? null : ParsedDescriptorCache.digest(descriptorString);
+                },
+                componentId,
+                operationType,
+                validationService,
+                validation);
+    }
+
+    /**
+     * Performs a validation of a structured descriptor, unless an identical one succeeded within the time to live. The
+     * descriptor tree is hashed as it's written, without serializing it into a string
+     * @param descriptor Descriptor tree of the request
+     * @param componentId Identifier of the component to validate
+     * @param operationType Operation being validated
+     * @param validationService Service performing the validation
+     * @param validation Calls the validation service
+     * @return The result of {@code validation}, or a successful result if an identical validation already succeeded
+     */
+    public Either<FailedOperation, Void> validate(
+            JsonNode descriptor,
+            String componentId,
+            OperationType operationType,
+            ComponentValidationService validationService,
+            Supplier<Either<FailedOperation, Void>> validation) {
+        return validateDigest(
+                () -> descriptor == null ? null : ParsedDescriptorCache.digest(descriptor),
+                componentId,
+                operationType,
+                validationService,
+                validation);
+    }
+
+    private Either<FailedOperation, Void> validateDigest(
+            Supplier<String> digest,
+            String componentId,
+            OperationType operationType,
+            ComponentValidationService validationService,
+            Supplier<Either<FailedOperation, Void>> validation) {
+        if (!enabled || componentId == null) return validation.get();
+        var descriptorDigest = digest.get();
+        if (descriptorDigest == null) return validation.get();
+        var key = new Key(
+                descriptorDigest,
+                componentId,
+                equivalenceClass(operationType, validationService.isReusableAcrossOperationTypes()));
+        if (isValidated(key)) {
+            hits.incrementAndGet();
+            logger.info(
+                    "Reusing the successful validation of component '{}' for the {} operation",
+                    componentId,
+                    operationType.name().toLowerCase());
+            return Either.right(null);
+        }
+        misses.incrementAndGet();
+        var result = validation.get();
+        if (result.isRight()) put(key);
+        return result;
+    }
+
+    /**
+     * {@code VALIDATE} and {@code PROVISION} operations validate the same request, so services reusable across operation
+     * types share their results
+     */
+    private static OperationType equivalenceClass(OperationType operationType, boolean reusableAcrossOperationTypes) {
+        return reusableAcrossOperationTypes && operationType == OperationType.VALIDATE
+                ? OperationType.PROVISION
+                : operationType;
+    }
+
+    private synchronized boolean isValidated(Key key) {
+        evictExpired();
+        return validations.containsKey(key);
+    }
+
+    private synchronized void put(Key key) {
+        // Re-inserting keeps the entries ordered by validation time, which is also their expiration order
+        validations.remove(key);
+        validations.put(key, clock.instant());
+        evictExpired();
+        Iterator<Instant> iterator = validations.values().iterator();
+        while (validations.size() > maxEntries) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void evictExpired() {
+        var expiration = clock.instant().minus(timeToLive);
+        var iterator = validations.values().iterator();
+        while (iterator.hasNext() && !iterator.next().isAfter(expiration)) iterator.remove();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tech.adapter.validation.cache.requests", hits, AtomicLong::get)
+                .description("Validations reused from a previous successful validation")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("tech.adapter.validation.cache.requests", misses, AtomicLong::get)
+                .description("Validations performed as no previous successful validation could be reused")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("tech.adapter.validation.cache.size", this, cache -> {
+                    synchronized (cache) {
+                        return cache.validations.size();
+                    }
+                })
+                .description("Successful validations kept on the cache of validation results")
+                .register(registry);
+    }
+}
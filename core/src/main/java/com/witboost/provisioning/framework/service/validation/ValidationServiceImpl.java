@@ -6,6 +6,7 @@ import static io.vavr.control.Either.left;
 import static io.vavr.control.Either.right;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
 import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
 import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
 import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
@@ -26,8 +27,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -39,15 +42,66 @@ public class ValidationServiceImpl implements ValidationService {
 
     private final ComponentClassProvider componentClassProvider;
 
+    private final ComponentReaderRegistry componentReaderRegistry;
+
+    private final ParserProperties parserProperties;
+
+    private final ParsedDescriptorCache parsedDescriptorCache;
+
+    private final ValidationResultCache validationResultCache;
+
     private static final Logger logger = LoggerFactory.getLogger(ValidationServiceImpl.class);
 
     public ValidationServiceImpl(
             ValidationConfiguration validationConfiguration,
             ComponentClassProvider componentClassProvider,
             SpecificClassProvider specificClassProvider) {
+        this(validationConfiguration, componentClassProvider, specificClassProvider, new ParserProperties(false));
+    }
+
+    public ValidationServiceImpl(
+            ValidationConfiguration validationConfiguration,
+            ComponentClassProvider componentClassProvider,
+            SpecificClassProvider specificClassProvider,
+            ParserProperties parserProperties) {
+        this(
+                validationConfiguration,
+                componentClassProvider,
+                specificClassProvider,
+                parserProperties,
+                ParsedDescriptorCache.disabled());
+    }
+
+    public ValidationServiceImpl(
+            ValidationConfiguration validationConfiguration,
+            ComponentClassProvider componentClassProvider,
+            SpecificClassProvider specificClassProvider,
+            ParserProperties parserProperties,
+            ParsedDescriptorCache parsedDescriptorCache) {
+        this(
+                validationConfiguration,
+                componentClassProvider,
+                specificClassProvider,
+                parserProperties,
+                parsedDescriptorCache,
+                ValidationResultCache.disabled());
+    }
+
+    @Autowired
+    public ValidationServiceImpl(
+            ValidationConfiguration validationConfiguration,
+            ComponentClassProvider componentClassProvider,
+            SpecificClassProvider specificClassProvider,
+            ParserProperties parserProperties,
+            ParsedDescriptorCache parsedDescriptorCache,
+            ValidationResultCache validationResultCache) {
         this.validationConfiguration = validationConfiguration;
         this.componentClassProvider = componentClassProvider;
         this.specificClassProvider = specificClassProvider;
+        this.parserProperties = parserProperties;
+        this.parsedDescriptorCache = parsedDescriptorCache;
+        this.validationResultCache = validationResultCache;
+        this.componentReaderRegistry = new ComponentReaderRegistry(componentClassProvider, specificClassProvider);
     }
 
     @Override
@@ -70,7 +124,9 @@ public class ValidationServiceImpl implements ValidationService {
                     Collections.singletonList(new Problem(errorMessage))));
         }
 
-        var eitherBaseOperationRequest = getAndParseComponentDescriptor(provisioningRequest.getDescriptor());
+        var eitherBaseOperationRequest = provisioningRequest instanceof StructuredProvisioningRequest structuredRequest
+                ? getAndParseComponentDescriptor(structuredRequest.getDescriptorTree())
+                : getAndParseComponentDescriptor(provisioningRequest.getDescriptor());
         if (eitherBaseOperationRequest.isLeft()) return left(eitherBaseOperationRequest.getLeft());
         var baseOperationRequest = eitherBaseOperationRequest.get();
 
@@ -82,34 +138,26 @@ public class ValidationServiceImpl implements ValidationService {
 
         var componentKindToProvision = eitherComponentKind.get();
 
-        Optional<JsonNode> optionalEnrichedDescriptor = Optional.empty();
-        if (provisioningRequest.getLatestEnrichedDescriptor().isPresent()) {
-            var stringEnrichedDescriptor =
-                    provisioningRequest.getLatestEnrichedDescriptor().get();
-            logger.info("Parsing latest enriched descriptor");
-            logger.debug("Parsing latest enriched descriptor {}", stringEnrichedDescriptor);
-            var eitherParsedEnrichedDescriptor = Parser.objectToJsonNode(stringEnrichedDescriptor);
-            if (eitherParsedEnrichedDescriptor.isLeft()) {
-                logger.error(
-                        "Latest enriched descriptor parsing failed with error: {}",
-                        eitherParsedEnrichedDescriptor.getLeft());
-                return left(eitherParsedEnrichedDescriptor.getLeft());
-            }
-            optionalEnrichedDescriptor = Optional.of(eitherParsedEnrichedDescriptor.get());
-        }
+        // The latest enriched descriptor is only parsed if accessed, but malformed content must still fail the
+        // validation
+        var eitherLatestEnrichedDescriptor = checkLatestEnrichedDescriptor(provisioningRequest);
+        if (eitherLatestEnrichedDescriptor.isLeft()) return left(eitherLatestEnrichedDescriptor.getLeft());
 
         var operationRequest = new ProvisionOperationRequest<>(
                 baseOperationRequest.getDataProduct(),
                 baseOperationRequest.getComponent(),
                 provisioningRequest.getRemoveData(),
-                optionalEnrichedDescriptor);
+                () -> parseLatestEnrichedDescriptor(provisioningRequest));
 
         logger.info("Sending parsed operation request to ValidationService");
         logger.debug("Sending parsed operation request {} to ValidationService", operationRequest);
         switch (componentKindToProvision) {
             case STORAGE_KIND:
-                var storageAreaValidationResult =
-                        validationConfiguration.getStorageValidationService().validate(operationRequest, operationType);
+                var storageAreaValidationResult = validateComponent(
+                        validationConfiguration.getStorageValidationService(),
+                        provisioningRequest,
+                        operationRequest,
+                        operationType);
                 if (storageAreaValidationResult.isLeft()) {
                     logger.error(
                             "Received error on storage area business logic validation: {}",
@@ -118,9 +166,11 @@ public class ValidationServiceImpl implements ValidationService {
                 }
                 break;
             case OUTPUTPORT_KIND:
-                var outputPortValidationResult = validationConfiguration
-                        .getOutputPortValidationService()
-                        .validate(operationRequest, operationType);
+                var outputPortValidationResult = validateComponent(
+                        validationConfiguration.getOutputPortValidationService(),
+                        provisioningRequest,
+                        operationRequest,
+                        operationType);
                 if (outputPortValidationResult.isLeft()) {
                     logger.error(
                             "Received error on output port business logic validation: {}",
@@ -129,9 +179,11 @@ public class ValidationServiceImpl implements ValidationService {
                 }
                 break;
             case WORKLOAD_KIND:
-                var workloadValidationResult = validationConfiguration
-                        .getWorkloadValidationService()
-                        .validate(operationRequest, operationType);
+                var workloadValidationResult = validateComponent(
+                        validationConfiguration.getWorkloadValidationService(),
+                        provisioningRequest,
+                        operationRequest,
+                        operationType);
                 if (workloadValidationResult.isLeft()) {
                     logger.error(
                             "Received error on workload business logic validation: {}",
@@ -217,11 +269,74 @@ public class ValidationServiceImpl implements ValidationService {
         return right(operationRequest);
     }
 
+    /**
+     * Validates the component with its validation service, reusing a previous successful validation of the same descriptor
+     * if the {@link ValidationResultCache} is enabled
+     */
+    private Either<FailedOperation, Void> validateComponent(
+            ComponentValidationService validationService,
+            ProvisioningRequest provisioningRequest,
+            ProvisionOperationRequest<?, ? extends Specific> operationRequest,
+            OperationType operationType) {
+        var componentId = operationRequest.getComponent().map(Component::getId).orElse(null);
+        Supplier<Either<FailedOperation, Void>> validation =
+                () -> validationService.validate(operationRequest, operationType);
+        // Structured descriptors are hashed as a tree, as getDescriptor() would serialize them
+        if (provisioningRequest instanceof StructuredProvisioningRequest structuredRequest)
+            return validationResultCache.validate(
+                    structuredRequest.getDescriptorTree(), componentId, operationType, validationService, validation);
+        return validationResultCache.validate(
+                provisioningRequest::getDescriptor, componentId, operationType, validationService, validation);
+    }
+
+    private static Either<FailedOperation, Optional<String>> checkLatestEnrichedDescriptor(
+            ProvisioningRequest provisioningRequest) {
+        if (provisioningRequest.getLatestEnrichedDescriptor().isEmpty()) return right(Optional.empty());
+        logger.info("Checking latest enriched descriptor syntax");
+        return Parser.checkSyntax(
+                        provisioningRequest.getLatestEnrichedDescriptor().get())
+                .map(Optional::of)
+                .peekLeft(failedOperation ->
+                        logger.error("Latest enriched descriptor parsing failed with error: {}", failedOperation));
+    }
+
+    private static Either<FailedOperation, Optional<JsonNode>> parseLatestEnrichedDescriptor(
+            ProvisioningRequest provisioningRequest) {
+        if (provisioningRequest.getLatestEnrichedDescriptor().isEmpty()) return right(Optional.empty());
+        var stringEnrichedDescriptor =
+                provisioningRequest.getLatestEnrichedDescriptor().get();
+        logger.info("Parsing latest enriched descriptor");
+        logger.debug("Parsing latest enriched descriptor {}", stringEnrichedDescriptor);
+        return Parser.objectToJsonNode(stringEnrichedDescriptor)
+                .map(Optional::of)
+                .peekLeft(failedOperation ->
+                        logger.error("Latest enriched descriptor parsing failed with error: {}", failedOperation));
+    }
+
     private Either<FailedOperation, OperationRequest<?, ? extends Specific>> getAndParseComponentDescriptor(
             String componentDescriptor) {
 
         logger.info("Parsing Descriptor and component to provision");
-        var eitherDescriptor = Parser.parseComponentDescriptor(componentDescriptor);
+        if (parsedDescriptorCache.isEnabled()) {
+            // The cache hands out a copy of the descriptor tree, which is bound like a structured descriptor
+            var eitherDescriptorTree = parsedDescriptorCache.get(componentDescriptor, parserProperties.selective());
+            return getComponentToProvision(eitherDescriptorTree.flatMap(Parser::parseComponentDescriptor));
+        }
+        return getComponentToProvision(
+                parserProperties.selective()
+                        ? Parser.parseSelectedComponentDescriptor(componentDescriptor)
+                        : Parser.parseComponentDescriptor(componentDescriptor));
+    }
+
+    private Either<FailedOperation, OperationRequest<?, ? extends Specific>> getAndParseComponentDescriptor(
+            JsonNode componentDescriptor) {
+
+        logger.info("Parsing structured Descriptor and component to provision");
+        return getComponentToProvision(Parser.parseComponentDescriptor(componentDescriptor));
+    }
+
+    private Either<FailedOperation, OperationRequest<?, ? extends Specific>> getComponentToProvision(
+            Either<FailedOperation, ComponentDescriptor<JsonNode>> eitherDescriptor) {
         if (eitherDescriptor.isLeft()) {
             logger.error("Descriptor parsing failed with error {}", eitherDescriptor.getLeft());
             return left(eitherDescriptor.getLeft());
@@ -254,6 +369,37 @@ public class ValidationServiceImpl implements ValidationService {
         }
         var useCaseTemplateId = optionalComponentUseCaseTemplateId.get();
 
+        Either<FailedOperation, ? extends Component<? extends Specific>> eitherParsedComponent;
+        var optionalComponentReader = componentReaderRegistry.get(useCaseTemplateId);
+        if (optionalComponentReader.isDefined()) {
+            var componentReader = optionalComponentReader.get();
+            logger.info(
+                    "Parsing Component '{}' with Specific schema of type '{}'",
+                    componentReader.componentClass().getName(),
+                    componentReader.specificClass().getName());
+            eitherParsedComponent =
+                    Parser.<Specific>parseComponent(componentToProvisionAsJson, componentReader.reader());
+        } else {
+            eitherParsedComponent =
+                    resolveAndParseComponent(componentId, useCaseTemplateId, componentToProvisionAsJson);
+        }
+        if (eitherParsedComponent.isLeft()) {
+            logger.error("Component parsing failed with error: {}", eitherParsedComponent.getLeft());
+            return left(eitherParsedComponent.getLeft());
+        }
+
+        Component<? extends Specific> parsedComponent = eitherParsedComponent.get();
+        logger.debug("Parsing successful with output: {}", parsedComponent);
+
+        return right(new OperationRequest<>(descriptor.getDataProduct(), Optional.of(parsedComponent)));
+    }
+
+    /**
+     * Resolves the component and specific classes of a {@code useCaseTemplateId} not prepared by the {@link ComponentReaderRegistry}
+     * and parses the component with them
+     */
+    private Either<FailedOperation, ? extends Component<? extends Specific>> resolveAndParseComponent(
+            String componentId, String useCaseTemplateId, JsonNode componentToProvisionAsJson) {
         logger.info(
                 "Retrieving model class for component '{}' with useCaseTemplateId '{}'",
                 componentId,
@@ -294,22 +440,11 @@ public class ValidationServiceImpl implements ValidationService {
                 specificSchema.getName(),
                 useCaseTemplateId);
 
-        Component<? extends Specific> parsedComponent;
         logger.info(
                 "Parsing Component '{}' with Specific schema of type '{}'",
                 componentClass.getName(),
                 specificSchema.getName());
-        Either<FailedOperation, ? extends Component<? extends Specific>> eitherParsedComponent =
-                Parser.parseComponent(componentToProvisionAsJson, componentClass, specificSchema);
-        if (eitherParsedComponent.isLeft()) {
-            logger.error("Component parsing failed with error: {}", eitherParsedComponent.getLeft());
-            return left(eitherParsedComponent.getLeft());
-        }
-
-        parsedComponent = eitherParsedComponent.get();
-        logger.debug("Parsing successful with output: {}", parsedComponent);
-
-        return right(new OperationRequest<>(descriptor.getDataProduct(), Optional.of(parsedComponent)));
+        return Parser.parseComponent(componentToProvisionAsJson, componentClass, specificSchema);
     }
 
     @Override
@@ -325,17 +460,8 @@ public class ValidationServiceImpl implements ValidationService {
                     "Received Reverse provisioning request with empty catalog info. Operation cannot be performed",
                     Collections.singletonList(new Problem(errorMessage, Set.of(PLATFORM_TEAM_SOLUTION)))));
         }
-        var objectCatalogInfo = reverseProvisioningRequest.getCatalogInfo().get();
-        logger.info("Parsing Reverse provisioning catalog info");
-        logger.debug("Parsing Reverse provisioning catalog info {}", objectCatalogInfo);
-        var eitherParsedCatalogInfo = Parser.objectToJsonNode(objectCatalogInfo);
-        if (eitherParsedCatalogInfo.isLeft()) {
-            logger.error(
-                    "Reverse provisioning catalog info parsing failed with error: {}",
-                    eitherParsedCatalogInfo.getLeft());
-            return left(eitherParsedCatalogInfo.getLeft());
-        }
-        var catalogInfo = eitherParsedCatalogInfo.get();
+        // Parsed by the operation request on first access, which retrieving the component kind below reports on
+        var catalogInfo = reverseProvisioningRequest.getCatalogInfo().get();
 
         logger.info(
                 "Retrieving specific class for useCaseTemplateId '{}'",
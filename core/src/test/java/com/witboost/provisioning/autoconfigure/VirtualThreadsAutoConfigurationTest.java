@@ -0,0 +1,81 @@
+package com.witboost.provisioning.autoconfigure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.witboost.provisioning.framework.service.AsyncTechAdapterService;
+import com.witboost.provisioning.framework.service.PriorityTaskScheduler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class VirtualThreadsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(AsyncAutoConfiguration.class, VirtualThreadsAutoConfiguration.class)
+            .withPropertyValues("async.enabled=true");
+
+    @Test
+    void usesThreadPoolByDefault() {
+        contextRunner.run(context -> assertInstanceOf(
+                ThreadPoolTaskExecutor.class, context.getBean(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void fallsBackToThreadPoolBeforeJava21() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertInstanceOf(
+                        ThreadPoolTaskExecutor.class,
+                        context.getBean(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void runsTasksOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            var executor = context.getBean(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+            var thread = CompletableFuture.supplyAsync(Thread::currentThread, executor)
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue((boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+            assertTrue(thread.getName().startsWith("tech-adapter-task-"));
+        });
+    }
+
+    @Test
+    void capsScheduledTasksToThePoolSize() {
+        contextRunner
+                .withPropertyValues("async.pool.max-size=8")
+                .run(context -> assertEquals(
+                        8, context.getBean(PriorityTaskScheduler.class).maxConcurrent()));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void doesNotCapScheduledTasksOnVirtualThreads() {
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true", "async.pool.max-size=8")
+                .run(context -> assertEquals(
+                        Integer.MAX_VALUE,
+                        context.getBean(PriorityTaskScheduler.class).maxConcurrent()));
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true", "async.scheduler.max-concurrent=32")
+                .run(context -> assertEquals(
+                        32, context.getBean(PriorityTaskScheduler.class).maxConcurrent()));
+    }
+
+    @Test
+    void doesNotProvideExecutorWhenAsyncIsDisabled() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(AsyncAutoConfiguration.class, VirtualThreadsAutoConfiguration.class)
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertFalse(context.containsBean(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME)));
+    }
+}
@@ -1,6 +1,8 @@
 package com.witboost.provisioning.framework.controller;
 
 import static com.witboost.provisioning.model.status.OperationStatus.OperationStatusEnum.COMPLETED;
+import static com.witboost.provisioning.model.status.OperationStatus.OperationStatusEnum.RUNNING;
+import static com.witboost.provisioning.model.status.OperationStatus.OperationStatusEnum.WAITING;
 import static org.mockito.Mockito.when;
 
 import com.witboost.provisioning.framework.common.TechAdapterValidationException;
@@ -11,8 +13,10 @@ import com.witboost.provisioning.model.common.Problem;
 import com.witboost.provisioning.model.status.ProvisionOperationStatus;
 import com.witboost.provisioning.model.status.ReverseProvisionOperationStatus;
 import com.witboost.provisioning.model.status.ValidationInfo;
+import com.witboost.provisioning.model.task.TaskToken;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -106,6 +110,42 @@ public class ProvisioningControllerTest {
         Assertions.assertEquals(failedOperation, ex.getFailedOperation());
     }
 
+    @Test
+    void testProvisionAsyncReturnsAccepted() {
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "", false);
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockHttpServletRequest));
+        when(service.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(WAITING)
+                        .taskToken(new TaskToken("my-token"))
+                        .build());
+
+        ResponseEntity<?> actualRes = provisioningController.provision(provisioningRequest);
+
+        Assertions.assertEquals(HttpStatusCode.valueOf(202), actualRes.getStatusCode());
+        Assertions.assertEquals("my-token", actualRes.getBody());
+    }
+
+    @Test
+    void testGetStatusOk() {
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockHttpServletRequest));
+        when(service.getStatus("my-token"))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(RUNNING)
+                        .taskToken(new TaskToken("my-token"))
+                        .build());
+
+        ResponseEntity<ProvisioningStatus> actualRes = provisioningController.getStatus("my-token", Optional.empty());
+
+        Assertions.assertEquals(HttpStatusCode.valueOf(200), actualRes.getStatusCode());
+        Assertions.assertEquals(
+                ProvisioningStatus.StatusEnum.RUNNING,
+                Objects.requireNonNull(actualRes.getBody()).getStatus());
+    }
+
     @Test
     void testUnprovisionOk() {
         ProvisioningRequest provisioningRequest =
@@ -160,6 +200,24 @@ public class ProvisioningControllerTest {
                 Objects.requireNonNull(actualRes.getBody()).getStatus());
     }
 
+    @Test
+    void testReverseProvisioningAsyncReturnsAccepted() {
+        ReverseProvisioningRequest reverseProvisioningRequest =
+                new ReverseProvisioningRequest("useCaseTemplateId", "development");
+        MockHttpServletRequest mockHttpServletRequest = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockHttpServletRequest));
+        when(service.runReverseProvisioning(reverseProvisioningRequest))
+                .thenReturn(ReverseProvisionOperationStatus.builder()
+                        .operationStatus(WAITING)
+                        .taskToken(new TaskToken("my-token"))
+                        .build());
+
+        ResponseEntity<?> actualRes = provisioningController.runReverseProvisioning(reverseProvisioningRequest);
+
+        Assertions.assertEquals(HttpStatusCode.valueOf(202), actualRes.getStatusCode());
+        Assertions.assertEquals("my-token", actualRes.getBody());
+    }
+
     @Test
     void testReverseProvisioningHasError() {
         ReverseProvisioningRequest reverseProvisioningRequest =
@@ -4,12 +4,14 @@ import static com.witboost.provisioning.framework.common.ErrorConstants.PLATFORM
 import static com.witboost.provisioning.framework.common.TestFixtures.buildConstraintViolation;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
 import com.witboost.provisioning.framework.common.TechAdapterValidationException;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -50,6 +52,19 @@ public class ProvisioningExceptionHandlerTest {
                 List.of("Error1 - No cause", "Error2 - cause: Cause message", "Error3 - solutions"));
     }
 
+    @Test
+    void testHandleOverloadedException() {
+        var failedOperation = new FailedOperation(
+                "The Tech Adapter is too busy to accept the provision operation",
+                List.of(new Problem("100 provision operations are already waiting to be executed", Set.of("Retry"))));
+
+        var error = specificProvisionerExceptionHandler.handleOverloadedException(
+                new TechAdapterOverloadedException(failedOperation));
+
+        assertEquals(Optional.of(failedOperation.message()), error.getUserMessage());
+        assertEquals(List.of("100 provision operations are already waiting to be executed"), error.getErrors());
+    }
+
     @Test
     void testHandleConflictConstraintViolationException() {
         Set<ConstraintViolation<?>> violations = Set.of(buildConstraintViolation("is not valid", "path.to.field"));
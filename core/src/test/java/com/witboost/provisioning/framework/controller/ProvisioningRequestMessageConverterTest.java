@@ -0,0 +1,88 @@
+package com.witboost.provisioning.framework.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+class ProvisioningRequestMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ProvisioningRequestMessageConverter converter = new ProvisioningRequestMessageConverter(objectMapper);
+
+    @Test
+    void readsStringDescriptors() throws IOException {
+        var body =
+                """
+                {"descriptorKind": "COMPONENT_DESCRIPTOR", "descriptor": "dataProduct:\\n  id: dp\\n", "removeData": true}
+                """;
+
+        var request = converter.read(ProvisioningRequest.class, input(body));
+
+        assertEquals(ProvisioningRequest.class, request.getClass());
+        assertEquals(
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "dataProduct:\n  id: dp\n", true),
+                request);
+    }
+
+    @Test
+    void readsObjectDescriptorsAsTrees() throws IOException {
+        var body =
+                """
+                {
+                  "descriptorKind": "COMPONENT_DESCRIPTOR",
+                  "descriptor": {"dataProduct": {"id": "dp"}, "componentIdToProvision": "cmp"},
+                  "latestEnrichedDescriptor": "dataProduct: {}",
+                  "removeData": false
+                }
+                """;
+
+        var request = converter.read(ProvisioningRequest.class, input(body));
+
+        var structuredRequest = assertInstanceOf(StructuredProvisioningRequest.class, request);
+        assertEquals(DescriptorKind.COMPONENT_DESCRIPTOR, structuredRequest.getDescriptorKind());
+        assertEquals(
+                "cmp",
+                structuredRequest
+                        .getDescriptorTree()
+                        .get("componentIdToProvision")
+                        .textValue());
+        assertEquals(Optional.of("dataProduct: {}"), structuredRequest.getLatestEnrichedDescriptor());
+        assertFalse(structuredRequest.getRemoveData());
+        assertEquals(objectMapper.readTree(structuredRequest.getDescriptor()), structuredRequest.getDescriptorTree());
+        assertSame(structuredRequest.getDescriptor(), structuredRequest.getDescriptor());
+    }
+
+    @Test
+    void failsOnMalformedBodies() {
+        assertThrows(
+                HttpMessageNotReadableException.class,
+                () -> converter.read(ProvisioningRequest.class, input("{\"descriptor\": {")));
+    }
+
+    @Test
+    void onlyReadsProvisioningRequests() {
+        assertTrue(converter.canRead(ProvisioningRequest.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canRead(ProvisioningRequest.class, MediaType.valueOf("application/vnd.api+json")));
+        assertTrue(converter.canRead(ProvisioningRequest.class, null));
+        assertFalse(converter.canRead(ProvisioningRequest.class, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canRead(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(ProvisioningRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(ProvisioningRequest.class, null));
+    }
+
+    private static MockHttpInputMessage input(String body) {
+        var inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return inputMessage;
+    }
+}
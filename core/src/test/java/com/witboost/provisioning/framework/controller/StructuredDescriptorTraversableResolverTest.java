@@ -0,0 +1,59 @@
+package com.witboost.provisioning.framework.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+class StructuredDescriptorTraversableResolverTest {
+
+    private final Validator validator = validator();
+
+    @Test
+    void skipsTheStructuredDescriptor() {
+        var request = spy(new StructuredProvisioningRequest(
+                DescriptorKind.COMPONENT_DESCRIPTOR, JsonNodeFactory.instance.objectNode(), false));
+
+        assertTrue(validator.validate(request).isEmpty());
+        verify(request, never()).getDescriptor();
+    }
+
+    @Test
+    void validatesTheRestOfProperties() {
+        var request = new StructuredProvisioningRequest(null, JsonNodeFactory.instance.objectNode(), false);
+
+        var violations = validator.validate(request);
+
+        assertEquals(1, violations.size());
+        assertEquals(
+                "descriptorKind", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    void validatesStringDescriptors() {
+        var request = new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, null, false);
+
+        var violations = validator.validate(request);
+
+        assertEquals(1, violations.size());
+        assertEquals(
+                "descriptor", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    private static Validator validator() {
+        var configuration = Validation.byDefaultProvider().configure();
+        try (var factory = configuration
+                .traversableResolver(
+                        new StructuredDescriptorTraversableResolver(configuration.getDefaultTraversableResolver()))
+                .buildValidatorFactory()) {
+            return factory.getValidator();
+        }
+    }
+}
@@ -52,6 +52,40 @@ class ProvisioningMapperTest {
         Assertions.assertEquals(expected, actualResult);
     }
 
+    @Test
+    void mapProvisioningStatusAfterLogsCursor() {
+        var timestamp = OffsetDateTime.of(2024, 12, 31, 12, 59, 59, 0, ZoneOffset.UTC);
+        var status = ProvisionOperationStatus.createProvisionOperationStatus(
+                OperationStatus.OperationStatusEnum.RUNNING,
+                new TaskToken("token"),
+                ProvisionInfo.builder()
+                        .logs(List.of(
+                                new Log(timestamp, Log.LogLevelEnum.INFO, "third"),
+                                new Log(timestamp, Log.LogLevelEnum.INFO, "fourth"),
+                                new Log(timestamp, Log.LogLevelEnum.INFO, "fifth")))
+                        .logsOffset(2)
+                        .build());
+
+        var all = ProvisioningMapper.map(status, Optional.empty());
+        var newer = ProvisioningMapper.map(status, Optional.of(3L));
+        var discarded = ProvisioningMapper.map(status, Optional.of(1L));
+        var none = ProvisioningMapper.map(status, Optional.of(7L));
+
+        assertEquals(List.of("third", "fourth", "fifth"), messages(all));
+        assertEquals(Optional.of(5L), all.getLogsCursor());
+        assertEquals(List.of("fourth", "fifth"), messages(newer));
+        assertEquals(Optional.of(5L), newer.getLogsCursor());
+        assertEquals(List.of("third", "fourth", "fifth"), messages(discarded));
+        assertEquals(List.of(), messages(none));
+        assertEquals(ProvisioningStatus.StatusEnum.RUNNING, none.getStatus());
+    }
+
+    private static List<String> messages(ProvisioningStatus status) {
+        return status.getLogs().stream()
+                .map(com.witboost.provisioning.framework.openapi.model.Log::getMessage)
+                .toList();
+    }
+
     @Test
     void mapReverseProvisioningStatus() {
         var updates = Map.of("key", "value");
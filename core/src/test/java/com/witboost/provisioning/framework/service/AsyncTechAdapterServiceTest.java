@@ -0,0 +1,831 @@
+package com.witboost.provisioning.framework.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
+import com.witboost.provisioning.framework.common.TechAdapterValidationException;
+import com.witboost.provisioning.framework.openapi.model.*;
+import com.witboost.provisioning.framework.service.concurrency.BulkheadProperties;
+import com.witboost.provisioning.framework.service.concurrency.ComponentBulkheads;
+import com.witboost.provisioning.framework.service.concurrency.InFlightOperations;
+import com.witboost.provisioning.framework.service.impl.InMemoryTaskStore;
+import com.witboost.provisioning.framework.util.ResourceUtils;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Log;
+import com.witboost.provisioning.model.common.Problem;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ReverseProvisionInfo;
+import com.witboost.provisioning.model.status.ReverseProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ValidationInfo;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.control.Either;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.awaitility.Awaitility;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncTechAdapterServiceTest {
+
+    @Mock
+    private SyncTechAdapterService syncTechAdapterService;
+
+    private AsyncTechAdapterService techAdapterService;
+
+    private final ProvisioningRequest provisioningRequest =
+            new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "", false);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(syncTechAdapterService.provisionTask(any())).thenAnswer(invocation ->
+                (Supplier<ProvisionOperationStatus>) () -> syncTechAdapterService.provision(invocation.getArgument(0)));
+        lenient()
+                .when(syncTechAdapterService.unprovisionTask(any()))
+                .thenAnswer(invocation -> (Supplier<ProvisionOperationStatus>)
+                        () -> syncTechAdapterService.unprovision(invocation.getArgument(0)));
+        lenient()
+                .when(syncTechAdapterService.reverseProvisioningTask(any()))
+                .thenAnswer(invocation -> (Supplier<ReverseProvisionOperationStatus>)
+                        () -> syncTechAdapterService.runReverseProvisioning(invocation.getArgument(0)));
+        techAdapterService = new AsyncTechAdapterService(
+                syncTechAdapterService, new TaskExecutorAdapter(Runnable::run), newTaskStore(), Optional.empty());
+    }
+
+    @Test
+    void testProvisionReturnsTokenAndCompletes() {
+        var provisionInfo =
+                ProvisionInfo.builder().publicInfo(Optional.of("public")).build();
+        when(syncTechAdapterService.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .provisionInfo(provisionInfo)
+                        .build());
+
+        var submitted = techAdapterService.provision(provisioningRequest);
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.WAITING, submitted.getOperationStatus());
+        Assertions.assertTrue(submitted.getTaskToken().isPresent());
+
+        var status = techAdapterService.getStatus(submitted.getTaskToken().get().toString());
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.COMPLETED, status.getOperationStatus());
+        Assertions.assertEquals(OperationType.PROVISION, status.getOperationType());
+        Assertions.assertEquals(Optional.of(provisionInfo), status.getProvisionInfo());
+    }
+
+    @Test
+    void testUnprovisionFailureIsStoredAsFailed() {
+        var failedOperation =
+                new FailedOperation("Unprovision failed", Collections.singletonList(new Problem("error")));
+        when(syncTechAdapterService.unprovision(provisioningRequest))
+                .thenThrow(new TechAdapterValidationException(failedOperation));
+
+        var submitted = techAdapterService.unprovision(provisioningRequest);
+        var status = techAdapterService.getStatus(submitted.getTaskToken().get().toString());
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.FAILED, status.getOperationStatus());
+        Assertions.assertEquals(OperationType.UNPROVISION, status.getOperationType());
+        var logs = status.getProvisionInfo().get().getLogs();
+        Assertions.assertEquals(2, logs.size());
+        Assertions.assertEquals("Unprovision failed", logs.get(0).getMessage());
+        Assertions.assertEquals("error", logs.get(1).getMessage());
+    }
+
+    @Test
+    void testProvisionUnexpectedErrorIsStoredAsFailed() {
+        when(syncTechAdapterService.provision(provisioningRequest)).thenThrow(new RuntimeException("boom"));
+
+        var submitted = techAdapterService.provision(provisioningRequest);
+        var status = techAdapterService.getStatus(submitted.getTaskToken().get().toString());
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.FAILED, status.getOperationStatus());
+        Assertions.assertTrue(
+                status.getProvisionInfo().get().getLogs().get(0).getMessage().contains("boom"));
+    }
+
+    @Test
+    void testProvisionIsRunningWhileExecuting() throws InterruptedException {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var service = new AsyncTechAdapterService(syncTechAdapterService, executor, newTaskStore(), Optional.empty());
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertEquals(
+                    OperationStatus.OperationStatusEnum.RUNNING,
+                    service.getStatus(token).getOperationStatus());
+
+            release.countDown();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTaskLogIsVisibleWhileExecuting() throws InterruptedException {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                newTaskStore(),
+                Optional.empty(),
+                new InFlightOperations(false),
+                2,
+                ProgressPublisher.synchronous(),
+                TaskDeadlines.none(),
+                PriorityTaskScheduler.fifo(executor));
+        var logged = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            TaskLog.current().append(Log.LogLevelEnum.INFO, "first");
+            TaskLog.current().append(Log.LogLevelEnum.INFO, "second");
+            TaskLog.current().append(Log.LogLevelEnum.INFO, "third");
+            logged.countDown();
+            release.await();
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .provisionInfo(ProvisionInfo.builder()
+                            .log(new Log(OffsetDateTime.now(), Log.LogLevelEnum.INFO, "done"))
+                            .build())
+                    .build();
+        });
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+            Assertions.assertTrue(logged.await(5, TimeUnit.SECONDS));
+
+            var running = service.getStatus(token);
+            Assertions.assertEquals(OperationStatus.OperationStatusEnum.RUNNING, running.getOperationStatus());
+            var runningInfo = running.getProvisionInfo().get();
+            Assertions.assertEquals(1, runningInfo.getLogsOffset());
+            Assertions.assertEquals(
+                    List.of("second", "third"),
+                    runningInfo.getLogs().stream().map(Log::getMessage).toList());
+
+            release.countDown();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+            var completedInfo = service.getStatus(token).getProvisionInfo().get();
+            Assertions.assertEquals(1, completedInfo.getLogsOffset());
+            Assertions.assertEquals(
+                    List.of("second", "third", "done"),
+                    completedInfo.getLogs().stream().map(Log::getMessage).toList());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testProgressIsPublishedAsynchronously() throws InterruptedException {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var taskStore = Mockito.spy(newTaskStore());
+        var publishingThreads = new CopyOnWriteArrayList<String>();
+        Mockito.doAnswer(invocation -> {
+                    if (((OperationStatus) invocation.getArgument(1)).getOperationStatus()
+                            == OperationStatus.OperationStatusEnum.RUNNING)
+                        publishingThreads.add(Thread.currentThread().getName());
+                    return invocation.callRealMethod();
+                })
+                .when(taskStore)
+                .update(any(), any());
+        var publisher = new ProgressPublisher(Duration.ofMillis(50));
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                taskStore,
+                Optional.empty(),
+                new InFlightOperations(false),
+                1000,
+                publisher,
+                TaskDeadlines.none(),
+                PriorityTaskScheduler.fifo(executor));
+        var release = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            var context = OperationContext.current();
+            context.phase("deploy");
+            for (int i = 0; i < 100; i++) context.log(Log.LogLevelEnum.INFO, "step " + i);
+            context.publicInfo("partial");
+            release.await();
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token)
+                                    .getProvisionInfo()
+                                    .map(info -> info.getLogs().size())
+                                    .orElse(0),
+                            Matchers.is(101));
+
+            var running = service.getStatus(token);
+            Assertions.assertEquals(OperationStatus.OperationStatusEnum.RUNNING, running.getOperationStatus());
+            var runningInfo = running.getProvisionInfo().get();
+            Assertions.assertEquals(Optional.of("partial"), runningInfo.getPublicInfo());
+            Assertions.assertEquals(
+                    Optional.of("deploy"), runningInfo.getLogs().get(100).getPhase());
+            var publications = publishingThreads.stream()
+                    .filter("task-progress-publisher"::equals)
+                    .count();
+            Assertions.assertTrue(publications >= 1 && publications < 10);
+
+            release.countDown();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+            var completedInfo = service.getStatus(token).getProvisionInfo().get();
+            Assertions.assertEquals(Optional.of("partial"), completedInfo.getPublicInfo());
+            Assertions.assertEquals(101, completedInfo.getLogs().size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            publisher.close();
+        }
+    }
+
+    @Test
+    void testTaskExceedingDeadlineIsInterruptedAndFailed() throws InterruptedException {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var deadlines = new TaskDeadlines(
+                new AsyncProperties.Deadlines(Map.of(OperationType.PROVISION, Duration.ofMillis(100)), Map.of(), true));
+        var service = newServiceWithDeadlines(executor, deadlines);
+        var interrupted = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            Assertions.assertTrue(OperationContext.current().getDeadline().isPresent());
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+
+            Assertions.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.FAILED));
+            var logs = service.getStatus(token).getProvisionInfo().get().getLogs();
+            Assertions.assertEquals(
+                    "The provision operation exceeded its deadline", logs.get(0).getMessage());
+            Assertions.assertTrue(logs.get(1).getMessage().contains("didn't finish within its deadline of PT0.1S"));
+
+            Awaitility.await()
+                    .during(Duration.ofMillis(200))
+                    .atMost(Duration.ofSeconds(1))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.FAILED));
+        } finally {
+            executor.shutdown();
+            deadlines.close();
+        }
+    }
+
+    @Test
+    void testCancellationIsVisibleOnTheContext() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var deadlines = new TaskDeadlines(new AsyncProperties.Deadlines(
+                Map.of(OperationType.PROVISION, Duration.ofHours(1)),
+                Map.of("workload", Map.of(OperationType.PROVISION, Duration.ofMillis(100))),
+                false));
+        var service = newServiceWithDeadlines(executor, deadlines);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            var context = OperationContext.current();
+            context.componentKind("workload");
+            while (!context.isCancelled()) Thread.sleep(10);
+            Assertions.assertThrows(CancellationException.class, context::checkCancelled);
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.FAILED));
+        } finally {
+            executor.shutdown();
+            deadlines.close();
+        }
+    }
+
+    @Test
+    void testExpiredTaskKeepsItsSlotUntilItsThreadReturns() throws InterruptedException {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var deadlines = new TaskDeadlines(new AsyncProperties.Deadlines(
+                Map.of(OperationType.PROVISION, Duration.ofMillis(100)), Map.of(), false));
+        var taskStore = newTaskStore();
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                taskStore,
+                Optional.empty(),
+                new InFlightOperations(false),
+                1000,
+                ProgressPublisher.synchronous(),
+                deadlines,
+                PriorityTaskScheduler.fifo(executor));
+        var release = new CountDownLatch(1);
+        var finished = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(provisioningRequest)).thenAnswer(invocation -> {
+            release.await();
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+        var token = new TaskToken(UUID.randomUUID().toString());
+        taskStore.put(
+                token,
+                ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.WAITING)
+                        .build());
+
+        try {
+            executor.execute(() -> service.runQueuedTask(
+                    new QueuedTask(token, OperationType.PROVISION, provisioningRequest), finished::countDown));
+
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token.toString()).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.FAILED));
+            Assertions.assertFalse(finished.await(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(
+                    OperationStatus.OperationStatusEnum.FAILED,
+                    service.getStatus(token.toString()).getOperationStatus());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            deadlines.close();
+        }
+    }
+
+    @Test
+    void testTaskFinishingBeforeDeadlineIsCompleted() {
+        var deadlines = new TaskDeadlines(
+                new AsyncProperties.Deadlines(Map.of(OperationType.PROVISION, Duration.ofMillis(100)), Map.of(), true));
+        var service = newServiceWithDeadlines(new TaskExecutorAdapter(Runnable::run), deadlines);
+        when(syncTechAdapterService.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build());
+
+        try {
+            var token =
+                    service.provision(provisioningRequest).getTaskToken().get().toString();
+
+            Awaitility.await()
+                    .during(Duration.ofMillis(200))
+                    .atMost(Duration.ofSeconds(1))
+                    .until(
+                            () -> service.getStatus(token).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+            Assertions.assertFalse(Thread.currentThread().isInterrupted());
+        } finally {
+            deadlines.close();
+        }
+    }
+
+    @Test
+    void testTaskLogIsDetachedOutsideTasks() {
+        TaskLog.current().append(Log.LogLevelEnum.INFO, "ignored");
+
+        Assertions.assertEquals(
+                new TaskLog.Snapshot(0, List.of()), TaskLog.current().snapshot());
+    }
+
+    @Test
+    void testIdenticalProvisionAttachesToInFlightTask() throws Exception {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService, executor, newTaskStore(), Optional.empty(), new InFlightOperations(true));
+        var request = new ProvisioningRequest(
+                DescriptorKind.COMPONENT_DESCRIPTOR,
+                ResourceUtils.getContentFromResource("/pr_descriptor_storage.yml"),
+                false);
+        var release = new CountDownLatch(1);
+        when(syncTechAdapterService.provision(any())).thenAnswer(invocation -> {
+            release.await();
+            return ProvisionOperationStatus.provisionBuilder()
+                    .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                    .build();
+        });
+
+        try {
+            var token = service.provision(request).getTaskToken().get();
+            var duplicate = service.provision(
+                    new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, request.getDescriptor(), false));
+
+            Assertions.assertEquals(Optional.of(token), duplicate.getTaskToken());
+            release.countDown();
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(token.toString()).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+            Mockito.verify(syncTechAdapterService, Mockito.times(1)).provision(any());
+
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(() ->
+                            !service.provision(request).getTaskToken().get().equals(token));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testGetStatusUnknownToken() {
+        var exception = Assertions.assertThrows(
+                TechAdapterValidationException.class, () -> techAdapterService.getStatus("not-a-token"));
+
+        Assertions.assertEquals(
+                "The task with token 'not-a-token' doesn't exist",
+                exception.getFailedOperation().problems().get(0).description());
+    }
+
+    @Test
+    void testAsyncValidateReturnsTokenAndCompletes() {
+        var validationInfo = ValidationInfo.invalid(List.of("Invalid descriptor"));
+        when(syncTechAdapterService.validate(provisioningRequest)).thenReturn(validationInfo);
+
+        var token = techAdapterService.asyncValidate(provisioningRequest);
+        var status = techAdapterService.getValidationStatus(token);
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.COMPLETED, status.getOperationStatus());
+        Assertions.assertEquals(OperationType.VALIDATE, status.getOperationType());
+        Assertions.assertEquals(Optional.of(validationInfo), status.getValidationInfo());
+    }
+
+    @Test
+    void testAsyncValidateUnexpectedErrorIsStoredAsFailed() {
+        when(syncTechAdapterService.validate(provisioningRequest)).thenThrow(new RuntimeException("boom"));
+
+        var token = techAdapterService.asyncValidate(provisioningRequest);
+        var status = techAdapterService.getValidationStatus(token);
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.FAILED, status.getOperationStatus());
+        Assertions.assertFalse(status.getValidationInfo().get().isValid());
+        Assertions.assertTrue(status.getValidationInfo().get().errors().get(0).contains("boom"));
+    }
+
+    @Test
+    void testGetValidationStatusOfProvisionToken() {
+        when(syncTechAdapterService.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build());
+        var token = techAdapterService
+                .provision(provisioningRequest)
+                .getTaskToken()
+                .get()
+                .toString();
+
+        Assertions.assertThrows(
+                TechAdapterValidationException.class, () -> techAdapterService.getValidationStatus(token));
+    }
+
+    @Test
+    void testReverseProvisioningReturnsTokenAndCompletes() {
+        var reverseProvisioningRequest = new ReverseProvisioningRequest("useCaseTemplateId", "development");
+        var updates = JsonNodeFactory.instance.objectNode().put("spec.mesh.name", "name");
+        var serviceLog = new Log(OffsetDateTime.now(), Log.LogLevelEnum.INFO, "Imported table");
+        when(syncTechAdapterService.runReverseProvisioning(reverseProvisioningRequest))
+                .thenReturn(ReverseProvisionOperationStatus.builder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .provisionInfo(new ReverseProvisionInfo(Optional.of(updates), List.of(serviceLog)))
+                        .build());
+
+        var submitted = techAdapterService.runReverseProvisioning(reverseProvisioningRequest);
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.WAITING, submitted.getOperationStatus());
+        Assertions.assertEquals(
+                1, submitted.getReverseProvisionInfo().get().getLogs().size());
+
+        var status = techAdapterService.getReverseProvisioningStatus(
+                submitted.getTaskToken().get().toString());
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.COMPLETED, status.getOperationStatus());
+        Assertions.assertEquals(
+                Optional.of(updates), status.getReverseProvisionInfo().get().getUpdates());
+        var logs = status.getReverseProvisionInfo().get().getLogs();
+        Assertions.assertEquals(3, logs.size());
+        Assertions.assertEquals(serviceLog, logs.get(2));
+    }
+
+    @Test
+    void testReverseProvisioningFailureIsStoredAsFailed() {
+        var reverseProvisioningRequest = new ReverseProvisioningRequest("useCaseTemplateId", "development");
+        var failedOperation =
+                new FailedOperation("Reverse provisioning failed", Collections.singletonList(new Problem("error")));
+        when(syncTechAdapterService.runReverseProvisioning(reverseProvisioningRequest))
+                .thenThrow(new TechAdapterValidationException(failedOperation));
+
+        var submitted = techAdapterService.runReverseProvisioning(reverseProvisioningRequest);
+        var status = techAdapterService.getReverseProvisioningStatus(
+                submitted.getTaskToken().get().toString());
+
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.FAILED, status.getOperationStatus());
+        Assertions.assertTrue(
+                status.getReverseProvisionInfo().get().getUpdates().isEmpty());
+        var logs = status.getReverseProvisionInfo().get().getLogs();
+        Assertions.assertEquals(
+                "Reverse provisioning failed", logs.get(logs.size() - 2).getMessage());
+        Assertions.assertEquals(
+                Log.LogLevelEnum.ERROR, logs.get(logs.size() - 1).getLevel());
+    }
+
+    @Test
+    void testGetStatusOfEvictedTask() {
+        when(syncTechAdapterService.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build());
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                new TaskExecutorAdapter(Runnable::run),
+                new InMemoryTaskStore(1, Duration.ofHours(1)),
+                Optional.empty());
+
+        var first = service.provision(provisioningRequest).getTaskToken().get().toString();
+        var second = service.provision(provisioningRequest).getTaskToken().get().toString();
+
+        Assertions.assertThrows(TechAdapterValidationException.class, () -> service.getStatus(first));
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.COMPLETED,
+                service.getStatus(second).getOperationStatus());
+    }
+
+    @Test
+    void testProvisionIsEnqueuedWhenTaskQueueIsAvailable() {
+        var taskQueue = Mockito.mock(TaskQueue.class);
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService, new TaskExecutorAdapter(Runnable::run), newTaskStore(), Optional.of(taskQueue));
+
+        var submitted = service.provision(provisioningRequest);
+        var token = submitted.getTaskToken().get();
+
+        Mockito.verify(taskQueue)
+                .enqueue(new QueuedTask(token, OperationType.PROVISION, provisioningRequest), Duration.ZERO);
+        Mockito.verify(syncTechAdapterService, Mockito.never()).provision(any());
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.WAITING,
+                service.getStatus(token.toString()).getOperationStatus());
+
+        when(syncTechAdapterService.provision(provisioningRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build());
+        service.runQueuedTask(new QueuedTask(token, OperationType.PROVISION, provisioningRequest));
+
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.COMPLETED,
+                service.getStatus(token.toString()).getOperationStatus());
+    }
+
+    @Test
+    void testEnqueueFailureExpiresTask() {
+        var taskQueue = Mockito.mock(TaskQueue.class);
+        var taskStore = newTaskStore();
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService, new TaskExecutorAdapter(Runnable::run), taskStore, Optional.of(taskQueue));
+        var captor = ArgumentCaptor.forClass(QueuedTask.class);
+        Mockito.doThrow(new IllegalStateException("queue unavailable"))
+                .when(taskQueue)
+                .enqueue(captor.capture(), any());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.asyncValidate(provisioningRequest));
+        Assertions.assertTrue(taskStore.get(captor.getValue().taskToken()).isEmpty());
+    }
+
+    @Test
+    void testProvisionIsRejectedWhenItsLaneIsFull() {
+        var submitted = new ArrayList<Runnable>();
+        var executor = new TaskExecutorAdapter(submitted::add);
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                newTaskStore(),
+                Optional.empty(),
+                new InFlightOperations(false),
+                1000,
+                ProgressPublisher.synchronous(),
+                TaskDeadlines.none(),
+                new PriorityTaskScheduler(
+                        new AsyncProperties.Scheduler(
+                                true,
+                                1,
+                                Duration.ofSeconds(30),
+                                Map.of(OperationType.PROVISION, new AsyncProperties.Scheduler.Lane(1, 0)),
+                                null),
+                        executor,
+                        1));
+
+        service.provision(provisioningRequest);
+
+        Assertions.assertThrows(TechAdapterOverloadedException.class, () -> service.provision(provisioningRequest));
+        Assertions.assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void testEnqueuedTasksFollowTheSchedulerLanes() {
+        var taskQueue = Mockito.mock(TaskQueue.class);
+        var executor = new TaskExecutorAdapter(Runnable::run);
+        var service = new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                newTaskStore(),
+                Optional.of(taskQueue),
+                new InFlightOperations(false),
+                1000,
+                ProgressPublisher.synchronous(),
+                TaskDeadlines.none(),
+                new PriorityTaskScheduler(
+                        new AsyncProperties.Scheduler(
+                                true,
+                                1,
+                                Duration.ofSeconds(30),
+                                Map.of(OperationType.PROVISION, new AsyncProperties.Scheduler.Lane(2, 1)),
+                                null),
+                        executor,
+                        1));
+
+        var token = service.provision(provisioningRequest).getTaskToken().get();
+        when(taskQueue.waiting(OperationType.PROVISION)).thenReturn(1);
+
+        Mockito.verify(taskQueue)
+                .enqueue(new QueuedTask(token, OperationType.PROVISION, provisioningRequest), Duration.ofSeconds(60));
+        Assertions.assertThrows(TechAdapterOverloadedException.class, () -> service.provision(provisioningRequest));
+        Mockito.verify(taskQueue, Mockito.times(1)).enqueue(any(), any());
+    }
+
+    @Test
+    void testTasksWaitingOnAFullBulkheadDontHoldThreads() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        var bulkheads = new ComponentBulkheads(new BulkheadProperties(
+                true,
+                new BulkheadProperties.Limits(4, 10, Duration.ofMinutes(1)),
+                Map.of("storage", new BulkheadProperties.Limits(1, 10, Duration.ofMinutes(1)))));
+        var release = new CountDownLatch(1);
+        var storageRequest = new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "storage", false);
+        var outputPortRequest = new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "outputport", false);
+        when(syncTechAdapterService.provision(storageRequest)).thenAnswer(invocation -> bulkheads
+                .execute("storage", () -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Either.right(null);
+                })
+                .fold(error -> null, result -> ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build()));
+        when(syncTechAdapterService.provision(outputPortRequest))
+                .thenReturn(ProvisionOperationStatus.provisionBuilder()
+                        .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                        .build());
+        var service = new AsyncTechAdapterService(syncTechAdapterService, executor, newTaskStore(), Optional.empty());
+        try {
+            var storageTokens = new ArrayList<String>();
+            for (int i = 0; i < 3; i++)
+                storageTokens.add(
+                        service.provision(storageRequest).getTaskToken().get().toString());
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(() -> bulkheads.bulkhead("storage").queued(), Matchers.is(2));
+
+            var outputPortToken =
+                    service.provision(outputPortRequest).getTaskToken().get().toString();
+
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(5))
+                    .until(
+                            () -> service.getStatus(outputPortToken).getOperationStatus(),
+                            Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+            Assertions.assertEquals(
+                    OperationStatus.OperationStatusEnum.RUNNING,
+                    service.getStatus(storageTokens.get(0)).getOperationStatus());
+
+            release.countDown();
+            for (var token : storageTokens)
+                Awaitility.await()
+                        .atMost(Duration.ofSeconds(5))
+                        .until(
+                                () -> service.getStatus(token).getOperationStatus(),
+                                Matchers.is(OperationStatus.OperationStatusEnum.COMPLETED));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testValidateIsDelegated() {
+        var validationInfo = ValidationInfo.valid();
+        when(syncTechAdapterService.validate(provisioningRequest)).thenReturn(validationInfo);
+
+        Assertions.assertEquals(validationInfo, techAdapterService.validate(provisioningRequest));
+    }
+
+    private AsyncTechAdapterService newServiceWithDeadlines(AsyncTaskExecutor executor, TaskDeadlines deadlines) {
+        return new AsyncTechAdapterService(
+                syncTechAdapterService,
+                executor,
+                newTaskStore(),
+                Optional.empty(),
+                new InFlightOperations(false),
+                1000,
+                ProgressPublisher.synchronous(),
+                deadlines,
+                PriorityTaskScheduler.fifo(executor));
+    }
+
+    private TaskStore newTaskStore() {
+        return new InMemoryTaskStore(100, Duration.ofHours(1));
+    }
+}
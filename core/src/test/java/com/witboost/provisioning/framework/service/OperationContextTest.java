@@ -0,0 +1,98 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.common.Log;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.awaitility.Awaitility;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OperationContextTest {
+
+    @Test
+    void testPhaseIsAttachedToFollowingLogs() {
+        var context = new OperationContext(10, ProgressPublisher.synchronous(), progress -> {});
+
+        context.log(Log.LogLevelEnum.INFO, "before");
+        context.phase("deploy");
+        context.log(Log.LogLevelEnum.INFO, "after");
+
+        var logs = context.progress().log().logs();
+        Assertions.assertEquals(3, logs.size());
+        Assertions.assertEquals(Optional.empty(), logs.get(0).getPhase());
+        Assertions.assertEquals(Optional.of("deploy"), logs.get(1).getPhase());
+        Assertions.assertEquals(Optional.of("deploy"), logs.get(2).getPhase());
+        Assertions.assertEquals(Optional.of("deploy"), context.getPhase());
+    }
+
+    @Test
+    void testChangesArePublished() {
+        var published = new CopyOnWriteArrayList<OperationContext.Progress>();
+        var context = new OperationContext(10, ProgressPublisher.synchronous(), published::add);
+
+        context.log(Log.LogLevelEnum.INFO, "first");
+        context.publicInfo("partial");
+
+        Assertions.assertEquals(2, published.size());
+        Assertions.assertEquals(Optional.of("partial"), published.get(1).publicInfo());
+        Assertions.assertEquals(1, published.get(1).log().logs().size());
+    }
+
+    @Test
+    void testChangesAreCoalesced() {
+        var published = new CopyOnWriteArrayList<OperationContext.Progress>();
+        try (var publisher = new ProgressPublisher(Duration.ofMillis(100))) {
+            var context = new OperationContext(1000, publisher, published::add);
+
+            for (int i = 0; i < 50; i++) context.log(Log.LogLevelEnum.INFO, "step " + i);
+
+            Awaitility.await().atMost(Duration.ofSeconds(5)).until(published::size, Matchers.is(1));
+            Assertions.assertEquals(50, published.get(0).log().logs().size());
+        }
+    }
+
+    @Test
+    void testNothingIsPublishedAfterClose() {
+        var published = new CopyOnWriteArrayList<OperationContext.Progress>();
+        try (var publisher = new ProgressPublisher(Duration.ofMillis(50))) {
+            var context = new OperationContext(10, publisher, published::add);
+            context.log(Log.LogLevelEnum.INFO, "first");
+
+            var progress = context.close();
+            context.log(Log.LogLevelEnum.INFO, "second");
+
+            Assertions.assertEquals(1, progress.log().logs().size());
+            Awaitility.await()
+                    .during(Duration.ofMillis(200))
+                    .atMost(Duration.ofSeconds(1))
+                    .until(published::isEmpty);
+        }
+    }
+
+    @Test
+    void testCurrentIsBoundWhileRunning() {
+        var context = new OperationContext(10, ProgressPublisher.synchronous(), progress -> {});
+
+        var current = context.run(OperationContext::current);
+
+        Assertions.assertSame(context, current);
+        Assertions.assertNotSame(context, OperationContext.current());
+    }
+
+    @Test
+    void testDetachedContextDiscardsChanges() {
+        var detached = OperationContext.current();
+
+        detached.phase("deploy");
+        detached.log(Log.LogLevelEnum.INFO, "ignored");
+        detached.publicInfo("ignored");
+
+        var progress = detached.progress();
+        Assertions.assertEquals(List.of(), progress.log().logs());
+        Assertions.assertEquals(Optional.empty(), progress.phase());
+        Assertions.assertEquals(Optional.empty(), progress.publicInfo());
+    }
+}
@@ -0,0 +1,346 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.framework.common.TechAdapterOverloadedException;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
+import com.witboost.provisioning.framework.service.validation.DescriptorCacheProperties;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.util.unit.DataSize;
+
+public class PriorityTaskSchedulerTest {
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final List<String> executed = new ArrayList<>();
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testQueuedTasksAreExecutedByPriority() {
+        var scheduler = newScheduler(Duration.ZERO, Map.of());
+
+        scheduler.submit(OperationType.PROVISION, task("provision-1"), () -> {});
+        scheduler.submit(OperationType.PROVISION, task("provision-2"), () -> {});
+        scheduler.submit(OperationType.VALIDATE, task("validate"), () -> {});
+
+        Assertions.assertEquals(1, submitted.size());
+        Assertions.assertEquals(1, scheduler.queued(OperationType.PROVISION));
+        Assertions.assertEquals(1, scheduler.queued(OperationType.VALIDATE));
+        runAll();
+        Assertions.assertEquals(List.of("provision-1", "validate", "provision-2"), executed);
+        Assertions.assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void testQueuedTasksAreRaisedWhileWaiting() {
+        var scheduler = newScheduler(Duration.ofSeconds(30), Map.of());
+
+        scheduler.submit(OperationType.PROVISION, task("provision-1"), () -> {});
+        scheduler.submit(OperationType.PROVISION, task("provision-2"), () -> {});
+        clock.advance(Duration.ofSeconds(90));
+        scheduler.submit(OperationType.VALIDATE, task("validate"), () -> {});
+
+        runAll();
+        Assertions.assertEquals(List.of("provision-1", "provision-2", "validate"), executed);
+    }
+
+    @Test
+    void testFullLaneIsRejected() {
+        var scheduler =
+                newScheduler(Duration.ZERO, Map.of(OperationType.PROVISION, new AsyncProperties.Scheduler.Lane(1, 1)));
+
+        scheduler.submit(OperationType.PROVISION, task("provision-1"), () -> {});
+        scheduler.submit(OperationType.PROVISION, task("provision-2"), () -> {});
+        var ex = Assertions.assertThrows(
+                TechAdapterOverloadedException.class,
+                () -> scheduler.submit(OperationType.PROVISION, task("provision-3"), () -> {}));
+        scheduler.submit(OperationType.VALIDATE, task("validate"), () -> {});
+
+        Assertions.assertEquals(
+                "The Tech Adapter is too busy to accept the provision operation",
+                ex.getFailedOperation().message());
+        runAll();
+        Assertions.assertEquals(List.of("provision-1", "validate", "provision-2"), executed);
+    }
+
+    @Test
+    void testSharedQueueHeadStartFollowsPriorityAndAging() {
+        var aging = newScheduler(Duration.ofSeconds(30), Map.of());
+        var noAging = newScheduler(Duration.ZERO, Map.of());
+        var fifo = PriorityTaskScheduler.fifo(new TaskExecutorAdapter(submitted::add));
+
+        Assertions.assertEquals(Duration.ofSeconds(90), aging.headStart(OperationType.VALIDATE));
+        Assertions.assertEquals(Duration.ofSeconds(30), aging.headStart(OperationType.PROVISION));
+        Assertions.assertTrue(noAging.headStart(OperationType.VALIDATE)
+                        .minus(noAging.headStart(OperationType.PROVISION))
+                        .toDays()
+                > 3650);
+        Assertions.assertEquals(Duration.ZERO, fifo.headStart(OperationType.VALIDATE));
+    }
+
+    @Test
+    void testSharedQueueIsAdmittedUpToTheLaneLimit() {
+        var scheduler =
+                newScheduler(Duration.ZERO, Map.of(OperationType.PROVISION, new AsyncProperties.Scheduler.Lane(1, 2)));
+        var fifo = PriorityTaskScheduler.fifo(new TaskExecutorAdapter(submitted::add));
+
+        scheduler.admit(OperationType.PROVISION, () -> 1);
+
+        Assertions.assertThrows(
+                TechAdapterOverloadedException.class, () -> scheduler.admit(OperationType.PROVISION, () -> 2));
+        fifo.admit(OperationType.PROVISION, () -> Assertions.fail("The queue shouldn't be counted"));
+    }
+
+    @Test
+    void testTaskCanFreeItsSlotBeforeReturning() {
+        var scheduler = newScheduler(Duration.ZERO, Map.of());
+        var nextSubmitted = new AtomicBoolean();
+
+        scheduler.submit(
+                OperationType.PROVISION,
+                release -> {
+                    release.run();
+                    nextSubmitted.set(submitted.size() == 2);
+                },
+                () -> {});
+        scheduler.submit(OperationType.PROVISION, task("provision-2"), () -> {});
+
+        runAll();
+        Assertions.assertTrue(nextSubmitted.get());
+        Assertions.assertEquals(List.of("provision-2"), executed);
+        Assertions.assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void testQueuedTaskRejectedByTheExecutorIsReported() {
+        var accepted = new AtomicInteger();
+        var scheduler = new PriorityTaskScheduler(
+                new AsyncProperties.Scheduler(true, 1, Duration.ZERO, Map.of(), null),
+                new TaskExecutorAdapter(runnable -> {
+                    if (accepted.getAndIncrement() > 0) throw new TaskRejectedException("Executor is shut down");
+                    submitted.add(runnable);
+                }),
+                1,
+                ParsedDescriptorCache.disabled(),
+                new ParserProperties(false),
+                clock);
+        var rejected = new AtomicBoolean();
+
+        scheduler.submit(OperationType.PROVISION, task("provision-1"), () -> {});
+        scheduler.submit(OperationType.PROVISION, task("provision-2"), () -> rejected.set(true));
+
+        runAll();
+        Assertions.assertTrue(rejected.get());
+        Assertions.assertEquals(List.of("provision-1"), executed);
+        Assertions.assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void testFifoSchedulerExecutesRightAway() {
+        var scheduler = PriorityTaskScheduler.fifo(new TaskExecutorAdapter(submitted::add));
+
+        scheduler.submit(OperationType.PROVISION, task("provision"), () -> {});
+        scheduler.submit(OperationType.VALIDATE, task("validate"), () -> {});
+
+        Assertions.assertEquals(2, submitted.size());
+        runAll();
+        Assertions.assertEquals(List.of("provision", "validate"), executed);
+    }
+
+    @Test
+    void testTenantsShareTheLaneByWeight() {
+        var scheduler = newScheduler(
+                Duration.ZERO,
+                Map.of(),
+                new AsyncProperties.Scheduler.Fairness(
+                        AsyncProperties.Scheduler.Fairness.Key.DOMAIN, Map.of("finance", 2), 1, 0));
+
+        scheduler.submit(OperationType.PROVISION, request("marketing"), task("running"), () -> {});
+        for (var name : List.of("marketing-1", "marketing-2", "marketing-3", "finance-1", "finance-2", "finance-3"))
+            scheduler.submit(OperationType.PROVISION, request(name.split("-")[0]), task(name), () -> {});
+        scheduler.submit(OperationType.PROVISION, request("sales"), task("sales-1"), () -> {});
+
+        Assertions.assertEquals(7, scheduler.queued(OperationType.PROVISION));
+        runAll();
+        Assertions.assertEquals(
+                List.of(
+                        "running",
+                        "marketing-1",
+                        "finance-1",
+                        "finance-2",
+                        "sales-1",
+                        "marketing-2",
+                        "finance-3",
+                        "marketing-3"),
+                executed);
+        Assertions.assertEquals(0, scheduler.active());
+    }
+
+    @Test
+    void testTenantWithTooManyQueuedTasksIsRejected() {
+        var scheduler = newScheduler(
+                Duration.ZERO,
+                Map.of(),
+                new AsyncProperties.Scheduler.Fairness(AsyncProperties.Scheduler.Fairness.Key.DOMAIN, Map.of(), 1, 1));
+
+        scheduler.submit(OperationType.PROVISION, request("marketing"), task("running"), () -> {});
+        scheduler.submit(OperationType.PROVISION, request("marketing"), task("marketing-1"), () -> {});
+        var ex = Assertions.assertThrows(
+                TechAdapterOverloadedException.class,
+                () -> scheduler.submit(OperationType.PROVISION, request("marketing"), task("marketing-2"), () -> {}));
+        scheduler.submit(OperationType.PROVISION, request("finance"), task("finance-1"), () -> {});
+
+        Assertions.assertEquals(
+                "The Tech Adapter is too busy to accept more provision operations of 'marketing'",
+                ex.getFailedOperation().message());
+        runAll();
+        Assertions.assertEquals(List.of("running", "marketing-1", "finance-1"), executed);
+    }
+
+    @Test
+    void testTenantIsOnlyReadForQueuedTasks() {
+        var parsedDescriptorCache =
+                new ParsedDescriptorCache(new DescriptorCacheProperties(true, 16, DataSize.ofMegabytes(1)));
+        var registry = new SimpleMeterRegistry();
+        parsedDescriptorCache.bindTo(registry);
+        var scheduler = newScheduler(
+                Duration.ZERO,
+                Map.of(),
+                new AsyncProperties.Scheduler.Fairness(AsyncProperties.Scheduler.Fairness.Key.DOMAIN, Map.of(), 1, 0),
+                parsedDescriptorCache);
+
+        scheduler.submit(OperationType.PROVISION, request("marketing"), task("running"), () -> {});
+        Assertions.assertEquals(0.0, cacheRequests(registry, "miss"));
+        scheduler.submit(OperationType.PROVISION, request("marketing"), task("marketing-1"), () -> {});
+        Assertions.assertEquals(1.0, cacheRequests(registry, "miss"));
+        Assertions.assertTrue(parsedDescriptorCache
+                .get(request("marketing").getDescriptor(), false)
+                .isRight());
+        Assertions.assertEquals(1.0, cacheRequests(registry, "hit"));
+    }
+
+    @Test
+    void testTenantIsReadFromTheRequest() {
+        var descriptor =
+                "dataProduct:\n  id: urn:dmb:dp:finance:billing:0\n  domain: finance\n  environment: production\n";
+        var request = new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, descriptor, false);
+        var reverseRequest = new ReverseProvisioningRequest("urn:dmb:utm:template:0.0.0", "production");
+
+        Assertions.assertEquals("finance", tenantOf(AsyncProperties.Scheduler.Fairness.Key.DOMAIN, request));
+        Assertions.assertEquals(
+                "urn:dmb:dp:finance:billing:0", tenantOf(AsyncProperties.Scheduler.Fairness.Key.DATA_PRODUCT, request));
+        Assertions.assertEquals("production", tenantOf(AsyncProperties.Scheduler.Fairness.Key.ENVIRONMENT, request));
+        Assertions.assertEquals(
+                "finance",
+                tenantOf(
+                        AsyncProperties.Scheduler.Fairness.Key.DOMAIN,
+                        new StructuredProvisioningRequest(
+                                DescriptorKind.COMPONENT_DESCRIPTOR,
+                                Parser.stringToJsonNode(descriptor).get(),
+                                false)));
+        Assertions.assertEquals(
+                "production", tenantOf(AsyncProperties.Scheduler.Fairness.Key.ENVIRONMENT, reverseRequest));
+        Assertions.assertEquals("", tenantOf(AsyncProperties.Scheduler.Fairness.Key.DOMAIN, reverseRequest));
+        Assertions.assertEquals("", tenantOf(AsyncProperties.Scheduler.Fairness.Key.NONE, request));
+        Assertions.assertEquals(
+                "",
+                tenantOf(
+                        AsyncProperties.Scheduler.Fairness.Key.DOMAIN,
+                        new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "{ not yaml", false)));
+    }
+
+    private String tenantOf(AsyncProperties.Scheduler.Fairness.Key key, Object request) {
+        var scheduler =
+                newScheduler(Duration.ZERO, Map.of(), new AsyncProperties.Scheduler.Fairness(key, Map.of(), 1, 0));
+        return scheduler.tenantOf(request);
+    }
+
+    private static double cacheRequests(SimpleMeterRegistry registry, String result) {
+        return registry.get("tech.adapter.parser.cache.requests")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private ProvisioningRequest request(String domain) {
+        return new ProvisioningRequest(
+                DescriptorKind.COMPONENT_DESCRIPTOR, "dataProduct:\n  domain: " + domain + "\n", false);
+    }
+
+    private PriorityTaskScheduler newScheduler(
+            Duration aging, Map<OperationType, AsyncProperties.Scheduler.Lane> lanes) {
+        return newScheduler(aging, lanes, null);
+    }
+
+    private PriorityTaskScheduler newScheduler(
+            Duration aging,
+            Map<OperationType, AsyncProperties.Scheduler.Lane> lanes,
+            AsyncProperties.Scheduler.Fairness fairness) {
+        return newScheduler(aging, lanes, fairness, ParsedDescriptorCache.disabled());
+    }
+
+    private PriorityTaskScheduler newScheduler(
+            Duration aging,
+            Map<OperationType, AsyncProperties.Scheduler.Lane> lanes,
+            AsyncProperties.Scheduler.Fairness fairness,
+            ParsedDescriptorCache parsedDescriptorCache) {
+        return new PriorityTaskScheduler(
+                new AsyncProperties.Scheduler(true, 1, aging, lanes, fairness),
+                new TaskExecutorAdapter(submitted::add),
+                4,
+                parsedDescriptorCache,
+                new ParserProperties(false),
+                clock);
+    }
+
+    private Consumer<Runnable> task(String name) {
+        return release -> executed.add(name);
+    }
+
+    private void runAll() {
+        for (int i = 0; i < submitted.size(); i++) submitted.get(i).run();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.witboost.provisioning.framework.service;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -8,6 +12,11 @@ import com.witboost.provisioning.autoconfigure.ProvisionAutoConfiguration;
 import com.witboost.provisioning.framework.common.ErrorConstants;
 import com.witboost.provisioning.framework.common.TechAdapterValidationException;
 import com.witboost.provisioning.framework.openapi.model.*;
+import com.witboost.provisioning.framework.service.concurrency.BulkheadFullException;
+import com.witboost.provisioning.framework.service.concurrency.ComponentBulkheads;
+import com.witboost.provisioning.framework.service.concurrency.InFlightOperations;
+import com.witboost.provisioning.framework.service.concurrency.OrderingLocks;
+import com.witboost.provisioning.framework.service.concurrency.OrderingProperties;
 import com.witboost.provisioning.framework.service.validation.ValidationService;
 import com.witboost.provisioning.framework.util.ResourceUtils;
 import com.witboost.provisioning.model.*;
@@ -42,6 +51,15 @@ public class SyncTechAdapterServiceTest {
     private ProvisionConfiguration provisionConfiguration =
             new ProvisionAutoConfiguration().defaultProvisionConfiguration();
 
+    @Spy
+    private ComponentBulkheads componentBulkheads = ComponentBulkheads.unlimited();
+
+    @Spy
+    private InFlightOperations inFlightOperations = new InFlightOperations(false);
+
+    @Spy
+    private OrderingLocks orderingLocks = new OrderingLocks(new OrderingProperties(true, 16));
+
     @InjectMocks
     private SyncTechAdapterService techAdapterService;
 
@@ -120,6 +138,32 @@ public class SyncTechAdapterServiceTest {
         Assertions.assertEquals(actualResult.getProvisionInfo().get(), provisionInfo);
     }
 
+    @Test
+    void testProvisionTaskIsValidatedOnce() {
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "", false);
+        var operationRequest =
+                new ProvisionOperationRequest<JsonNode, Specific>(null, new Workload<>(), false, Optional.empty());
+        var provisionInfo =
+                com.witboost.provisioning.model.status.ProvisionInfo.builder().build();
+        ProvisionService mockProvisionService = Mockito.mock(ProvisionService.class);
+        when(validationService.validate(provisioningRequest, OperationType.PROVISION))
+                .thenReturn(Either.right(operationRequest));
+        doReturn(mockProvisionService).when(provisionConfiguration).getWorkloadProvisionService();
+        when(mockProvisionService.provision(operationRequest)).thenReturn(Either.right(provisionInfo));
+        var bulkheadFull = new BulkheadFullException(
+                componentBulkheads.bulkhead("workload"),
+                new FailedOperation("full", Collections.singletonList(new Problem("full"))));
+        doThrow(bulkheadFull).doCallRealMethod().when(componentBulkheads).execute(any(), any());
+
+        var task = techAdapterService.provisionTask(provisioningRequest);
+
+        Assertions.assertThrows(BulkheadFullException.class, task::get);
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.COMPLETED, task.get().getOperationStatus());
+        verify(validationService, times(1)).validate(provisioningRequest, OperationType.PROVISION);
+    }
+
     @Test
     void testUnprovisionBusinessLogicNotImplemented() {
 
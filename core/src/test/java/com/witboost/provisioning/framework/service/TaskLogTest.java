@@ -0,0 +1,65 @@
+package com.witboost.provisioning.framework.service;
+
+import com.witboost.provisioning.model.common.Log;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskLogTest {
+
+    @Test
+    void testAppendNotifiesListener() {
+        var changes = new AtomicInteger();
+        var taskLog = new TaskLog(10, changes::incrementAndGet);
+
+        taskLog.append(Log.LogLevelEnum.INFO, "first");
+        taskLog.append(Log.LogLevelEnum.WARNING, "second");
+
+        Assertions.assertEquals(2, changes.get());
+        Assertions.assertEquals(List.of("first", "second"), messages(taskLog.snapshot()));
+        Assertions.assertEquals(0, taskLog.snapshot().offset());
+    }
+
+    @Test
+    void testOldestEntriesAreDiscardedWhenFull() {
+        var taskLog = new TaskLog(2, () -> {});
+
+        taskLog.append(Log.LogLevelEnum.INFO, "first");
+        taskLog.append(Log.LogLevelEnum.INFO, "second");
+        taskLog.append(Log.LogLevelEnum.INFO, "third");
+        taskLog.append(Log.LogLevelEnum.INFO, "fourth");
+
+        var snapshot = taskLog.snapshot();
+        Assertions.assertEquals(2, snapshot.offset());
+        Assertions.assertEquals(List.of("third", "fourth"), messages(snapshot));
+    }
+
+    @Test
+    void testEntriesAfterCloseAreIgnored() {
+        var changes = new AtomicInteger();
+        var taskLog = new TaskLog(10, changes::incrementAndGet);
+        taskLog.append(Log.LogLevelEnum.INFO, "first");
+
+        var closed = taskLog.close();
+        taskLog.append(Log.LogLevelEnum.INFO, "second");
+
+        Assertions.assertEquals(List.of("first"), messages(closed));
+        Assertions.assertEquals(List.of("first"), messages(taskLog.snapshot()));
+        Assertions.assertEquals(1, changes.get());
+    }
+
+    @Test
+    void testCurrentIsTheLogOfTheCurrentContext() {
+        var context = new OperationContext(10, ProgressPublisher.synchronous(), progress -> {});
+
+        var current = context.run(TaskLog::current);
+
+        Assertions.assertSame(context.getLog(), current);
+        Assertions.assertNotSame(context.getLog(), TaskLog.current());
+    }
+
+    private static List<String> messages(TaskLog.Snapshot snapshot) {
+        return snapshot.logs().stream().map(Log::getMessage).toList();
+    }
+}
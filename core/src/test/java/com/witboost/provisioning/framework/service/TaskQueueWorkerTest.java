@@ -0,0 +1,155 @@
+package com.witboost.provisioning.framework.service;
+
+import static org.mockito.Mockito.*;
+
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskQueueWorkerTest {
+
+    @Mock
+    private TaskQueue taskQueue;
+
+    @Mock
+    private AsyncTechAdapterService asyncTechAdapterService;
+
+    private final QueuedTask task = new QueuedTask(
+            new TaskToken("token"),
+            OperationType.PROVISION,
+            new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "", false));
+
+    @Test
+    void testClaimedTasksAreExecutedAndCompleted() {
+        when(taskQueue.claim(2)).thenReturn(List.of(task));
+        var worker = new TaskQueueWorker(
+                taskQueue, asyncTechAdapterService, new TaskExecutorAdapter(Runnable::run), 2, Duration.ofSeconds(1));
+        doAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    return null;
+                })
+                .when(asyncTechAdapterService)
+                .runQueuedTask(eq(task), any(), any());
+
+        worker.poll();
+
+        verify(taskQueue).complete(task.taskToken());
+    }
+
+    @Test
+    void testFailingTasksAreCompleted() {
+        when(taskQueue.claim(2)).thenReturn(List.of(task));
+        var worker = new TaskQueueWorker(
+                taskQueue, asyncTechAdapterService, new TaskExecutorAdapter(Runnable::run), 2, Duration.ofSeconds(1));
+        doThrow(new IllegalStateException("store unavailable"))
+                .when(asyncTechAdapterService)
+                .runQueuedTask(eq(task), any(), any());
+
+        worker.poll();
+
+        verify(taskQueue).complete(task.taskToken());
+    }
+
+    @Test
+    void testRunningTasksAreRenewedAndLimitCapacity() {
+        when(taskQueue.claim(1)).thenReturn(List.of(task));
+        Runnable[] submitted = new Runnable[1];
+        var worker = new TaskQueueWorker(
+                taskQueue,
+                asyncTechAdapterService,
+                new TaskExecutorAdapter(runnable -> submitted[0] = runnable),
+                1,
+                Duration.ofSeconds(1));
+
+        doAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    return null;
+                })
+                .when(asyncTechAdapterService)
+                .runQueuedTask(eq(task), any(), any());
+
+        worker.poll();
+        worker.poll();
+
+        verify(taskQueue, times(1)).claim(anyInt());
+        verify(taskQueue).renew(Set.of(task.taskToken()));
+
+        submitted[0].run();
+        verify(taskQueue).complete(task.taskToken());
+    }
+
+    @Test
+    void testTasksExceedingDeadlineFreeTheirSlot() {
+        when(taskQueue.claim(1)).thenReturn(List.of(task)).thenReturn(List.of());
+        var worker = new TaskQueueWorker(
+                taskQueue, asyncTechAdapterService, new TaskExecutorAdapter(Runnable::run), 1, Duration.ofSeconds(1));
+        doAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    worker.poll();
+                    return null;
+                })
+                .when(asyncTechAdapterService)
+                .runQueuedTask(eq(task), any(), any());
+
+        worker.poll();
+
+        verify(taskQueue, times(2)).claim(1);
+        verify(taskQueue, never()).renew(any());
+        verify(taskQueue, times(1)).complete(task.taskToken());
+    }
+
+    @Test
+    void testWaitingTasksFreeTheirSlotButKeepTheirLease() {
+        var other = new QueuedTask(new TaskToken("other"), OperationType.PROVISION, task.request());
+        when(taskQueue.claim(1)).thenReturn(List.of(task)).thenReturn(List.of(other));
+        var worker = new TaskQueueWorker(
+                taskQueue, asyncTechAdapterService, new TaskExecutorAdapter(Runnable::run), 1, Duration.ofSeconds(1));
+        Runnable[] finished = new Runnable[1];
+        doAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(1).run();
+                    finished[0] = invocation.getArgument(2);
+                    return null;
+                })
+                .when(asyncTechAdapterService)
+                .runQueuedTask(eq(task), any(), any());
+
+        worker.poll();
+        worker.poll();
+
+        verify(taskQueue, times(2)).claim(1);
+        verify(taskQueue).renew(Set.of(task.taskToken()));
+        verify(taskQueue, never()).complete(task.taskToken());
+
+        finished[0].run();
+        verify(taskQueue).complete(task.taskToken());
+    }
+
+    @Test
+    void testRejectedTasksAreReleased() {
+        when(taskQueue.claim(1)).thenReturn(List.of(task));
+        var worker = new TaskQueueWorker(
+                taskQueue,
+                asyncTechAdapterService,
+                new TaskExecutorAdapter(runnable -> {
+                    throw new TaskRejectedException("Executor is full");
+                }),
+                1,
+                Duration.ofSeconds(1));
+
+        worker.poll();
+
+        verify(taskQueue).release(task.taskToken());
+        verifyNoInteractions(asyncTechAdapterService);
+    }
+}
@@ -0,0 +1,268 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.vavr.control.Either;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void executesOperationWithinLimits() {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 0, Duration.ZERO));
+
+        var result = bulkhead.execute(() -> Either.right("done"));
+
+        assertEquals(Either.right("done"), result);
+        assertEquals(0, bulkhead.active());
+        assertEquals(0, bulkhead.rejected());
+    }
+
+    @Test
+    void rejectsWhenNoSlotIsFree() throws Exception {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 0, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+
+        var ex = assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> Either.right("done")));
+
+        assertTrue(ex.getFailedOperation().message().contains("'storage'"));
+        assertSame(bulkhead, ex.getBulkhead());
+        assertEquals(1, bulkhead.active());
+        assertEquals(1, bulkhead.rejected());
+        release.countDown();
+        assertEquals(Either.right("blocking"), running.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.active());
+    }
+
+    @Test
+    void resumesWaitingOperationOnceASlotIsFreed() throws Exception {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 1, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+        var resumed = new CompletableFuture<Bulkhead.Permit>();
+
+        assertTrue(bulkhead.await(resumed::complete, rejection -> fail("The operation shouldn't be rejected")));
+        assertEquals(1, bulkhead.queued());
+        assertFalse(resumed.isDone());
+        release.countDown();
+
+        var permit = resumed.get(5, TimeUnit.SECONDS);
+        assertEquals(Either.right("blocking"), running.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.queued());
+        var result = new ArrayList<Either<FailedOperation, String>>();
+        permit.run(() -> result.add(bulkhead.execute(() -> Either.right("resumed"))));
+        assertEquals(List.of(Either.right("resumed")), result);
+        assertEquals(Either.right("done"), bulkhead.execute(() -> Either.right("done")));
+    }
+
+    @Test
+    void handsTheFreedSlotOverToTheWaitingOperation() throws Exception {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 2, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+        var resumed = new ArrayList<String>();
+        var permits = new ArrayList<Bulkhead.Permit>();
+
+        bulkhead.await(
+                permit -> {
+                    resumed.add("first");
+                    return permits.add(permit);
+                },
+                rejection -> {});
+        bulkhead.await(
+                permit -> {
+                    resumed.add("second");
+                    return permits.add(permit);
+                },
+                rejection -> {});
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("first"), resumed);
+        assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> Either.right("new")));
+        permits.get(0).release();
+        assertEquals(List.of("first", "second"), resumed);
+        permits.get(1).release();
+        assertEquals(Either.right("new"), bulkhead.execute(() -> Either.right("new")));
+    }
+
+    @Test
+    void resumesRightAwayIfASlotWasFreedWhileQueueing() {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 1, Duration.ofSeconds(5)));
+        var permits = new ArrayList<Bulkhead.Permit>();
+
+        assertTrue(bulkhead.await(permits::add, rejection -> {}));
+
+        assertEquals(1, permits.size());
+        assertEquals(0, bulkhead.queued());
+        assertThrows(BulkheadFullException.class, () -> bulkhead.execute(() -> Either.right("new")));
+    }
+
+    @Test
+    void rejectsWaitingWhenQueueIsFull() throws Exception {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 1, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+
+        assertTrue(bulkhead.await(permit -> true, rejection -> {}));
+        assertFalse(bulkhead.await(permit -> true, rejection -> {}));
+
+        assertEquals(1, bulkhead.queued());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rejectsWaitingOperationAfterMaxWait() throws Exception {
+        var clock = new MutableClock();
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 1, Duration.ofSeconds(30)), clock);
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+        var rejections = new ArrayList<FailedOperation>();
+
+        bulkhead.await(permit -> fail("The operation shouldn't be resumed"), rejections::add);
+        clock.advance(Duration.ofMinutes(1));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, rejections.size());
+        assertTrue(rejections.get(0).problems().get(0).getMessage().contains("No operation finished in PT30S"));
+        assertEquals(0, bulkhead.queued());
+    }
+
+    @Test
+    void passesTheSlotOnWhenAWaitingOperationWasCancelled() throws Exception {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 2, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(bulkhead, release);
+        var resumed = new CompletableFuture<Bulkhead.Permit>();
+
+        bulkhead.await(permit -> false, rejection -> {});
+        bulkhead.await(resumed::complete, rejection -> {});
+        release.countDown();
+
+        resumed.get(5, TimeUnit.SECONDS).release();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(Either.right("done"), bulkhead.execute(() -> Either.right("done")));
+    }
+
+    @Test
+    void reservationKeepsOuterSlotWhileWaitingOnNestedBulkhead() throws Exception {
+        var outer = new Bulkhead("ordering", new BulkheadProperties.Limits(1, 2, Duration.ofSeconds(5)));
+        var inner = new Bulkhead("storage", new BulkheadProperties.Limits(1, 2, Duration.ofSeconds(5)));
+        var release = new CountDownLatch(1);
+        var running = runBlocking(inner, release);
+        var reservation = new Bulkhead.Reservation();
+
+        reservation.run(() -> {
+            var ex = assertThrows(
+                    BulkheadFullException.class,
+                    () -> outer.execute(() -> inner.execute(() -> Either.right("nested"))));
+            assertSame(inner, ex.getBulkhead());
+        });
+
+        assertThrows(BulkheadFullException.class, () -> outer.execute(() -> Either.right("overtaking")));
+        var resumed = new CompletableFuture<Bulkhead.Permit>();
+        inner.await(resumed::complete, rejection -> {});
+        release.countDown();
+        reservation.add(resumed.get(5, TimeUnit.SECONDS));
+        var result = new ArrayList<Either<FailedOperation, String>>();
+        reservation.run(() -> result.add(outer.execute(() -> inner.execute(() -> Either.right("nested")))));
+
+        assertEquals(List.of(Either.right("nested")), result);
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(Either.right("done"), outer.execute(() -> Either.right("done")));
+        assertEquals(Either.right("done"), inner.execute(() -> Either.right("done")));
+    }
+
+    @Test
+    void releasingReservationHandsKeptSlotsOver() {
+        var outer = new Bulkhead("ordering", new BulkheadProperties.Limits(1, 0, Duration.ZERO));
+        var inner = new Bulkhead("storage", new BulkheadProperties.Limits(0, 0, Duration.ZERO));
+        var reservation = new Bulkhead.Reservation();
+
+        reservation.run(() -> assertThrows(
+                BulkheadFullException.class, () -> outer.execute(() -> inner.execute(() -> Either.right("nested")))));
+        assertThrows(BulkheadFullException.class, () -> outer.execute(() -> Either.right("overtaking")));
+        reservation.release();
+
+        assertEquals(Either.right("done"), outer.execute(() -> Either.right("done")));
+    }
+
+    @Test
+    void releasesSlotWhenOperationThrows() {
+        var bulkhead = new Bulkhead("storage", new BulkheadProperties.Limits(1, 0, Duration.ZERO));
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> bulkhead.execute(() -> {
+                    throw new IllegalStateException("error");
+                }));
+
+        assertEquals(Either.right("done"), bulkhead.execute(() -> Either.right("done")));
+    }
+
+    private CompletableFuture<Either<FailedOperation, String>> runBlocking(Bulkhead bulkhead, CountDownLatch release)
+            throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var future = CompletableFuture.supplyAsync(
+                () -> bulkhead.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Either.<FailedOperation, String>right("blocking");
+                }),
+                executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ComponentBulkheadsTest {
+
+    private final BulkheadProperties properties = new BulkheadProperties(
+            true,
+            new BulkheadProperties.Limits(4, 0, Duration.ZERO),
+            Map.of("storage", new BulkheadProperties.Limits(1, 0, Duration.ZERO)));
+
+    @Test
+    void slowKindDoesNotBlockOtherKinds() throws Exception {
+        var bulkheads = new ComponentBulkheads(properties);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var storage = CompletableFuture.supplyAsync(() -> bulkheads.execute("storage", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Either.<FailedOperation, String>right("storage");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> bulkheads.execute("storage", () -> Either.right("storage")));
+        assertEquals(Either.right("outputport"), bulkheads.execute("outputport", () -> Either.right("outputport")));
+
+        release.countDown();
+        assertEquals(Either.right("storage"), storage.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void usesDefaultLimitsForUnconfiguredKinds() {
+        var bulkheads = new ComponentBulkheads(properties);
+
+        assertEquals(1, bulkheads.bulkhead("storage").limits().maxConcurrent());
+        assertEquals(4, bulkheads.bulkhead("workload").limits().maxConcurrent());
+        assertEquals(4, bulkheads.bulkhead("custom").limits().maxConcurrent());
+    }
+
+    @Test
+    void exposesMetricsPerKind() {
+        var bulkheads = new ComponentBulkheads(properties);
+        var registry = new SimpleMeterRegistry();
+        bulkheads.bindTo(registry);
+        bulkheads.execute("storage", () -> {
+            assertEquals(
+                    1.0,
+                    registry.get("tech.adapter.bulkhead.active")
+                            .tag("kind", "storage")
+                            .gauge()
+                            .value());
+            assertThrows(BulkheadFullException.class, () -> bulkheads.execute("storage", () -> Either.right("nested")));
+            return Either.right("done");
+        });
+
+        assertEquals(
+                1.0,
+                registry.get("tech.adapter.bulkhead.rejected")
+                        .tag("kind", "storage")
+                        .functionCounter()
+                        .count());
+        bulkheads.execute("custom", () -> Either.right("custom"));
+        assertNotNull(registry.find("tech.adapter.bulkhead.queued")
+                .tag("kind", "custom")
+                .gauge());
+    }
+
+    @Test
+    void doesNotLimitWhenDisabled() {
+        var bulkheads = ComponentBulkheads.unlimited();
+
+        var result = bulkheads.execute("storage", () -> bulkheads.execute("storage", () -> Either.right("nested")));
+
+        assertEquals(Either.right("nested"), result);
+    }
+}
@@ -0,0 +1,302 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.service.validation.DescriptorCacheProperties;
+import com.witboost.provisioning.framework.service.validation.ParsedDescriptorCache;
+import com.witboost.provisioning.framework.service.validation.ParserProperties;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Option;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class InFlightOperationsTest {
+
+    private static final String DESCRIPTOR =
+            """
+            dataProduct:
+              id: urn:dmb:dp:finance:sales:0
+              components:
+                - id: urn:dmb:cmp:finance:sales:0:storage
+                  kind: storage
+            componentIdToProvision: urn:dmb:cmp:finance:sales:0:storage
+            """;
+
+    private static final String REORDERED_DESCRIPTOR =
+            """
+            componentIdToProvision: urn:dmb:cmp:finance:sales:0:storage
+            dataProduct:
+              components:
+                - kind: storage
+                  id: urn:dmb:cmp:finance:sales:0:storage
+              id: urn:dmb:dp:finance:sales:0
+            """;
+
+    private final InFlightOperations inFlightOperations = new InFlightOperations(true);
+
+    @Test
+    void keyIgnoresPropertyOrder() {
+        var key = inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false));
+        var reorderedKey = inFlightOperations.key(OperationType.PROVISION, request(REORDERED_DESCRIPTOR, false));
+
+        assertTrue(key.isDefined());
+        assertEquals(key, reorderedKey);
+        assertEquals("urn:dmb:cmp:finance:sales:0:storage", key.get().componentId());
+    }
+
+    @Test
+    void keyDependsOnOperationAndRemoveData() {
+        var provision = inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false));
+
+        assertNotEquals(provision, inFlightOperations.key(OperationType.UNPROVISION, request(DESCRIPTOR, false)));
+        assertNotEquals(
+                inFlightOperations.key(OperationType.UNPROVISION, request(DESCRIPTOR, false)),
+                inFlightOperations.key(OperationType.UNPROVISION, request(DESCRIPTOR, true)));
+    }
+
+    @Test
+    void keyDependsOnLatestEnrichedDescriptor() {
+        var enriched = request(DESCRIPTOR, false);
+        enriched.setLatestEnrichedDescriptor(Optional.of("dataProduct:\n  id: urn:dmb:dp:finance:sales:0\n"));
+        var otherEnriched = request(DESCRIPTOR, false);
+        otherEnriched.setLatestEnrichedDescriptor(Optional.of("dataProduct:\n  id: urn:dmb:dp:finance:sales:1\n"));
+
+        var key = inFlightOperations.key(OperationType.PROVISION, enriched);
+
+        assertNotEquals(inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false)), key);
+        assertNotEquals(inFlightOperations.key(OperationType.PROVISION, otherEnriched), key);
+    }
+
+    @Test
+    void structuredDescriptorsShareTheKeyOfTheirYamlForm() throws Exception {
+        var descriptorTree = new ObjectMapper(new YAMLFactory()).readTree(REORDERED_DESCRIPTOR);
+        var structuredRequest =
+                new StructuredProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, descriptorTree, false);
+
+        var key = inFlightOperations.key(OperationType.PROVISION, structuredRequest);
+
+        assertTrue(key.isDefined());
+        assertEquals(inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false)), key);
+    }
+
+    @Test
+    void keyReadsTheDescriptorThroughTheParsedDescriptorCache() {
+        var parsedDescriptorCache =
+                new ParsedDescriptorCache(new DescriptorCacheProperties(true, 16, DataSize.ofMegabytes(1)));
+        var registry = new SimpleMeterRegistry();
+        parsedDescriptorCache.bindTo(registry);
+        var cachingInFlightOperations =
+                new InFlightOperations(true, parsedDescriptorCache, new ParserProperties(false));
+
+        var key = cachingInFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false));
+
+        assertEquals(inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false)), key);
+        assertTrue(parsedDescriptorCache.get(DESCRIPTOR, false).isRight());
+        assertEquals(
+                1.0,
+                registry.get("tech.adapter.parser.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+    }
+
+    @Test
+    void jsonDescriptorsShareTheKeyOfTheirYamlForm() {
+        var json =
+                """
+                {"componentIdToProvision": "urn:dmb:cmp:finance:sales:0:storage",
+                 "dataProduct": {"id": "urn:dmb:dp:finance:sales:0",
+                   "components": [{"id": "urn:dmb:cmp:finance:sales:0:storage", "kind": "storage"}]}}
+                """;
+
+        assertEquals(
+                inFlightOperations.key(OperationType.PROVISION, request(DESCRIPTOR, false)),
+                inFlightOperations.key(OperationType.PROVISION, request(json, false)));
+    }
+
+    @Test
+    void noKeyForUnsupportedRequests() {
+        assertTrue(inFlightOperations
+                .key(OperationType.PROVISION, request("dataProduct: {}", false))
+                .isEmpty());
+        assertTrue(inFlightOperations
+                .key(OperationType.PROVISION, request("[not: valid", false))
+                .isEmpty());
+        assertTrue(inFlightOperations
+                .key(OperationType.VALIDATE, request(DESCRIPTOR, false))
+                .isEmpty());
+    }
+
+    @Test
+    void duplicatesShareTheResultOfTheInFlightOperation() throws Exception {
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(
+                () -> inFlightOperations.execute(OperationType.PROVISION, request(DESCRIPTOR, false), () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "result";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var registry = new SimpleMeterRegistry();
+        inFlightOperations.bindTo(registry);
+
+        var duplicate = CompletableFuture.supplyAsync(
+                () -> inFlightOperations.execute(OperationType.PROVISION, request(REORDERED_DESCRIPTOR, false), () -> {
+                    calls.incrementAndGet();
+                    return "duplicate";
+                }));
+        awaitDuplicates(registry, 1.0);
+        release.countDown();
+
+        assertEquals("result", first.get(5, TimeUnit.SECONDS));
+        assertEquals("result", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(
+                "fresh",
+                inFlightOperations.execute(OperationType.PROVISION, request(DESCRIPTOR, false), () -> "fresh"));
+    }
+
+    @Test
+    void duplicatesReceiveTheExceptionOfTheInFlightOperation() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(
+                () -> inFlightOperations.execute(OperationType.UNPROVISION, request(DESCRIPTOR, false), () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalStateException("boom");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var registry = new SimpleMeterRegistry();
+        inFlightOperations.bindTo(registry);
+
+        var duplicate = CompletableFuture.supplyAsync(() ->
+                inFlightOperations.execute(OperationType.UNPROVISION, request(DESCRIPTOR, false), () -> "duplicate"));
+        awaitDuplicates(registry, 1.0, "unprovision");
+        release.countDown();
+
+        var exception = assertThrows(Exception.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void attachesTasksWhileInFlight() {
+        var request = request(DESCRIPTOR, false);
+        var first = new TaskToken("first");
+        var second = new TaskToken("second");
+
+        assertEquals(Option.none(), inFlightOperations.attachTask(OperationType.PROVISION, request, first, t -> true));
+        assertEquals(
+                Option.some(first),
+                inFlightOperations.attachTask(
+                        OperationType.PROVISION, request(REORDERED_DESCRIPTOR, false), second, t -> true));
+        assertEquals(
+                Option.none(),
+                inFlightOperations.attachTask(OperationType.UNPROVISION, request, new TaskToken("third"), t -> true));
+    }
+
+    @Test
+    void replacesTasksNoLongerInFlight() {
+        var first = new TaskToken("first");
+        var second = new TaskToken("second");
+        inFlightOperations.attachTask(OperationType.PROVISION, request(DESCRIPTOR, false), first, t -> true);
+
+        assertEquals(
+                Option.none(),
+                inFlightOperations.attachTask(OperationType.PROVISION, request(DESCRIPTOR, false), second, t -> false));
+        inFlightOperations.detachTask(first);
+        assertEquals(
+                Option.some(second),
+                inFlightOperations.attachTask(
+                        OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("third"), t -> true));
+        inFlightOperations.detachTask(second);
+        assertEquals(
+                Option.none(),
+                inFlightOperations.attachTask(
+                        OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("fourth"), t -> true));
+    }
+
+    @Test
+    void checksTasksInFlightWithoutBlockingOtherRequests() throws Exception {
+        var first = new TaskToken("first");
+        inFlightOperations.attachTask(OperationType.PROVISION, request(DESCRIPTOR, false), first, t -> true);
+        var checking = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var slowCheck = CompletableFuture.supplyAsync(() -> inFlightOperations.attachTask(
+                OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("second"), t -> {
+                    checking.countDown();
+                    try {
+                        return release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+        assertTrue(checking.await(5, TimeUnit.SECONDS));
+        var otherCheck = CompletableFuture.supplyAsync(() -> inFlightOperations.attachTask(
+                OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("third"), t -> true));
+
+        assertEquals(Option.some(first), otherCheck.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals(Option.some(first), slowCheck.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void doesNotCoalesceWhenDisabled() {
+        var disabled = new InFlightOperations(false);
+
+        assertEquals(
+                Option.none(),
+                disabled.attachTask(
+                        OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("a"), t -> true));
+        assertEquals(
+                Option.none(),
+                disabled.attachTask(
+                        OperationType.PROVISION, request(DESCRIPTOR, false), new TaskToken("b"), t -> true));
+    }
+
+    private static ProvisioningRequest request(String descriptor, boolean removeData) {
+        return new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, descriptor, removeData);
+    }
+
+    private static void awaitDuplicates(SimpleMeterRegistry registry, double expected) throws InterruptedException {
+        awaitDuplicates(registry, expected, "provision");
+    }
+
+    private static void awaitDuplicates(SimpleMeterRegistry registry, double expected, String operation)
+            throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("tech.adapter.coalescing.duplicates")
+                        .tag("operation", operation)
+                        .functionCounter()
+                        .count()
+                < expected) {
+            if (System.nanoTime() > deadline) fail("Duplicate not detected in time");
+            Thread.sleep(5);
+        }
+    }
+}
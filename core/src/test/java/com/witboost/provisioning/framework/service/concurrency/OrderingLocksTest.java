@@ -0,0 +1,175 @@
+package com.witboost.provisioning.framework.service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class OrderingLocksTest {
+
+    private final OrderingLocks orderingLocks = new OrderingLocks(new OrderingProperties(true, 1024));
+
+    @Test
+    void serializesOperationsOnTheSameComponent() throws Exception {
+        var events = Collections.synchronizedList(new ArrayList<String>());
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> orderingLocks.execute("dp", "cmp", () -> {
+            events.add("first-start");
+            started.countDown();
+            await(release);
+            events.add("first-end");
+            return Either.<FailedOperation, String>right("first");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        var second = CompletableFuture.supplyAsync(() -> orderingLocks.execute("dp", "cmp", () -> {
+            events.add("second");
+            return Either.<FailedOperation, String>right("second");
+        }));
+        awaitQueued(orderingLocks, "dp", "cmp");
+        release.countDown();
+
+        assertEquals(Either.right("first"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Either.right("second"), second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first-start", "first-end", "second"), events);
+    }
+
+    @Test
+    void unrelatedComponentsRunInParallel() throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> orderingLocks.execute("dp", "cmp", () -> {
+            started.countDown();
+            await(release);
+            return Either.<FailedOperation, String>right("first");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var otherComponent = findNonCollidingComponent();
+
+        assertEquals(
+                Either.right("other"),
+                CompletableFuture.supplyAsync(() -> orderingLocks.execute(
+                                "dp", otherComponent, () -> Either.<FailedOperation, String>right("other")))
+                        .get(5, TimeUnit.SECONDS));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void recordsLockWaitTime() {
+        var registry = new SimpleMeterRegistry();
+        orderingLocks.bindTo(registry);
+
+        orderingLocks.execute("dp", "cmp", () -> Either.right("done"));
+
+        assertEquals(1, registry.get("tech.adapter.ordering.lock.wait").timer().count());
+    }
+
+    @Test
+    void interruptedWaitReturnsFailedOperation() throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(() -> orderingLocks.execute("dp", "cmp", () -> {
+            started.countDown();
+            await(release);
+            return Either.right("first");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        var result = orderingLocks.execute("dp", "cmp", () -> Either.right("second"));
+
+        assertTrue(Thread.interrupted());
+        assertTrue(result.isLeft());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void asynchronousTaskWaitsWithoutHoldingItsThread() throws Exception {
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> orderingLocks.execute("dp", "cmp", () -> {
+            started.countDown();
+            await(release);
+            return Either.<FailedOperation, String>right("first");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var reservation = new Bulkhead.Reservation();
+
+        reservation.run(() -> {
+            var ex = assertThrows(
+                    BulkheadFullException.class,
+                    () -> orderingLocks.execute("dp", "cmp", () -> Either.right("second")));
+            assertSame(orderingLocks.stripe("dp", "cmp"), ex.getBulkhead());
+        });
+        var resumed = new CompletableFuture<Bulkhead.Permit>();
+        orderingLocks.stripe("dp", "cmp").await(resumed::complete, rejection -> {});
+        release.countDown();
+        reservation.add(resumed.get(5, TimeUnit.SECONDS));
+        var result = new ArrayList<Either<FailedOperation, String>>();
+        reservation.run(() -> result.add(orderingLocks.execute("dp", "cmp", () -> Either.right("second"))));
+
+        assertEquals(Either.right("first"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Either.right("second")), result);
+    }
+
+    @Test
+    void asynchronousTaskKeepsItsStripeWhileWaitingForItsComponentKind() {
+        var componentKind = new Bulkhead("storage", new BulkheadProperties.Limits(0, 1, Duration.ofSeconds(5)));
+        var reservation = new Bulkhead.Reservation();
+
+        reservation.run(() -> assertThrows(
+                BulkheadFullException.class,
+                () -> orderingLocks.execute("dp", "cmp", () -> componentKind.execute(() -> Either.right("first")))));
+
+        assertThrows(BulkheadFullException.class, () -> new Bulkhead.Reservation()
+                .run(() -> orderingLocks.execute("dp", "cmp", () -> Either.right("second"))));
+        reservation.release();
+        assertEquals(Either.right("second"), orderingLocks.execute("dp", "cmp", () -> Either.right("second")));
+    }
+
+    @Test
+    void doesNotLockWhenDisabled() {
+        var disabled = OrderingLocks.disabled();
+
+        var result = disabled.execute("dp", "cmp", () -> disabled.execute("dp", "cmp", () -> Either.right("nested")));
+
+        assertEquals(Either.right("nested"), result);
+    }
+
+    private String findNonCollidingComponent() {
+        var stripe = orderingLocks.stripe("dp", "cmp");
+        for (int i = 0; ; i++) {
+            if (orderingLocks.stripe("dp", "cmp" + i) != stripe) return "cmp" + i;
+        }
+    }
+
+    private static void awaitQueued(OrderingLocks orderingLocks, String dataProductId, String componentId)
+            throws InterruptedException {
+        var stripe = orderingLocks.stripe(dataProductId, componentId);
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stripe.queued() == 0) {
+            if (System.nanoTime() > deadline) fail("Operation not queued in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
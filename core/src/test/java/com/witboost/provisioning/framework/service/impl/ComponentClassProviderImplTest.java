@@ -6,6 +6,7 @@ import com.witboost.provisioning.model.OutputPort;
 import com.witboost.provisioning.model.StorageArea;
 import com.witboost.provisioning.model.Workload;
 import io.vavr.control.Option;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +20,9 @@ class ComponentClassProviderImplTest {
         Assertions.assertEquals(classProvider.get("storageUseCaseTemplateId"), Option.of(StorageArea.class));
         Assertions.assertEquals(classProvider.get("workloadUseCaseTemplateId"), Option.of(Workload.class));
         Assertions.assertEquals(classProvider.get("outputPortUseCaseTemplateId"), Option.of(OutputPort.class));
+        Assertions.assertEquals(
+                Set.of("storageUseCaseTemplateId", "workloadUseCaseTemplateId", "outputPortUseCaseTemplateId"),
+                classProvider.useCaseTemplateIds());
     }
 
     @Test
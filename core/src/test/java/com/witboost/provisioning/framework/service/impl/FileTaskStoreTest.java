@@ -0,0 +1,275 @@
+package com.witboost.provisioning.framework.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.common.Log;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ReverseProvisionOperationStatus;
+import com.witboost.provisioning.model.status.ValidationInfo;
+import com.witboost.provisioning.model.status.ValidationOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileTaskStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testTasksAreRecoveredAfterRestart() throws IOException {
+        var token = new TaskToken("provision");
+        var log = new Log(OffsetDateTime.now(), Log.LogLevelEnum.INFO, "Provisioned", Optional.of("deploy"));
+        var completed = ProvisionOperationStatus.createProvisionOperationStatus(
+                OperationStatus.OperationStatusEnum.COMPLETED,
+                token,
+                ProvisionInfo.builder()
+                        .publicInfo(Optional.of(Map.of("url", "https://example.com")))
+                        .log(log)
+                        .logsOffset(3)
+                        .build());
+        var validationToken = new TaskToken("validation");
+        try (var store = newStore()) {
+            store.put(
+                    token,
+                    ProvisionOperationStatus.provisionBuilder()
+                            .operationStatus(OperationStatus.OperationStatusEnum.WAITING)
+                            .taskToken(token)
+                            .build());
+            store.update(token, completed);
+            store.put(
+                    validationToken,
+                    new ValidationOperationStatus(
+                            OperationStatus.OperationStatusEnum.COMPLETED,
+                            validationToken,
+                            ValidationInfo.invalid(List.of("error"))));
+        }
+
+        try (var store = newStore()) {
+            var status = (ProvisionOperationStatus) store.get(token).get();
+            Assertions.assertEquals(OperationStatus.OperationStatusEnum.COMPLETED, status.getOperationStatus());
+            Assertions.assertEquals(Optional.of(token), status.getTaskToken());
+            var info = status.getProvisionInfo().get();
+            Assertions.assertEquals(
+                    "https://example.com",
+                    ((JsonNode) info.getPublicInfo().get()).get("url").asText());
+            Assertions.assertTrue(info.getPrivateInfo().isEmpty());
+            Assertions.assertEquals("Provisioned", info.getLogs().get(0).getMessage());
+            Assertions.assertEquals(Optional.of("deploy"), info.getLogs().get(0).getPhase());
+            Assertions.assertEquals(3, info.getLogsOffset());
+            Assertions.assertTrue(
+                    log.getTimestamp().isEqual(info.getLogs().get(0).getTimestamp()));
+
+            var validation =
+                    (ValidationOperationStatus) store.get(validationToken).get();
+            Assertions.assertEquals(
+                    ValidationInfo.invalid(List.of("error")),
+                    validation.getValidationInfo().get());
+        }
+    }
+
+    @Test
+    void testRunningTasksAreFailedAfterRestart() throws IOException {
+        var token = new TaskToken("reverse");
+        try (var store = newStore()) {
+            store.put(
+                    token,
+                    ReverseProvisionOperationStatus.builder()
+                            .operationStatus(OperationStatus.OperationStatusEnum.RUNNING)
+                            .taskToken(token)
+                            .build());
+        }
+
+        try (var store = newStore()) {
+            var status = (ReverseProvisionOperationStatus) store.get(token).get();
+            Assertions.assertEquals(OperationStatus.OperationStatusEnum.FAILED, status.getOperationStatus());
+            var logs = status.getReverseProvisionInfo().get().getLogs();
+            Assertions.assertEquals(
+                    FileTaskStore.INTERRUPTED_MESSAGE, logs.get(logs.size() - 1).getMessage());
+        }
+
+        try (var store = newStore()) {
+            Assertions.assertEquals(
+                    OperationStatus.OperationStatusEnum.FAILED,
+                    store.get(token).get().getOperationStatus());
+        }
+    }
+
+    @Test
+    void testExpiredTasksAreNotRecovered() throws IOException {
+        var token = new TaskToken("token");
+        try (var store = newStore()) {
+            store.put(token, completed(token));
+            store.expire(token);
+        }
+
+        try (var store = newStore()) {
+            Assertions.assertTrue(store.get(token).isEmpty());
+        }
+    }
+
+    @Test
+    void testLogIsCompacted() throws IOException {
+        try (var store = new FileTaskStore(
+                directory, 256, Duration.ofHours(1), new InMemoryTaskStore(100, Duration.ofHours(1)), objectMapper)) {
+            for (int i = 0; i < 20; i++) {
+                var token = new TaskToken("token-" + i);
+                store.put(token, completed(token));
+                store.flush();
+            }
+        }
+
+        Assertions.assertEquals(1, countFiles(".snap"));
+        Assertions.assertTrue(countFiles(".log") <= 2);
+        try (var store = newStore()) {
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertTrue(store.get(new TaskToken("token-" + i)).isDefined());
+            }
+        }
+    }
+
+    @Test
+    void testTruncatedRecordIsIgnored() throws IOException {
+        var token = new TaskToken("token");
+        try (var store = newStore()) {
+            store.put(token, completed(token));
+        }
+        try (var files = Files.list(directory)) {
+            var segment = files.filter(file -> file.toString().endsWith(".log"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+            Files.write(segment, new byte[] {0, 0, 1, 0, 1, 2}, StandardOpenOption.APPEND);
+        }
+
+        try (var store = newStore()) {
+            Assertions.assertTrue(store.get(token).isDefined());
+        }
+    }
+
+    @Test
+    void testConcurrentTransitionsAreRecoveredInOrder() throws Exception {
+        var token = new TaskToken("concurrent");
+        long expectedOffset;
+        try (var store = newStore()) {
+            store.put(token, completed(token));
+            var executor = Executors.newFixedThreadPool(4);
+            try {
+                var writers = new ArrayList<Future<?>>();
+                for (int writer = 0; writer < 4; writer++) {
+                    var first = writer * 1000;
+                    writers.add(executor.submit(() -> {
+                        for (int i = first; i < first + 1000; i++) store.update(token, completed(token, i));
+                    }));
+                }
+                for (var writer : writers) writer.get();
+            } finally {
+                executor.shutdown();
+            }
+            expectedOffset = ((ProvisionOperationStatus) store.get(token).get())
+                    .getProvisionInfo()
+                    .get()
+                    .getLogsOffset();
+        }
+
+        try (var store = newStore()) {
+            var status = (ProvisionOperationStatus) store.get(token).get();
+            Assertions.assertEquals(
+                    expectedOffset, status.getProvisionInfo().get().getLogsOffset());
+        }
+    }
+
+    @Test
+    void testFailedWritesAreRetriedAndRejectFollowingTransitions() throws IOException {
+        var first = new TaskToken("first");
+        var second = new TaskToken("second");
+        var store = new FileTaskStore(
+                directory, 1, Duration.ofHours(1), new InMemoryTaskStore(100, Duration.ofHours(1)), objectMapper);
+        try (var files = Files.list(directory)) {
+            for (var file : files.toList()) Files.delete(file);
+        }
+        Files.delete(directory);
+
+        store.put(first, completed(first));
+        store.flush();
+        Assertions.assertThrows(UncheckedIOException.class, () -> store.put(second, completed(second)));
+        Assertions.assertTrue(store.get(second).isEmpty());
+
+        Files.createDirectories(directory);
+        store.flush();
+        store.put(second, completed(second));
+        store.close();
+
+        try (var recovered = newStore()) {
+            Assertions.assertTrue(recovered.get(first).isDefined());
+            Assertions.assertTrue(recovered.get(second).isDefined());
+        }
+    }
+
+    @Test
+    void testTransitionsWhichCantBeEncodedAreRejected() throws IOException {
+        var token = new TaskToken("unsupported");
+        try (var store = newStore()) {
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> store.put(
+                            token,
+                            new OperationStatus(OperationStatus.OperationStatusEnum.COMPLETED, Optional.of(token)) {
+                                @Override
+                                public OperationType getOperationType() {
+                                    return OperationType.PROVISION;
+                                }
+                            }));
+            Assertions.assertTrue(store.get(token).isEmpty());
+        }
+    }
+
+    private FileTaskStore newStore() {
+        return new FileTaskStore(
+                directory,
+                1024 * 1024,
+                Duration.ofMillis(10),
+                new InMemoryTaskStore(100, Duration.ofHours(1)),
+                objectMapper);
+    }
+
+    private ProvisionOperationStatus completed(TaskToken token) {
+        return ProvisionOperationStatus.provisionBuilder()
+                .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                .taskToken(token)
+                .build();
+    }
+
+    private ProvisionOperationStatus completed(TaskToken token, long logsOffset) {
+        return ProvisionOperationStatus.provisionBuilder()
+                .operationStatus(OperationStatus.OperationStatusEnum.COMPLETED)
+                .taskToken(token)
+                .provisionInfo(ProvisionInfo.builder().logsOffset(logsOffset).build())
+                .build();
+    }
+
+    private long countFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).count();
+        }
+    }
+}
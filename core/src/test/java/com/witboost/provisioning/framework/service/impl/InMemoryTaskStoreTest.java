@@ -0,0 +1,147 @@
+package com.witboost.provisioning.framework.service.impl;
+
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryTaskStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testPutAndGet() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        var status = status(OperationStatus.OperationStatusEnum.WAITING);
+
+        store.put(token, status);
+
+        Assertions.assertEquals(status, store.get(token).get());
+        Assertions.assertTrue(store.get(new TaskToken("other")).isEmpty());
+    }
+
+    @Test
+    void testUpdate() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        store.put(token, status(OperationStatus.OperationStatusEnum.WAITING));
+        var completed = status(OperationStatus.OperationStatusEnum.COMPLETED);
+
+        Assertions.assertTrue(store.update(token, completed));
+        Assertions.assertEquals(completed, store.get(token).get());
+    }
+
+    @Test
+    void testUpdateMissingTask() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+
+        Assertions.assertFalse(
+                store.update(new TaskToken("token"), status(OperationStatus.OperationStatusEnum.RUNNING)));
+        Assertions.assertEquals(0, store.size());
+    }
+
+    @Test
+    void testCompletedTaskExpiresAfterTimeToLive() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        store.put(token, status(OperationStatus.OperationStatusEnum.RUNNING));
+        store.update(token, status(OperationStatus.OperationStatusEnum.COMPLETED));
+
+        clock.advance(Duration.ofMinutes(4));
+        Assertions.assertTrue(store.get(token).isDefined());
+
+        clock.advance(Duration.ofMinutes(1));
+        Assertions.assertTrue(store.get(token).isEmpty());
+        Assertions.assertFalse(store.update(token, status(OperationStatus.OperationStatusEnum.FAILED)));
+    }
+
+    @Test
+    void testRunningTaskNeverExpires() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        store.put(token, status(OperationStatus.OperationStatusEnum.RUNNING));
+
+        clock.advance(Duration.ofDays(1));
+
+        Assertions.assertTrue(store.get(token).isDefined());
+    }
+
+    @Test
+    void testExpiredTasksAreEvictedOnWrite() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        store.put(new TaskToken("first"), status(OperationStatus.OperationStatusEnum.FAILED));
+        store.put(new TaskToken("second"), status(OperationStatus.OperationStatusEnum.COMPLETED));
+
+        clock.advance(Duration.ofMinutes(10));
+        store.put(new TaskToken("third"), status(OperationStatus.OperationStatusEnum.WAITING));
+
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    void testOldestCompletedTasksAreEvictedOverCapacity() {
+        var store = new InMemoryTaskStore(2, Duration.ofMinutes(5), clock);
+        var running = new TaskToken("running");
+        var first = new TaskToken("first");
+        var second = new TaskToken("second");
+        store.put(running, status(OperationStatus.OperationStatusEnum.RUNNING));
+        store.put(first, status(OperationStatus.OperationStatusEnum.RUNNING));
+        store.put(second, status(OperationStatus.OperationStatusEnum.RUNNING));
+
+        store.update(first, status(OperationStatus.OperationStatusEnum.COMPLETED));
+        Assertions.assertTrue(store.get(first).isEmpty());
+
+        store.update(second, status(OperationStatus.OperationStatusEnum.COMPLETED));
+        Assertions.assertEquals(2, store.size());
+        Assertions.assertTrue(store.get(running).isDefined());
+        Assertions.assertTrue(store.get(second).isDefined());
+    }
+
+    @Test
+    void testExpire() {
+        var store = new InMemoryTaskStore(10, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        store.put(token, status(OperationStatus.OperationStatusEnum.WAITING));
+
+        store.expire(token);
+
+        Assertions.assertTrue(store.get(token).isEmpty());
+    }
+
+    private ProvisionOperationStatus status(OperationStatus.OperationStatusEnum status) {
+        return ProvisionOperationStatus.provisionBuilder()
+                .operationStatus(status)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import com.witboost.provisioning.framework.service.impl.ComponentClassProviderImpl;
+import com.witboost.provisioning.framework.service.impl.SpecificClassProviderImpl;
+import com.witboost.provisioning.model.OutputPort;
+import com.witboost.provisioning.model.Specific;
+import com.witboost.provisioning.model.StorageArea;
+import com.witboost.provisioning.model.Workload;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ComponentReaderRegistryTest {
+
+    static class NotInstantiableSpecific extends Specific {
+        NotInstantiableSpecific(String name, int value) {}
+    }
+
+    @Test
+    void registersMappedUseCaseTemplateIds() {
+        var registry = new ComponentReaderRegistry(
+                ComponentClassProviderImpl.defaultComponentsImpl("storage", "workload", "outputport"),
+                SpecificClassProviderImpl.builder()
+                        .withDefaultSpecificClass(Specific.class)
+                        .build());
+
+        Assertions.assertEquals(StorageArea.class, registry.get("storage").get().componentClass());
+        Assertions.assertEquals(Workload.class, registry.get("workload").get().componentClass());
+        Assertions.assertEquals(
+                OutputPort.class, registry.get("outputport").get().componentClass());
+        Assertions.assertEquals(Specific.class, registry.get("outputport").get().specificClass());
+        Assertions.assertTrue(registry.get("another").isEmpty());
+    }
+
+    @Test
+    void skipsUseCaseTemplateIdsWithoutSpecificClass() {
+        var registry = new ComponentReaderRegistry(
+                ComponentClassProviderImpl.defaultComponentsImpl("storage", null, null),
+                SpecificClassProviderImpl.builder().build());
+
+        Assertions.assertTrue(registry.get("storage").isEmpty());
+    }
+
+    @Test
+    void failsOnSpecificClassThatCantBeDeserialized() {
+        var componentClassProvider = ComponentClassProviderImpl.builder()
+                .withComponentClass("storage", StorageArea.class)
+                .build();
+        var specificClassProvider = SpecificClassProviderImpl.builder()
+                .withSpecificClass("storage", NotInstantiableSpecific.class)
+                .build();
+
+        var exception = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new ComponentReaderRegistry(componentClassProvider, specificClassProvider));
+
+        Assertions.assertTrue(exception.getMessage().contains("'storage'"));
+        Assertions.assertTrue(exception.getMessage().contains(NotInstantiableSpecific.class.getName()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ParsedDescriptorCacheTest {
+
+    private static final String DESCRIPTOR =
+            """
+            dataProduct:
+              id: urn:dmb:dp:finance:sales:0
+              components:
+                - id: urn:dmb:cmp:finance:sales:0:storage
+                  kind: storage
+            componentIdToProvision: urn:dmb:cmp:finance:sales:0:storage
+            """;
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    private final Function<String, Either<FailedOperation, JsonNode>> parser = descriptor -> {
+        parsed.incrementAndGet();
+        return Parser.parseComponentDescriptorTree(descriptor);
+    };
+
+    @Test
+    void parsesEachDescriptorOnce() {
+        var cache = cache(10, DataSize.ofMegabytes(1));
+
+        var first = cache.get(DESCRIPTOR, false, parser);
+        var second = cache.get(DESCRIPTOR, false, parser);
+
+        assertEquals(1, parsed.get());
+        assertEquals(first.get(), second.get());
+        assertNotSame(first.get(), second.get());
+    }
+
+    @Test
+    void neverHandsOutTheCachedTree() {
+        var cache = cache(10, DataSize.ofMegabytes(1));
+
+        var first = cache.get(DESCRIPTOR, false, parser).get();
+        ((ObjectNode) first.path("dataProduct").path("components").get(0)).put("kind", "workload");
+        var second = cache.get(DESCRIPTOR, false, parser).get();
+        ((ObjectNode) second).remove("componentIdToProvision");
+
+        assertEquals(
+                "storage",
+                cache.get(DESCRIPTOR, false, parser)
+                        .get()
+                        .path("dataProduct")
+                        .path("components")
+                        .get(0)
+                        .path("kind")
+                        .textValue());
+        assertTrue(cache.get(DESCRIPTOR, false, parser).get().has("componentIdToProvision"));
+    }
+
+    @Test
+    void keysDependOnContentAndParsingMode() {
+        var cache = cache(10, DataSize.ofMegabytes(1));
+
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR, true, parser);
+        cache.get(DESCRIPTOR.replace("sales:0:storage\n", "sales:0:other\n"), false, parser);
+
+        assertEquals(3, parsed.get());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedDescriptors() {
+        var cache = cache(2, DataSize.ofMegabytes(1));
+        var other = DESCRIPTOR.replace("finance", "marketing");
+        var another = DESCRIPTOR.replace("finance", "hr");
+
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(other, false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(another, false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+        assertEquals(3, parsed.get());
+
+        cache.get(other, false, parser);
+        assertEquals(4, parsed.get());
+    }
+
+    @Test
+    void evictsByWeight() {
+        var cache = cache(10, DataSize.ofBytes(DESCRIPTOR.length() + 10));
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR.replace("finance", "hr"), false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR + "#" + "x".repeat(DESCRIPTOR.length()), false, parser);
+
+        assertEquals(4, parsed.get());
+        assertEquals(
+                2,
+                registry.get("tech.adapter.parser.cache.evictions")
+                        .functionCounter()
+                        .count());
+        assertEquals(1, registry.get("tech.adapter.parser.cache.size").gauge().value());
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        var cache = cache(10, DataSize.ofMegabytes(1));
+
+        assertTrue(cache.get("dataProduct: [", false, parser).isLeft());
+        assertTrue(cache.get("dataProduct: [", false, parser).isLeft());
+
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        var cache = cache(10, DataSize.ofMegabytes(1));
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+
+        assertEquals(
+                2,
+                registry.get("tech.adapter.parser.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                1,
+                registry.get("tech.adapter.parser.cache.requests")
+                        .tag("result", "miss")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                DESCRIPTOR.length(),
+                registry.get("tech.adapter.parser.cache.weight").gauge().value());
+    }
+
+    @Test
+    void disabledCacheAlwaysParses() {
+        var cache = ParsedDescriptorCache.disabled();
+
+        cache.get(DESCRIPTOR, false, parser);
+        cache.get(DESCRIPTOR, false, parser);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(2, parsed.get());
+    }
+
+    private static ParsedDescriptorCache cache(int maxEntries, DataSize maxWeight) {
+        return new ParsedDescriptorCache(new DescriptorCacheProperties(true, maxEntries, maxWeight));
+    }
+}
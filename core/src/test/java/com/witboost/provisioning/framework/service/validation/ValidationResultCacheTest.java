@@ -0,0 +1,204 @@
+package com.witboost.provisioning.framework.service.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.Specific;
+import com.witboost.provisioning.model.common.FailedOperation;
+import com.witboost.provisioning.model.common.Problem;
+import com.witboost.provisioning.model.request.OperationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ValidationResultCacheTest {
+
+    private static final String DESCRIPTOR = "dataProduct: {}\ncomponentIdToProvision: cmp\n";
+
+    private final MutableClock clock = new MutableClock();
+    private final ValidationResultCache cache =
+            new ValidationResultCache(new ValidationCacheProperties(true, Duration.ofMinutes(5), 2), clock);
+
+    private final CountingValidationService service = new CountingValidationService(false);
+    private final CountingValidationService reusableService = new CountingValidationService(true);
+
+    @Test
+    void reusesSuccessfulValidationsOfTheSameOperation() {
+        assertTrue(validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service).isRight());
+        assertTrue(validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service).isRight());
+
+        assertEquals(1, service.calls.get());
+    }
+
+    @Test
+    void keysDependOnDescriptorComponentAndOperation() {
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR + "# changed\n", "cmp", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "other", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "cmp", OperationType.PROVISION, service);
+
+        assertEquals(4, service.calls.get());
+    }
+
+    @Test
+    void sharesValidateAndProvisionResultsOfReusableServices() {
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, reusableService);
+        validate(DESCRIPTOR, "cmp", OperationType.PROVISION, reusableService);
+        validate(DESCRIPTOR, "cmp", OperationType.UNPROVISION, reusableService);
+
+        assertEquals(2, reusableService.calls.get());
+    }
+
+    @Test
+    void expiresValidationsAfterTheirTimeToLive() {
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+        clock.advance(Duration.ofMinutes(4));
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+        clock.advance(Duration.ofMinutes(1));
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+
+        assertEquals(2, service.calls.get());
+    }
+
+    @Test
+    void evictsTheOldestValidations() {
+        validate(DESCRIPTOR, "first", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "second", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "third", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "third", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "second", OperationType.VALIDATE, service);
+        assertEquals(3, service.calls.get());
+
+        validate(DESCRIPTOR, "first", OperationType.VALIDATE, service);
+        assertEquals(4, service.calls.get());
+    }
+
+    @Test
+    void reusesSuccessfulValidationsOfStructuredDescriptors() {
+        var descriptor = JsonNodeFactory.instance.objectNode().put("componentIdToProvision", "cmp");
+
+        for (var tree :
+                List.of(descriptor, descriptor.deepCopy(), descriptor.deepCopy().put("changed", true)))
+            cache.validate(
+                    tree, "cmp", OperationType.VALIDATE, service, () -> service.validate(null, OperationType.VALIDATE));
+
+        assertEquals(2, service.calls.get());
+    }
+
+    @Test
+    void neverCachesFailures() {
+        var failed = new FailedOperation("invalid", List.of(new Problem("invalid")));
+        var calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            var result = cache.validate(() -> DESCRIPTOR, "cmp", OperationType.VALIDATE, service, () -> {
+                calls.incrementAndGet();
+                return Either.left(failed);
+            });
+            assertEquals(failed, result.getLeft());
+        }
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+        validate(DESCRIPTOR, "cmp", OperationType.VALIDATE, service);
+
+        assertEquals(
+                2,
+                registry.get("tech.adapter.validation.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                1,
+                registry.get("tech.adapter.validation.cache.requests")
+                        .tag("result", "miss")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                1, registry.get("tech.adapter.validation.cache.size").gauge().value());
+    }
+
+    @Test
+    void disabledCacheAlwaysValidatesWithoutReadingTheDescriptor() {
+        var disabled = ValidationResultCache.disabled();
+
+        for (int i = 0; i < 2; i++) {
+            disabled.validate(
+                    () -> fail("The descriptor must not be read"),
+                    "cmp",
+                    OperationType.VALIDATE,
+                    service,
+                    () -> service.validate(null, OperationType.VALIDATE));
+        }
+
+        assertEquals(2, service.calls.get());
+    }
+
+    private Either<FailedOperation, Void> validate(
+            String descriptor, String componentId, OperationType operationType, ComponentValidationService service) {
+        return cache.validate(
+                () -> descriptor, componentId, operationType, service, () -> service.validate(null, operationType));
+    }
+
+    private static class CountingValidationService implements ComponentValidationService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final boolean reusable;
+
+        CountingValidationService(boolean reusable) {
+            this.reusable = reusable;
+        }
+
+        @Override
+        public Either<FailedOperation, Void> validate(
+                OperationRequest<?, ? extends Specific> operationRequest, OperationType operationType) {
+            calls.incrementAndGet();
+            return Either.right(null);
+        }
+
+        @Override
+        public boolean isReusableAcrossOperationTypes() {
+            return reusable;
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
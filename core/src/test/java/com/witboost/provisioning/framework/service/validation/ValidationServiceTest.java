@@ -1,21 +1,30 @@
 package com.witboost.provisioning.framework.service.validation;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.witboost.provisioning.autoconfigure.ValidationAutoConfiguration;
 import com.witboost.provisioning.framework.common.ErrorConstants;
+import com.witboost.provisioning.framework.controller.StructuredProvisioningRequest;
 import com.witboost.provisioning.framework.openapi.model.*;
 import com.witboost.provisioning.framework.service.ComponentClassProvider;
 import com.witboost.provisioning.framework.service.SpecificClassProvider;
+import com.witboost.provisioning.framework.service.impl.ComponentClassProviderImpl;
+import com.witboost.provisioning.framework.service.impl.SpecificClassProviderImpl;
 import com.witboost.provisioning.framework.util.ResourceUtils;
 import com.witboost.provisioning.model.*;
 import com.witboost.provisioning.model.common.Constants;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
 import com.witboost.provisioning.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
 import io.vavr.control.Option;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -24,6 +33,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
 class MyComponent<T> extends Component<T> {}
 
@@ -40,6 +50,15 @@ public class ValidationServiceTest {
     @Mock
     SpecificClassProvider specificClassProvider;
 
+    @Spy
+    ParserProperties parserProperties = new ParserProperties(false);
+
+    @Spy
+    ParsedDescriptorCache parsedDescriptorCache = ParsedDescriptorCache.disabled();
+
+    @Spy
+    ValidationResultCache validationResultCache = ValidationResultCache.disabled();
+
     @InjectMocks
     ValidationServiceImpl service;
 
@@ -65,6 +84,230 @@ public class ValidationServiceTest {
         Assertions.assertEquals(unimplementedFailedOperation, actualResult.getLeft());
     }
 
+    @Test
+    public void testValidateOutputPortWithRegisteredClasses() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false);
+        String useCaseTemplateId = "urn:dmb:utm:cdp-private-hdfs-outputport-template:0.0.0";
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), eq(OperationType.VALIDATE)))
+                .thenReturn(Either.right(null));
+        var registeredService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                ComponentClassProviderImpl.builder()
+                        .withComponentClass(useCaseTemplateId, OutputPort.class)
+                        .build(),
+                SpecificClassProviderImpl.builder()
+                        .withSpecificClass(useCaseTemplateId, Specific.class)
+                        .build());
+
+        var actualResult = registeredService.validate(provisioningRequest, OperationType.VALIDATE);
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertInstanceOf(
+                OutputPort.class, actualResult.get().getComponent().get());
+    }
+
+    @Test
+    public void testValidateOutputPortWithSelectiveParsing() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false);
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), eq(OperationType.VALIDATE)))
+                .thenReturn(Either.right(null));
+        var selectiveService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider,
+                new ParserProperties(true));
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        var actualResult = selectiveService.validate(provisioningRequest, OperationType.VALIDATE);
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertEquals(
+                "urn:dmb:cmp:healthcare:vaccinations:0:hdfs-output-port",
+                actualResult.get().getComponent().get().getId());
+        Assertions.assertEquals(
+                1, actualResult.get().getDataProduct().getComponents().size());
+    }
+
+    @Test
+    public void testValidateOutputPortWithStructuredDescriptor() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest = new StructuredProvisioningRequest(
+                DescriptorKind.COMPONENT_DESCRIPTOR,
+                Parser.stringToJsonNode(ymlDescriptor).get(),
+                false);
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), eq(OperationType.VALIDATE)))
+                .thenReturn(Either.right(null));
+        var structuredService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider);
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        var actualResult = structuredService.validate(provisioningRequest, OperationType.VALIDATE);
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertEquals(
+                "urn:dmb:cmp:healthcare:vaccinations:0:hdfs-output-port",
+                actualResult.get().getComponent().get().getId());
+    }
+
+    @Test
+    public void testValidateReusesCachedDescriptors() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false);
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), any())).thenReturn(Either.right(null));
+        var cache = new ParsedDescriptorCache(new DescriptorCacheProperties(true, 10, DataSize.ofMegabytes(1)));
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        var cachedService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider,
+                parserProperties,
+                cache);
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        var validated = cachedService.validate(provisioningRequest, OperationType.VALIDATE);
+        validated.get().getDataProduct().setName("changed");
+        validated.get().getComponent().get().setName("changed");
+        validated.get().getDataProduct().getComponents().forEach(component -> ((ObjectNode) component).removeAll());
+        var provisioned = cachedService.validate(provisioningRequest, OperationType.PROVISION);
+
+        Assertions.assertTrue(provisioned.isRight());
+        Assertions.assertEquals(
+                1,
+                registry.get("tech.adapter.parser.cache.requests")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count());
+        Assertions.assertNotSame(
+                validated.get().getDataProduct(), provisioned.get().getDataProduct());
+        Assertions.assertNotEquals("changed", provisioned.get().getDataProduct().getName());
+        Assertions.assertNotEquals(
+                "changed", provisioned.get().getComponent().get().getName());
+        Assertions.assertEquals(
+                Parser.parseComponentDescriptor(ymlDescriptor)
+                        .get()
+                        .getDataProduct()
+                        .toString(),
+                provisioned.get().getDataProduct().toString());
+    }
+
+    @Test
+    public void testValidateReusesSuccessfulValidations() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest =
+                new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false);
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), any())).thenReturn(Either.right(null));
+        when(outputPortValidationService.isReusableAcrossOperationTypes()).thenReturn(true);
+        var cachedService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider,
+                parserProperties,
+                parsedDescriptorCache,
+                new ValidationResultCache(new ValidationCacheProperties(true, Duration.ofMinutes(5), 10)));
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        Assertions.assertTrue(cachedService
+                .validate(provisioningRequest, OperationType.VALIDATE)
+                .isRight());
+        Assertions.assertTrue(cachedService
+                .validate(provisioningRequest, OperationType.PROVISION)
+                .isRight());
+        Assertions.assertTrue(cachedService
+                .validate(provisioningRequest, OperationType.UNPROVISION)
+                .isRight());
+
+        verify(outputPortValidationService).validate(any(), eq(OperationType.VALIDATE));
+        verify(outputPortValidationService, never()).validate(any(), eq(OperationType.PROVISION));
+        verify(outputPortValidationService).validate(any(), eq(OperationType.UNPROVISION));
+    }
+
+    @Test
+    public void testValidateFailsOnMalformedLatestEnrichedDescriptor() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest = new ProvisioningRequest(
+                        DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false)
+                .latestEnrichedDescriptor("[not: valid");
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        var checkingService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider);
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        var actualResult = checkingService.validate(provisioningRequest, OperationType.PROVISION);
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize object. Details: "));
+        verifyNoInteractions(outputPortValidationService);
+    }
+
+    @Test
+    public void testValidateParsesLatestEnrichedDescriptorOnAccess() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ProvisioningRequest provisioningRequest = new ProvisioningRequest(
+                        DescriptorKind.COMPONENT_DESCRIPTOR, ymlDescriptor, false)
+                .latestEnrichedDescriptor(ymlDescriptor);
+        var outputPortValidationService = mock(ComponentValidationService.class);
+        when(outputPortValidationService.validate(any(), eq(OperationType.PROVISION)))
+                .thenReturn(Either.right(null));
+        var lazyService = new ValidationServiceImpl(
+                ValidationConfiguration.builder()
+                        .outputPortValidationService(outputPortValidationService)
+                        .build(),
+                componentClassProvider,
+                specificClassProvider);
+
+        when(componentClassProvider.get(anyString())).thenReturn(Option.of(OutputPort.class));
+        when(specificClassProvider.get(anyString())).thenReturn(Option.of(Specific.class));
+
+        var actualResult = lazyService.validate(provisioningRequest, OperationType.PROVISION);
+
+        Assertions.assertTrue(actualResult.isRight());
+        var latestEnrichedDescriptor = actualResult.get().getLatestEnrichedDescriptor();
+        Assertions.assertTrue(latestEnrichedDescriptor.isPresent());
+        Assertions.assertTrue(latestEnrichedDescriptor.get().has("dataProduct"));
+    }
+
     @Test
     public void testValidateStorageFailureToImplement() throws IOException {
         String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_storage.yml");
@@ -129,6 +372,28 @@ public class ValidationServiceTest {
                 Constants.OUTPUTPORT_KIND, actualResult.get().getComponentKind().get());
     }
 
+    @Test
+    public void testValidateReverseProvisionMalformedCatalogInfo() {
+        ReverseProvisioningRequest reverseProvisioningRequest =
+                new ReverseProvisioningRequest("useCaseTemplateId", "development");
+        reverseProvisioningRequest.setCatalogInfo(Optional.of("[not: valid"));
+        reverseProvisioningRequest.setParams(Optional.of(Map.of(
+                "database", "importDb",
+                "tableName", "importTable")));
+
+        when(specificClassProvider.getReverseProvisioningParams(anyString())).thenReturn(Option.of(Specific.class));
+
+        var actualResult = service.validateReverseProvision(reverseProvisioningRequest);
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize object. Details: "));
+    }
+
     @Test
     public void testValidateWrongDescriptorKind() throws IOException {
         String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
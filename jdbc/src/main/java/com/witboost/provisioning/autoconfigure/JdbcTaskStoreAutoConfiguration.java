@@ -0,0 +1,111 @@
+package com.witboost.provisioning.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.service.AsyncProperties;
+import com.witboost.provisioning.framework.service.AsyncTechAdapterService;
+import com.witboost.provisioning.framework.service.PriorityTaskScheduler;
+import com.witboost.provisioning.framework.service.TaskQueue;
+import com.witboost.provisioning.framework.service.TaskQueueWorker;
+import com.witboost.provisioning.framework.service.TaskStore;
+import com.witboost.provisioning.framework.service.jdbc.JdbcDialect;
+import com.witboost.provisioning.framework.service.jdbc.JdbcTaskQueue;
+import com.witboost.provisioning.framework.service.jdbc.JdbcTaskStore;
+import com.witboost.provisioning.framework.service.jdbc.JdbcTaskStoreProperties;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Provides autoconfiguration for the shared {@link JdbcTaskStore} and {@link JdbcTaskQueue} when asynchronous operations
+ * are enabled and {@code async.task-store.type} is set to {@code jdbc}. Every replica runs a {@link TaskQueueWorker}
+ * executing the tasks claimed from the queue, up to the maximum number of tasks of its {@link PriorityTaskScheduler}.
+ * <p>
+ * The task tables are created on startup when {@code async.task-store.jdbc.initialize-schema} is set to {@code true},
+ * with the schema of the {@link JdbcDialect} set on {@code async.task-store.jdbc.dialect} or detected from the data
+ * source. See {@link JdbcDialect} for the supported databases.
+ *
+ * @see JdbcTaskStoreProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "async", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({AsyncProperties.class, JdbcTaskStoreProperties.class})
+public class JdbcTaskStoreAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "jdbc")
+    public JdbcDialect taskStoreDialect(DataSource dataSource, JdbcTaskStoreProperties jdbcTaskStoreProperties) {
+        return jdbcTaskStoreProperties.dialect() != null
+                ? jdbcTaskStoreProperties.dialect()
+                : JdbcDialect.of(dataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "jdbc")
+    public DataSourceInitializer taskStoreSchemaInitializer(
+            DataSource dataSource, JdbcTaskStoreProperties jdbcTaskStoreProperties, JdbcDialect taskStoreDialect) {
+        var initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(taskStoreDialect.schemaPopulator());
+        initializer.setEnabled(jdbcTaskStoreProperties.initializeSchema());
+        return initializer;
+    }
+
+    @Bean
+    @DependsOn("taskStoreSchemaInitializer")
+    @ConditionalOnMissingBean(TaskStore.class)
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "jdbc")
+    public JdbcTaskStore jdbcTaskStore(
+            JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, AsyncProperties asyncProperties) {
+        return new JdbcTaskStore(
+                jdbcTemplate, objectMapper, asyncProperties.taskStore().timeToLive());
+    }
+
+    @Bean
+    @DependsOn("taskStoreSchemaInitializer")
+    @ConditionalOnMissingBean(TaskQueue.class)
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "jdbc")
+    public JdbcTaskQueue jdbcTaskQueue(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            JdbcTaskStoreProperties jdbcTaskStoreProperties,
+            JdbcDialect taskStoreDialect) {
+        var replicaId = jdbcTaskStoreProperties.replicaId() != null
+                ? jdbcTaskStoreProperties.replicaId()
+                : UUID.randomUUID().toString();
+        return new JdbcTaskQueue(
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                objectMapper,
+                replicaId,
+                jdbcTaskStoreProperties.lease(),
+                taskStoreDialect);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "async.task-store", name = "type", havingValue = "jdbc")
+    public TaskQueueWorker taskQueueWorker(
+            TaskQueue taskQueue,
+            AsyncTechAdapterService asyncTechAdapterService,
+            @Qualifier(AsyncTechAdapterService.TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            PriorityTaskScheduler priorityTaskScheduler,
+            AsyncProperties asyncProperties) {
+        return new TaskQueueWorker(
+                taskQueue,
+                asyncTechAdapterService,
+                taskExecutor,
+                priorityTaskScheduler.maxConcurrent(),
+                asyncProperties.queue().pollInterval());
+    }
+}
@@ -0,0 +1,124 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import javax.sql.DataSource;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Databases supported by the {@link JdbcTaskStore} and {@link JdbcTaskQueue}, with the schema of the task tables and the
+ * query claiming the queued tasks on each of them. Claiming tasks requires row locks which can be skipped by concurrent
+ * transactions, so the supported versions are:
+ * <ul>
+ *     <li>H2 2.x</li>
+ *     <li>PostgreSQL 9.5 or later</li>
+ *     <li>MySQL 8.0 or later, and MariaDB 10.6 or later</li>
+ *     <li>Oracle Database 12.2 or later</li>
+ *     <li>Microsoft SQL Server 2016 or later</li>
+ * </ul>
+ * Other databases can be used by creating the task tables manually, as long as they support one of the claim queries.
+ */
+public enum JdbcDialect {
+    H2(
+            "h2",
+            ";",
+            "SELECT token, operation_type, request FROM tech_adapter_task_queue "
+                    + "WHERE claimed_by IS NULL OR lease_until < ? ORDER BY claim_after, created_at "
+                    + "FETCH FIRST %d ROWS ONLY FOR UPDATE SKIP LOCKED",
+            DatabaseDriver.H2),
+    POSTGRESQL(
+            "postgresql",
+            ";",
+            "SELECT token, operation_type, request FROM tech_adapter_task_queue "
+                    + "WHERE claimed_by IS NULL OR lease_until < ? ORDER BY claim_after, created_at "
+                    + "LIMIT %d FOR UPDATE SKIP LOCKED",
+            DatabaseDriver.POSTGRESQL),
+    MYSQL(
+            "mysql",
+            ";",
+            "SELECT token, operation_type, request FROM tech_adapter_task_queue "
+                    + "WHERE claimed_by IS NULL OR lease_until < ? ORDER BY claim_after, created_at "
+                    + "LIMIT %d FOR UPDATE SKIP LOCKED",
+            DatabaseDriver.MYSQL,
+            DatabaseDriver.MARIADB),
+    /**
+     * Oracle rejects row limits on queries locking rows, so the rows are limited while fetching them instead: rows are
+     * only locked once fetched when skipping locked rows
+     */
+    ORACLE(
+            "oracle",
+            "/",
+            "SELECT token, operation_type, request FROM tech_adapter_task_queue "
+                    + "WHERE claimed_by IS NULL OR lease_until < ? ORDER BY claim_after, created_at "
+                    + "FOR UPDATE SKIP LOCKED",
+            DatabaseDriver.ORACLE),
+    SQLSERVER(
+            "sqlserver",
+            ";",
+            "SELECT TOP (%d) token, operation_type, request FROM tech_adapter_task_queue "
+                    + "WITH (UPDLOCK, ROWLOCK, READPAST) "
+                    + "WHERE claimed_by IS NULL OR lease_until < ? ORDER BY claim_after, created_at",
+            DatabaseDriver.SQLSERVER);
+
+    private final String platform;
+    private final String separator;
+    private final String claimQuery;
+    private final DatabaseDriver[] drivers;
+
+    JdbcDialect(String platform, String separator, String claimQuery, DatabaseDriver... drivers) {
+        this.platform = platform;
+        this.separator = separator;
+        this.claimQuery = claimQuery;
+        this.drivers = drivers;
+    }
+
+    /**
+     * @param dataSource Data source of the database
+     * @return The dialect of the database
+     * @throws IllegalStateException If the database is not supported or can't be reached
+     */
+    public static JdbcDialect of(DataSource dataSource) {
+        String productName;
+        try {
+            productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect the database of the task store", e);
+        }
+        var driver = DatabaseDriver.fromProductName(productName);
+        return Arrays.stream(values())
+                .filter(dialect -> Arrays.asList(dialect.drivers).contains(driver))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(String.format(
+                        "The database '%s' is not supported by the task store. Set async.task-store.jdbc.dialect to "
+                                + "the dialect of a compatible database",
+                        productName)));
+    }
+
+    /**
+     * @return Classpath location of the script creating the task tables if they don't exist
+     */
+    public String schemaLocation() {
+        return String.format("com/witboost/provisioning/framework/service/jdbc/schema-%s.sql", platform);
+    }
+
+    /**
+     * @return Populator executing the script creating the task tables if they don't exist
+     */
+    public ResourceDatabasePopulator schemaPopulator() {
+        var populator = new ResourceDatabasePopulator(new ClassPathResource(schemaLocation()));
+        populator.setSeparator(separator);
+        return populator;
+    }
+
+    /**
+     * @param maxTasks Maximum number of tasks to claim
+     * @return Query locking the first claimable tasks, taking the current time as parameter
+     */
+    String claimQuery(int maxTasks) {
+        return String.format(claimQuery, maxTasks);
+    }
+}
@@ -0,0 +1,198 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.UpdateAclRequest;
+import com.witboost.provisioning.framework.service.QueuedTask;
+import com.witboost.provisioning.framework.service.TaskQueue;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link TaskQueue} implementation which stores the queued tasks on the {@code tech_adapter_task_queue} table of a
+ * relational database through JDBC.
+ * <p>
+ * Tasks are claimed with a query skipping the rows locked by other transactions, such as
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, so that concurrent replicas claim different tasks without waiting for each
+ * other. The query depends on the {@link JdbcDialect} of the database. Tasks are claimed by their enqueue time minus
+ * their head start, so that tasks of operation types with higher priority are claimed first; the queue doesn't track
+ * tenants, so tasks of the same priority are claimed in the order they were enqueued. Claimed tasks are leased to the
+ * replica identified by {@code replicaId} for the configured lease duration, after which they can be claimed by another
+ * replica unless the lease is renewed.
+ *
+ * @see JdbcTaskStore
+ */
+public class JdbcTaskQueue implements TaskQueue {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String replicaId;
+    private final Duration lease;
+    private final JdbcDialect dialect;
+    private final Clock clock;
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTaskQueue.class);
+
+    /**
+     * @param jdbcTemplate JDBC template on the database storing the queue
+     * @param transactionTemplate Transaction template used to claim the tasks atomically
+     * @param objectMapper Object mapper used to serialize the requests
+     * @param replicaId Identifier of this replica, used to mark the claimed tasks
+     * @param lease Time a claimed task is reserved to this replica without being renewed
+     */
+    public JdbcTaskQueue(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            String replicaId,
+            Duration lease) {
+        this(jdbcTemplate, transactionTemplate, objectMapper, replicaId, lease, JdbcDialect.H2);
+    }
+
+    /**
+     * @param jdbcTemplate JDBC template on the database storing the queue
+     * @param transactionTemplate Transaction template used to claim the tasks atomically
+     * @param objectMapper Object mapper used to serialize the requests
+     * @param replicaId Identifier of this replica, used to mark the claimed tasks
+     * @param lease Time a claimed task is reserved to this replica without being renewed
+     * @param dialect Dialect of the database
+     */
+    public JdbcTaskQueue(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            String replicaId,
+            Duration lease,
+            JdbcDialect dialect) {
+        this(jdbcTemplate, transactionTemplate, objectMapper, replicaId, lease, dialect, Clock.systemUTC());
+    }
+
+    JdbcTaskQueue(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            String replicaId,
+            Duration lease,
+            JdbcDialect dialect,
+            Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.replicaId = replicaId;
+        this.lease = lease;
+        this.dialect = dialect;
+        this.clock = clock;
+    }
+
+    @Override
+    public void enqueue(QueuedTask task) {
+        enqueue(task, Duration.ZERO);
+    }
+
+    @Override
+    public void enqueue(QueuedTask task, Duration headStart) {
+        String request;
+        try {
+            request = objectMapper.writeValueAsString(task.request());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        var now = clock.millis();
+        jdbcTemplate.update(
+                "INSERT INTO tech_adapter_task_queue (token, operation_type, request, created_at, claim_after) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                task.taskToken().toString(),
+                task.operationType().name(),
+                request,
+                now,
+                now - headStart.toMillis());
+    }
+
+    @Override
+    public int waiting(OperationType operationType) {
+        var waiting = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tech_adapter_task_queue WHERE operation_type = ? AND claimed_by IS NULL",
+                Integer.class,
+                operationType.name());
+        return waiting != null ? waiting : 0;
+    }
+
+    @Override
+    public List<QueuedTask> claim(int maxTasks) {
+        return transactionTemplate.execute(transaction -> {
+            var now = clock.millis();
+            var tasks = jdbcTemplate.query(
+                    connection -> {
+                        var statement = connection.prepareStatement(dialect.claimQuery(maxTasks));
+                        statement.setMaxRows(maxTasks);
+                        statement.setLong(1, now);
+                        return statement;
+                    },
+                    (resultSet, rowNumber) -> toQueuedTask(
+                            resultSet.getString("token"),
+                            OperationType.valueOf(resultSet.getString("operation_type")),
+                            resultSet.getString("request")));
+            if (tasks.isEmpty()) return tasks;
+            jdbcTemplate.batchUpdate(
+                    "UPDATE tech_adapter_task_queue SET claimed_by = ?, lease_until = ? WHERE token = ?",
+                    tasks.stream()
+                            .map(task -> new Object[] {
+                                replicaId,
+                                now + lease.toMillis(),
+                                task.taskToken().toString()
+                            })
+                            .toList());
+            logger.debug("Replica '{}' claimed {} tasks", replicaId, tasks.size());
+            return tasks;
+        });
+    }
+
+    @Override
+    public void renew(Collection<TaskToken> taskTokens) {
+        var leaseUntil = clock.millis() + lease.toMillis();
+        jdbcTemplate.batchUpdate(
+                "UPDATE tech_adapter_task_queue SET lease_until = ? WHERE token = ? AND claimed_by = ?",
+                taskTokens.stream()
+                        .map(taskToken -> new Object[] {leaseUntil, taskToken.toString(), replicaId})
+                        .toList());
+    }
+
+    @Override
+    public void release(TaskToken taskToken) {
+        jdbcTemplate.update(
+                "UPDATE tech_adapter_task_queue SET claimed_by = NULL, lease_until = NULL WHERE token = ? AND claimed_by = ?",
+                taskToken.toString(),
+                replicaId);
+    }
+
+    @Override
+    public void complete(TaskToken taskToken) {
+        jdbcTemplate.update("DELETE FROM tech_adapter_task_queue WHERE token = ?", taskToken.toString());
+    }
+
+    private QueuedTask toQueuedTask(String token, OperationType operationType, String request) {
+        var requestClass =
+                switch (operationType) {
+                    case VALIDATE, PROVISION, UNPROVISION -> ProvisioningRequest.class;
+                    case REVERSE_PROVISION -> ReverseProvisioningRequest.class;
+                    case UPDATE_ACL -> UpdateAclRequest.class;
+                };
+        try {
+            return new QueuedTask(new TaskToken(token), operationType, objectMapper.readValue(request, requestClass));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.framework.service.TaskStore;
+import com.witboost.provisioning.framework.service.impl.TaskStatusCodec;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import io.vavr.control.Option;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link TaskStore} implementation which stores the tasks on a relational database through JDBC, so that all the replicas
+ * of the Tech Adapter share the same tasks and any of them can answer the status of any task.
+ * <p>
+ * Tasks are stored on the {@code tech_adapter_task} table. Tasks in a final status ({@code COMPLETED} or {@code FAILED})
+ * expire once the configured time to live has passed since their completion, and expired tasks are periodically deleted.
+ *
+ * @see JdbcTaskQueue
+ */
+public class JdbcTaskStore implements TaskStore {
+
+    private static final long PURGE_INTERVAL_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskStatusCodec codec;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTaskStore.class);
+
+    /**
+     * @param jdbcTemplate JDBC template on the database storing the tasks
+     * @param objectMapper Object mapper used to serialize the task information
+     * @param timeToLive Time a task in a final status is kept on the store
+     */
+    public JdbcTaskStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Duration timeToLive) {
+        this(jdbcTemplate, objectMapper, timeToLive, Clock.systemUTC());
+    }
+
+    JdbcTaskStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Duration timeToLive, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = new TaskStatusCodec(objectMapper);
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(TaskToken taskToken, OperationStatus operationStatus) {
+        var now = clock.millis();
+        var completedAt = isFinal(operationStatus) ? now : null;
+        var payload = encode(taskToken, operationStatus, now);
+        var status = operationStatus.getOperationStatus().name();
+        int updated = jdbcTemplate.update(
+                "UPDATE tech_adapter_task SET status = ?, payload = ?, completed_at = ?, updated_at = ? WHERE token = ?",
+                status,
+                payload,
+                completedAt,
+                now,
+                taskToken.toString());
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO tech_adapter_task (token, status, payload, completed_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                    taskToken.toString(),
+                    status,
+                    payload,
+                    completedAt,
+                    now);
+        }
+        purgeExpired(now);
+    }
+
+    @Override
+    public boolean update(TaskToken taskToken, OperationStatus operationStatus) {
+        var now = clock.millis();
+        var payload = encode(taskToken, operationStatus, now);
+        var status = operationStatus.getOperationStatus().name();
+        var expiredBefore = now - timeToLive.toMillis();
+        int updated = isFinal(operationStatus)
+                ? jdbcTemplate.update(
+                        "UPDATE tech_adapter_task SET status = ?, payload = ?, completed_at = COALESCE(completed_at, ?), "
+                                + "updated_at = ? WHERE token = ? AND (completed_at IS NULL OR completed_at > ?)",
+                        status,
+                        payload,
+                        now,
+                        now,
+                        taskToken.toString(),
+                        expiredBefore)
+                : jdbcTemplate.update(
+                        "UPDATE tech_adapter_task SET status = ?, payload = ?, completed_at = NULL, updated_at = ? "
+                                + "WHERE token = ? AND (completed_at IS NULL OR completed_at > ?)",
+                        status,
+                        payload,
+                        now,
+                        taskToken.toString(),
+                        expiredBefore);
+        if (updated == 0) {
+            logger.warn("Task '{}' couldn't be updated as it doesn't exist or has already expired", taskToken);
+            return false;
+        }
+        purgeExpired(now);
+        return true;
+    }
+
+    @Override
+    public Option<OperationStatus> get(TaskToken taskToken) {
+        var expiredBefore = clock.millis() - timeToLive.toMillis();
+        var payloads = jdbcTemplate.queryForList(
+                "SELECT payload FROM tech_adapter_task WHERE token = ? AND (completed_at IS NULL OR completed_at > ?)",
+                String.class,
+                taskToken.toString(),
+                expiredBefore);
+        return Option.ofOptional(payloads.stream().findFirst())
+                .map(payload ->
+                        codec.decode(payload.getBytes(StandardCharsets.UTF_8)).status());
+    }
+
+    @Override
+    public void expire(TaskToken taskToken) {
+        jdbcTemplate.update("DELETE FROM tech_adapter_task WHERE token = ?", taskToken.toString());
+    }
+
+    /**
+     * Deletes the expired tasks, at most once per minute across all the calls of this replica
+     */
+    private void purgeExpired(long now) {
+        var scheduled = nextPurge.get();
+        if (now < scheduled || !nextPurge.compareAndSet(scheduled, now + PURGE_INTERVAL_MILLIS)) return;
+        try {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM tech_adapter_task WHERE completed_at <= ?", now - timeToLive.toMillis());
+            if (deleted > 0) logger.debug("Deleted {} expired tasks", deleted);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to delete expired tasks", e);
+        }
+    }
+
+    private String encode(TaskToken taskToken, OperationStatus operationStatus, long now) {
+        return new String(
+                codec.encodeStatus(taskToken, operationStatus, Instant.ofEpochMilli(now)), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isFinal(OperationStatus operationStatus) {
+        return switch (operationStatus.getOperationStatus()) {
+            case COMPLETED, FAILED -> true;
+            case WAITING, RUNNING -> false;
+        };
+    }
+}
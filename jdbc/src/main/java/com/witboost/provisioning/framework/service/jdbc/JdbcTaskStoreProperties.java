@@ -0,0 +1,20 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link JdbcTaskStore} and {@link JdbcTaskQueue}, bound from the {@code async.task-store.jdbc} prefix.
+ *
+ * @param initializeSchema Whether to create the task tables on startup if they don't exist
+ * @param lease Time a claimed task is reserved to a replica without being renewed
+ * @param replicaId Identifier of this replica on the task queue. A random identifier is generated if not set
+ * @param dialect Dialect of the database. It's detected from the data source if not set
+ */
+@ConfigurationProperties(prefix = "async.task-store.jdbc")
+public record JdbcTaskStoreProperties(
+        @DefaultValue("false") boolean initializeSchema,
+        @DefaultValue("5m") Duration lease,
+        String replicaId,
+        JdbcDialect dialect) {}
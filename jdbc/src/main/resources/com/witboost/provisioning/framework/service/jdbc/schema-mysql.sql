@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS tech_adapter_task (
+    token VARCHAR(64) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    payload LONGTEXT NOT NULL,
+    completed_at BIGINT,
+    updated_at BIGINT NOT NULL,
+    INDEX tech_adapter_task_completed_at (completed_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tech_adapter_task_queue (
+    token VARCHAR(64) PRIMARY KEY,
+    operation_type VARCHAR(32) NOT NULL,
+    request LONGTEXT NOT NULL,
+    claimed_by VARCHAR(128),
+    lease_until BIGINT,
+    created_at BIGINT NOT NULL,
+    claim_after BIGINT NOT NULL,
+    INDEX tech_adapter_task_queue_claim_after (claim_after)
+) ENGINE = InnoDB;
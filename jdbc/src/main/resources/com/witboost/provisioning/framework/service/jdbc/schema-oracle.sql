@@ -0,0 +1,53 @@
+BEGIN
+    EXECUTE IMMEDIATE 'CREATE TABLE tech_adapter_task (
+        token VARCHAR2(64) PRIMARY KEY,
+        status VARCHAR2(16) NOT NULL,
+        payload CLOB NOT NULL,
+        completed_at NUMBER(19),
+        updated_at NUMBER(19) NOT NULL
+    )';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -955 THEN
+            RAISE;
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'CREATE INDEX tech_adapter_task_completed_at ON tech_adapter_task (completed_at)';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -955 THEN
+            RAISE;
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'CREATE TABLE tech_adapter_task_queue (
+        token VARCHAR2(64) PRIMARY KEY,
+        operation_type VARCHAR2(32) NOT NULL,
+        request CLOB NOT NULL,
+        claimed_by VARCHAR2(128),
+        lease_until NUMBER(19),
+        created_at NUMBER(19) NOT NULL,
+        claim_after NUMBER(19) NOT NULL
+    )';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -955 THEN
+            RAISE;
+        END IF;
+END;
+/
+
+BEGIN
+    EXECUTE IMMEDIATE 'CREATE INDEX tech_adapter_task_queue_claim_after ON tech_adapter_task_queue (claim_after)';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE != -955 THEN
+            RAISE;
+        END IF;
+END;
+/
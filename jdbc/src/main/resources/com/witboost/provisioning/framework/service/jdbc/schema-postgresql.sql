@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS tech_adapter_task (
+    token VARCHAR(64) PRIMARY KEY,
+    status VARCHAR(16) NOT NULL,
+    payload TEXT NOT NULL,
+    completed_at BIGINT,
+    updated_at BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS tech_adapter_task_completed_at ON tech_adapter_task (completed_at);
+
+CREATE TABLE IF NOT EXISTS tech_adapter_task_queue (
+    token VARCHAR(64) PRIMARY KEY,
+    operation_type VARCHAR(32) NOT NULL,
+    request TEXT NOT NULL,
+    claimed_by VARCHAR(128),
+    lease_until BIGINT,
+    created_at BIGINT NOT NULL,
+    claim_after BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS tech_adapter_task_queue_claim_after ON tech_adapter_task_queue (claim_after);
@@ -0,0 +1,25 @@
+IF OBJECT_ID('tech_adapter_task', 'U') IS NULL
+    CREATE TABLE tech_adapter_task (
+        token VARCHAR(64) PRIMARY KEY,
+        status VARCHAR(16) NOT NULL,
+        payload NVARCHAR(MAX) NOT NULL,
+        completed_at BIGINT,
+        updated_at BIGINT NOT NULL
+    );
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'tech_adapter_task_completed_at')
+    CREATE INDEX tech_adapter_task_completed_at ON tech_adapter_task (completed_at);
+
+IF OBJECT_ID('tech_adapter_task_queue', 'U') IS NULL
+    CREATE TABLE tech_adapter_task_queue (
+        token VARCHAR(64) PRIMARY KEY,
+        operation_type VARCHAR(32) NOT NULL,
+        request NVARCHAR(MAX) NOT NULL,
+        claimed_by VARCHAR(128),
+        lease_until BIGINT,
+        created_at BIGINT NOT NULL,
+        claim_after BIGINT NOT NULL
+    );
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'tech_adapter_task_queue_claim_after')
+    CREATE INDEX tech_adapter_task_queue_claim_after ON tech_adapter_task_queue (claim_after);
@@ -0,0 +1,183 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.openapi.model.ReverseProvisioningRequest;
+import com.witboost.provisioning.framework.service.QueuedTask;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class JdbcTaskQueueTest {
+
+    private final JdbcTaskStoreTest.MutableClock clock = new JdbcTaskStoreTest.MutableClock();
+
+    private final ObjectMapper objectMapper =
+            JsonMapper.builder().findAndAddModules().build();
+
+    private DataSource dataSource;
+
+    private final ProvisioningRequest provisioningRequest =
+            new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "descriptor", false);
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcDialect.H2.schemaPopulator().execute(dataSource);
+    }
+
+    @Test
+    void testEnqueueAndClaim() {
+        var queue = newQueue("replica");
+        var reverseProvisioningRequest = new ReverseProvisioningRequest("useCaseTemplateId", "development");
+        queue.enqueue(new QueuedTask(new TaskToken("first"), OperationType.PROVISION, provisioningRequest));
+        clock.advance(Duration.ofMillis(1));
+        queue.enqueue(
+                new QueuedTask(new TaskToken("second"), OperationType.REVERSE_PROVISION, reverseProvisioningRequest));
+
+        var tasks = queue.claim(10);
+
+        Assertions.assertEquals(
+                List.of(
+                        new QueuedTask(new TaskToken("first"), OperationType.PROVISION, provisioningRequest),
+                        new QueuedTask(
+                                new TaskToken("second"), OperationType.REVERSE_PROVISION, reverseProvisioningRequest)),
+                tasks);
+        Assertions.assertTrue(queue.claim(10).isEmpty());
+    }
+
+    @Test
+    void testTasksWithHeadStartAreClaimedFirst() {
+        var queue = newQueue("replica");
+        queue.enqueue(new QueuedTask(new TaskToken("provision"), OperationType.PROVISION, provisioningRequest));
+        clock.advance(Duration.ofSeconds(10));
+        queue.enqueue(
+                new QueuedTask(new TaskToken("validate"), OperationType.VALIDATE, provisioningRequest),
+                Duration.ofSeconds(30));
+        clock.advance(Duration.ofSeconds(10));
+        queue.enqueue(
+                new QueuedTask(new TaskToken("unprovision"), OperationType.UNPROVISION, provisioningRequest),
+                Duration.ofSeconds(5));
+
+        Assertions.assertEquals(1, queue.waiting(OperationType.VALIDATE));
+        var tasks = queue.claim(10);
+
+        Assertions.assertEquals(
+                List.of(new TaskToken("validate"), new TaskToken("provision"), new TaskToken("unprovision")),
+                tasks.stream().map(QueuedTask::taskToken).toList());
+        Assertions.assertEquals(0, queue.waiting(OperationType.VALIDATE));
+    }
+
+    @Test
+    void testReplicasClaimDifferentTasks() {
+        var first = newQueue("first");
+        var second = newQueue("second");
+        for (int i = 0; i < 3; i++) {
+            first.enqueue(new QueuedTask(new TaskToken("token-" + i), OperationType.PROVISION, provisioningRequest));
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        var claimedByFirst = first.claim(2);
+        var claimedBySecond = second.claim(2);
+
+        Assertions.assertEquals(2, claimedByFirst.size());
+        Assertions.assertEquals(1, claimedBySecond.size());
+        Assertions.assertEquals(new TaskToken("token-2"), claimedBySecond.get(0).taskToken());
+    }
+
+    @Test
+    void testLockedTasksAreSkipped() throws Exception {
+        var first = newQueue("first");
+        var second = newQueue("second");
+        first.enqueue(new QueuedTask(new TaskToken("locked"), OperationType.PROVISION, provisioningRequest));
+        clock.advance(Duration.ofMillis(1));
+        first.enqueue(new QueuedTask(new TaskToken("free"), OperationType.PROVISION, provisioningRequest));
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var lockingTransaction =
+                CompletableFuture.runAsync(() -> new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                        .executeWithoutResult(transaction -> {
+                            new JdbcTemplate(dataSource)
+                                    .queryForList(
+                                            "SELECT token FROM tech_adapter_task_queue WHERE token = 'locked' FOR UPDATE",
+                                            String.class);
+                            locked.countDown();
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }));
+        Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        var claimed = second.claim(2);
+        release.countDown();
+        lockingTransaction.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, claimed.size());
+        Assertions.assertEquals(new TaskToken("free"), claimed.get(0).taskToken());
+    }
+
+    @Test
+    void testExpiredLeaseIsClaimedAgain() {
+        var first = newQueue("first");
+        var second = newQueue("second");
+        first.enqueue(new QueuedTask(new TaskToken("token"), OperationType.PROVISION, provisioningRequest));
+        first.claim(1);
+
+        clock.advance(Duration.ofMinutes(4));
+        Assertions.assertTrue(second.claim(1).isEmpty());
+
+        first.renew(Set.of(new TaskToken("token")));
+        clock.advance(Duration.ofMinutes(4));
+        Assertions.assertTrue(second.claim(1).isEmpty());
+
+        clock.advance(Duration.ofMinutes(2));
+        Assertions.assertEquals(1, second.claim(1).size());
+    }
+
+    @Test
+    void testReleaseAndComplete() {
+        var queue = newQueue("replica");
+        var token = new TaskToken("token");
+        queue.enqueue(new QueuedTask(token, OperationType.VALIDATE, provisioningRequest));
+        queue.claim(1);
+
+        queue.release(token);
+        Assertions.assertEquals(1, queue.claim(1).size());
+
+        queue.complete(token);
+        Assertions.assertEquals(
+                0,
+                new JdbcTemplate(dataSource)
+                        .queryForObject("SELECT COUNT(*) FROM tech_adapter_task_queue", Integer.class));
+    }
+
+    private JdbcTaskQueue newQueue(String replicaId) {
+        return new JdbcTaskQueue(
+                new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                objectMapper,
+                replicaId,
+                Duration.ofMinutes(5),
+                JdbcDialect.H2,
+                clock);
+    }
+}
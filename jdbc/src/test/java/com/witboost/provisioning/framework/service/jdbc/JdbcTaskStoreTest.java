@@ -0,0 +1,143 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionInfo;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class JdbcTaskStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTaskStore taskStore;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcDialect.H2.schemaPopulator().execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        taskStore = new JdbcTaskStore(jdbcTemplate, new ObjectMapper(), Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void testPutUpdateAndGet() {
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.WAITING));
+
+        Assertions.assertTrue(taskStore.update(
+                token,
+                ProvisionOperationStatus.createProvisionOperationStatus(
+                        OperationStatus.OperationStatusEnum.COMPLETED,
+                        token,
+                        ProvisionInfo.builder()
+                                .publicInfo(Optional.of(Map.of("url", "https://example.com")))
+                                .build())));
+
+        var status = (ProvisionOperationStatus) taskStore.get(token).get();
+        Assertions.assertEquals(OperationStatus.OperationStatusEnum.COMPLETED, status.getOperationStatus());
+        Assertions.assertEquals(
+                "{\"url\":\"https://example.com\"}",
+                status.getProvisionInfo().get().getPublicInfo().get().toString());
+    }
+
+    @Test
+    void testTaskIsSharedAcrossStores() {
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.RUNNING));
+
+        var otherReplica = new JdbcTaskStore(jdbcTemplate, new ObjectMapper(), Duration.ofMinutes(5), clock);
+
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.RUNNING,
+                otherReplica.get(token).get().getOperationStatus());
+    }
+
+    @Test
+    void testUpdateMissingTask() {
+        var token = new TaskToken("token");
+
+        Assertions.assertFalse(taskStore.update(token, status(token, OperationStatus.OperationStatusEnum.RUNNING)));
+    }
+
+    @Test
+    void testCompletedTaskExpires() {
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.RUNNING));
+        taskStore.update(token, status(token, OperationStatus.OperationStatusEnum.COMPLETED));
+
+        clock.advance(Duration.ofMinutes(4));
+        Assertions.assertTrue(taskStore.get(token).isDefined());
+
+        clock.advance(Duration.ofMinutes(1));
+        Assertions.assertTrue(taskStore.get(token).isEmpty());
+        Assertions.assertFalse(taskStore.update(token, status(token, OperationStatus.OperationStatusEnum.FAILED)));
+    }
+
+    @Test
+    void testExpiredTasksAreDeleted() {
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.COMPLETED));
+
+        clock.advance(Duration.ofMinutes(10));
+        taskStore.put(new TaskToken("other"), status(token, OperationStatus.OperationStatusEnum.WAITING));
+
+        Assertions.assertEquals(
+                1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tech_adapter_task", Integer.class));
+    }
+
+    @Test
+    void testExpire() {
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.WAITING));
+
+        taskStore.expire(token);
+
+        Assertions.assertTrue(taskStore.get(token).isEmpty());
+    }
+
+    private ProvisionOperationStatus status(TaskToken token, OperationStatus.OperationStatusEnum status) {
+        return ProvisionOperationStatus.provisionBuilder()
+                .operationStatus(status)
+                .taskToken(token)
+                .build();
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
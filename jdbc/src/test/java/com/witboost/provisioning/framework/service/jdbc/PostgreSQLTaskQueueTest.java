@@ -0,0 +1,151 @@
+package com.witboost.provisioning.framework.service.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.witboost.provisioning.framework.openapi.model.DescriptorKind;
+import com.witboost.provisioning.framework.openapi.model.ProvisioningRequest;
+import com.witboost.provisioning.framework.service.QueuedTask;
+import com.witboost.provisioning.model.OperationType;
+import com.witboost.provisioning.model.status.OperationStatus;
+import com.witboost.provisioning.model.status.ProvisionOperationStatus;
+import com.witboost.provisioning.model.task.TaskToken;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the task store and queue against PostgreSQL. Skipped when Docker isn't available
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgreSQLTaskQueueTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final JdbcTaskStoreTest.MutableClock clock = new JdbcTaskStoreTest.MutableClock();
+
+    private final ObjectMapper objectMapper =
+            JsonMapper.builder().findAndAddModules().build();
+
+    private final ProvisioningRequest provisioningRequest =
+            new ProvisioningRequest(DescriptorKind.COMPONENT_DESCRIPTOR, "descriptor", false);
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcDialect.POSTGRESQL.schemaPopulator().execute(dataSource);
+        new JdbcTemplate(dataSource).update("DELETE FROM tech_adapter_task_queue");
+        new JdbcTemplate(dataSource).update("DELETE FROM tech_adapter_task");
+    }
+
+    @Test
+    void testDialectIsDetected() {
+        Assertions.assertEquals(JdbcDialect.POSTGRESQL, JdbcDialect.of(dataSource));
+    }
+
+    @Test
+    void testSchemaCanBeInitializedTwice() {
+        Assertions.assertDoesNotThrow(
+                () -> JdbcDialect.POSTGRESQL.schemaPopulator().execute(dataSource));
+    }
+
+    @Test
+    void testPutUpdateAndGet() {
+        var taskStore = new JdbcTaskStore(new JdbcTemplate(dataSource), objectMapper, Duration.ofMinutes(5), clock);
+        var token = new TaskToken("token");
+        taskStore.put(token, status(token, OperationStatus.OperationStatusEnum.RUNNING));
+
+        Assertions.assertTrue(taskStore.update(token, status(token, OperationStatus.OperationStatusEnum.COMPLETED)));
+
+        Assertions.assertEquals(
+                OperationStatus.OperationStatusEnum.COMPLETED,
+                taskStore.get(token).get().getOperationStatus());
+    }
+
+    @Test
+    void testClaimIsLimitedAndOrdered() {
+        var first = newQueue("first");
+        var second = newQueue("second");
+        for (int i = 0; i < 3; i++) {
+            first.enqueue(new QueuedTask(new TaskToken("token-" + i), OperationType.PROVISION, provisioningRequest));
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        var claimedByFirst = first.claim(2);
+        var claimedBySecond = second.claim(2);
+
+        Assertions.assertEquals(
+                List.of(new TaskToken("token-0"), new TaskToken("token-1")),
+                claimedByFirst.stream().map(QueuedTask::taskToken).toList());
+        Assertions.assertEquals(
+                List.of(new TaskToken("token-2")),
+                claimedBySecond.stream().map(QueuedTask::taskToken).toList());
+    }
+
+    @Test
+    void testLockedTasksAreSkipped() throws Exception {
+        var first = newQueue("first");
+        var second = newQueue("second");
+        first.enqueue(new QueuedTask(new TaskToken("locked"), OperationType.PROVISION, provisioningRequest));
+        clock.advance(Duration.ofMillis(1));
+        first.enqueue(new QueuedTask(new TaskToken("free"), OperationType.PROVISION, provisioningRequest));
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var lockingTransaction =
+                CompletableFuture.runAsync(() -> new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                        .executeWithoutResult(transaction -> {
+                            new JdbcTemplate(dataSource)
+                                    .queryForList(
+                                            "SELECT token FROM tech_adapter_task_queue WHERE token = 'locked' FOR UPDATE",
+                                            String.class);
+                            locked.countDown();
+                            try {
+                                release.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }));
+        Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        var claimed = second.claim(2);
+        release.countDown();
+        lockingTransaction.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(1, claimed.size());
+        Assertions.assertEquals(new TaskToken("free"), claimed.get(0).taskToken());
+    }
+
+    private JdbcTaskQueue newQueue(String replicaId) {
+        return new JdbcTaskQueue(
+                new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                objectMapper,
+                replicaId,
+                Duration.ofMinutes(5),
+                JdbcDialect.POSTGRESQL,
+                clock);
+    }
+
+    private ProvisionOperationStatus status(TaskToken token, OperationStatus.OperationStatusEnum status) {
+        return ProvisionOperationStatus.provisionBuilder()
+                .operationStatus(status)
+                .taskToken(token)
+                .build();
+    }
+}
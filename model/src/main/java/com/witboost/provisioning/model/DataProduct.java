@@ -4,6 +4,7 @@ import static io.vavr.control.Either.left;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.witboost.provisioning.model.common.FailedOperation;
@@ -13,9 +14,11 @@ import io.vavr.control.Option;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -98,10 +101,68 @@ public class DataProduct<T> {
     @JsonAnyGetter
     private Map<String, JsonNode> additionalProperties;
 
+    /**
+     * Index of the components by their {@code id}, lazily built on the first lookup and reset when the components are set
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile ComponentIndex componentIndex;
+
+    /**
+     * Positions of the components by their {@code id}, along with the list and size they were read from
+     */
+    private record ComponentIndex(List<JsonNode> components, int size, Map<String, Integer> positions) {
+
+        private boolean isBuiltFrom(List<JsonNode> components) {
+            return this.components == components && this.size == components.size();
+        }
+    }
+
+    public void setComponents(List<JsonNode> components) {
+        this.components = components;
+        this.componentIndex = null;
+    }
+
+    /**
+     * Looks up a component by its {@code id}. If several components share the same {@code id}, the first one is returned.
+     * The list returned by {@link #getComponents()} may be changed in place after a lookup, so the index is rebuilt when
+     * the list size changes, and the indexed component is checked to still have the requested {@code id}. Otherwise,
+     * the components are scanned.
+     */
     public Option<JsonNode> getComponentToProvision(String componentId) {
-        return Option.ofOptional(Optional.ofNullable(componentId).flatMap(comp -> components.stream()
-                .filter(c -> comp.equals(c.get("id").textValue()))
-                .findFirst()));
+        var components = this.components;
+        if (componentId == null || components == null) return Option.none();
+        var index = componentIndex;
+        if (index == null || !index.isBuiltFrom(components)) index = buildComponentIndex(components);
+        var position = index.positions().get(componentId);
+        if (position != null) {
+            var component = components.get(position);
+            if (componentId.equals(component.path("id").textValue())) return Option.some(component);
+        }
+        for (JsonNode component : components) {
+            if (componentId.equals(component.path("id").textValue())) {
+                componentIndex = null;
+                return Option.some(component);
+            }
+        }
+        return Option.none();
+    }
+
+    /**
+     * Builds the index of the components by their {@code id}. If several components share the same {@code id}, the
+     * first one is indexed. Components without a textual {@code id} are not indexed.
+     */
+    private ComponentIndex buildComponentIndex(List<JsonNode> components) {
+        var positions = new HashMap<String, Integer>(components.size() * 4 / 3 + 1);
+        for (int i = 0; i < components.size(); i++) {
+            var id = components.get(i).path("id").textValue();
+            if (id != null) positions.putIfAbsent(id, i);
+        }
+        var index = new ComponentIndex(components, components.size(), Collections.unmodifiableMap(positions));
+        componentIndex = index;
+        return index;
     }
 
     public Either<FailedOperation, String> getComponentKindToProvision(String componentId) {
@@ -131,10 +192,8 @@ public class DataProduct<T> {
     }
 
     public Option<String> getComponentUseCaseTemplateIdToProvision(String componentId) {
-        return Option.ofOptional(Optional.ofNullable(componentId).flatMap(comp -> components.stream()
-                .filter(c -> comp.equals(c.get("id").textValue()))
-                .findFirst()
-                .flatMap(c -> Optional.ofNullable(c.get("useCaseTemplateId")))
-                .map(JsonNode::textValue)));
+        return getComponentToProvision(componentId)
+                .flatMap(c -> Option.of(c.get("useCaseTemplateId")))
+                .flatMap(useCaseTemplateId -> Option.of(useCaseTemplateId.textValue()));
     }
 }
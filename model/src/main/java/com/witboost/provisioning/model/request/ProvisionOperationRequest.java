@@ -3,17 +3,26 @@ package com.witboost.provisioning.model.request;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.witboost.provisioning.model.Component;
 import com.witboost.provisioning.model.DataProduct;
+import com.witboost.provisioning.model.common.FailedOperation;
+import io.vavr.Lazy;
+import io.vavr.control.Either;
 import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 
 @Getter
-@ToString
+@ToString(doNotUseGetters = true)
 public class ProvisionOperationRequest<T, U> extends OperationRequest<T, U> {
 
     private final boolean removeData;
 
-    private final Optional<JsonNode> latestEnrichedDescriptor;
+    /**
+     * Parsed on first access, as most operations don't read it
+     */
+    @Getter(AccessLevel.NONE)
+    private final Lazy<Either<FailedOperation, Optional<JsonNode>>> latestEnrichedDescriptor;
 
     public ProvisionOperationRequest(
             DataProduct<T> dataProduct, boolean removeData, JsonNode latestEnrichedDescriptor) {
@@ -45,6 +54,40 @@ public class ProvisionOperationRequest<T, U> extends OperationRequest<T, U> {
             Optional<JsonNode> latestEnrichedDescriptor) {
         super(dataProduct, component);
         this.removeData = removeData;
-        this.latestEnrichedDescriptor = latestEnrichedDescriptor;
+        this.latestEnrichedDescriptor = Lazy.of(() -> Either.right(latestEnrichedDescriptor));
+    }
+
+    /**
+     * Creates a request whose latest enriched descriptor is parsed the first time it's accessed
+     * @param latestEnrichedDescriptor Function parsing the latest enriched descriptor from the raw input. It's called at
+     * most once, and it's released after the call
+     */
+    public ProvisionOperationRequest(
+            DataProduct<T> dataProduct,
+            Optional<Component<U>> component,
+            boolean removeData,
+            Supplier<Either<FailedOperation, Optional<JsonNode>>> latestEnrichedDescriptor) {
+        super(dataProduct, component);
+        this.removeData = removeData;
+        this.latestEnrichedDescriptor = Lazy.of(latestEnrichedDescriptor);
+    }
+
+    /**
+     * Retrieves the latest enriched descriptor, parsing it on the first call
+     * @return Either a {@link FailedOperation} if the latest enriched descriptor can't be parsed, or an Optional of it,
+     * empty if the request didn't include it
+     */
+    public Either<FailedOperation, Optional<JsonNode>> getParsedLatestEnrichedDescriptor() {
+        return latestEnrichedDescriptor.get();
+    }
+
+    /**
+     * Retrieves the latest enriched descriptor, parsing it on the first call. The syntax of the descriptor is checked
+     * while validating the provisioning request, so this can't fail on requests built by the framework. Use
+     * {@link #getParsedLatestEnrichedDescriptor()} to handle parsing errors on requests built elsewhere
+     * @return Optional of the latest enriched descriptor, empty if the request didn't include it or it can't be parsed
+     */
+    public Optional<JsonNode> getLatestEnrichedDescriptor() {
+        return getParsedLatestEnrichedDescriptor().getOrElse(Optional::empty);
     }
 }
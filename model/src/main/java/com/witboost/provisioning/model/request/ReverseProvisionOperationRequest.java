@@ -3,24 +3,27 @@ package com.witboost.provisioning.model.request;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
+import com.witboost.provisioning.parser.Parser;
+import io.vavr.Lazy;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import io.vavr.control.Try;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 
-@AllArgsConstructor
 @Getter
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Valid
-@ToString
+@ToString(doNotUseGetters = true)
 public class ReverseProvisionOperationRequest<T> {
 
     @NotNull
@@ -31,21 +34,95 @@ public class ReverseProvisionOperationRequest<T> {
 
     private @Valid T params;
 
+    /**
+     * Catalog info as received on the request, released once it's parsed
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile Object rawCatalogInfo;
+
+    /**
+     * Parsed on first access, as the catalog info is usually large and most operations don't read it
+     */
     @NotNull
-    private JsonNode catalogInfo;
+    @Getter(AccessLevel.NONE)
+    private final Lazy<Either<FailedOperation, JsonNode>> catalogInfo;
+
+    public ReverseProvisionOperationRequest(
+            @NotNull String useCaseTemplateId, @NotNull String environment, T params, @NotNull JsonNode catalogInfo) {
+        this.useCaseTemplateId = useCaseTemplateId;
+        this.environment = environment;
+        this.params = params;
+        this.rawCatalogInfo = null;
+        this.catalogInfo = Lazy.of(() -> Either.right(catalogInfo));
+    }
 
+    /**
+     * Creates a request whose catalog info is converted into a {@link JsonNode} the first time it's accessed
+     * @param catalogInfo Catalog info as received on the request, e.g. a {@link Map} or a YAML string
+     */
+    public ReverseProvisionOperationRequest(
+            @NotNull String useCaseTemplateId, @NotNull String environment, T params, @NotNull Object catalogInfo) {
+        this.useCaseTemplateId = useCaseTemplateId;
+        this.environment = environment;
+        this.params = params;
+        this.rawCatalogInfo = catalogInfo;
+        this.catalogInfo = Lazy.of(() -> {
+            var parsedCatalogInfo = Parser.objectToJsonNode(catalogInfo);
+            rawCatalogInfo = null;
+            return parsedCatalogInfo;
+        });
+    }
+
+    /**
+     * Retrieves the catalog info, converting it on the first call
+     * @return Either a {@link FailedOperation} if the catalog info can't be converted into a {@link JsonNode}, or the
+     * catalog info
+     */
+    public Either<FailedOperation, JsonNode> getParsedCatalogInfo() {
+        return catalogInfo.get();
+    }
+
+    /**
+     * Retrieves the catalog info, converting it on the first call. Requests validated by the framework have already
+     * retrieved their component kind, which fails if the catalog info can't be converted. Use
+     * {@link #getParsedCatalogInfo()} to handle conversion errors on requests built elsewhere
+     * @return The catalog info, or a {@link MissingNode} if it can't be converted
+     */
+    public JsonNode getCatalogInfo() {
+        return getParsedCatalogInfo().getOrElse(MissingNode::getInstance);
+    }
+
+    /**
+     * Retrieves {@code spec.mesh.kind} from the catalog info. It's read from the catalog info as received when it's a
+     * {@link Map}, so that retrieving the component kind doesn't convert the whole catalog info
+     * @return Either a {@link FailedOperation} if the catalog info can't be converted or doesn't contain the kind, or
+     * the component kind
+     */
     public Either<FailedOperation, String> getComponentKind() {
-        return Option.ofOptional(Optional.ofNullable(
-                        catalogInfo.path("spec").path("mesh").path("kind").textValue()))
-                .toEither(() -> {
-                    var catalogInfoString = Try.of(() -> new ObjectMapper().writeValueAsString(catalogInfo))
-                            .toOption();
-                    return new FailedOperation(
-                            "Error while extracting the component kind from the Reverse Provision input catalog info",
-                            catalogInfoString.toJavaOptional(),
-                            Optional.of("spec.mesh.kind"),
-                            Collections.singletonList(
-                                    new Problem("Couldn't retrieve 'kind' field for the component catalog info")));
-                });
+        if (rawCatalogInfo instanceof Map<?, ?> catalogInfoMap) {
+            var kind = catalogInfoMap.get("spec") instanceof Map<?, ?> spec
+                            && spec.get("mesh") instanceof Map<?, ?> mesh
+                            && mesh.get("kind") instanceof String meshKind
+                    ? meshKind
+                    : null;
+            return componentKind(kind, catalogInfoMap);
+        }
+        return getParsedCatalogInfo()
+                .flatMap(catalogInfoNode -> componentKind(
+                        catalogInfoNode.path("spec").path("mesh").path("kind").textValue(), catalogInfoNode));
+    }
+
+    private static Either<FailedOperation, String> componentKind(String kind, Object catalogInfo) {
+        return Option.ofOptional(Optional.ofNullable(kind)).toEither(() -> {
+            var catalogInfoString = Try.of(() -> new ObjectMapper().writeValueAsString(catalogInfo))
+                    .toOption();
+            return new FailedOperation(
+                    "Error while extracting the component kind from the Reverse Provision input catalog info",
+                    catalogInfoString.toJavaOptional(),
+                    Optional.of("spec.mesh.kind"),
+                    Collections.singletonList(
+                            new Problem("Couldn't retrieve 'kind' field for the component catalog info")));
+        });
     }
 }
@@ -20,4 +20,12 @@ public class ProvisionInfo {
 
     @Singular
     private final List<Log> logs;
+
+    /**
+     * Number of log entries of the operation discarded before the first entry of {@code logs}, as the live log of a task
+     * only keeps its most recent entries. Log positions are counted from the start of the operation, so {@code logs}
+     * holds the entries from this position onward
+     */
+    @Builder.Default
+    private final long logsOffset = 0;
 }
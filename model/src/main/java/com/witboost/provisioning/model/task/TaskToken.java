@@ -1,5 +1,8 @@
 package com.witboost.provisioning.model.task;
 
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode
 public class TaskToken {
 
     private final String token;
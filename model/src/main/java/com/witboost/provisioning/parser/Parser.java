@@ -1,23 +1,39 @@
 package com.witboost.provisioning.parser;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.witboost.provisioning.model.Component;
 import com.witboost.provisioning.model.ComponentDescriptor;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
+import io.vavr.CheckedFunction1;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Static class which provides Parsing features using Jackson library. It provides methods to parse components and descriptors from
- * YAML strings, JsonNodes and objects.
+ * YAML strings, JsonNodes and objects. Strings that are already JSON are read with the JSON parser, which is faster than the YAML one.
  */
 public class Parser {
 
@@ -25,10 +41,79 @@ public class Parser {
 
     private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
 
+    /**
+     * Readers are immutable and thread-safe, and keep the deserializers resolved for their type, so they are
+     * cached and reused across calls
+     */
+    private static final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private static final Map<JavaType, ObjectReader> jsonReaders = new ConcurrentHashMap<>();
+
     static {
         mapper.registerModule(new Jdk8Module());
     }
 
+    /**
+     * Mapper with the same configuration as the YAML one, used for content that is already JSON as the JSON parser is
+     * several times faster than the YAML one. Content following the JSON value is rejected instead of being ignored
+     */
+    private static final ObjectMapper jsonMapper =
+            mapper.copyWith(new JsonFactory()).enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private static final SelectiveDescriptorReader selectiveReader = new SelectiveDescriptorReader(mapper);
+
+    private static final SelectiveDescriptorReader jsonSelectiveReader = new SelectiveDescriptorReader(jsonMapper);
+
+    private static ObjectReader readerFor(JavaType javaType) {
+        return readerFor(mapper, javaType);
+    }
+
+    private static ObjectReader readerFor(ObjectMapper objectMapper, JavaType javaType) {
+        var cache = objectMapper == jsonMapper ? jsonReaders : readers;
+        return cache.computeIfAbsent(javaType, objectMapper::readerFor);
+    }
+
+    /**
+     * Reads a YAML or JSON string with the mapper matching its format. Content starting with <code>{</code> or
+     * <code>[</code> is read as JSON, falling back to YAML if it's not valid JSON, e.g. YAML flow collections.
+     */
+    private static <T> T read(String content, CheckedFunction1<ObjectMapper, T> reader) throws Throwable {
+        if (looksLikeJson(content)) {
+            try {
+                return reader.apply(jsonMapper);
+            } catch (StreamReadException e) {
+                logger.debug("Content is not valid JSON, reading it as YAML. Details: {}", e.getOriginalMessage());
+            }
+        }
+        return reader.apply(mapper);
+    }
+
+    /**
+     * Fails like {@link ObjectMapper#readTree(String)} if the mapper rejects trailing tokens and the parser has content
+     * after the value just read
+     */
+    static void checkNoTrailingTokens(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+        if (!objectMapper.isEnabled(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)) return;
+        var trailingToken = parser.nextToken();
+        if (trailingToken == null) return;
+        throw MismatchedInputException.from(
+                parser,
+                JsonNode.class,
+                String.format(
+                        "Trailing token (of type %s) found after value (bound as %s): not allowed as per "
+                                + "`DeserializationFeature.FAIL_ON_TRAILING_TOKENS`",
+                        trailingToken, JsonNode.class.getName()));
+    }
+
+    static boolean looksLikeJson(String content) {
+        if (content == null) return false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '{' || c == '[';
+        }
+        return false;
+    }
+
     /**
      * Parses a YAML String representing a Component Descriptor (that is, including a {@code dataProduct} field and a {@code componentIdToProvision}
      * into a {@link ComponentDescriptor} class.
@@ -44,17 +129,11 @@ public class Parser {
         return Try.of(() -> {
                     JavaType javaType =
                             mapper.getTypeFactory().constructParametricType(ComponentDescriptor.class, specificClass);
-                    return mapper.<ComponentDescriptor<T>>readValue(yamlDescriptor, javaType);
+                    return read(yamlDescriptor, objectMapper -> readerFor(objectMapper, javaType)
+                            .<ComponentDescriptor<T>>readValue(yamlDescriptor));
                 })
                 .toEither()
-                .mapLeft(throwable -> {
-                    String errorMessage =
-                            "Failed to deserialize the Yaml Descriptor. Details: " + throwable.getMessage();
-                    logger.error(errorMessage, throwable);
-                    return new FailedOperation(
-                            "Failed to deserialize the input YAML descriptor. Check the error details for more information.",
-                            Collections.singletonList(new Problem(errorMessage, throwable)));
-                });
+                .mapLeft(Parser::descriptorParsingFailure);
     }
 
     /**
@@ -69,8 +148,132 @@ public class Parser {
         return parseComponentDescriptor(yamlDescriptor, JsonNode.class);
     }
 
+    /**
+     * Parses a {@link JsonNode} representing a Component Descriptor into a {@link ComponentDescriptor} class. The descriptor
+     * is bound directly from the tree, e.g. when it's received as a JSON object instead of a YAML string. The Data Product
+     * {@code components} of the result are the nodes of {@code descriptorNode} rather than copies of them, so changes on
+     * either are visible on both.
+     * @param descriptorNode {@link JsonNode} representing a Component Descriptor
+     * @param specificClass Class to parse the Data Product {@code specific} field
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or a parsed {@link ComponentDescriptor}
+     * @param <T> Data Product type parameter representing the type of the {@code specific} field
+     */
+    public static <T> Either<FailedOperation, ComponentDescriptor<T>> parseComponentDescriptor(
+            JsonNode descriptorNode, Class<T> specificClass) {
+        return Try.of(() -> {
+                    JavaType javaType =
+                            mapper.getTypeFactory().constructParametricType(ComponentDescriptor.class, specificClass);
+                    var dataProduct = descriptorNode.path("dataProduct");
+                    if (!(dataProduct instanceof ObjectNode dataProductFields
+                            && dataProductFields.get("components") instanceof ArrayNode components)) {
+                        return readerFor(javaType).<ComponentDescriptor<T>>readValue(descriptorNode);
+                    }
+                    // Binds the rest of the descriptor and reuses the component nodes, which hold most of its content
+                    ComponentDescriptor<T> componentDescriptor = readerFor(javaType)
+                            .readValue(withoutComponents((ObjectNode) descriptorNode, dataProductFields));
+                    var componentList = new ArrayList<JsonNode>(components.size());
+                    components.forEach(componentList::add);
+                    componentDescriptor.getDataProduct().setComponents(componentList);
+                    return componentDescriptor;
+                })
+                .toEither()
+                .mapLeft(Parser::descriptorParsingFailure);
+    }
+
+    /**
+     * @return Shallow copy of the descriptor whose Data Product doesn't contain the {@code components} field
+     */
+    private static ObjectNode withoutComponents(ObjectNode descriptorNode, ObjectNode dataProduct) {
+        ObjectNode dataProductFields = mapper.createObjectNode().setAll(dataProduct);
+        dataProductFields.remove("components");
+        ObjectNode descriptorFields = mapper.createObjectNode().setAll(descriptorNode);
+        descriptorFields.set("dataProduct", dataProductFields);
+        return descriptorFields;
+    }
+
+    /**
+     * Parses a {@link JsonNode} representing a Component Descriptor into a {@link ComponentDescriptor<JsonNode>} class.
+     * @param descriptorNode {@link JsonNode} representing a Component Descriptor
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or a parsed {@link ComponentDescriptor} where the {@code specific} field is parsed as a {@link JsonNode}
+     */
+    public static Either<FailedOperation, ComponentDescriptor<JsonNode>> parseComponentDescriptor(
+            JsonNode descriptorNode) {
+        return parseComponentDescriptor(descriptorNode, JsonNode.class);
+    }
+
+    /**
+     * Parses a YAML String representing a Component Descriptor into a {@link ComponentDescriptor} class like
+     * {@link #parseComponentDescriptor(String, Class)}, but keeping only the component to provision on the Data Product
+     * {@code components} field. The descriptor is read as a stream and the rest of the components are skipped, reducing the
+     * memory and time needed to parse descriptors with many components.
+     * @param yamlDescriptor YAML String representing a Component Descriptor
+     * @param specificClass Class to parse the Data Product {@code specific} field
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or a parsed {@link ComponentDescriptor} whose Data Product only contains the component to provision
+     * @param <T> Data Product type parameter representing the type of the {@code specific} field
+     */
+    public static <T> Either<FailedOperation, ComponentDescriptor<T>> parseSelectedComponentDescriptor(
+            String yamlDescriptor, Class<T> specificClass) {
+        return Try.of(() -> {
+                    JavaType javaType =
+                            mapper.getTypeFactory().constructParametricType(ComponentDescriptor.class, specificClass);
+                    JsonNode descriptor = readSelected(yamlDescriptor);
+                    return readerFor(javaType).<ComponentDescriptor<T>>readValue(descriptor);
+                })
+                .toEither()
+                .mapLeft(Parser::descriptorParsingFailure);
+    }
+
+    private static JsonNode readSelected(String yamlDescriptor) throws Throwable {
+        return read(yamlDescriptor, objectMapper -> (objectMapper == jsonMapper ? jsonSelectiveReader : selectiveReader)
+                .read(yamlDescriptor));
+    }
+
+    /**
+     * Parses a YAML String representing a Component Descriptor into a {@link ComponentDescriptor<JsonNode>} class, keeping
+     * only the component to provision on the Data Product {@code components} field.
+     * @param yamlDescriptor YAML String representing a Component Descriptor
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or a parsed {@link ComponentDescriptor} whose Data Product only contains the component to provision
+     * @see #parseSelectedComponentDescriptor(String, Class)
+     */
+    public static Either<FailedOperation, ComponentDescriptor<JsonNode>> parseSelectedComponentDescriptor(
+            String yamlDescriptor) {
+        return parseSelectedComponentDescriptor(yamlDescriptor, JsonNode.class);
+    }
+
+    /**
+     * Reads a YAML String representing a Component Descriptor into a {@link JsonNode}, without binding it. The tree can be
+     * bound later with {@link #parseComponentDescriptor(JsonNode, Class)}, e.g. to bind it several times without parsing
+     * the string again.
+     * @param yamlDescriptor YAML String representing a Component Descriptor
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or the descriptor tree
+     */
+    public static Either<FailedOperation, JsonNode> parseComponentDescriptorTree(String yamlDescriptor) {
+        return Try.of(() -> read(yamlDescriptor, objectMapper -> objectMapper.readTree(yamlDescriptor)))
+                .toEither()
+                .mapLeft(Parser::descriptorParsingFailure);
+    }
+
+    /**
+     * Reads a YAML String representing a Component Descriptor into a {@link JsonNode} like
+     * {@link #parseComponentDescriptorTree(String)}, but keeping only the component to provision on the Data Product
+     * {@code components} field.
+     * @param yamlDescriptor YAML String representing a Component Descriptor
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or the descriptor tree whose Data Product only contains the component to provision
+     * @see #parseSelectedComponentDescriptor(String, Class)
+     */
+    public static Either<FailedOperation, JsonNode> parseSelectedComponentDescriptorTree(String yamlDescriptor) {
+        return Try.of(() -> readSelected(yamlDescriptor)).toEither().mapLeft(Parser::descriptorParsingFailure);
+    }
+
     /**
      * Parses a {@link JsonNode} representing a component into a {@link Component} class, allowing to provide the class for the component {@code specific} field.
+     * The component is bound directly from the tree, without serializing it back to text.
      * @param componentNode {@link JsonNode} representing a component entity
      * @param componentClass Class to parse the component entity, which must extend from the {@link Component} class.
      * @param specificClass Class to parse the Component {@code specific} field
@@ -82,18 +285,84 @@ public class Parser {
             JsonNode componentNode, Class<? extends Component> componentClass, Class<U> specificClass) {
         return Try.of(() -> {
                     JavaType javaType = mapper.getTypeFactory().constructParametricType(componentClass, specificClass);
-                    return mapper.<Component<U>>readValue(componentNode.toString(), javaType);
+                    return readerFor(javaType).<Component<U>>readValue(componentNode);
+                })
+                .toEither()
+                .mapLeft(Parser::componentParsingFailure);
+    }
+
+    /**
+     * Parses a {@link JsonNode} representing a component using a reader previously built with {@link #componentReader(Class, Class)}.
+     * @param componentNode {@link JsonNode} representing a component entity
+     * @param componentReader Reader built for the component and {@code specific} classes
+     * @return Either a {@link FailedOperation} if the parsing fails, containing the error information to be shown to the Tech Adapter user,
+     * or a parsed {@link Component}
+     * @param <U> Component type parameter representing the type of the {@code specific} field
+     */
+    public static <U> Either<FailedOperation, Component<U>> parseComponent(
+            JsonNode componentNode, ObjectReader componentReader) {
+        return Try.of(() -> componentReader.<Component<U>>readValue(componentNode))
+                .toEither()
+                .mapLeft(Parser::componentParsingFailure);
+    }
+
+    /**
+     * Builds the reader used to parse components of the provided class, resolving its deserializers in advance. It fails
+     * if Jackson is unable to deserialize the component or the {@code specific} class, e.g. if one of them can't be
+     * instantiated or has conflicting property definitions.
+     * @param componentClass Class to parse the component entity, which must extend from the {@link Component} class.
+     * @param specificClass Class to parse the Component {@code specific} field
+     * @return Either a {@link FailedOperation} if the classes can't be deserialized, or a reader to be used with
+     * {@link #parseComponent(JsonNode, ObjectReader)}
+     */
+    public static Either<FailedOperation, ObjectReader> componentReader(
+            Class<? extends Component> componentClass, Class<?> specificClass) {
+        return Try.of(() -> {
+                    var typeFactory = mapper.getTypeFactory();
+                    JavaType javaType = typeFactory.constructParametricType(componentClass, specificClass);
+                    checkDeserializable(javaType);
+                    checkDeserializable(typeFactory.constructType(specificClass));
+                    return readerFor(javaType);
                 })
                 .toEither()
                 .mapLeft(throwable -> {
-                    String errorMessage = "Failed to deserialize the component. Details: " + throwable.getMessage();
+                    String errorMessage = String.format(
+                            "Unable to deserialize component class '%s' with specific class '%s'. Details: %s",
+                            componentClass.getName(), specificClass.getName(), throwable.getMessage());
                     logger.error(errorMessage, throwable);
                     return new FailedOperation(
-                            "Failed to deserialize a component input YAML descriptor. Check the error details for more information.",
+                            "The component classes can't be deserialized. Check the error details for more information.",
                             Collections.singletonList(new Problem(errorMessage, throwable)));
                 });
     }
 
+    private static void checkDeserializable(JavaType javaType) throws JsonMappingException {
+        var context = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createDummyInstance(mapper.getDeserializationConfig());
+        var deserializer = context.findRootValueDeserializer(javaType);
+        if (deserializer instanceof ValueInstantiator.Gettable gettable
+                && !gettable.getValueInstantiator().canInstantiate()) {
+            context.reportBadDefinition(
+                    javaType, "No creator (like a default constructor) available to instantiate " + javaType);
+        }
+    }
+
+    private static FailedOperation descriptorParsingFailure(Throwable throwable) {
+        String errorMessage = "Failed to deserialize the Yaml Descriptor. Details: " + throwable.getMessage();
+        logger.error(errorMessage, throwable);
+        return new FailedOperation(
+                "Failed to deserialize the input YAML descriptor. Check the error details for more information.",
+                Collections.singletonList(new Problem(errorMessage, throwable)));
+    }
+
+    private static FailedOperation componentParsingFailure(Throwable throwable) {
+        String errorMessage = "Failed to deserialize the component. Details: " + throwable.getMessage();
+        logger.error(errorMessage, throwable);
+        return new FailedOperation(
+                "Failed to deserialize a component input YAML descriptor. Check the error details for more information.",
+                Collections.singletonList(new Problem(errorMessage, throwable)));
+    }
+
     /**
      * Tries to parse a JSON or YAML String into a provided class, handling the error cases.
      * @param objectString JSON or YAML String representing the input class
@@ -103,7 +372,7 @@ public class Parser {
      * @param <T> Type parameter for the target class
      */
     public static <T> Either<FailedOperation, T> parseString(String objectString, Class<T> clazz) {
-        return Try.of(() -> mapper.readTree(objectString))
+        return Try.of(() -> read(objectString, objectMapper -> objectMapper.readTree(objectString)))
                 .toEither()
                 .mapLeft(throwable -> {
                     String errorMessage = "Failed to deserialize object. Details: " + throwable.getMessage();
@@ -174,12 +443,40 @@ public class Parser {
      * or a {@link JsonNode}
      */
     public static Either<FailedOperation, JsonNode> stringToJsonNode(String yamlString) {
-        return Try.of(() -> mapper.readTree(yamlString)).toEither().mapLeft(throwable -> {
-            String errorMessage = "Failed to deserialize object. Details: " + throwable.getMessage();
-            logger.error(errorMessage, throwable);
-            return new FailedOperation(
-                    "Failed deserialize object. See error details for more information.",
-                    Collections.singletonList(new Problem(errorMessage, throwable)));
-        });
+        return Try.of(() -> read(yamlString, objectMapper -> objectMapper.readTree(yamlString)))
+                .toEither()
+                .mapLeft(throwable -> {
+                    String errorMessage = "Failed to deserialize object. Details: " + throwable.getMessage();
+                    logger.error(errorMessage, throwable);
+                    return new FailedOperation(
+                            "Failed deserialize object. See error details for more information.",
+                            Collections.singletonList(new Problem(errorMessage, throwable)));
+                });
+    }
+
+    /**
+     * Checks that a {@link String} is well-formed JSON or YAML without building its tree, so content that is only
+     * needed later can be rejected upfront with the same error {@link #stringToJsonNode(String)} would return.
+     * @param yamlString {@link String} to be checked
+     * @return Either a {@link FailedOperation} if the content can't be parsed, containing the error information to be shown to the Tech Adapter user,
+     * or the checked {@link String}
+     */
+    public static Either<FailedOperation, String> checkSyntax(String yamlString) {
+        return Try.of(() -> read(yamlString, objectMapper -> {
+                    try (var parser = objectMapper.createParser(yamlString)) {
+                        if (parser.nextToken() == null) return yamlString;
+                        parser.skipChildren();
+                        checkNoTrailingTokens(objectMapper, parser);
+                        return yamlString;
+                    }
+                }))
+                .toEither()
+                .mapLeft(throwable -> {
+                    String errorMessage = "Failed to deserialize object. Details: " + throwable.getMessage();
+                    logger.error(errorMessage, throwable);
+                    return new FailedOperation(
+                            "Failed deserialize object. See error details for more information.",
+                            Collections.singletonList(new Problem(errorMessage, throwable)));
+                });
     }
 }
@@ -0,0 +1,148 @@
+package com.witboost.provisioning.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads a component descriptor in a single streaming pass, building the tree of the data product fields but only of the
+ * component to provision. The rest of the components are skipped, retaining only their identifier and their position on
+ * the descriptor, as the {@code componentIdToProvision} field usually comes after the data product. Once the descriptor
+ * is read, the component to provision is parsed from its position.
+ * <p>
+ * If the component to provision can't be parsed on its own, the whole descriptor is read instead.
+ */
+class SelectiveDescriptorReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectiveDescriptorReader.class);
+
+    private final ObjectMapper mapper;
+
+    /**
+     * Reads the values in the middle of the descriptor, which are always followed by more tokens
+     */
+    private final ObjectReader valueReader;
+
+    /**
+     * Position of a component on the descriptor
+     * @param id Component {@code id} field, or {@code null} if it isn't a string
+     * @param start Offset of the first character of the component
+     * @param end Offset following the last character of the component
+     * @param column Column of the first character of the component, starting at 1
+     */
+    private record ComponentSpan(String id, int start, int end, int column) {}
+
+    SelectiveDescriptorReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.valueReader = mapper.reader().without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    /**
+     * Reads a component descriptor
+     * @param descriptor YAML or JSON component descriptor
+     * @return Tree of the descriptor, where {@code dataProduct.components} only holds the component to provision, or is
+     * empty if the component is not found
+     * @throws IOException If the descriptor is malformed
+     */
+    JsonNode read(String descriptor) throws IOException {
+        List<ComponentSpan> components = List.of();
+        ObjectNode dataProduct = null;
+        var root = mapper.createObjectNode();
+        boolean codePointOffsets;
+        try (JsonParser parser = mapper.createParser(descriptor)) {
+            codePointOffsets = parser instanceof YAMLParser;
+            if (parser.nextToken() != JsonToken.START_OBJECT) return mapper.readTree(descriptor);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && "dataProduct".equals(field)) {
+                    dataProduct = root.putObject(field);
+                    components = readDataProduct(parser, dataProduct);
+                } else {
+                    root.set(field, valueReader.readTree(parser));
+                }
+            }
+            Parser.checkNoTrailingTokens(mapper, parser);
+        }
+
+        var componentId = root.path("componentIdToProvision").textValue();
+        if (dataProduct == null || !dataProduct.has("components") || componentId == null) return root;
+        for (ComponentSpan span : components) {
+            if (!componentId.equals(span.id())) continue;
+            try {
+                var component = readComponent(descriptor, span, codePointOffsets);
+                if (componentId.equals(component.path("id").textValue())) {
+                    dataProduct.withArrayProperty("components").add(component);
+                    return root;
+                }
+            } catch (IOException e) {
+                logger.debug("Unable to read the component '{}' on its own", componentId, e);
+            }
+            logger.info("Unable to read the component '{}' on its own, reading the whole descriptor", componentId);
+            return mapper.readTree(descriptor);
+        }
+        return root;
+    }
+
+    /**
+     * Reads the data product fields into {@code dataProduct}, skipping its components
+     * @return Positions of the skipped components
+     */
+    private List<ComponentSpan> readDataProduct(JsonParser parser, ObjectNode dataProduct) throws IOException {
+        var components = new ArrayList<ComponentSpan>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "components".equals(field)) {
+                dataProduct.putArray(field);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    components.add(skipComponent(parser));
+                }
+            } else {
+                dataProduct.set(field, valueReader.readTree(parser));
+            }
+        }
+        return components;
+    }
+
+    private ComponentSpan skipComponent(JsonParser parser) throws IOException {
+        var location = parser.currentTokenLocation();
+        String id = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.VALUE_STRING && "id".equals(field)) id = parser.getText();
+                else parser.skipChildren();
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return new ComponentSpan(
+                id,
+                (int) location.getCharOffset(),
+                (int) parser.currentLocation().getCharOffset(),
+                location.getColumnNr());
+    }
+
+    private JsonNode readComponent(String descriptor, ComponentSpan span, boolean codePointOffsets) throws IOException {
+        int start = span.start();
+        int end = span.end();
+        if (codePointOffsets) {
+            // YAML locations count code points, while String offsets count UTF-16 chars
+            start = descriptor.offsetByCodePoints(0, start);
+            end = descriptor.offsetByCodePoints(start, span.end() - span.start());
+        }
+        var component = descriptor.substring(start, end);
+        // Indents the first line as the following ones, so that YAML block mappings are kept valid
+        if (codePointOffsets && !component.startsWith("{")) component = " ".repeat(span.column() - 1) + component;
+        return mapper.readTree(component);
+    }
+}
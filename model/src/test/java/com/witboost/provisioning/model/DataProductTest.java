@@ -3,12 +3,15 @@ package com.witboost.provisioning.model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.witboost.provisioning.model.common.FailedOperation;
 import com.witboost.provisioning.model.common.Problem;
 import com.witboost.provisioning.parser.Parser;
 import com.witboost.provisioning.util.ResourceUtils;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -129,4 +132,68 @@ class DataProductTest {
 
         Assertions.assertTrue(actualResult.isEmpty());
     }
+
+    @Test
+    void getComponentToProvisionAfterSettingComponents() {
+        var dataProduct = componentDescriptor.getDataProduct();
+        Assertions.assertTrue(dataProduct
+                .getComponentToProvision("urn:dmb:cmp:healthcare:vaccinations:0:storage")
+                .isDefined());
+
+        var newComponent =
+                JsonNodeFactory.instance.objectNode().put("id", "new").put("kind", "workload");
+        dataProduct.setComponents(List.of(newComponent));
+
+        Assertions.assertTrue(dataProduct
+                .getComponentToProvision("urn:dmb:cmp:healthcare:vaccinations:0:storage")
+                .isEmpty());
+        Assertions.assertEquals(
+                newComponent, dataProduct.getComponentToProvision("new").get());
+        Assertions.assertEquals(
+                "workload", dataProduct.getComponentKindToProvision("new").get());
+    }
+
+    @Test
+    void getComponentToProvisionAfterChangingTheComponentsInPlace() {
+        var dataProduct = new DataProduct<JsonNode>();
+        var storage = JsonNodeFactory.instance.objectNode().put("id", "storage").put("kind", "storage");
+        var workload =
+                JsonNodeFactory.instance.objectNode().put("id", "workload").put("kind", "workload");
+        dataProduct.setComponents(new ArrayList<>(List.of(storage, workload)));
+        Assertions.assertSame(
+                storage, dataProduct.getComponentToProvision("storage").get());
+
+        var outputPort =
+                JsonNodeFactory.instance.objectNode().put("id", "outputport").put("kind", "outputport");
+        dataProduct.getComponents().add(outputPort);
+        Assertions.assertSame(
+                outputPort, dataProduct.getComponentToProvision("outputport").get());
+
+        var newStorage =
+                JsonNodeFactory.instance.objectNode().put("id", "new-storage").put("kind", "storage");
+        dataProduct.getComponents().set(0, newStorage);
+        Assertions.assertTrue(dataProduct.getComponentToProvision("storage").isEmpty());
+        Assertions.assertSame(
+                newStorage, dataProduct.getComponentToProvision("new-storage").get());
+
+        dataProduct.getComponents().remove(workload);
+        Assertions.assertTrue(dataProduct.getComponentToProvision("workload").isEmpty());
+        Assertions.assertSame(
+                outputPort, dataProduct.getComponentToProvision("outputport").get());
+    }
+
+    @Test
+    void getComponentToProvisionWithDuplicatedAndMissingIds() {
+        var dataProduct = new DataProduct<JsonNode>();
+        var first =
+                JsonNodeFactory.instance.objectNode().put("id", "duplicated").put("kind", "storage");
+        var second =
+                JsonNodeFactory.instance.objectNode().put("id", "duplicated").put("kind", "workload");
+        var withoutId = JsonNodeFactory.instance.objectNode().put("kind", "outputport");
+        dataProduct.setComponents(List.of(withoutId, first, second));
+
+        Assertions.assertSame(
+                first, dataProduct.getComponentToProvision("duplicated").get());
+        Assertions.assertTrue(dataProduct.getComponentToProvision(null).isEmpty());
+    }
 }
@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.witboost.provisioning.model.DataProduct;
 import com.witboost.provisioning.model.OutputPort;
+import com.witboost.provisioning.parser.Parser;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -39,4 +41,31 @@ class ProvisionOperationRequestTest {
         Assertions.assertTrue(provisionAllPresent.getComponent().isPresent());
         Assertions.assertTrue(provisionAllPresent.getLatestEnrichedDescriptor().isPresent());
     }
+
+    @Test
+    void testLatestEnrichedDescriptorIsParsedOnFirstAccess() {
+        var calls = new AtomicInteger();
+        var request =
+                new ProvisionOperationRequest<>(new DataProduct<>(), Optional.of(new OutputPort<>()), true, () -> {
+                    calls.incrementAndGet();
+                    return Parser.objectToJsonNode("dataProduct: {}").map(Optional::of);
+                });
+        Assertions.assertEquals(0, calls.get());
+        Assertions.assertFalse(request.toString().isEmpty());
+        Assertions.assertEquals(0, calls.get());
+
+        Assertions.assertTrue(request.getLatestEnrichedDescriptor().get().has("dataProduct"));
+        Assertions.assertTrue(request.getParsedLatestEnrichedDescriptor().isRight());
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testLatestEnrichedDescriptorParsingFailure() {
+        var request = new ProvisionOperationRequest<>(
+                new DataProduct<>(), Optional.of(new OutputPort<>()), true, () -> Parser.objectToJsonNode("[not: valid")
+                        .map(Optional::of));
+
+        Assertions.assertTrue(request.getParsedLatestEnrichedDescriptor().isLeft());
+        Assertions.assertTrue(request.getLatestEnrichedDescriptor().isEmpty());
+    }
 }
@@ -49,4 +49,60 @@ class ReverseProvisionOperationRequestTest {
         Assertions.assertEquals(
                 expectedInputErrorField, actual.getLeft().inputErrorField().get());
     }
+
+    @Test
+    void getComponentKindFromRawCatalogInfo() {
+        var catalogInfo = Map.of("spec", Map.of("mesh", Map.of("kind", Constants.OUTPUTPORT_KIND)));
+        var reverseProvisionRequest = new ReverseProvisionOperationRequest<>(
+                "useCaseTemplateId", "environment", JsonNodeFactory.instance.objectNode(), (Object) catalogInfo);
+
+        var actual = reverseProvisionRequest.getComponentKind();
+
+        Assertions.assertEquals(Constants.OUTPUTPORT_KIND, actual.get());
+        Assertions.assertEquals(Parser.objectToJsonNode(catalogInfo).get(), reverseProvisionRequest.getCatalogInfo());
+        Assertions.assertSame(
+                reverseProvisionRequest.getCatalogInfo(),
+                reverseProvisionRequest.getParsedCatalogInfo().get());
+    }
+
+    @Test
+    void getComponentKindFromRawCatalogInfoMissingPiece() {
+        var reverseProvisionRequest = new ReverseProvisionOperationRequest<>(
+                "useCaseTemplateId", "environment", JsonNodeFactory.instance.objectNode(), (Object)
+                        Map.of("spec", Map.of("kind", Constants.OUTPUTPORT_KIND)));
+
+        var actual = reverseProvisionRequest.getComponentKind();
+
+        Assertions.assertTrue(actual.isLeft());
+        Assertions.assertEquals(
+                "spec.mesh.kind", actual.getLeft().inputErrorField().get());
+        Assertions.assertTrue(actual.getLeft().input().get().contains("\"spec\""));
+    }
+
+    @Test
+    void getCatalogInfoParsingFailure() {
+        var reverseProvisionRequest = new ReverseProvisionOperationRequest<>(
+                "useCaseTemplateId", "environment", JsonNodeFactory.instance.objectNode(), (Object) "[not: valid");
+
+        var actual = reverseProvisionRequest.getComponentKind();
+
+        Assertions.assertTrue(actual.isLeft());
+        Assertions.assertEquals(reverseProvisionRequest.getParsedCatalogInfo().getLeft(), actual.getLeft());
+        Assertions.assertTrue(
+                actual.getLeft().problems().get(0).description().startsWith("Failed to deserialize object. Details: "));
+        Assertions.assertTrue(reverseProvisionRequest.getCatalogInfo().isMissingNode());
+    }
+
+    @Test
+    void getComponentKindAfterCatalogInfoIsParsed() {
+        var catalogInfo = Map.of("spec", Map.of("mesh", Map.of("kind", Constants.OUTPUTPORT_KIND)));
+        var reverseProvisionRequest = new ReverseProvisionOperationRequest<>(
+                "useCaseTemplateId", "environment", JsonNodeFactory.instance.objectNode(), (Object) catalogInfo);
+
+        Assertions.assertTrue(reverseProvisionRequest.getParsedCatalogInfo().isRight());
+
+        Assertions.assertEquals(
+                Constants.OUTPUTPORT_KIND,
+                reverseProvisionRequest.getComponentKind().get());
+    }
 }
@@ -21,6 +21,13 @@ class CustomClass {
     private String value;
 }
 
+/**
+ * Class used to test classes that Jackson can't instantiate
+ */
+class NotInstantiableSpecific extends Specific {
+    NotInstantiableSpecific(String name, int value) {}
+}
+
 public class ParserTest {
 
     @Test
@@ -50,6 +57,145 @@ public class ParserTest {
         Assertions.assertTrue(actualResult.isRight());
     }
 
+    @Test
+    public void testParseJsonDescriptorOk() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        String jsonDescriptor = Parser.stringToJsonNode(ymlDescriptor).get().toPrettyString();
+        var yamlResult = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var actualResult = Parser.parseComponentDescriptor(jsonDescriptor);
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertEquals(
+                yamlResult.getDataProduct().getComponents(),
+                actualResult.get().getDataProduct().getComponents());
+        Assertions.assertEquals(
+                yamlResult.getDataProduct().getSpecific(),
+                actualResult.get().getDataProduct().getSpecific());
+    }
+
+    @Test
+    public void testParseDescriptorFromTreeOk() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        JsonNode descriptorNode = Parser.stringToJsonNode(ymlDescriptor).get();
+        var yamlResult = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var actualResult = Parser.parseComponentDescriptor(descriptorNode);
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertEquals(
+                yamlResult.getComponentIdToProvision(), actualResult.get().getComponentIdToProvision());
+        Assertions.assertEquals(
+                yamlResult.getDataProduct().getComponents(),
+                actualResult.get().getDataProduct().getComponents());
+        Assertions.assertEquals(
+                yamlResult.getDataProduct().getSpecific(),
+                actualResult.get().getDataProduct().getSpecific());
+        Assertions.assertEquals(
+                yamlResult.getDataProduct().getAdditionalProperties(),
+                actualResult.get().getDataProduct().getAdditionalProperties());
+        Assertions.assertSame(
+                descriptorNode.get("dataProduct").get("components").get(0),
+                actualResult.get().getDataProduct().getComponents().get(0));
+        Assertions.assertTrue(descriptorNode.get("dataProduct").has("components"));
+    }
+
+    @Test
+    public void testParseDescriptorFromTreeFail() {
+        var descriptorNode = JsonNodeFactory.instance.objectNode().put("dataProduct", "not a data product");
+
+        var actualResult = Parser.parseComponentDescriptor(descriptorNode);
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize the Yaml Descriptor. Details: "));
+    }
+
+    @Test
+    public void testParseYamlFlowMappingFallsBackToYaml() {
+        var actualResult = Parser.stringToJsonNode("{id: 1, value: a value}");
+
+        Assertions.assertTrue(actualResult.isRight());
+        Assertions.assertEquals(1, actualResult.get().get("id").intValue());
+        Assertions.assertEquals("a value", actualResult.get().get("value").textValue());
+    }
+
+    @Test
+    public void testParseMalformedJsonFails() {
+        var actualResult = Parser.stringToJsonNode("{\"id\": [1, 2}");
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize object. Details: "));
+    }
+
+    @Test
+    public void testParseJsonWithTrailingTokensFails() {
+        var actualResult = Parser.stringToJsonNode("{\"id\": 1} {\"id\": 2}");
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .contains("Trailing token (of type START_OBJECT) found after value"));
+    }
+
+    @Test
+    public void testCheckSyntaxOfJsonWithTrailingTokensFails() {
+        var actualResult = Parser.checkSyntax("{\"id\": 1} {\"id\": 2}");
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertEquals(
+                Parser.stringToJsonNode("{\"id\": 1} {\"id\": 2}").getLeft().message(),
+                actualResult.getLeft().message());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .contains("Trailing token (of type START_OBJECT) found after value"));
+    }
+
+    @Test
+    public void testCheckSyntaxOfWellFormedContent() {
+        Assertions.assertTrue(Parser.checkSyntax("{\"id\": [1, 2]}").isRight());
+        Assertions.assertTrue(Parser.checkSyntax("{id: 1, value: a value}").isRight());
+        Assertions.assertTrue(Parser.checkSyntax("id: 1\nvalue:\n  - a value").isRight());
+        Assertions.assertTrue(Parser.checkSyntax("").isRight());
+    }
+
+    @Test
+    public void testCheckSyntaxOfMalformedContentFails() {
+        var actualResult = Parser.checkSyntax("[not: valid");
+
+        Assertions.assertTrue(actualResult.isLeft());
+        Assertions.assertTrue(actualResult
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize object. Details: "));
+    }
+
+    @Test
+    public void testLooksLikeJson() {
+        Assertions.assertTrue(Parser.looksLikeJson("{\"id\": 1}"));
+        Assertions.assertTrue(Parser.looksLikeJson("\n  [1, 2]"));
+        Assertions.assertFalse(Parser.looksLikeJson("id: 1"));
+        Assertions.assertFalse(Parser.looksLikeJson("  "));
+        Assertions.assertFalse(Parser.looksLikeJson(null));
+    }
+
     @Test
     public void testParseStorageDescriptorFail() {
         String invalidDescriptor = "an_invalid_descriptor";
@@ -65,6 +211,156 @@ public class ParserTest {
         });
     }
 
+    @Test
+    public void testParseSelectedComponentDescriptorKeepsOnlyComponentToProvision() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        var fullDescriptor = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var actualRes = Parser.parseSelectedComponentDescriptor(ymlDescriptor);
+
+        Assertions.assertTrue(actualRes.isRight());
+        var descriptor = actualRes.get();
+        Assertions.assertEquals(fullDescriptor.getComponentIdToProvision(), descriptor.getComponentIdToProvision());
+        Assertions.assertEquals(
+                fullDescriptor.getDataProduct().getId(),
+                descriptor.getDataProduct().getId());
+        Assertions.assertEquals(
+                fullDescriptor.getDataProduct().getSpecific(),
+                descriptor.getDataProduct().getSpecific());
+        Assertions.assertEquals(
+                fullDescriptor.getDataProduct().getAdditionalProperties(),
+                descriptor.getDataProduct().getAdditionalProperties());
+        Assertions.assertEquals(1, descriptor.getDataProduct().getComponents().size());
+        Assertions.assertEquals(
+                fullDescriptor
+                        .getDataProduct()
+                        .getComponentToProvision(fullDescriptor.getComponentIdToProvision())
+                        .get(),
+                descriptor.getDataProduct().getComponents().get(0));
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorWithMultiByteCharacters() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml")
+                .replace("DP about vaccinations", "DP about vaccinations \uD83D\uDC89 and 疫苗");
+        var fullDescriptor = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var descriptor = Parser.parseSelectedComponentDescriptor(ymlDescriptor).get();
+
+        Assertions.assertEquals(
+                fullDescriptor
+                        .getDataProduct()
+                        .getComponentToProvision(fullDescriptor.getComponentIdToProvision())
+                        .get(),
+                descriptor.getDataProduct().getComponents().get(0));
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorFromJson() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        var fullDescriptor = Parser.parseComponentDescriptor(ymlDescriptor).get();
+        String jsonDescriptor = Parser.stringToJsonNode(ymlDescriptor).get().toString();
+
+        var descriptor = Parser.parseSelectedComponentDescriptor(jsonDescriptor).get();
+
+        Assertions.assertEquals(
+                fullDescriptor
+                        .getDataProduct()
+                        .getComponentToProvision(fullDescriptor.getComponentIdToProvision())
+                        .get(),
+                descriptor.getDataProduct().getComponents().get(0));
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorFromJsonWithTrailingTokensFails() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        String jsonDescriptor = Parser.stringToJsonNode(ymlDescriptor).get().toString();
+
+        Assertions.assertTrue(
+                Parser.parseSelectedComponentDescriptor(jsonDescriptor + " {}").isLeft());
+        Assertions.assertTrue(
+                Parser.parseComponentDescriptor(jsonDescriptor + " {}").isLeft());
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorWithAliasesMatchesFullParse() {
+        String ymlDescriptor =
+                """
+                dataProduct:
+                  id: urn:dmb:dp:healthcare:vaccinations:0
+                  components:
+                    - id: urn:dmb:cmp:healthcare:vaccinations:0:storage
+                      kind: storage
+                      owners: &owners
+                        - group:dev
+                    - id: urn:dmb:cmp:healthcare:vaccinations:0:output-port
+                      kind: outputport
+                      owners: *owners
+                componentIdToProvision: urn:dmb:cmp:healthcare:vaccinations:0:output-port
+                """;
+
+        var fullDescriptor = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var descriptor = Parser.parseSelectedComponentDescriptor(ymlDescriptor).get();
+
+        Assertions.assertEquals(
+                fullDescriptor
+                        .getDataProduct()
+                        .getComponentToProvision(fullDescriptor.getComponentIdToProvision())
+                        .get(),
+                descriptor.getDataProduct().getComponents().get(0));
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorMissingComponent() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_storage_missing_component.yml");
+
+        var actualRes = Parser.parseSelectedComponentDescriptor(ymlDescriptor);
+
+        Assertions.assertTrue(actualRes.isRight());
+        Assertions.assertTrue(actualRes.get().getDataProduct().getComponents().isEmpty());
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorFail() {
+        var actualRes = Parser.parseSelectedComponentDescriptor("an_invalid_descriptor");
+
+        Assertions.assertTrue(actualRes.isLeft());
+        Assertions.assertTrue(actualRes
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Failed to deserialize the Yaml Descriptor. Details: "));
+    }
+
+    @Test
+    public void testParseComponentDescriptorTreeBindsLikeTheString() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        var fullDescriptor = Parser.parseComponentDescriptor(ymlDescriptor).get();
+
+        var descriptor = Parser.parseComponentDescriptor(
+                        Parser.parseComponentDescriptorTree(ymlDescriptor).get())
+                .get();
+
+        Assertions.assertEquals(fullDescriptor.toString(), descriptor.toString());
+    }
+
+    @Test
+    public void testParseSelectedComponentDescriptorTree() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        var selectedDescriptor =
+                Parser.parseSelectedComponentDescriptor(ymlDescriptor).get();
+
+        var descriptor = Parser.parseComponentDescriptor(Parser.parseSelectedComponentDescriptorTree(ymlDescriptor)
+                        .get())
+                .get();
+
+        Assertions.assertEquals(selectedDescriptor.toString(), descriptor.toString());
+        Assertions.assertTrue(
+                Parser.parseSelectedComponentDescriptorTree("dataProduct: [").isLeft());
+    }
+
     @Test
     public void testParseStorageComponentOk() throws IOException {
         String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_storage.yml");
@@ -99,6 +395,29 @@ public class ParserTest {
         Assertions.assertTrue(actualRes.isRight());
     }
 
+    @Test
+    public void testParseComponentFromTreeKeepsNestedFields() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_outputport.yml");
+        ComponentDescriptor<JsonNode> descriptor =
+                Parser.parseComponentDescriptor(ymlDescriptor).get();
+        JsonNode component = descriptor
+                .getDataProduct()
+                .getComponentToProvision("urn:dmb:cmp:healthcare:vaccinations:0:hdfs-output-port")
+                .get();
+
+        var actualRes = Parser.parseComponent(component, OutputPort.class, JsonNode.class);
+
+        Assertions.assertTrue(actualRes.isRight());
+        OutputPort<JsonNode> outputPort = (OutputPort<JsonNode>) actualRes.get();
+        Assertions.assertEquals(component.get("specific"), outputPort.getSpecific());
+        Assertions.assertEquals(
+                component.get("dataContract").get("schema").size(),
+                outputPort.getDataContract().getSchema().size());
+        Assertions.assertEquals(
+                component.get("dependsOn").get(0).textValue(),
+                outputPort.getDependsOn().get(0));
+    }
+
     @Test
     public void testParseWorkloadComponentOk() throws IOException {
         String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_workload.yml");
@@ -115,6 +434,38 @@ public class ParserTest {
         Assertions.assertTrue(actualRes.isRight());
     }
 
+    @Test
+    public void testParseComponentWithReader() throws IOException {
+        String ymlDescriptor = ResourceUtils.getContentFromResource("/pr_descriptor_storage.yml");
+        ComponentDescriptor<JsonNode> descriptor =
+                Parser.parseComponentDescriptor(ymlDescriptor).get();
+        JsonNode component = descriptor
+                .getDataProduct()
+                .getComponentToProvision("urn:dmb:cmp:healthcare:vaccinations:0:storage")
+                .get();
+
+        var reader = Parser.componentReader(StorageArea.class, Specific.class);
+        Assertions.assertTrue(reader.isRight());
+        var actualRes = Parser.<Specific>parseComponent(component, reader.get());
+
+        Assertions.assertTrue(actualRes.isRight());
+        Assertions.assertInstanceOf(StorageArea.class, actualRes.get());
+    }
+
+    @Test
+    public void testComponentReaderFailsNotInstantiableSpecific() {
+        var actualRes = Parser.componentReader(StorageArea.class, NotInstantiableSpecific.class);
+
+        Assertions.assertTrue(actualRes.isLeft());
+        Assertions.assertEquals(1, actualRes.getLeft().problems().size());
+        Assertions.assertTrue(actualRes
+                .getLeft()
+                .problems()
+                .get(0)
+                .description()
+                .startsWith("Unable to deserialize component class '" + StorageArea.class.getName() + "'"));
+    }
+
     @Test
     public void testParseStorageComponentFail() {
         JsonNode node = null;